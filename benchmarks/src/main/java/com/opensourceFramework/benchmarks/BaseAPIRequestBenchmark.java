@@ -0,0 +1,75 @@
+package com.opensourceFramework.benchmarks;
+
+import com.opensourceFramework.BaseAPIRequest;
+import com.opensourceFramework.constants.ContentType;
+import com.opensourceFramework.constants.MethodType;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full client side cost of {@link BaseAPIRequest#makeAPICall()} against a loopback stub,
+ * with and without curl capturing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseAPIRequestBenchmark {
+
+    @Param({"true", "false"})
+    public boolean captureAPIDetails;
+
+    private StubServer stub;
+
+    @Setup(Level.Trial)
+    public void startStub() throws IOException {
+        stub = StubServer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopStub() {
+        stub.close();
+    }
+
+    @Benchmark
+    public Response getJson() {
+        BaseAPIRequest request = new BaseAPIRequest();
+        request.setBaseUri(stub.getBaseUri());
+        request.setBasePath("/users/{id}");
+        request.addPathParam("id", 42);
+        request.addQueryParam("expand", "orders");
+        request.addHeader("Accept", "application/json");
+        request.setMethod(MethodType.GET);
+        request.setCaptureAPIDetails(captureAPIDetails);
+        return request.makeAPICall();
+    }
+
+    @Benchmark
+    public Response postJson() {
+        BaseAPIRequest request = new BaseAPIRequest();
+        request.setBaseUri(stub.getBaseUri());
+        request.setBasePath("/users");
+        request.setContentType(ContentType.JSON);
+        request.setBody("{\"name\":\"benchmark\",\"job\":\"performance\"}");
+        request.setMethod(MethodType.POST);
+        request.setCaptureAPIDetails(captureAPIDetails);
+        return request.makeAPICall();
+    }
+}
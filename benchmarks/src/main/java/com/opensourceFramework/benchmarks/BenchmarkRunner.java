@@ -0,0 +1,62 @@
+package com.opensourceFramework.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Entry point of the benchmark jar. Accepts the regular JMH command line options and always archives
+ * the results as JSON under {@code results/<timestamp>-<commit>.json} so runs can be compared across
+ * commits, e.g. with https://jmh.morethan.net.
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULTS_DIRECTORY = System.getProperty("benchmark.results.dir", "results");
+
+    public static void main(String[] args) throws Exception {
+        File directory = new File(RESULTS_DIRECTORY);
+        directory.mkdirs();
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File resultFile = new File(directory, timestamp + "-" + currentCommit() + ".json");
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.getPath())
+                .build();
+        new Runner(options).run();
+        System.out.println("Benchmark results archived to :- " + resultFile.getAbsolutePath());
+    }
+
+    /**
+     * @return the short commit id of the working tree, or the {@code benchmark.commit} system property
+     * when git is not available (e.g. on a CI agent that only has the jar).
+     */
+    private static String currentCommit() {
+        String commit = System.getProperty("benchmark.commit");
+        if (commit != null && !commit.isBlank()) {
+            return commit;
+        }
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line = reader.readLine();
+                if (process.waitFor() == 0 && line != null && !line.isBlank()) {
+                    return line.trim();
+                }
+            }
+        } catch (Exception e) {
+            // fall through to "unknown"
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,93 @@
+package com.opensourceFramework.benchmarks;
+
+import com.opensourceFramework.utils.ConvertHttpRequestToCurl;
+import com.opensourceFramework.utils.LegacyCurlRenderer;
+import org.apache.http.HttpRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConvertHttpRequestToCurl#generateCurl(HttpRequest)} on JSON, form and multipart
+ * requests captured from real REST-assured calls, against the {@link LegacyCurlRenderer} baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurlGenerationBenchmark {
+
+    private HttpRequest jsonRequest;
+    private HttpRequest formRequest;
+    private HttpRequest multipartRequest;
+
+    @Setup(Level.Trial)
+    public void captureRequests() throws Exception {
+        File upload = File.createTempFile("benchmark-upload", ".txt");
+        upload.deleteOnExit();
+        Files.writeString(upload.toPath(), "benchmark file content");
+
+        try (StubServer stub = StubServer.start()) {
+            String baseUri = stub.getBaseUri();
+            jsonRequest = RequestCapture.capture(spec -> spec.baseUri(baseUri)
+                    .contentType("application/json")
+                    .header("X-Request-Id", "3f1c2d7e-benchmark")
+                    .cookie("session", "abc=def")
+                    .body("{\"name\":\"benchmark\",\"tags\":[\"a\",\"b\"],\"path\":\"C:\\\\temp\"}")
+                    .post("/users"));
+            formRequest = RequestCapture.capture(spec -> spec.baseUri(baseUri)
+                    .auth().preemptive().basic("user", "p@ss")
+                    .formParam("grant_type", "client_credentials")
+                    .formParam("scope", "read write")
+                    .post("/oauth/token"));
+            multipartRequest = RequestCapture.capture(spec -> spec.baseUri(baseUri)
+                    .multiPart("file", upload)
+                    .multiPart("description", "benchmark upload")
+                    .post("/upload"));
+        }
+    }
+
+    @Benchmark
+    public String json() throws Exception {
+        return ConvertHttpRequestToCurl.generateCurl(jsonRequest);
+    }
+
+    @Benchmark
+    public String form() throws Exception {
+        return ConvertHttpRequestToCurl.generateCurl(formRequest);
+    }
+
+    @Benchmark
+    public String multipart() throws Exception {
+        return ConvertHttpRequestToCurl.generateCurl(multipartRequest);
+    }
+
+    @Benchmark
+    public String jsonLegacy() throws Exception {
+        return LegacyCurlRenderer.generateCurl(jsonRequest);
+    }
+
+    @Benchmark
+    public String formLegacy() throws Exception {
+        return LegacyCurlRenderer.generateCurl(formRequest);
+    }
+
+    @Benchmark
+    public String multipartLegacy() throws Exception {
+        return LegacyCurlRenderer.generateCurl(multipartRequest);
+    }
+}
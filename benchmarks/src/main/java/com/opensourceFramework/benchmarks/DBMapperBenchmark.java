@@ -0,0 +1,76 @@
+package com.opensourceFramework.benchmarks;
+
+import com.opensourceFramework.utils.DBMapper;
+import com.opensourceFramework.utils.DBTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DBMapper#loadResultSetIntoObject(ResultSet, Object)} for a single row. The
+ * {@link ResultSet} is an in-memory proxy so no database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DBMapperBenchmark {
+
+    private ResultSet resultSet;
+
+    @Setup(Level.Trial)
+    public void createResultSet() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("emp_no", 10001);
+        row.put("first_name", "Georgi");
+        row.put("last_name", "Facello");
+        row.put("salary", 60117L);
+        row.put("rating", 4.5d);
+        row.put("active", true);
+        resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getObject") && args.length == 1 && args[0] instanceof String) {
+                        return row.get(args[0]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Benchmark
+    public Employee loadResultSetIntoObject() throws Exception {
+        Employee employee = new Employee();
+        DBMapper.loadResultSetIntoObject(resultSet, employee);
+        return employee;
+    }
+
+    public static class Employee {
+        @DBTable(columnName = "emp_no")
+        private int empNo;
+        @DBTable(columnName = "first_name")
+        private String firstName;
+        @DBTable(columnName = "last_name")
+        private String lastName;
+        @DBTable(columnName = "salary")
+        private long salary;
+        @DBTable(columnName = "rating")
+        private double rating;
+        @DBTable(columnName = "active")
+        private boolean active;
+    }
+}
@@ -0,0 +1,125 @@
+package com.opensourceFramework.benchmarks;
+
+import com.opensourceFramework.constants.Constants;
+import com.opensourceFramework.utils.ExcelUtils;
+import com.opensourceFramework.utils.TestUtils;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the test data lookups of {@link ExcelUtils} and {@link TestUtils} on a generated workbook
+ * with a RUNMANAGER and a large TESTDATA sheet.
+ * <p>
+ * Must be started from the {@code benchmarks} directory so {@code ConfigReader} finds
+ * {@code src/test/resources/config/config.properties}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelBenchmark {
+
+    private static final String TEST_CASE_NAME = "sampleTestCase";
+    private static final int DATA_COLUMNS = 30;
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private Method testMethod;
+    private int lastRow;
+
+    @Setup(Level.Trial)
+    public void createWorkbook() throws Exception {
+        File directory = Files.createTempDirectory("excel-benchmark").toFile();
+        directory.deleteOnExit();
+        Constants.EXCELPATH = directory.getAbsolutePath();
+        writeWorkbook(new File(directory, "benchmark-testdata.xlsx"));
+
+        ExcelUtils.getRunStatus();
+        testMethod = ExcelBenchmark.class.getMethod(TEST_CASE_NAME);
+        lastRow = rows;
+    }
+
+    private void writeWorkbook(File file) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             FileOutputStream out = new FileOutputStream(file)) {
+            Sheet runManager = workbook.createSheet(Constants.RUNMANAGERSHEET);
+            String[] runHeaders = {"TestCaseName", "Test Case Description", "Execute", "Priority"};
+            writeRow(runManager.createRow(0), runHeaders);
+            for (int i = 1; i <= rows / 10; i++) {
+                String name = i == 1 ? TEST_CASE_NAME : "testCase" + i;
+                writeRow(runManager.createRow(i), new String[]{name, "Description " + i, "Yes", "P" + (i % 3)});
+            }
+
+            Sheet testData = workbook.createSheet(Constants.TESTDATASHEETNAME);
+            Row header = testData.createRow(0);
+            header.createCell(0).setCellValue("TestCaseName");
+            header.createCell(1).setCellValue("Execute");
+            for (int c = 2; c < DATA_COLUMNS; c++) {
+                header.createCell(c).setCellValue("Column" + c);
+            }
+            for (int r = 1; r <= rows; r++) {
+                Row row = testData.createRow(r);
+                row.createCell(0).setCellValue(r % 10 == 0 ? TEST_CASE_NAME : "testCase" + (r % 97));
+                row.createCell(1).setCellValue(r % 20 == 0 ? "No" : "Yes");
+                for (int c = 2; c < DATA_COLUMNS; c++) {
+                    if (c % 3 == 0) {
+                        row.createCell(c).setCellValue(r * c);
+                    } else {
+                        row.createCell(c).setCellValue("value-" + r + "-" + c);
+                    }
+                }
+            }
+            workbook.write(out);
+        }
+    }
+
+    private static void writeRow(Row row, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    /**
+     * Named after the generated test case so {@link TestUtils#getDataForIterations(Method)} finds its rows.
+     */
+    public void sampleTestCase() {
+    }
+
+    @Benchmark
+    public String cellContentByColumnName() {
+        return ExcelUtils.getCellContent(Constants.TESTDATASHEETNAME, lastRow, "Column" + (DATA_COLUMNS - 1));
+    }
+
+    @Benchmark
+    public String cellContentByRowAndColumnName() {
+        return ExcelUtils.getCellContent(Constants.TESTDATASHEETNAME, TEST_CASE_NAME, "Column" + (DATA_COLUMNS - 1));
+    }
+
+    @Benchmark
+    public Object[][] dataForIterations() {
+        return TestUtils.getDataForIterations(testMethod);
+    }
+}
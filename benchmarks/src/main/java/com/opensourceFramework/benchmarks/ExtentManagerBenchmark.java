@@ -0,0 +1,71 @@
+package com.opensourceFramework.benchmarks;
+
+import com.aventstack.extentreports.Status;
+import com.opensourceFramework.utils.extentReport.ExtentManager;
+import com.opensourceFramework.utils.extentReport.ServerReporterPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExtentManager#log(Status, String)} throughput with one and with eight threads logging
+ * into their own tests at the same time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtentManagerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Report {
+
+        @Setup(Level.Trial)
+        public void createReport() throws IOException {
+            File directory = Files.createTempDirectory("extent-benchmark").toFile();
+            directory.deleteOnExit();
+            ServerReporterPath.setReportBaseDirectory(directory.getAbsolutePath() + File.separator);
+            ExtentManager.setLoggingEnabled(false);
+            ExtentManager.createInstance("Benchmark", false, false, "BenchmarkReport");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadTest {
+
+        /**
+         * A fresh test per iteration keeps the per-test log list from growing across the whole run.
+         */
+        @Setup(Level.Iteration)
+        public void createTest(Report report) {
+            ExtentManager.createTest("benchmark-" + Thread.currentThread().getName(), "log contention benchmark");
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void logSingleThread(ThreadTest test) {
+        ExtentManager.log(Status.INFO, "Response status code is 200");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void logContended(ThreadTest test) {
+        ExtentManager.log(Status.INFO, "Response status code is 200");
+    }
+}
@@ -0,0 +1,36 @@
+package com.opensourceFramework.benchmarks;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpRequest;
+import org.apache.http.impl.client.DefaultHttpClient;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Executes a REST-assured request once and keeps the {@link HttpRequest} exactly as the curl
+ * interceptor sees it, so curl benchmarks run on real JSON, form and multipart requests.
+ */
+public final class RequestCapture {
+
+    private RequestCapture() {
+    }
+
+    public static HttpRequest capture(Function<RequestSpecification, ?> call) {
+        AtomicReference<HttpRequest> captured = new AtomicReference<>();
+        RestAssuredConfig config = RestAssured.config()
+                .httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(() -> {
+                    DefaultHttpClient client = new DefaultHttpClient();
+                    client.addRequestInterceptor((request, context) -> captured.set(request));
+                    return client;
+                }));
+        call.apply(RestAssured.given().config(config));
+        if (captured.get() == null) {
+            throw new IllegalStateException("No HTTP request was captured");
+        }
+        return captured.get();
+    }
+}
@@ -3,6 +3,15 @@ package com.opensourceFramework;
 import com.opensourceFramework.constants.ContentType;
 import com.opensourceFramework.constants.MethodType;
 import com.opensourceFramework.utils.CurlBuilder;
+import com.opensourceFramework.utils.CurlCapture;
+import com.opensourceFramework.utils.performance.ApiCallListeners;
+import com.opensourceFramework.utils.performance.ApiCallRecord;
+import com.opensourceFramework.utils.performance.ApiMetrics;
+import com.opensourceFramework.utils.streaming.StreamEvent;
+import com.opensourceFramework.utils.streaming.StreamFormat;
+import com.opensourceFramework.utils.streaming.StreamMetrics;
+import com.opensourceFramework.utils.streaming.StreamingCall;
+import com.opensourceFramework.utils.streaming.StreamingClient;
 import io.restassured.RestAssured;
 import io.restassured.authentication.PreemptiveBasicAuthScheme;
 import io.restassured.builder.RequestSpecBuilder;
@@ -14,8 +23,10 @@ import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static io.restassured.RestAssured.given;
 
@@ -73,6 +84,13 @@ public class BaseAPIRequest {
         this.captureAPIDetails = captureAPIDetails;
     }
 
+    /**
+     * @return the HTTP method, or {@code null} when not set.
+     */
+    public MethodType getMethod() {
+        return method;
+    }
+
     /**
      * Sets the HTTP method (GET, POST, PUT, etc.) for the API request.
      * @param method - the HTTP method.
@@ -81,6 +99,13 @@ public class BaseAPIRequest {
         this.method = method;
     }
 
+    /**
+     * @return the request body, or {@code null} when not set.
+     */
+    public Object getBody() {
+        return body;
+    }
+
     /**
      * Sets the request body for the API call.
      * @param obj - the request body object.
@@ -111,6 +136,13 @@ public class BaseAPIRequest {
         requestSpecBuilder.setAuth(authScheme);
     }
 
+    /**
+     * @return the content type, or {@code null} when not set.
+     */
+    public ContentType getContentType() {
+        return contentType;
+    }
+
     /**
      * Sets the content type of the API request.
      * @param contentType - the content type (e.g., JSON, XML).
@@ -120,6 +152,13 @@ public class BaseAPIRequest {
         requestSpecBuilder.setContentType(contentType.getContentType());
     }
 
+    /**
+     * @return the base URI, or {@code null} when not set.
+     */
+    public String getBaseUri() {
+        return baseUri;
+    }
+
     /**
      * Sets the base URI for the API request.
      * @param baseUri - the base URI for the API.
@@ -129,6 +168,13 @@ public class BaseAPIRequest {
         requestSpecBuilder.setBaseUri(baseUri);
     }
 
+    /**
+     * @return the cookie string, or {@code null} when not set.
+     */
+    public String getCookie() {
+        return cookie;
+    }
+
     /**
      * Sets a cookie for the API request.
      * @param cookie - the cookie string.
@@ -138,6 +184,13 @@ public class BaseAPIRequest {
         requestSpecBuilder.addCookie(cookie);
     }
 
+    /**
+     * @return the base path, or {@code null} when not set.
+     */
+    public String getBasePath() {
+        return basePath;
+    }
+
     /**
      * Sets the base path for the API request.
      * @param basePath - the base path to be appended to the base URI.
@@ -147,6 +200,13 @@ public class BaseAPIRequest {
         requestSpecBuilder.setBasePath(basePath);
     }
 
+    /**
+     * @return the headers added so far, read only.
+     */
+    public Map<String, Object> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
     /**
      * Adds headers to the API request.
      * @param headers - a map of header key-value pairs.
@@ -166,6 +226,13 @@ public class BaseAPIRequest {
         requestSpecBuilder.addHeader(headerKey, headerValue);
     }
 
+    /**
+     * @return the query parameters added so far, read only.
+     */
+    public Map<String, Object> getQueryParams() {
+        return Collections.unmodifiableMap(queryParams);
+    }
+
     /**
      * Adds a query parameter to the API request.
      * @param paramKey - the query parameter key.
@@ -185,6 +252,13 @@ public class BaseAPIRequest {
         requestSpecBuilder.addQueryParams(queryParams);
     }
 
+    /**
+     * @return the path parameters added so far, read only.
+     */
+    public Map<String, Object> getPathParams() {
+        return Collections.unmodifiableMap(pathParams);
+    }
+
     /**
      * Adds a path parameter to the API request.
      * @param paramKey - the path parameter key.
@@ -204,6 +278,13 @@ public class BaseAPIRequest {
         requestSpecBuilder.addPathParams(pathParams);
     }
 
+    /**
+     * @return the form URL-encoded parameters added so far, read only.
+     */
+    public Map<String, Object> getFormURLEncoded() {
+        return Collections.unmodifiableMap(formURLEncoded);
+    }
+
     /**
      * Adds form URL-encoded data to the API request.
      * @param paramKey - the form parameter key.
@@ -232,6 +313,16 @@ public class BaseAPIRequest {
         requestSpecBuilder.addMultiPart(controlName, file);
     }
 
+    /**
+     * Adds a multipart text part to the API request.
+     * @param controlName - the control name for the multipart data.
+     * @param content - the content of the part.
+     * @param mimeType - the content type of the part.
+     */
+    public void addMultiPart(String controlName, String content, String mimeType) {
+        requestSpecBuilder.addMultiPart(controlName, content, mimeType);
+    }
+
     /**
      * Makes an API call based on the configured HTTP method and request details.
      * @return Response object representing the API response.
@@ -242,10 +333,70 @@ public class BaseAPIRequest {
                 .addFilter(new ResponseLoggingFilter())
                 .build();
 
-        Response response;
         RestAssured.defaultParser = Parser.JSON;
         RestAssuredConfig config = new CurlBuilder(captureAPIDetails).build();
 
+        CurlCapture.clearLastCurl();
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        Response response = null;
+        String failure = null;
+        try {
+            response = send(requestSpecification, config);
+            return response;
+        } catch (RuntimeException e) {
+            failure = e.getClass().getName();
+            throw e;
+        } finally {
+            recordCall(startMillis, startNanos, System.nanoTime() - startNanos, response, failure);
+        }
+    }
+
+    /**
+     * Opens the endpoint as a stream of Server-Sent Events or JSON lines instead of a buffered response. The
+     * request is sent when the returned publisher is subscribed to.
+     * @param format - the framing of the response body.
+     * @return the call, a {@link java.util.concurrent.Flow.Publisher} of the events.
+     */
+    public StreamingCall streamAPICall(StreamFormat format) {
+        return StreamingClient.open(this, format);
+    }
+
+    /**
+     * Streams the endpoint, handing every event to the callback as it arrives, and waits for the stream to end.
+     * The next event is only read once the callback returns.
+     * @param format - the framing of the response body.
+     * @param onEvent - the callback receiving the events.
+     * @return the timing of the stream.
+     */
+    public StreamMetrics streamAPICall(StreamFormat format, Consumer<StreamEvent> onEvent) {
+        return StreamingClient.stream(this, format, onEvent);
+    }
+
+    /**
+     * Records the call in {@link ApiMetrics} and hands it to the registered {@link ApiCallListeners}.
+     */
+    private void recordCall(long startMillis, long startNanos, long latencyNanos, Response response, String failure) {
+        String endpoint = ApiMetrics.endpointName(String.valueOf(method), basePath);
+        int status = response == null ? 0 : response.getStatusCode();
+        ApiMetrics.record(endpoint, latencyNanos, response == null || status >= 400);
+        if (!ApiCallListeners.isEmpty()) {
+            ApiCallRecord record = new ApiCallRecord(startMillis, Thread.currentThread().getName(), endpoint,
+                    String.valueOf(method), (baseUri == null ? "" : baseUri) + (basePath == null ? "" : basePath),
+                    status, latencyNanos / 1_000, failure, CurlCapture.getLastRequest());
+            record.setStartNanos(startNanos);
+            if (response != null) {
+                record.setResponseBody(response::asString);
+            }
+            ApiCallListeners.notify(record);
+        }
+    }
+
+    /**
+     * Sends the request with the configured HTTP method.
+     */
+    private Response send(RequestSpecification requestSpecification, RestAssuredConfig config) {
+        Response response;
         switch (method) {
             case GET:
                 response = given().config(config).spec(requestSpecification).when().redirects().follow(redirectFlag).get();
@@ -15,5 +15,6 @@ public class Constants {
 	
 	public static final String RUNMANAGERSHEET = "RUNMANAGER";
 	public static final String TESTDATASHEETNAME = "TESTDATA";
+	public static final String LOADMANAGERSHEET = "LOADMANAGER";
 
 }
\ No newline at end of file
@@ -10,23 +10,35 @@ import org.apache.http.entity.mime.FormBodyPart;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.ContentBody;
 import org.apache.http.impl.client.RequestWrapper;
-import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 
 /**
  * Generates CURL command for a given HTTP request.
+ * <p>
+ * The command is written in a single pass into a per-thread {@link StringBuilder}; the reflective accessors
+ * used for multipart bodies are looked up once per class.
+ * <p>
+ * The output is kept byte for byte identical to the regular expression based renderer this class replaced,
+ * except that single quotes inside single quoted POSIX values are now written as {@code '\''} so the command
+ * can be pasted into a shell. Its quirks are kept: curly braces and backslashes of the URL become a literal {@code $&}, ANSI-C quoting is
+ * only used for three character values (see {@link #needsAnsiQuoting(String)}) and characters from U+1000 up are
+ * written as a bare <code>&#92;u</code>. Requests the old renderer failed on are rejected with an
+ * {@link IllegalArgumentException}.
  */
 public class ConvertHttpRequestToCurl {
 
@@ -35,11 +47,26 @@ public class ConvertHttpRequestToCurl {
     private static final List<String> nonBinaryContentTypes = Arrays.asList("application/x-www-form-urlencoded",
             "application/json");
 
+    private static final Pattern QUOTES = Pattern.compile("^\"|\"$");
+    /**
+     * The schemes the JDK has {@link URL} handlers for.
+     */
+    private static final String[] URL_SCHEMES = {"http", "https", "ftp", "file", "jar", "mailto", "jrt"};
+    private static final int MAX_REUSED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private static final ClassValue<MethodHandle> wrappedEntity = fieldGetter("wrappedEntity");
+    private static final ClassValue<MethodHandle> builder = fieldGetter("builder");
+    private static final ClassValue<MethodHandle> bodyParts = fieldGetter("bodyParts");
+
     /**
      * Generates single-line CURL command for a given HTTP request.
      *
      * @param request HTTP request
      * @return CURL command
+     * @throws IllegalArgumentException if the request has a body but no {@code Content-Type}, a cookie without
+     *                                  {@code =}, a line break in a value on Windows, or a character between
+     *                                  U+0100 and U+0FFF in an ANSI-C quoted value
      * @throws Exception if failed to generate CURL command
      */
     public static String generateCurl(HttpRequest request) throws Exception {
@@ -52,61 +79,51 @@ public class ConvertHttpRequestToCurl {
      * @param request HTTP request
      * @param printMultiliner if {@code true} breaks command into lines for better legibility
      * @return CURL command
+     * @throws IllegalArgumentException if the request cannot be rendered, see {@link #generateCurl(HttpRequest)}
      * @throws Exception if failed to generate CURL command
      */
     public static String generateCurl(HttpRequest request, boolean printMultiliner) throws Exception {
+        boolean windows = isOsWindows();
+        String lineJoiner = printMultiliner
+                ? " " + (windows ? "^" : "\\") + System.lineSeparator() + "  "
+                : " ";
+        StringBuilder command = buffer.get();
+        command.setLength(0);
 
-        List<List<String>> command = new ArrayList<>();  // Multi-line command
-        Set<String> ignoredHeaders = new HashSet<>();
-        List<Header> headers = Arrays.asList(request.getAllHeaders());
+        Header[] headers = request.getAllHeaders();
+        String method = request.getRequestLine().getMethod();
 
-        String inferredUri = request.getRequestLine().getUri();
-        if (!isValidUrl(inferredUri)) { // Missing schema and domain name
-            String host = getHost(request);
-            String inferredScheme = "http";
-            if (host.endsWith(":443")) {
-                inferredScheme = "https";
-            } else if (request instanceof RequestWrapper) {
-                if (getOriginalRequestUri(request).startsWith("https")) {
-                    // This is for original URL, so if during redirects we go out of HTTPs, this might be a wrong guess
-                    inferredScheme = "https";
-                }
-            }
+        String inferredUri = inferUri(request, headers, method);
 
-            if ("CONNECT".equals(request.getRequestLine().getMethod())) {
-                inferredUri = String.format("%s://%s", inferredScheme, host);
-            } else {
-                inferredUri =
-                        String.format("%s://%s/%s", inferredScheme, host, inferredUri)
-                                .replaceAll("(?<!http(s)?:)//", "/");
-            }
-        }
-
-        command.add(line(
-                "curl",
-                escapeString(inferredUri).replaceAll("[[{}\\\\]]", "\\$&")));
+        command.append("curl ");
+        int uriStart = command.length();
+        appendEscaped(command, inferredUri, windows);
+        replaceUrlSpecialCharacters(command, uriStart);
 
         String inferredMethod = "GET";
-        List<String> data = new ArrayList<>();
-
-        Optional<String> requestContentType = tryGetHeaderValue(headers, "Content-Type");
-        Optional<String> formData = Optional.empty();
+        String requestContentType = headerValue(headers, "Content-Type");
+        String formData = null;
+        boolean ignoreContentType = false;
+        boolean ignoreContentLength = false;
+        boolean multipartMixed = false;
         if (request instanceof HttpEntityEnclosingRequest) {
             HttpEntityEnclosingRequest requestWithEntity = (HttpEntityEnclosingRequest) request;
             try {
                 HttpEntity entity = requestWithEntity.getEntity();
                 if (entity != null) {
-                    if (requestContentType.get().startsWith("multipart/form")) {
-                        ignoredHeaders.add("Content-Type"); // let curl command decide
-                        ignoredHeaders.add("Content-Length");
-                        handleMultipartEntity(entity, command);
-                    } else if ((requestContentType.get().startsWith("multipart/mixed"))) {
-                        headers = headers.stream().filter(h -> !h.getName().equals("Content-Type")).collect(Collectors.toList());
-                        headers.add(new BasicHeader("Content-Type", "multipart/mixed"));
-                        ignoredHeaders.add("Content-Length");
-                        handleMultipartEntity(entity, command);
+                    if (requestContentType == null) {
+                        throw new IllegalArgumentException("Request with a body has no Content-Type header");
+                    }
+                    if (requestContentType.startsWith("multipart/form")) {
+                        ignoreContentType = true; // let curl command decide
+                        ignoreContentLength = true;
+                        handleMultipartEntity(entity, command, lineJoiner, windows);
+                    } else if (requestContentType.startsWith("multipart/mixed")) {
+                        multipartMixed = true;
+                        ignoreContentLength = true;
+                        handleMultipartEntity(entity, command, lineJoiner, windows);
                     } else {
-                        formData = Optional.of(EntityUtils.toString(entity));
+                        formData = Objects.requireNonNull(EntityUtils.toString(entity));
                     }
                 }
             } catch (IOException e) {
@@ -115,94 +132,159 @@ public class ConvertHttpRequestToCurl {
             }
         }
 
-        if (requestContentType.isPresent()
-                && nonBinaryContentTypes.contains(requestContentType.get())
-                && formData.isPresent()) {
-            data.add("--data");
-            data.add(escapeString(formData.get()));
-            ignoredHeaders.add("Content-Length");
-            inferredMethod = "POST";
-        } else if (formData.isPresent()) {
-            data.add("--data-binary");
-            data.add(escapeString(formData.get()));
-            ignoredHeaders.add("Content-Length");
+        String data = null;
+        if (formData != null) {
+            StringBuilder dataLine = new StringBuilder(formData.length() + 16)
+                    .append(nonBinaryContentTypes.contains(requestContentType) ? "--data " : "--data-binary ");
+            appendEscaped(dataLine, formData, windows);
+            data = dataLine.toString();
+            ignoreContentLength = true;
             inferredMethod = "POST";
         }
 
-        if (!request.getRequestLine().getMethod().equals(inferredMethod)) {
-            command.add(line(
-                    "-X",
-                    request.getRequestLine().getMethod()));
+        if (!method.equals(inferredMethod)) {
+            command.append(lineJoiner).append("-X ").append(method);
         }
 
-
-        headers = handleAuthenticationHeader(headers, command);
+        for (Header header : headers) {
+            if (isBasicAuthentication(header)) {
+                command.append(lineJoiner).append("--user ");
+                appendEscaped(command, getBasicAuthCredentials(header.getValue()), windows);
+            }
+        }
 
         // cookies
-        headers = handleCookieHeaders(command, headers);
-
-
-        handleNotIgnoredHeaders(headers, ignoredHeaders, command);
+        for (Header header : headers) {
+            if (header.getName().equals("Cookie")) {
+                handleCookiesHeader(header, command, lineJoiner, windows);
+            }
+        }
 
-        if (! data.isEmpty()) {
-            command.add(data);
+        for (Header header : headers) {
+            String name = header.getName();
+            if (isBasicAuthentication(header) || name.equals("Cookie")
+                    || (name.equals("Content-Type") && (ignoreContentType || multipartMixed))
+                    || (name.equals("Content-Length") && ignoreContentLength)) {
+                continue;
+            }
+            command.append(lineJoiner).append("-H ");
+            appendEscaped(command, name + ": " + header.getValue(), windows);
+        }
+        if (multipartMixed) {
+            command.append(lineJoiner).append("-H ");
+            appendEscaped(command, "Content-Type: multipart/mixed", windows);
         }
-        command.add(line("--compressed"));
-        command.add(line("--insecure"));
-        command.add(line("--verbose"));
 
-        return command.stream()
-                .map(line -> line.stream().collect(Collectors.joining(" ")))
-                .collect(Collectors.joining(chooseJoiningString(printMultiliner)));
-    }
+        if (data != null) {
+            command.append(lineJoiner).append(data);
+        }
+        command.append(lineJoiner).append("--compressed");
+        command.append(lineJoiner).append("--insecure");
+        command.append(lineJoiner).append("--verbose");
 
-    private static CharSequence chooseJoiningString(boolean printMultiliner) {
-        return printMultiliner
-                ? String.format(" %s%n  ", commandLineSeparator())
-                : " ";
+        String curl = command.toString();
+        if (command.capacity() > MAX_REUSED_CAPACITY) {
+            buffer.remove();
+        }
+        return curl;
     }
 
-    private static String commandLineSeparator() {
-        return isOsWindows() ? "^" : "\\";
+    /**
+     * Replaces every {@code //} that does not follow {@code http:} or {@code https:} by {@code /}, scanning left
+     * to right like a regular expression replacement would.
+     */
+    private static String collapseSlashes(String uri) {
+        int first = uri.indexOf("//");
+        if (first < 0) {
+            return uri;
+        }
+        StringBuilder collapsed = new StringBuilder(uri.length());
+        collapsed.append(uri, 0, first);
+        int i = first;
+        while (i < uri.length()) {
+            char c = uri.charAt(i);
+            if (c == '/' && i + 1 < uri.length() && uri.charAt(i + 1) == '/' && !followsHttpScheme(uri, i)) {
+                collapsed.append('/');
+                i += 2;
+            } else {
+                collapsed.append(c);
+                i++;
+            }
+        }
+        return collapsed.toString();
     }
 
-    private static List<String> line(String... arguments) {
-        return Arrays.asList(arguments);
+    private static boolean followsHttpScheme(String s, int index) {
+        return (index >= 5 && s.startsWith("http:", index - 5)) || (index >= 6 && s.startsWith("https:", index - 6));
     }
 
-    private static List<Header> handleCookieHeaders(List<List<String>> command, List<Header> headers) {
-        List<Header> cookiesHeaders = headers.stream()
-                .filter(h -> h.getName().equals("Cookie"))
-                .collect(Collectors.toList());
-        cookiesHeaders.forEach(h -> handleCookiesHeader(h, command));
-        headers = headers.stream().filter(h -> !h.getName().equals("Cookie")).collect(Collectors.toList());
-        return headers;
+    /**
+     * Replaces each curly brace and backslash of the escaped URL by {@code $&}. This is a quirk of the old
+     * renderer, whose replacement string escaped the {@code $} instead of adding a backslash in front of the
+     * match; it is kept so commands stay the same.
+     */
+    private static void replaceUrlSpecialCharacters(StringBuilder command, int start) {
+        for (int i = start; i < command.length(); i++) {
+            char c = command.charAt(i);
+            if (c == '{' || c == '}' || c == '\\') {
+                command.replace(i, i + 1, "$&");
+                i++;
+            }
+        }
     }
 
-    private static void handleCookiesHeader(Header header, List<List<String>> command) {
-        List<String> cookies = Arrays.asList(header.getValue().split("; "));
-        cookies.forEach(c -> handleCookie(c.trim(), command));
+    private static void handleCookiesHeader(Header header, StringBuilder command, String lineJoiner, boolean windows) {
+        for (String cookie : splitCookies(header.getValue())) {
+            // Cookie value may contain "=" as well
+            String trimmed = cookie.trim();
+            if (trimmed.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Cookie has no value: " + trimmed);
+            }
+            command.append(lineJoiner).append("-b ");
+            appendEscaped(command, trimmed, windows);
+        }
     }
 
-    private static void handleCookie(String cookie, List<List<String>> command) {
-        // Cookie value may contain "=" as well
-        String[] nameAndValue = cookie.split("=", 2);
-        command.add(line(
-                "-b",
-                escapeString(String.format("%s=%s", nameAndValue[0], nameAndValue[1]))));
+    /**
+     * Splits a Cookie header on {@code "; "} with the semantics of {@link String#split(String)}: trailing empty
+     * values are dropped.
+     */
+    private static List<String> splitCookies(String value) {
+        List<String> cookies = new ArrayList<>();
+        int start = 0;
+        int separator;
+        while ((separator = value.indexOf("; ", start)) >= 0) {
+            cookies.add(value.substring(start, separator));
+            start = separator + 2;
+        }
+        if (start == 0) {
+            cookies.add(value);
+            return cookies;
+        }
+        cookies.add(value.substring(start));
+        int size = cookies.size();
+        while (size > 0 && cookies.get(size - 1).isEmpty()) {
+            cookies.remove(--size);
+        }
+        return cookies;
     }
 
-    private static void handleMultipartEntity(HttpEntity entity, List<List<String>> command) throws NoSuchFieldException, IllegalAccessException, IOException {
-        HttpEntity wrappedEntity = (HttpEntity) getFieldValue(entity, "wrappedEntity");
-        RestAssuredMultiPartEntity multiPartEntity = (RestAssuredMultiPartEntity) wrappedEntity;
-        MultipartEntityBuilder multipartEntityBuilder = (MultipartEntityBuilder) getFieldValue(multiPartEntity, "builder");
+    private static void handleMultipartEntity(HttpEntity entity, StringBuilder command, String lineJoiner,
+                                              boolean windows) throws NoSuchFieldException, IllegalAccessException, IOException {
+        HttpEntity wrapped = (HttpEntity) getFieldValue(wrappedEntity, entity, "wrappedEntity");
+        RestAssuredMultiPartEntity multiPartEntity = (RestAssuredMultiPartEntity) wrapped;
+        MultipartEntityBuilder multipartEntityBuilder = (MultipartEntityBuilder) getFieldValue(builder, multiPartEntity,
+                "builder");
 
-        List<FormBodyPart> bodyParts = (List<FormBodyPart>) getFieldValue(multipartEntityBuilder, "bodyParts");
+        List<FormBodyPart> parts = (List<FormBodyPart>) getFieldValue(bodyParts, multipartEntityBuilder, "bodyParts");
 
-        bodyParts.forEach(p -> handlePart(p, command));
+        for (FormBodyPart part : parts) {
+            command.append(lineJoiner).append("-F ");
+            appendEscaped(command, handlePart(part), windows);
+        }
     }
 
-    private static void handlePart(FormBodyPart bodyPart, List<List<String>> command) {
+    private static String handlePart(FormBodyPart bodyPart) {
         String contentDisposition = bodyPart.getHeader().getFields().stream()
                 .filter(f -> f.getName().equals("Content-Disposition"))
                 .findFirst()
@@ -215,7 +297,7 @@ public class ConvertHttpRequestToCurl {
 
         if (map.containsKey("form-data")) {
 
-            StringBuffer part = new StringBuffer();
+            StringBuilder part = new StringBuilder();
             part.append(removeQuotes(map.get("name"))).append("=");
             if (map.get("filename") != null) {
                 part.append("@").append(removeQuotes(map.get("filename")));
@@ -226,10 +308,8 @@ public class ConvertHttpRequestToCurl {
                     throw new RuntimeException("Could not read content of the part", e);
                 }
             }
-            part.append(";type=" + bodyPart.getHeader().getField("Content-Type").getBody());
-            command.add(line(
-                    "-F",
-                    escapeString(part.toString())));
+            part.append(";type=").append(bodyPart.getHeader().getField("Content-Type").getBody());
+            return part.toString();
         } else {
             throw new RuntimeException("Unsupported type " + map.entrySet().stream().findFirst().get());
         }
@@ -243,36 +323,34 @@ public class ConvertHttpRequestToCurl {
     }
 
     private static String removeQuotes(String s) {
-        return s.replaceAll("^\"|\"$", "");
+        return QUOTES.matcher(s).replaceAll("");
     }
 
-    private static String getBoundary(String contentType) {
-        String boundaryPart = contentType.split(";")[1];
-        return boundaryPart.split("=")[1];
-    }
-
-    private static void handleNotIgnoredHeaders(List<Header> headers, Set<String> ignoredHeaders, List<List<String>> command) {
-        headers
-                .stream()
-                .filter(h -> !ignoredHeaders.contains(h.getName()))
-                .forEach(h -> {
-                    command.add(line(
-                            "-H",
-                            escapeString(h.getName() + ": " + h.getValue())));
-                });
-    }
+    /**
+     * Returns the absolute URI of the request; request lines usually only hold the path, so the scheme and host
+     * are inferred from the {@code Host} header and the original request.
+     */
+    static String inferUri(HttpRequest request, Header[] headers, String method) {
+        String inferredUri = request.getRequestLine().getUri();
+        if (!isValidUrl(inferredUri)) { // Missing schema and domain name
+            String host = getHost(headers, request);
+            String inferredScheme = "http";
+            if (host.endsWith(":443")) {
+                inferredScheme = "https";
+            } else if (request instanceof RequestWrapper) {
+                if (getOriginalRequestUri(request).startsWith("https")) {
+                    // This is for original URL, so if during redirects we go out of HTTPs, this might be a wrong guess
+                    inferredScheme = "https";
+                }
+            }
 
-    private static List<Header> handleAuthenticationHeader(List<Header> headers, List<List<String>> command) {
-        headers.stream()
-                .filter(h -> isBasicAuthentication(h))
-                .forEach(h -> {
-                    command.add(line(
-                            "--user",
-                            escapeString(getBasicAuthCredentials(h.getValue()))));
-                });
-
-        headers = headers.stream().filter(h -> !isBasicAuthentication(h)).collect(Collectors.toList());
-        return headers;
+            if ("CONNECT".equals(method)) {
+                inferredUri = inferredScheme + "://" + host;
+            } else {
+                inferredUri = collapseSlashes(inferredScheme + "://" + host + "/" + inferredUri);
+            }
+        }
+        return inferredUri;
     }
 
     private static boolean isBasicAuthentication(Header h) {
@@ -280,7 +358,7 @@ public class ConvertHttpRequestToCurl {
     }
 
     private static String getBasicAuthCredentials(String basicAuth) {
-        String credentials = basicAuth.replaceAll("Basic ", "");
+        String credentials = basicAuth.replace("Basic ", "");
         return new String(Base64.getDecoder().decode(credentials));
     }
 
@@ -296,36 +374,56 @@ public class ConvertHttpRequestToCurl {
         }
     }
 
-    private static String getHost(HttpRequest request) {
-        return tryGetHeaderValue(Arrays.asList(request.getAllHeaders()), "Host")
-                .orElseGet(() -> URI.create(getOriginalRequestUri(request)).getHost());
+    private static String getHost(Header[] headers, HttpRequest request) {
+        String host = headerValue(headers, "Host");
+        return host != null ? host : URI.create(getOriginalRequestUri(request)).getHost();
     }
 
+    /**
+     * Whether {@code new URL(url)} would succeed, which is what the old renderer checked, without creating one: the
+     * URI has to start with a valid scheme that {@link URL} has a handler for, and a {@code jar:} URL needs its
+     * {@code !/} separator.
+     */
     private static boolean isValidUrl(String url) {
-        try {
-            new URL(url);
-            return true;
-        } catch (MalformedURLException e) {
+        int colon = url.indexOf(':');
+        if (colon < 1 || !Character.isLetter(url.charAt(0))) { // also the usual relative request URI
             return false;
         }
+        for (int i = 1; i < colon; i++) {
+            char c = url.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '.' && c != '+' && c != '-') {
+                return false;
+            }
+        }
+        for (String scheme : URL_SCHEMES) {
+            if (scheme.length() == colon && url.regionMatches(true, 0, scheme, 0, colon)) {
+                return !scheme.equals("jar") || url.indexOf("!/", colon) >= 0;
+            }
+        }
+        return false;
     }
 
-    private static Optional<String> tryGetHeaderValue(List<Header> headers, String headerName) {
-        return headers
-                .stream()
-                .filter(h -> h.getName().equals(headerName))
-                .map(Header::getValue)
-                .findFirst();
+    private static String headerValue(Header[] headers, String headerName) {
+        for (Header header : headers) {
+            if (header.getName().equals(headerName)) {
+                return header.getValue();
+            }
+        }
+        return null;
     }
 
     private static boolean isOsWindows() {
-        return System.getProperty("os.name") != null && System.getProperty("os.name")
-                .startsWith("Windows");
+        String osName = System.getProperty("os.name");
+        return osName != null && osName.startsWith("Windows");
     }
 
-    private static String escapeString(String s) {
+    private static void appendEscaped(StringBuilder command, String s, boolean windows) {
         // cURL command is expected to run on the same platform that test run
-        return isOsWindows() ? escapeStringWin(s) : escapeStringPosix(s);
+        if (windows) {
+            appendEscapedWin(command, s);
+        } else {
+            appendEscapedPosix(command, s);
+        }
     }
 
     /**
@@ -336,73 +434,157 @@ public class ConvertHttpRequestToCurl {
      * "%""%". Even if an env variable "" (2 doublequotes) is declared, the cmd.exe will not
      * substitute it with its value.
      * <p>
-     * Replace each backslash with double backslash to make sure MS Crt arguments parser won't
-     * collapse them.
+     * Backslashes are left as they are.
      * <p>
-     * Replace new line outside of quotes since cmd.exe doesn't let to do it inside.
+     * New lines cannot be escaped for cmd.exe, so a value containing one is rejected.
      */
-    private static String escapeStringWin(String s) {
-        return "\""
-                + s
-                .replaceAll("\"", "\"\"")
-                .replaceAll("%", "\"%\"")
-                .replaceAll("\\\\", "\\\\")
-                .replaceAll("[\r\n]+", "\"^$&\"")
-                + "\"";
+    private static void appendEscapedWin(StringBuilder command, String s) {
+        command.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') {
+                command.append("\"\"");
+            } else if (c == '%') {
+                command.append("\"%\"");
+            } else if (c == '\r' || c == '\n') {
+                throw new IllegalArgumentException("Line breaks cannot be quoted for cmd.exe: " + s);
+            } else {
+                command.append(c);
+            }
+        }
+        command.append('"');
     }
 
-    private static String escapeStringPosix(String s) {
-
-        if (s.matches("^.([^\\x20-\\x7E]|\').$")) {
-            // Use ANSI-C quoting syntax.
-            String escaped = s
-                    .replaceAll("\\\\", "\\\\")
-                    .replaceAll("'", "\\'")
-                    .replaceAll("\n", "\\n")
-                    .replaceAll("\r", "\\r");
-
-            escaped = escaped.chars()
-                    .mapToObj(c -> escapeCharacter((char) c))
-                    .collect(Collectors.joining());
+    /**
+     * Uses ANSI-C quoting for three character values whose middle character is a single quote or not printable
+     * ASCII, single quotes for everything else. A single quote inside single quotes closes them, adds an escaped
+     * quote and opens them again.
+     */
+    private static void appendEscapedPosix(StringBuilder command, String s) {
+        if (!needsAnsiQuoting(s)) {
+            command.append('\'');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '\'') {
+                    command.append("'\\''");
+                } else {
+                    command.append(c);
+                }
+            }
+            command.append('\'');
+            return;
+        }
+        command.append("$'");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n') {
+                c = 'n';
+            } else if (c == '\r') {
+                c = 'r';
+            }
+            appendEscapedCharacter(command, c);
+        }
+        command.append('\'');
+    }
 
-            return "$\'" + escaped + "'";
-        } else {
-            // Use single quote syntax.
-            return "'" + s + "'";
+    /**
+     * Whether the value is exactly three code points, none of them a line terminator at either end, with a
+     * single quote or a character outside printable ASCII in the middle. This emulates a quirk of the old
+     * renderer, whose {@code ^.([^\x20-\x7E]|').$} check only matched single-line values of three characters;
+     * any other value containing a single quote is still wrapped in plain single quotes.
+     */
+    private static boolean needsAnsiQuoting(String s) {
+        if (s.length() < 3 || s.length() > 6) {
+            return false;
         }
+        int first = s.codePointAt(0);
+        int secondIndex = Character.charCount(first);
+        if (secondIndex >= s.length()) {
+            return false;
+        }
+        int second = s.codePointAt(secondIndex);
+        int thirdIndex = secondIndex + Character.charCount(second);
+        if (thirdIndex >= s.length()) {
+            return false;
+        }
+        int third = s.codePointAt(thirdIndex);
+        return thirdIndex + Character.charCount(third) == s.length()
+                && !isLineTerminator(first) && !isLineTerminator(third)
+                && (second < 0x20 || second > 0x7E || second == '\'');
+    }
 
+    private static boolean isLineTerminator(int codePoint) {
+        return codePoint == '\n' || codePoint == '\r' || codePoint == '\u0085' || codePoint == '\u2028'
+                || codePoint == '\u2029';
     }
 
-    private static String escapeCharacter(char c) {
-        int code = (int) c;
+    /**
+     * Writes {@code \xNN} for characters below U+0100. Like the old renderer, characters from U+1000 up are
+     * written as a bare <code>&#92;u</code> without their code, and the ones in between, which it failed on, are rejected.
+     */
+    private static void appendEscapedCharacter(StringBuilder command, char c) {
+        int code = c;
         String codeAsHex = Integer.toHexString(code);
         if (code < 256) {
             // Add leading zero when needed to not care about the next character.
-            return code < 16 ? "\\x0" + codeAsHex : "\\x" + codeAsHex;
+            command.append(code < 16 ? "\\x0" : "\\x").append(codeAsHex);
+        } else if (codeAsHex.length() == 4) {
+            command.append("\\u");
+        } else {
+            throw new IllegalArgumentException(String.format("Character U+%04X cannot be ANSI-C quoted", code));
         }
-        return "\\u" + ("" + codeAsHex).substring(codeAsHex.length(), 4);
     }
 
 
-    private static <T> Object getFieldValue(T obj, String fieldName) throws NoSuchFieldException, IllegalAccessException {
-        Field f = getField(obj.getClass(), fieldName);
-        f.setAccessible(true);
-        return f.get(obj);
+    private static Object getFieldValue(ClassValue<MethodHandle> getter, Object obj, String fieldName)
+            throws NoSuchFieldException, IllegalAccessException {
+        MethodHandle handle = getter.get(obj.getClass());
+        if (handle == null) {
+            throw new NoSuchFieldException(fieldName);
+        }
+        try {
+            return handle.invokeExact(obj);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not read " + fieldName, e);
+        }
     }
 
+    /**
+     * Looks up, once per class, a getter of the named field declared by the class or one of its superclasses.
+     * The value is {@code null} when there is no such field.
+     */
+    private static ClassValue<MethodHandle> fieldGetter(String fieldName) {
+        return new ClassValue<MethodHandle>() {
+            @Override
+            protected MethodHandle computeValue(Class<?> type) {
+                Field field = getField(type, fieldName);
+                if (field == null) {
+                    return null;
+                }
+                try {
+                    field.setAccessible(true);
+                    return MethodHandles.lookup().unreflectGetter(field)
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    log.warn("Cannot access field {} of {}", fieldName, type.getName(), e);
+                    return null;
+                }
+            }
+        };
+    }
 
-    private static Field getField(Class clazz, String fieldName)
-            throws NoSuchFieldException {
-        try {
-            return clazz.getDeclaredField(fieldName);
-        } catch (NoSuchFieldException e) {
-            Class superClass = clazz.getSuperclass();
-            if (superClass == null) {
-                throw e;
-            } else {
-                return getField(superClass, fieldName);
+
+    private static Field getField(Class<?> clazz, String fieldName) {
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            try {
+                return type.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                // look in the superclass
             }
         }
+        return null;
     }
 
 }
@@ -80,6 +80,7 @@ public class CurlBuilder {
         public HttpClient createHttpClient() {
             AbstractHttpClient client = new DefaultHttpClient();
             client.addRequestInterceptor(curlCapture);
+            client.addResponseInterceptor(curlCapture);
             return client;
         }
     }
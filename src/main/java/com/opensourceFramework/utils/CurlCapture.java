@@ -3,22 +3,35 @@ package com.opensourceFramework.utils;
 import org.apache.http.HttpException;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.protocol.HttpContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
  * Logs each HTTP request as CURL command in "curl" log.
+ * <p>
+ * Generating the command is expensive, so a request is only kept as a {@link CurlSnapshot} in a small per-thread
+ * history and rendered when it is needed: right away when the "curl" log is at debug level and API details are
+ * captured, when the response is not 2xx, when a test fails (see {@link CurlFailureListener}) or when it is
+ * asked for through {@link #getLastCurl()} or {@link #getRecentCurls()}.
  */
-public class CurlCapture implements HttpRequestInterceptor {
+public class CurlCapture implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+	public static final int DEFAULT_HISTORY_SIZE = 10;
 
 	private final boolean logStacktrace;
 	private final boolean printMultiliner;
 	private Logger log = LoggerFactory.getLogger("curl");
 	private static Boolean captureAPIDetails;
+	private static volatile int historySize = DEFAULT_HISTORY_SIZE;
+	private static final ThreadLocal<History> history = ThreadLocal.withInitial(History::new);
 
 	protected CurlCapture(Builder b) {
 		this.logStacktrace = b.logStacktrace;
@@ -30,6 +43,68 @@ public class CurlCapture implements HttpRequestInterceptor {
 		return new Builder();
 	}
 
+	/**
+	 * Sets how many requests each thread keeps for {@link #getRecentCurls()}.
+	 */
+	public static void setHistorySize(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("The curl history size must be at least 1: " + size);
+		}
+		historySize = size;
+	}
+
+	/**
+	 * Returns the curl command of the last request sent by the current thread, or {@code null} when
+	 * none was captured since {@link #clearLastCurl()}. The command is rendered on the first call.
+	 */
+	public static String getLastCurl() {
+		CurlSnapshot last = history.get().last;
+		return last == null ? null : last.getCurl();
+	}
+
+	/**
+	 * Returns the last request sent by the current thread without rendering it, or {@code null} when none
+	 * was captured since {@link #clearLastCurl()}.
+	 */
+	public static CurlSnapshot getLastRequest() {
+		return history.get().last;
+	}
+
+	/**
+	 * Forgets the last request of the current thread; the history of {@link #getRecentCurls()} is kept.
+	 */
+	public static void clearLastCurl() {
+		history.get().last = null;
+	}
+
+	/**
+	 * Returns the curl commands of the most recent requests of the current thread, oldest first.
+	 */
+	public static List<String> getRecentCurls() {
+		List<String> curls = new ArrayList<>();
+		for (CurlSnapshot snapshot : history.get().snapshots()) {
+			String curl = snapshot.getCurl();
+			if (curl != null) {
+				curls.add(curl);
+			}
+		}
+		return curls;
+	}
+
+	/**
+	 * Returns the most recent requests of the current thread, oldest first, without rendering them.
+	 */
+	public static List<CurlSnapshot> getRecentRequests() {
+		return history.get().snapshots();
+	}
+
+	/**
+	 * Empties the history of the current thread, e.g. when a new test starts on it.
+	 */
+	public static void clearHistory() {
+		history.remove();
+	}
+
 	private static void printStacktrace(StringBuffer sb) {
 		StackTraceElement[] trace = Thread.currentThread().getStackTrace();
 		for (StackTraceElement traceElement : trace) {
@@ -39,18 +114,77 @@ public class CurlCapture implements HttpRequestInterceptor {
 
 	@Override
 	public void process(HttpRequest request, HttpContext context) throws HttpException, IOException {
-		try {
-			String curl = ConvertHttpRequestToCurl.generateCurl(request, printMultiliner);
-			StringBuffer message = new StringBuffer(curl);
-			if (logStacktrace) {
-				message.append(String.format("%n\tgenerated%n"));
-				printStacktrace(message);
-			}
-			if(CurlCapture.captureAPIDetails) {
+		CurlSnapshot snapshot = new CurlSnapshot(request, printMultiliner);
+		history.get().add(snapshot);
+		if (Boolean.TRUE.equals(captureAPIDetails) && log.isDebugEnabled()) {
+			String curl = snapshot.getCurl();
+			if (curl != null) {
+				StringBuffer message = new StringBuffer(curl);
+				if (logStacktrace) {
+					message.append(String.format("%n\tgenerated%n"));
+					printStacktrace(message);
+				}
 				log.debug(message.toString());
 			}
-		} catch (Exception e) {
-			log.warn("Failed to generate CURL command for HTTP request", e);
+		}
+	}
+
+	/**
+	 * Notes the arrival of the response on the last request, and renders the request of a response that is
+	 * not 2xx while the request is still at hand.
+	 */
+	@Override
+	public void process(HttpResponse response, HttpContext context) throws HttpException, IOException {
+		int status = response.getStatusLine().getStatusCode();
+		CurlSnapshot last = history.get().last;
+		if (last != null) {
+			last.responseReceived(response);
+		}
+		if (last == null || (status >= 200 && status < 300) || last.isRendered()) {
+			return;
+		}
+		String curl = last.getCurl();
+		if (curl != null && Boolean.TRUE.equals(captureAPIDetails)) {
+			log.info("HTTP {} for request:{}{}", status, System.lineSeparator(), curl);
+		}
+	}
+
+	/**
+	 * Bounded ring of the last requests of one thread.
+	 */
+	private static class History {
+
+		private CurlSnapshot[] ring = new CurlSnapshot[historySize];
+		private int next;
+		private int size;
+		private CurlSnapshot last;
+
+		void add(CurlSnapshot snapshot) {
+			if (ring.length != historySize) {
+				List<CurlSnapshot> kept = snapshots();
+				ring = new CurlSnapshot[historySize];
+				next = 0;
+				size = 0;
+				for (CurlSnapshot old : kept.subList(Math.max(0, kept.size() - historySize + 1), kept.size())) {
+					append(old);
+				}
+			}
+			append(snapshot);
+			last = snapshot;
+		}
+
+		private void append(CurlSnapshot snapshot) {
+			ring[next] = snapshot;
+			next = (next + 1) % ring.length;
+			size = Math.min(size + 1, ring.length);
+		}
+
+		List<CurlSnapshot> snapshots() {
+			List<CurlSnapshot> snapshots = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				snapshots.add(ring[(next - size + i + ring.length) % ring.length]);
+			}
+			return snapshots;
 		}
 	}
 
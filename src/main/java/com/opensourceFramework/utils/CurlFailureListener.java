@@ -0,0 +1,35 @@
+package com.opensourceFramework.utils;
+
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.opensourceFramework.utils.extentReport.Logger;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.util.List;
+
+/**
+ * Adds the curl commands of the requests a failed test sent to its Extent report entry. Only the failing tests
+ * pay for rendering the commands; see {@link CurlCapture#setHistorySize(int)} for how many are kept.
+ * <p>
+ * Register it with {@code @Listeners(CurlFailureListener.class)} or as a {@code <listener>} in testng.xml.
+ */
+public class CurlFailureListener implements ITestListener {
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        CurlCapture.clearHistory();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        List<String> curls = CurlCapture.getRecentCurls();
+        if (curls.isEmpty()) {
+            return;
+        }
+        Logger.logInfo("Requests sent by " + result.getName() + " (oldest first):");
+        for (String curl : curls) {
+            Logger.logInfo(MarkupHelper.createCodeBlock(curl));
+        }
+        CurlCapture.clearHistory();
+    }
+}
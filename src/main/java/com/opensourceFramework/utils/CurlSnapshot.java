@@ -0,0 +1,134 @@
+package com.opensourceFramework.utils;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Supplier;
+
+
+/**
+ * A request sent through {@link CurlCapture}, kept by reference so that its curl command is only rendered
+ * when somebody asks for it. The command is rendered at most once.
+ * <p>
+ * The capture also keeps the transport timing of the exchange: when the request went onto the connection and
+ * when the response headers arrived, together with the response head.
+ */
+public class CurlSnapshot implements Supplier<String> {
+
+	private static final Logger log = LoggerFactory.getLogger("curl");
+
+	private final HttpRequest request;
+	private final boolean printMultiliner;
+	private final long sentEpochMillis;
+	private final long sentNanos;
+	private final String method;
+	private final String uri;
+	private String curl;
+	private boolean rendered;
+	private volatile HttpResponse response;
+	private volatile long responseNanos;
+
+	CurlSnapshot(HttpRequest request, boolean printMultiliner) {
+		this.request = request;
+		this.printMultiliner = printMultiliner;
+		this.sentEpochMillis = System.currentTimeMillis();
+		this.sentNanos = System.nanoTime();
+		this.method = request.getRequestLine().getMethod();
+		this.uri = request.getRequestLine().getUri();
+	}
+
+	public long getSentEpochMillis() {
+		return sentEpochMillis;
+	}
+
+	/**
+	 * Returns the {@link System#nanoTime()} at which the request was handed to the connection, i.e. after the
+	 * connection was leased and opened.
+	 */
+	public long getSentNanos() {
+		return sentNanos;
+	}
+
+	/**
+	 * Returns the {@link System#nanoTime()} at which the response headers were received, or {@code 0} when no
+	 * response was received.
+	 */
+	public long getResponseNanos() {
+		return responseNanos;
+	}
+
+	/**
+	 * Returns the response as received by the transport, or {@code null} when none was received. Only its
+	 * status line and headers may be used; the entity belongs to the caller.
+	 */
+	public HttpResponse getResponse() {
+		return response;
+	}
+
+	void responseReceived(HttpResponse response) {
+		this.responseNanos = System.nanoTime();
+		this.response = response;
+	}
+
+	/**
+	 * Returns the request as captured; its entity is repeatable and may be read again.
+	 */
+	public HttpRequest getRequest() {
+		return request;
+	}
+
+	/**
+	 * Returns the absolute URL of the request, or the URI as sent when the host cannot be determined.
+	 */
+	public String getUrl() {
+		try {
+			return ConvertHttpRequestToCurl.inferUri(request, request.getAllHeaders(), method);
+		} catch (RuntimeException e) {
+			return uri;
+		}
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Returns the request URI as sent, which is usually relative to the host.
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	public synchronized boolean isRendered() {
+		return rendered;
+	}
+
+	/**
+	 * Renders the curl command on the first call.
+	 *
+	 * @return the curl command, or {@code null} when it could not be generated.
+	 */
+	public synchronized String getCurl() {
+		if (!rendered) {
+			rendered = true;
+			try {
+				curl = ConvertHttpRequestToCurl.generateCurl(request, printMultiliner);
+			} catch (Exception e) {
+				log.warn("Failed to generate CURL command for HTTP request", e);
+			}
+		}
+		return curl;
+	}
+
+	@Override
+	public String get() {
+		return getCurl();
+	}
+
+	@Override
+	public String toString() {
+		return method + " " + uri;
+	}
+}
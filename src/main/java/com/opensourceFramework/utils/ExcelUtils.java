@@ -10,59 +10,76 @@ import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import com.opensourceFramework.constants.Constants;
-
+import com.opensourceFramework.utils.excel.ColumnarSheet;
+import com.opensourceFramework.utils.excel.ResultWorkbook;
+import com.opensourceFramework.utils.excel.RunStatus;
+import com.opensourceFramework.utils.excel.SheetRow;
+import com.opensourceFramework.utils.excel.SheetRowIterator;
+import com.opensourceFramework.utils.excel.SheetSnapshot;
+import com.opensourceFramework.utils.excel.StreamingWorkbook;
+import com.opensourceFramework.utils.excel.TestDataWorkbook;
+import com.opensourceFramework.utils.loadTest.LoadScenario;
+
+/*
+ * Static facade over the TestDataWorkbook opened by getRunStatus(): the workbook is read from its binary cache
+ * (see WorkbookCache), or parsed with the streaming reader when it changed, into immutable indexed sheets. Reads
+ * go to the current instance without locking, so concurrent data providers cannot disturb each other; writes
+ * replace the instance with an updated copy. The workbook and sheet fields are only set once setCellContent needs
+ * the POI model; writes go to both, except while the results workbook records them (see ResultWorkbook).
+ */
 public class ExcelUtils {
 
 	private static Logger log = LogManager.getLogger(ExcelUtils.class.getName());
+	/*
+	 * No longer set: the workbook file is closed as soon as it has been read
+	 */
+	@Deprecated
 	public static FileInputStream fs;
 	public static XSSFWorkbook workbook;
 	public static XSSFSheet sheet;
-	public static List<String> testCases = new ArrayList<String>();
-	public static List<String> runStatus = new ArrayList<String>();
-	public static List<String> testDescription = new ArrayList<String>();
-	public static List<String> priority = new ArrayList<String>();
+	public static volatile List<String> testCases = new ArrayList<String>();
+	public static volatile List<String> runStatus = new ArrayList<String>();
+	public static volatile List<String> testDescription = new ArrayList<String>();
+	public static volatile List<String> priority = new ArrayList<String>();
 	public static HashMap<Integer, String> rowAndTestCaseMap = new HashMap<Integer, String>();
+	private static volatile TestDataWorkbook testData;
 
 	public static Object[][] getTestData(String filePath) {
 
 		String[][] testData = null;
 		ArrayList<ArrayList<String>> fullDataList = new ArrayList<>();
 
-		try {
-			log.debug("Inside getTestData() method");
-			FileInputStream fis = new FileInputStream(filePath);
-			XSSFWorkbook workbook = new XSSFWorkbook(fis);
-			XSSFSheet sheet = workbook.getSheetAt(0);
+		log.debug("Inside getTestData() method");
+		try (StreamingWorkbook workbook = new StreamingWorkbook(new File(filePath));
+				SheetRowIterator rows = workbook.firstSheetRows()) {
 			// Identify the test-cases by scanning the 1st row
-
-			int totalRows = sheet.getLastRowNum();
-			log.info("Number of rows are : " + totalRows);
-			int totalColumns = sheet.getRow(0).getLastCellNum();
-			log.info("Number of columns are : " + totalColumns);
-
-			for (int i = 1; i <= 8; i++) {
+			while (rows.hasNext()) {
+				SheetRow row = rows.next();
+				if (row.getRowNum() == 0) {
+					log.info("Number of columns are : " + row.getLastCellNum());
+					continue;
+				}
+				if (row.getRowNum() > 8) {
+					break;
+				}
 				ArrayList<String> dataList = new ArrayList<>();
-				Row row = sheet.getRow(i);
 				// Condition-Check on Specific Cell Value
-				if (row.getCell(3).getStringCellValue().equalsIgnoreCase("abc")) {
+				if (row.getString(3).equalsIgnoreCase("abc")) {
 					log.debug("Data is Found : abc");
 				} else {
 					log.debug("Data is Found : bcd");
 				}
 				for (int j = 1; j < 4; j++) {
-					log.debug(row.getCell(j).getStringCellValue());
-					dataList.add(row.getCell(j).getStringCellValue());
+					log.debug(row.getString(j));
+					dataList.add(row.getString(j));
 				}
 				fullDataList.add(dataList);
 			}
-
+			log.info("Number of rows are : " + fullDataList.size());
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -74,7 +91,8 @@ public class ExcelUtils {
 
 	/*
 	 * Reads the data from the excel sheet and store the values in respective lists
-	 * which will be used in annotation transformer class
+	 * which will be used in annotation transformer class. Calling it again reopens
+	 * the workbook and replaces the lists.
 	 */
 
 	public static void getRunStatus() throws Exception {
@@ -82,15 +100,11 @@ public class ExcelUtils {
 			ConfigReader.configReader();
 			String excel_path = Constants.EXCELPATH + File.separator
 					+ ConfigReader.getConfigData().get("test_excel_name");
-			fs = new FileInputStream(excel_path);
-			workbook = new XSSFWorkbook(fs);
-			sheet = workbook.getSheet(Constants.RUNMANAGERSHEET);
-			for (int i = 1; i <= getLastRowNum(Constants.RUNMANAGERSHEET); i++) {
-				testCases.add(getCellContent(Constants.RUNMANAGERSHEET, i, "TestCaseName"));
-				testDescription.add(getCellContent(Constants.RUNMANAGERSHEET, i, "Test Case Description"));
-				runStatus.add(getCellContent(Constants.RUNMANAGERSHEET, i, "Execute"));
-				priority.add(getCellContent(Constants.RUNMANAGERSHEET, i, "Priority"));
+			File file = new File(excel_path);
+			if (!file.isFile()) {
+				throw new FileNotFoundException(excel_path);
 			}
+			open(file);
 			log.trace("Unique Test Cases are : " + testCases.size());
 		} catch (FileNotFoundException e) {
 			e.printStackTrace();
@@ -99,19 +113,90 @@ public class ExcelUtils {
 	}
 
 	/*
-	 * Takes rowname and sheetname as parameter return row number based of rowname
+	 * Opens the given workbook in place of the configured one and replaces the lists
 	 */
-	public static int getRowNumForRowName(String sheetname, String rowName) {
-		int rownum = 0;
-		sheet = workbook.getSheet(sheetname);
-		for (int i = 1; i <= getLastRowNum(sheetname); i++) {
-			if (rowName.equalsIgnoreCase(sheet.getRow(i).getCell(0).getStringCellValue())) {
-				rownum = i;
-				break;
-			}
+	static void open(File file) throws IOException {
+		TestDataWorkbook opened = TestDataWorkbook.open(file);
+		RunStatus status = opened.getRunStatus();
+		synchronized (ExcelUtils.class) {
+			testData = opened;
+			workbook = null;
+			sheet = null;
+			testCases = new ArrayList<String>(status.getTestCases());
+			testDescription = new ArrayList<String>(status.getTestDescriptions());
+			runStatus = new ArrayList<String>(status.getExecuteFlags());
+			priority = new ArrayList<String>(status.getPriorities());
 		}
+	}
 
-		return rownum;
+	/*
+	 * Returns the workbook opened by getRunStatus(), which can be shared between threads
+	 */
+	public static TestDataWorkbook getTestDataWorkbook() {
+		TestDataWorkbook current = testData;
+		if (current == null) {
+			throw new IllegalStateException("The test data workbook is not open, call getRunStatus() first");
+		}
+		return current;
+	}
+
+	/*
+	 * Reads the load scenarios of the test cases marked Execute = Yes, see
+	 * TestDataWorkbook.getLoadScenarios()
+	 */
+	public static List<LoadScenario> getLoadScenarios() throws Exception {
+		if (testData == null) {
+			getRunStatus();
+		}
+		List<LoadScenario> scenarios = getTestDataWorkbook().getLoadScenarios();
+		log.trace("Load scenarios are : " + scenarios);
+		return scenarios;
+	}
+
+	/*
+	 * Takes sheetname as parameter return the indexed snapshot of the sheet
+	 */
+	public static SheetSnapshot getSheetSnapshot(String sheetname) {
+		return getTestDataWorkbook().getSheet(sheetname);
+	}
+
+	/*
+	 * Takes sheetname as parameter return the sheet as typed columns, numbers and booleans without conversion to text
+	 */
+	public static ColumnarSheet getColumnarSheet(String sheetname) {
+		return getTestDataWorkbook().getColumnarSheet(sheetname);
+	}
+
+	/*
+	 * Takes sheetname and column name as parameter return column number or -1 when the header row does
+	 * not contain the column
+	 */
+	public static int findColumnNumForColumnName(String sheetname, String columnname) {
+		return getTestDataWorkbook().findColumnNumForColumnName(sheetname, columnname);
+	}
+
+	/*
+	 * Takes sheetname, row number, column name as parameter return cell value or empty string when the
+	 * column or the cell does not exist
+	 */
+	public static String getOptionalCellContent(String sheetname, int rownum, String columnname) {
+		return getTestDataWorkbook().getOptionalCellContent(sheetname, rownum, columnname);
+	}
+
+	/*
+	 * Takes sheetname, row number, column name as parameter return the numeric cell value without
+	 * truncating decimals, or the default value when the column or the cell is empty
+	 */
+	public static double getOptionalNumericCellContent(String sheetname, int rownum, String columnname,
+			double defaultValue) {
+		return getTestDataWorkbook().getOptionalNumericCellContent(sheetname, rownum, columnname, defaultValue);
+	}
+
+	/*
+	 * Takes rowname and sheetname as parameter return row number based of rowname
+	 */
+	public static int getRowNumForRowName(String sheetname, String rowName) {
+		return getTestDataWorkbook().getRowNumForRowName(sheetname, rowName);
 	}
 
 	/*
@@ -120,99 +205,109 @@ public class ExcelUtils {
 	 */
 
 	public static int getColumnNumForColumnName(String sheetname, String columnname) {
-		int colnum = 0;
-		sheet = workbook.getSheet(sheetname);
-		for (int i = 0; i < getLastColumnNum(sheetname, 0); i++) {
-			if (columnname.equalsIgnoreCase(sheet.getRow(0).getCell(i).getStringCellValue())) {
-				colnum = i;
-				break;
-			}
-		}
-
-		return colnum;
-
+		return getTestDataWorkbook().getColumnNumForColumnName(sheetname, columnname);
 	}
 
 	/*
 	 * Takes sheetname as parameter return last row number of the sheet
 	 */
 	public static int getLastRowNum(String sheetname) {
-		return workbook.getSheet(sheetname).getLastRowNum();
+		return getTestDataWorkbook().getLastRowNum(sheetname);
 	}
 
 	/*
 	 * Takes sheetname, row number as parameter return last cell number of the row
 	 */
 	public static int getLastColumnNum(String sheetname, int rownum) {
-		return workbook.getSheet(sheetname).getRow(rownum).getLastCellNum();
+		return getTestDataWorkbook().getLastColumnNum(sheetname, rownum);
 	}
 
 	/*
-	 * Takes sheetname, row number, column number as parameter return cell value
+	 * Takes sheetname, row number, column number as parameter return cell value: numbers without decimals,
+	 * errors as their FormulaError code and an empty string for blank or missing cells. The cells written while
+	 * the results workbook records are looked up in its pending writes first
 	 */
 	public static String getCellContent(String sheetname, int rownum, int colnum) {
-		sheet = workbook.getSheet(sheetname);
-		Cell cell = sheet.getRow(rownum).getCell(colnum);
-		String temp = "";
-		if (cell.getCellType() == CellType.STRING) {
-			temp = cell.getStringCellValue();
-		} else if (cell.getCellType() == CellType.NUMERIC || cell.getCellType() == CellType.FORMULA) {
-			temp = String.valueOf(cell.getNumericCellValue());
-			//To convert 209868.0 to 209868
-			temp = String.valueOf((int) Double.parseDouble(temp));
-		} else if (cell.getCellType() == CellType.BOOLEAN) {
-			temp = String.valueOf(cell.getBooleanCellValue());
-		} else if (cell.getCellType() == CellType.ERROR) {
-			temp = String.valueOf(cell.getErrorCellValue());
+		if (ResultWorkbook.hasPending()) {
+			String written = ResultWorkbook.getPending(sheetname, rownum, colnum);
+			if (written != null) {
+				return written;
+			}
 		}
-		return temp;
+		return getTestDataWorkbook().getCellContent(sheetname, rownum, colnum);
 	}
 
 	/*
 	 * Takes sheetname, row number, column name as parameter return cell value
 	 */
 	public static String getCellContent(String sheetname, int rownum, String columnname) {
-		sheet = workbook.getSheet(sheetname);
-		int colnum = getColumnNumForColumnName(sheetname, columnname);
-		return getCellContent(sheetname, rownum, colnum);
-
+		if (ResultWorkbook.hasPending()) {
+			return getCellContent(sheetname, rownum, getColumnNumForColumnName(sheetname, columnname));
+		}
+		return getTestDataWorkbook().getCellContent(sheetname, rownum, columnname);
 	}
 
 	/*
 	 * Takes sheetname, row name, column name as parameter return cell value
 	 */
 	public static String getCellContent(String sheetname, String rowname, String columnname) {
-		sheet = workbook.getSheet(sheetname);
-		int rownum = getRowNumForRowName(sheetname, rowname);
-		int colnum = getColumnNumForColumnName(sheetname, columnname);
-
-		return getCellContent(sheetname, rownum, colnum);
-
+		if (ResultWorkbook.hasPending()) {
+			return getCellContent(sheetname, getRowNumForRowName(sheetname, rowname),
+					getColumnNumForColumnName(sheetname, columnname));
+		}
+		return getTestDataWorkbook().getCellContent(sheetname, rowname, columnname);
 	}
 
+	/*
+	 * While the results workbook is recording, the write is only queued for it and kept as a pending write for
+	 * getCellContent, without locking: the POI model is not loaded and the workbook the reads use is not copied.
+	 * Otherwise writes to the POI model, which is loaded on the first write, and replaces the workbook the reads
+	 * use with an updated copy
+	 */
 	public static void setCellContent(String sheetname, int rownum, int colnum, String value) {
-		sheet = workbook.getSheet(sheetname);
-		if (rownum <= getLastRowNum(sheetname)) {
+		if (ResultWorkbook.isRecording()) {
+			ResultWorkbook.write(getTestDataWorkbook().getFile(), sheetname, rownum, colnum, value);
+		} else {
+			writeCellContent(sheetname, rownum, colnum, value);
+		}
+	}
+
+	private static synchronized void writeCellContent(String sheetname, int rownum, int colnum, String value) {
+		TestDataWorkbook current = getTestDataWorkbook();
+		sheet = loadWorkbook(current).getSheet(sheetname);
+		if (sheet.getRow(rownum) != null) {
 			sheet.getRow(rownum).createCell(colnum).setCellValue(value);
 		} else {
 			sheet.createRow(rownum).createCell(colnum).setCellValue(value);
 		}
+		testData = current.withCellContent(sheetname, rownum, colnum, value);
 	}
 
 	public static void setCellContent(String sheetname, String rowname, int colnum, String value) {
-		sheet = workbook.getSheet(sheetname);
 		setCellContent(sheetname, getRowNumForRowName(sheetname, rowname), colnum, value);
 	}
 
 	public static void setCellContent(String sheetname, int rownum, String colname, String value) {
-		sheet = workbook.getSheet(sheetname);
 		setCellContent(sheetname, rownum, getColumnNumForColumnName(sheetname, colname), value);
 	}
 
 	public static void setCellContent(String sheetname, String rowname, String colname, String value) {
-		sheet = workbook.getSheet(sheetname);
 		setCellContent(sheetname, getRowNumForRowName(sheetname, rowname),
 				getColumnNumForColumnName(sheetname, colname), value);
 	}
 
+	/*
+	 * Loads the POI model of the workbook, which only writes need, and closes the file
+	 */
+	private static XSSFWorkbook loadWorkbook(TestDataWorkbook current) {
+		if (workbook == null) {
+			try (FileInputStream in = new FileInputStream(current.getFile())) {
+				workbook = new XSSFWorkbook(in);
+			} catch (IOException e) {
+				throw new IllegalStateException("Could not load the workbook " + current.getFile(), e);
+			}
+		}
+		return workbook;
+	}
+
 }
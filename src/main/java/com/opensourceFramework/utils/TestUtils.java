@@ -1,15 +1,30 @@
 package com.opensourceFramework.utils;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.testng.ISuite;
+import org.testng.ITestContext;
 import org.testng.annotations.DataProvider;
 import com.opensourceFramework.constants.Constants;
+import com.opensourceFramework.utils.excel.ColumnarSheet;
+import com.opensourceFramework.utils.excel.RowView;
+import com.opensourceFramework.utils.excel.SheetSnapshot;
+import com.opensourceFramework.utils.excel.TestDataWorkbook;
+import com.opensourceFramework.utils.testData.TestDataSource;
 
 public class TestUtils
 
 {
+	private static final String SUITE_TEST_DATA = TestUtils.class.getName() + ".testData";
+	private static final String SUITE_COLUMNAR_TEST_DATA = TestUtils.class.getName() + ".columnarTestData";
+
 	/*
 	 * Test Name in the RUNMANAGER should be matching any @Test methods in the class
 	 * files mentioned in testng.xml DataProvider method used to provide data for
@@ -25,25 +40,152 @@ public class TestUtils
 		return getDataForDataprovider(excel_path, Constants.TESTDATASHEETNAME, m.getName());
 	}
 
+	/*
+	 * Same contract as dataProviderForIterations for test data kept in a CSV or
+	 * JSON lines file instead of the workbook: the file named by test_data_file in
+	 * the config, next to the workbook. The file is memory-mapped and its ranges
+	 * are scanned in parallel for the rows of the test marked Execute = Yes.
+	 */
+	@DataProvider(name = "fileDataProviderForIterations", parallel = false)
+	public static Object[][] getFileDataForIterations(Method m) {
+		ConfigReader.configReader();
+		String data_path = Constants.EXCELPATH + File.separator + ConfigReader.getConfigData().get("test_data_file");
+		List<Map<String, String>> iterations;
+		try {
+			iterations = TestDataSource.open(new File(data_path)).getIterations(m.getName());
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not open the test data file " + data_path, e);
+		}
+		Object[][] b = new Object[iterations.size()][1];
+		for (int i = 0; i < iterations.size(); i++) {
+			b[i][0] = new Hashtable<String, String>(iterations.get(i));
+		}
+		return b;
+	}
+
+	/*
+	 * Same rows as dataProviderForIterations, produced lazily and run in parallel.
+	 * Each iteration gets a read-only Map of header to value (a RowView over the
+	 * sheet snapshot) instead of a Hashtable. The config and the test data are
+	 * loaded once per suite, so the first iteration starts as soon as the sheet is
+	 * available. The test method takes a Map<String, String> parameter; the size of
+	 * the thread pool is the suite's data-provider-thread-count.
+	 */
+	@DataProvider(name = "parallelDataProviderForIterations", parallel = true)
+	public static Iterator<Object[]> getLazyDataForIterations(Method m, ITestContext context) {
+		SheetSnapshot snapshot = getSuiteTestData(context.getSuite());
+		int[] rownums = snapshot.getRowNums(m.getName());
+		return new Iterator<Object[]>() {
+			private int next = skipNotExecuted(snapshot, rownums, 0);
+
+			@Override
+			public boolean hasNext() {
+				return next < rownums.length;
+			}
+
+			@Override
+			public Object[] next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				RowView row = new RowView(snapshot, rownums[next]);
+				next = skipNotExecuted(snapshot, rownums, next + 1);
+				return new Object[] { row };
+			}
+		};
+	}
+
+	/*
+	 * Same rows as parallelDataProviderForIterations with typed values: each
+	 * iteration gets a ColumnarSheet.Cursor on its row of the TESTDATA sheet, whose
+	 * numbers and booleans were parsed once for the whole suite. The test method
+	 * takes a ColumnarSheet.Cursor parameter and reads e.g. getInt("Quantity").
+	 */
+	@DataProvider(name = "typedDataProviderForIterations", parallel = true)
+	public static Iterator<Object[]> getTypedDataForIterations(Method m, ITestContext context) {
+		Iterator<Object[]> rows = getLazyDataForIterations(m, context);
+		ColumnarSheet columns = getSuiteColumnarTestData(context.getSuite());
+		return new Iterator<Object[]>() {
+			@Override
+			public boolean hasNext() {
+				return rows.hasNext();
+			}
+
+			@Override
+			public Object[] next() {
+				return new Object[] { columns.cursor(((RowView) rows.next()[0]).getRowNum()) };
+			}
+		};
+	}
+
+	/*
+	 * Builds the typed columns of the suite's TESTDATA snapshot once per suite.
+	 */
+	private static ColumnarSheet getSuiteColumnarTestData(ISuite suite) {
+		SheetSnapshot snapshot = getSuiteTestData(suite);
+		synchronized (suite) {
+			ColumnarSheet columns = (ColumnarSheet) suite.getAttribute(SUITE_COLUMNAR_TEST_DATA);
+			if (columns == null) {
+				columns = ColumnarSheet.of(snapshot);
+				suite.setAttribute(SUITE_COLUMNAR_TEST_DATA, columns);
+			}
+			return columns;
+		}
+	}
+
+	/*
+	 * Loads the config and the TESTDATA snapshot on the first call of a suite and
+	 * keeps the snapshot as an attribute of the suite for the later calls.
+	 */
+	private static SheetSnapshot getSuiteTestData(ISuite suite) {
+		synchronized (suite) {
+			SheetSnapshot snapshot = (SheetSnapshot) suite.getAttribute(SUITE_TEST_DATA);
+			if (snapshot == null) {
+				ConfigReader.configReader();
+				String excel_path = Constants.EXCELPATH + File.separator
+						+ ConfigReader.getConfigData().get("test_excel_name");
+				try {
+					snapshot = TestDataWorkbook.open(new File(excel_path)).getSheet(Constants.TESTDATASHEETNAME);
+				} catch (IOException e) {
+					throw new IllegalStateException("Could not open the test data workbook " + excel_path, e);
+				}
+				suite.setAttribute(SUITE_TEST_DATA, snapshot);
+			}
+			return snapshot;
+		}
+	}
+
+	/*
+	 * Returns the index of the first row from the given index whose Execute column
+	 * is Yes, or the number of rows when there is none.
+	 */
+	private static int skipNotExecuted(SheetSnapshot snapshot, int[] rownums, int from) {
+		int i = from;
+		while (i < rownums.length && !snapshot.getString(rownums[i], 1).equalsIgnoreCase("Yes")) {
+			i++;
+		}
+		return i;
+	}
+
 	/*
 	 * Finding number of iterations available for test case and return the data
 	 * accordingly. Using hashtable avoids multiple parameters entry to the test
-	 * case.
+	 * case. The rows come from the test name index of the sheet snapshot, so no
+	 * row or header is scanned per iteration.
 	 *
 	 */
 	private static Object[][] getDataForDataprovider(String testdata, String sheetname, String testcasename) {
 
-		int totalcolumns = ExcelUtils.getLastColumnNum(sheetname, 0);
-		ArrayList<Integer> rowscount = getNumberofIterationsForATestCase(sheetname, testcasename);
+		SheetSnapshot snapshot = ExcelUtils.getSheetSnapshot(sheetname);
+		List<String> headers = snapshot.getHeaders();
+		ArrayList<Integer> rowscount = getNumberofIterationsForATestCase(snapshot, testcasename);
 		Object[][] b = new Object[rowscount.size()][1];
-		Hashtable<String, String> table = null;
-		for (int i = 1; i <= rowscount.size(); i++) {
-			table = new Hashtable<String, String>();
-			for (int j = 0; j < totalcolumns; j++) {
-				table.put(ExcelUtils.getCellContent(sheetname, 0, j),
-						ExcelUtils.getCellContent(sheetname, rowscount.get(i - 1), j));
-				b[i - 1][0] = table;
+		for (int i = 0; i < rowscount.size(); i++) {
+			Hashtable<String, String> table = new Hashtable<String, String>(headers.size() * 2);
+			for (int j = 0; j < headers.size(); j++) {
+				table.put(headers.get(j), snapshot.getString(rowscount.get(i), j));
 			}
+			b[i][0] = table;
 		}
 		return b;
 	}
@@ -54,18 +196,15 @@ public class TestUtils
 	 * the arraylist with values 4,7 If the particular iteration is set to yes in
 	 * the test data sheet -->Then it will be executed. Otherwise ignored.
 	 */
-	private static ArrayList<Integer> getNumberofIterationsForATestCase(String sheetname, String testcasename) {
+	private static ArrayList<Integer> getNumberofIterationsForATestCase(SheetSnapshot snapshot, String testcasename) {
 		ArrayList<Integer> a = new ArrayList<Integer>();
-		for (int i = 1; i <= ExcelUtils.getLastRowNum(sheetname); i++) {
-			if (testcasename.equalsIgnoreCase(ExcelUtils.getCellContent(sheetname, i, 0))) {
-				if (ExcelUtils.getCellContent(sheetname, i, 1).equalsIgnoreCase("Yes")) {
-					a.add(i);
-				}
+		for (int rownum : snapshot.getRowNums(testcasename)) {
+			if (snapshot.getString(rownum, 1).equalsIgnoreCase("Yes")) {
+				a.add(rownum);
 			}
 		}
 
 		return a;
 	}
 
-
 }
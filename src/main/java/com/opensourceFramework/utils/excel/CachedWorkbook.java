@@ -0,0 +1,75 @@
+package com.opensourceFramework.utils.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sheets of a workbook decoded from its binary cache (see {@link WorkbookCache}) instead of the {@code .xlsx}
+ * file: the cache file is memory-mapped and a sheet's block is decoded when the sheet is read, without POI.
+ * Thread-safe.
+ */
+public class CachedWorkbook implements SheetSource {
+
+    private final File file;
+    private final byte[] hash = new byte[SnapshotFormat.HASH_LENGTH];
+    private final Map<String, ByteBuffer> sheets;
+    private final List<String> sheetNames;
+
+    /**
+     * @param file   the workbook the cache was built from, as returned by {@link #getFile()}.
+     * @param buffer the content of the cache, starting at index 0.
+     * @throws IOException when the buffer does not hold a cache of the current format.
+     */
+    public CachedWorkbook(File file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.sheets = SnapshotFormat.readDirectory(buffer, hash);
+        this.sheetNames = List.copyOf(sheets.keySet());
+    }
+
+    /**
+     * Memory-maps a cache file; the mapping stays valid once the file is closed.
+     */
+    public static CachedWorkbook map(File workbook, File cacheFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            return new CachedWorkbook(workbook, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the SHA-256 of the workbook the cache was built from.
+     */
+    public byte[] getHash() {
+        return hash.clone();
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    @Override
+    public SheetRow[] readSheet(String name) throws IOException {
+        String sheetName = findSheet(name);
+        if (sheetName == null) {
+            throw new IllegalArgumentException("No sheet " + name + " in " + file.getName());
+        }
+        return SnapshotFormat.readSheet(sheets.get(sheetName));
+    }
+
+    /**
+     * Nothing to release: the mapping is unmapped once the workbook is garbage collected.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,28 @@
+package com.opensourceFramework.utils.excel;
+
+/**
+ * The type of a column of a {@link ColumnarSheet}, inferred from the cells below its header.
+ */
+public enum ColumnType {
+
+    /**
+     * Whole numbers that fit an {@code int}.
+     */
+    INT,
+    /**
+     * Whole numbers that fit a {@code long} and are exact as a {@code double}.
+     */
+    LONG,
+    /**
+     * Other numbers.
+     */
+    DOUBLE,
+    /**
+     * Boolean cells.
+     */
+    BOOLEAN,
+    /**
+     * Text, and columns whose cells have different types.
+     */
+    STRING
+}
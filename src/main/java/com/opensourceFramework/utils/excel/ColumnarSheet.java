@@ -0,0 +1,503 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable, typed, column by column copy of a sheet. The header row names the columns and the type of each
+ * column is inferred from the cells below it (see {@link ColumnType}): numbers are kept in {@code int[]},
+ * {@code long[]} or {@code double[]} arrays and booleans in a bit set, so they are parsed once when the sheet is
+ * read and never again. Text is dictionary encoded: each distinct string is stored once and the rows hold its
+ * index, which keeps wide sheets with repeated values small and makes {@link #findRows(int, String)} compare
+ * indexes instead of strings.
+ * <p>
+ * Rows are addressed by their number in the sheet, from {@code 1} to {@link #getLastRowNum()}. Blank and missing
+ * cells are {@linkplain #isNull(int, int) null}: they read as {@code 0}, {@code false} or an empty string. A
+ * {@link Cursor} walks the rows without allocating; only {@link #getString(int, int)} on a number column creates
+ * its text.
+ * <p>
+ * Columns of mixed types are text, with the cells converted as by {@link SheetRow#getString(int)}. Text that looks
+ * like a number stays text, so values such as phone numbers keep their leading zeros.
+ */
+public final class ColumnarSheet {
+
+    private static final double MAX_EXACT_LONG = 1L << 53;
+
+    private final String name;
+    private final int lastRowNum;
+    private final List<String> headers;
+    private final Map<String, Integer> columns;
+    private final Column[] data;
+
+    private ColumnarSheet(String name, int lastRowNum, List<String> headers, Map<String, Integer> columns,
+                          Column[] data) {
+        this.name = name;
+        this.lastRowNum = lastRowNum;
+        this.headers = headers;
+        this.columns = columns;
+        this.data = data;
+    }
+
+    /**
+     * Infers the column types and copies the cells of a snapshot.
+     */
+    public static ColumnarSheet of(SheetSnapshot snapshot) {
+        List<String> headers = snapshot.getHeaders();
+        int rowCount = Math.max(snapshot.getLastRowNum() + 1, 1);
+        Map<String, Integer> columns = new HashMap<>();
+        Column[] data = new Column[headers.size()];
+        for (int c = 0; c < data.length; c++) {
+            columns.putIfAbsent(key(headers.get(c)), c);
+            data[c] = Column.read(snapshot, c, rowCount);
+        }
+        return new ColumnarSheet(snapshot.getName(), rowCount - 1, headers, Collections.unmodifiableMap(columns),
+                data);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of the last row, {@code 0} when the sheet only has a header.
+     */
+    public int getLastRowNum() {
+        return lastRowNum;
+    }
+
+    public int getColumnCount() {
+        return data.length;
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the first column whose header is the name ignoring case, or {@code -1}.
+     */
+    public int getColumn(String columnName) {
+        Integer column = columns.get(key(columnName));
+        return column == null ? -1 : column;
+    }
+
+    public ColumnType getType(int colnum) {
+        return data[colnum].type;
+    }
+
+    /**
+     * @return the number of distinct strings of a {@link ColumnType#STRING} column, {@code 0} for other columns.
+     */
+    public int getDistinctCount(int colnum) {
+        return data[colnum].dictionary == null ? 0 : data[colnum].dictionary.length;
+    }
+
+    public boolean isNull(int rownum, int colnum) {
+        checkRow(rownum);
+        return data[colnum].isNull(rownum);
+    }
+
+    /**
+     * @throws IllegalStateException when the column is not {@link ColumnType#INT}.
+     */
+    public int getInt(int rownum, int colnum) {
+        checkRow(rownum);
+        return data[colnum].getInt(rownum);
+    }
+
+    /**
+     * @throws IllegalStateException when the column is not {@link ColumnType#INT} or {@link ColumnType#LONG}.
+     */
+    public long getLong(int rownum, int colnum) {
+        checkRow(rownum);
+        return data[colnum].getLong(rownum);
+    }
+
+    /**
+     * @throws IllegalStateException when the column is not a number column.
+     */
+    public double getDouble(int rownum, int colnum) {
+        checkRow(rownum);
+        return data[colnum].getDouble(rownum);
+    }
+
+    /**
+     * @throws IllegalStateException when the column is not {@link ColumnType#BOOLEAN}.
+     */
+    public boolean getBoolean(int rownum, int colnum) {
+        checkRow(rownum);
+        return data[colnum].getBoolean(rownum);
+    }
+
+    /**
+     * @return the cell as text, numbers as Excel shows them in the general format.
+     */
+    public String getString(int rownum, int colnum) {
+        checkRow(rownum);
+        return data[colnum].getString(rownum);
+    }
+
+    /**
+     * @return the numbers of the rows whose cell in the column is the value, in sheet order. Text columns look the
+     * value up in their dictionary once and then compare indexes.
+     */
+    public int[] findRows(int colnum, String value) {
+        Column column = data[colnum];
+        int[] found = new int[16];
+        int count = 0;
+        int code = column.type == ColumnType.STRING ? column.code(value) : -1;
+        if (column.type == ColumnType.STRING && code < 0) {
+            return new int[0];
+        }
+        for (int r = 1; r <= lastRowNum; r++) {
+            boolean match = column.type == ColumnType.STRING
+                    ? !column.isNull(r) && column.codes[r] == code
+                    : !column.isNull(r) && column.getString(r).equals(value);
+            if (match) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = r;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * @return a cursor before the first row.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * @return a cursor on the given row.
+     */
+    public Cursor cursor(int rownum) {
+        Cursor cursor = new Cursor();
+        cursor.moveTo(rownum);
+        return cursor;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder schema = new StringBuilder(name).append('[');
+        for (int c = 0; c < data.length; c++) {
+            schema.append(c == 0 ? "" : ", ").append(headers.get(c)).append(' ').append(data[c].type);
+        }
+        return schema.append("] x ").append(lastRowNum).toString();
+    }
+
+    private void checkRow(int rownum) {
+        if (rownum < 1 || rownum > lastRowNum) {
+            throw new IndexOutOfBoundsException("Row " + rownum + " is not a data row of " + name);
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A position in the sheet with typed access to the cells of its row. Moving it and reading numbers, booleans
+     * and text cells does not allocate. A cursor is not thread-safe; each thread uses its own.
+     */
+    public final class Cursor {
+
+        private int rownum;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves to the next row.
+         *
+         * @return whether there was a next row.
+         */
+        public boolean next() {
+            if (rownum >= lastRowNum) {
+                rownum = lastRowNum + 1;
+                return false;
+            }
+            rownum++;
+            return true;
+        }
+
+        public void moveTo(int rownum) {
+            checkRow(rownum);
+            this.rownum = rownum;
+        }
+
+        public int getRowNum() {
+            return rownum;
+        }
+
+        public ColumnarSheet getSheet() {
+            return ColumnarSheet.this;
+        }
+
+        public boolean isNull(int colnum) {
+            return ColumnarSheet.this.isNull(rownum, colnum);
+        }
+
+        public int getInt(int colnum) {
+            return ColumnarSheet.this.getInt(rownum, colnum);
+        }
+
+        public long getLong(int colnum) {
+            return ColumnarSheet.this.getLong(rownum, colnum);
+        }
+
+        public double getDouble(int colnum) {
+            return ColumnarSheet.this.getDouble(rownum, colnum);
+        }
+
+        public boolean getBoolean(int colnum) {
+            return ColumnarSheet.this.getBoolean(rownum, colnum);
+        }
+
+        public String getString(int colnum) {
+            return ColumnarSheet.this.getString(rownum, colnum);
+        }
+
+        /**
+         * The lookups by header below convert the name to lower case on every call; resolve the column once with
+         * {@link ColumnarSheet#getColumn(String)} in loops.
+         */
+        public int getInt(String columnName) {
+            return getInt(column(columnName));
+        }
+
+        public long getLong(String columnName) {
+            return getLong(column(columnName));
+        }
+
+        public double getDouble(String columnName) {
+            return getDouble(column(columnName));
+        }
+
+        public boolean getBoolean(String columnName) {
+            return getBoolean(column(columnName));
+        }
+
+        public String getString(String columnName) {
+            return getString(column(columnName));
+        }
+
+        private int column(String columnName) {
+            int colnum = getColumn(columnName);
+            if (colnum < 0) {
+                throw new IllegalArgumentException("No column " + columnName + " in " + name);
+            }
+            return colnum;
+        }
+    }
+
+    /**
+     * The cells of one column, by row number. Only the array of its type is set.
+     */
+    private static final class Column {
+
+        private final String header;
+        private final ColumnType type;
+        private final long[] present;
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private long[] booleans;
+        private int[] codes;
+        private String[] dictionary;
+        private Map<String, Integer> dictionaryIndex;
+
+        private Column(String header, ColumnType type, long[] present) {
+            this.header = header;
+            this.type = type;
+            this.present = present;
+        }
+
+        static Column read(SheetSnapshot snapshot, int colnum, int rowCount) {
+            long[] present = new long[(rowCount + 63) >>> 6];
+            ColumnType type = null;
+            for (int r = 1; r < rowCount; r++) {
+                if (!snapshot.hasRow(r)) {
+                    continue;
+                }
+                SheetRow row = snapshot.getRow(r);
+                ColumnType cellType = typeOf(row, colnum);
+                if (cellType != null) {
+                    present[r >>> 6] |= 1L << r;
+                    type = type == null ? cellType : widen(type, cellType);
+                }
+            }
+            Column column = new Column(snapshot.getHeaders().get(colnum), type == null ? ColumnType.STRING : type,
+                    present);
+            switch (column.type) {
+                case INT:
+                    column.ints = new int[rowCount];
+                    break;
+                case LONG:
+                    column.longs = new long[rowCount];
+                    break;
+                case DOUBLE:
+                    column.doubles = new double[rowCount];
+                    break;
+                case BOOLEAN:
+                    column.booleans = new long[present.length];
+                    break;
+                default:
+                    column.codes = new int[rowCount];
+                    column.dictionaryIndex = new HashMap<>();
+                    break;
+            }
+            for (int r = 1; r < rowCount; r++) {
+                if (!column.isNull(r)) {
+                    column.set(r, snapshot.getRow(r), colnum);
+                }
+            }
+            if (column.dictionaryIndex != null) {
+                column.dictionary = new String[column.dictionaryIndex.size()];
+                column.dictionaryIndex.forEach((text, code) -> column.dictionary[code] = text);
+            }
+            return column;
+        }
+
+        /**
+         * @return the narrowest type of the cell, {@code null} for blank and missing cells.
+         */
+        private static ColumnType typeOf(SheetRow row, int colnum) {
+            switch (row.getCellType(colnum)) {
+                case NUMERIC:
+                    double value = row.getNumericValue(colnum);
+                    if (value != Math.rint(value) || Double.isInfinite(value)) {
+                        return ColumnType.DOUBLE;
+                    }
+                    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                        return ColumnType.INT;
+                    }
+                    return Math.abs(value) <= MAX_EXACT_LONG ? ColumnType.LONG : ColumnType.DOUBLE;
+                case BOOLEAN:
+                    return ColumnType.BOOLEAN;
+                case STRING:
+                case ERROR:
+                    return ColumnType.STRING;
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * @return the narrowest type that holds both types: numbers widen to the wider number, anything else to text.
+         */
+        private static ColumnType widen(ColumnType a, ColumnType b) {
+            if (a == b) {
+                return a;
+            }
+            if (a == ColumnType.STRING || b == ColumnType.STRING || a == ColumnType.BOOLEAN || b == ColumnType.BOOLEAN) {
+                return ColumnType.STRING;
+            }
+            return a.ordinal() > b.ordinal() ? a : b;
+        }
+
+        private void set(int rownum, SheetRow row, int colnum) {
+            switch (type) {
+                case INT:
+                    ints[rownum] = (int) row.getNumericValue(colnum);
+                    break;
+                case LONG:
+                    longs[rownum] = (long) row.getNumericValue(colnum);
+                    break;
+                case DOUBLE:
+                    doubles[rownum] = row.getNumericValue(colnum);
+                    break;
+                case BOOLEAN:
+                    if ("true".equals(row.getString(colnum))) {
+                        booleans[rownum >>> 6] |= 1L << rownum;
+                    }
+                    break;
+                default:
+                    String text = row.getString(colnum);
+                    Integer code = dictionaryIndex.get(text);
+                    if (code == null) {
+                        code = dictionaryIndex.size();
+                        dictionaryIndex.put(text, code);
+                    }
+                    codes[rownum] = code;
+                    break;
+            }
+        }
+
+        boolean isNull(int rownum) {
+            return (present[rownum >>> 6] & 1L << rownum) == 0;
+        }
+
+        int code(String text) {
+            Integer code = dictionaryIndex.get(text);
+            return code == null ? -1 : code;
+        }
+
+        int getInt(int rownum) {
+            if (type != ColumnType.INT) {
+                throw wrongType(ColumnType.INT);
+            }
+            return ints[rownum];
+        }
+
+        long getLong(int rownum) {
+            if (type == ColumnType.INT) {
+                return ints[rownum];
+            }
+            if (type != ColumnType.LONG) {
+                throw wrongType(ColumnType.LONG);
+            }
+            return longs[rownum];
+        }
+
+        double getDouble(int rownum) {
+            switch (type) {
+                case INT:
+                    return ints[rownum];
+                case LONG:
+                    return longs[rownum];
+                case DOUBLE:
+                    return doubles[rownum];
+                default:
+                    throw wrongType(ColumnType.DOUBLE);
+            }
+        }
+
+        boolean getBoolean(int rownum) {
+            if (type != ColumnType.BOOLEAN) {
+                throw wrongType(ColumnType.BOOLEAN);
+            }
+            return (booleans[rownum >>> 6] & 1L << rownum) != 0;
+        }
+
+        String getString(int rownum) {
+            if (isNull(rownum)) {
+                return "";
+            }
+            switch (type) {
+                case INT:
+                    return Integer.toString(ints[rownum]);
+                case LONG:
+                    return Long.toString(longs[rownum]);
+                case DOUBLE:
+                    return NumberToTextConverter.toText(doubles[rownum]);
+                case BOOLEAN:
+                    return getBoolean(rownum) ? "true" : "false";
+                default:
+                    return dictionary[codes[rownum]];
+            }
+        }
+
+        private IllegalStateException wrongType(ColumnType expected) {
+            return new IllegalStateException("Column " + header + " is " + type + ", not " + expected);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lifecycle of the results workbook, off by default (see {@link #setEnabled(boolean)}). When enabled,
+ * {@code ServerReporterPath.createDirectory()} starts recording; from then on {@code ExcelUtils.setCellContent} only
+ * queues its writes in a {@link ResultWriter}, without locking, and {@code ServerReporterPath.createReportLinks()}
+ * commits them at the end of the suite into a values-only copy of the test data workbook in the report directory,
+ * {@code <workbook>}{@value #FILE_SUFFIX}. Neither the POI model nor the sheets the lookups read are changed;
+ * {@code ExcelUtils.getCellContent} looks up the cells written during the recording in {@link #getPending} first,
+ * so reads still see their own writes. Nothing is written by a run without writes.
+ */
+public class ResultWorkbook {
+
+    public static final String FILE_SUFFIX = "-results.xlsx";
+
+    private static final Logger log = LogManager.getLogger(ResultWorkbook.class.getName());
+    private static final Map<String, String> pending = new ConcurrentHashMap<>();
+    private static boolean enabled;
+    private static int windowSize = 100;
+    private static int batchSize = 512;
+    private static int capacity = 65536;
+    private static File target;
+    private static volatile File reportDirectory;
+    private static volatile ResultWriter writer;
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private ResultWorkbook() {
+    }
+
+    /**
+     * Enables recording the writes of a reported run into the results workbook instead of the in-memory workbook,
+     * off by default. Only the written cells are kept in memory then, but the results workbook holds the values of
+     * the test data workbook only, without its formulas and formatting.
+     */
+    public static void setEnabled(boolean enabled) {
+        ResultWorkbook.enabled = enabled;
+    }
+
+    /**
+     * Sets how many rows of the result are kept in memory while it is written, 100 by default.
+     */
+    public static void setWindowSize(int windowSize) {
+        ResultWorkbook.windowSize = windowSize;
+    }
+
+    /**
+     * Sets how many writes the writer thread journals at a time, 512 by default.
+     */
+    public static void setBatchSize(int batchSize) {
+        ResultWorkbook.batchSize = batchSize;
+    }
+
+    /**
+     * Sets how many writes may wait for the writer thread before tests wait, 65536 by default.
+     */
+    public static void setCapacity(int capacity) {
+        ResultWorkbook.capacity = capacity;
+    }
+
+    /**
+     * Sets the workbook the results are committed to instead of a copy in the report directory. It cannot be the
+     * test data workbook itself, whose formulas and formatting the results workbook does not keep.
+     */
+    public static void setTarget(File target) {
+        ResultWorkbook.target = target;
+    }
+
+    public static boolean isRecording() {
+        return reportDirectory != null;
+    }
+
+    /**
+     * Starts recording the results of the run into the given report directory.
+     */
+    public static synchronized void startRecording(File reportDirectory) {
+        if (enabled && ResultWorkbook.reportDirectory == null) {
+            ResultWorkbook.reportDirectory = reportDirectory;
+        }
+    }
+
+    /**
+     * Queues a cell write for the results workbook of the source workbook.
+     *
+     * @throws IllegalStateException when not recording or the writer failed.
+     */
+    public static void write(File source, String sheetname, int rownum, int colnum, String value) {
+        ResultWriter current = writer;
+        if (current == null) {
+            current = open(source);
+        }
+        current.write(sheetname, rownum, colnum, value);
+        pending.put(cellKey(sheetname, rownum, colnum), value == null ? "" : value);
+    }
+
+    /**
+     * @return whether cells were written since recording started.
+     */
+    public static boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * @return the value written to the cell since recording started, {@code null} when it was not written.
+     */
+    public static String getPending(String sheetname, int rownum, int colnum) {
+        return pending.get(cellKey(sheetname, rownum, colnum));
+    }
+
+    /**
+     * Commits the queued writes.
+     *
+     * @return the results workbook, or {@code null} when recording was not started or nothing was written.
+     */
+    public static synchronized File finishRecording() {
+        ResultWriter finished = writer;
+        reportDirectory = null;
+        writer = null;
+        pending.clear();
+        if (finished == null) {
+            return null;
+        }
+        try {
+            finished.commit();
+            return finished.getTarget();
+        } catch (IOException e) {
+            log.error("Could not write the results workbook " + finished.getTarget(), e);
+            return null;
+        }
+    }
+
+    private static String cellKey(String sheetname, int rownum, int colnum) {
+        return sheetname.toLowerCase(Locale.ROOT) + '\u0000' + rownum + '\u0000' + colnum;
+    }
+
+    private static synchronized ResultWriter open(File source) {
+        if (writer == null) {
+            if (reportDirectory == null) {
+                throw new IllegalStateException("The results workbook is not recording");
+            }
+            String name = source.getName().replaceFirst("\\.xlsx?$", "");
+            File resultFile = target != null ? target : new File(reportDirectory, name + FILE_SUFFIX);
+            try {
+                writer = new ResultWriter(source, resultFile, windowSize, batchSize, capacity);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not create the results workbook " + resultFile, e);
+            }
+        }
+        return writer;
+    }
+}
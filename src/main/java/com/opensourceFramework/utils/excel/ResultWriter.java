@@ -0,0 +1,435 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Writes test results into a copy of the test data workbook without holding either in memory. Tests queue cell
+ * writes from any thread; a single writer thread sorts them by sheet, row and column into runs of at most
+ * {@code runSize} cells and writes each full run to a file next to the target, so at most one run of written values
+ * is in memory. {@link #commit()} then streams the source workbook row by row (see {@link StreamingWorkbook}),
+ * merges the sorted runs into it, the last write of a cell winning, and writes the result through an
+ * {@link SXSSFWorkbook} that keeps only a sliding window of rows in memory. The workbook is written to a temporary
+ * file and moved over the target at once, so readers never see a partial file.
+ * <p>
+ * The result holds the values only: formula cells are written as their cached values, and cell styles, number
+ * formats and merged regions are not copied. The target therefore cannot be the source workbook. When the queue is
+ * full, writes wait for the writer thread.
+ */
+public class ResultWriter implements Closeable {
+
+    static final int DEFAULT_RUN_SIZE = 65536;
+
+    private static final Logger log = LogManager.getLogger(ResultWriter.class.getName());
+    private static final CellWrite END = new CellWrite("", "", 0, 0, 0, "");
+    private static final Comparator<CellWrite> CELL_ORDER = Comparator.comparingInt((CellWrite w) -> w.sheetIndex)
+            .thenComparing(w -> w.sheetKey)
+            .thenComparingInt(w -> w.rownum)
+            .thenComparingInt(w -> w.colnum);
+
+    private final File source;
+    private final File target;
+    private final int windowSize;
+    private final int batchSize;
+    private final int runSize;
+    private final Map<String, Integer> sheetOrder = new HashMap<>();
+    private final BlockingQueue<CellWrite> queue;
+    private final List<Path> runs = new ArrayList<>();
+    private final Thread writer;
+    private volatile IOException failure;
+    private volatile boolean committed;
+    private long journaled;
+
+    /**
+     * @param source     the workbook the results are merged into.
+     * @param target     the workbook to write, not the source itself.
+     * @param windowSize rows of the result kept in memory while it is written.
+     * @param batchSize  writes the writer thread takes from the queue at a time.
+     * @param capacity   writes that may wait for the writer thread.
+     * @throws IllegalArgumentException when the target is the source.
+     */
+    public ResultWriter(File source, File target, int windowSize, int batchSize, int capacity) throws IOException {
+        this(source, target, windowSize, batchSize, capacity, DEFAULT_RUN_SIZE);
+    }
+
+    ResultWriter(File source, File target, int windowSize, int batchSize, int capacity, int runSize)
+            throws IOException {
+        if (source.getCanonicalFile().equals(target.getCanonicalFile())) {
+            throw new IllegalArgumentException("The results cannot be written over the source workbook " + source
+                    + ", it would lose its formulas and formatting");
+        }
+        this.source = source;
+        this.target = target;
+        this.windowSize = windowSize;
+        this.batchSize = batchSize;
+        this.runSize = runSize;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        try (StreamingWorkbook workbook = new StreamingWorkbook(source)) {
+            for (String name : workbook.getSheetNames()) {
+                sheetOrder.putIfAbsent(name.toLowerCase(Locale.ROOT), sheetOrder.size());
+            }
+        }
+        Files.createDirectories(target.getAbsoluteFile().getParentFile().toPath());
+        this.writer = new Thread(this::drain, "excel-result-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public File getSource() {
+        return source;
+    }
+
+    public File getTarget() {
+        return target;
+    }
+
+    /**
+     * Queues a cell write; later writes to the same cell win.
+     *
+     * @throws IllegalStateException when the writer failed or was committed.
+     */
+    public void write(String sheetname, int rownum, int colnum, String value) {
+        if (failure != null) {
+            throw new IllegalStateException("The result writer failed", failure);
+        }
+        if (committed) {
+            throw new IllegalStateException("The results were already committed to " + target);
+        }
+        try {
+            queue.put(cellWrite(sheetname, rownum, colnum, value == null ? "" : value));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a result", e);
+        }
+    }
+
+    /**
+     * Stops the writer thread, merges the written runs into the source and moves the result over the target.
+     *
+     * @return the number of cells written.
+     */
+    public synchronized long commit() throws IOException {
+        if (committed) {
+            return journaled;
+        }
+        committed = true;
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing the results", e);
+        }
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            Path temp = Files.createTempFile(target.getAbsoluteFile().getParentFile().toPath(), target.getName(),
+                    ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp);
+                     RunMerger writes = new RunMerger()) {
+                    merge(writes, out);
+                }
+                try {
+                    Files.move(temp, target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+        log.info(journaled + " results written to " + target);
+        return journaled;
+    }
+
+    @Override
+    public void close() throws IOException {
+        commit();
+    }
+
+    private CellWrite cellWrite(String sheetname, int rownum, int colnum, String value) {
+        String sheetKey = sheetname.toLowerCase(Locale.ROOT);
+        // sheets the source does not have are added after its own ones
+        int sheetIndex = sheetOrder.getOrDefault(sheetKey, Integer.MAX_VALUE);
+        return new CellWrite(sheetname, sheetKey, sheetIndex, rownum, colnum, value);
+    }
+
+    private void drain() {
+        List<CellWrite> batch = new ArrayList<>(batchSize);
+        TreeMap<CellWrite, CellWrite> run = new TreeMap<>(CELL_ORDER);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                for (CellWrite write : batch) {
+                    if (write == END) {
+                        if (!run.isEmpty()) {
+                            writeRun(run);
+                        }
+                        return;
+                    }
+                    run.put(write, write);
+                    journaled++;
+                    if (run.size() >= runSize) {
+                        writeRun(run);
+                        run.clear();
+                    }
+                }
+                batch.clear();
+            }
+        } catch (IOException e) {
+            failure = e;
+            queue.clear();
+        } catch (InterruptedException e) {
+            failure = new IOException("The result writer was interrupted", e);
+        }
+    }
+
+    private void writeRun(TreeMap<CellWrite, CellWrite> run) throws IOException {
+        Path file = Files.createTempFile(target.getAbsoluteFile().getParentFile().toPath(), target.getName(), ".run");
+        runs.add(file);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file),
+                65536))) {
+            for (CellWrite write : run.values()) {
+                writeString(out, write.sheetname);
+                out.writeInt(write.rownum);
+                out.writeInt(write.colnum);
+                writeString(out, write.value);
+            }
+        }
+    }
+
+    private void merge(RunMerger writes, OutputStream out) throws IOException {
+        SXSSFWorkbook result = new SXSSFWorkbook(windowSize);
+        result.setCompressTempFiles(true);
+        try (StreamingWorkbook workbook = new StreamingWorkbook(source)) {
+            for (String name : workbook.getSheetNames()) {
+                Sheet sheet = result.createSheet(name);
+                try (SheetRowIterator rows = workbook.rows(name)) {
+                    mergeSheet(sheet, rows, writes, name.toLowerCase(Locale.ROOT));
+                }
+            }
+            CellWrite added;
+            while ((added = writes.peek()) != null) {
+                mergeSheet(result.createSheet(added.sheetname), null, writes, added.sheetKey);
+            }
+            result.write(out);
+        } finally {
+            // close() also deletes the temporary files of the rows already flushed
+            result.close();
+        }
+    }
+
+    private static void mergeSheet(Sheet sheet, Iterator<SheetRow> rows, RunMerger writes, String sheetKey)
+            throws IOException {
+        CellWrite next;
+        while (rows != null && rows.hasNext()) {
+            SheetRow row = rows.next();
+            while ((next = writes.peek()) != null && next.sheetKey.equals(sheetKey) && next.rownum < row.getRowNum()) {
+                writeCells(sheet.createRow(next.rownum), writes, sheetKey);
+            }
+            Row copy = sheet.createRow(row.getRowNum());
+            for (int c = 0; c < row.getLastCellNum(); c++) {
+                copyCell(row, c, copy);
+            }
+            writeCells(copy, writes, sheetKey);
+        }
+        while ((next = writes.peek()) != null && next.sheetKey.equals(sheetKey)) {
+            writeCells(sheet.createRow(next.rownum), writes, sheetKey);
+        }
+    }
+
+    private static void copyCell(SheetRow row, int colnum, Row copy) {
+        switch (row.getCellType(colnum)) {
+            case NUMERIC:
+                copy.createCell(colnum).setCellValue(row.getNumericValue(colnum));
+                break;
+            case STRING:
+                copy.createCell(colnum).setCellValue(row.getText(colnum));
+                break;
+            case BOOLEAN:
+                copy.createCell(colnum).setCellValue(Boolean.parseBoolean(row.getText(colnum)));
+                break;
+            case ERROR:
+                copy.createCell(colnum).setCellErrorValue((byte) row.getNumericValue(colnum));
+                break;
+            case BLANK:
+                copy.createCell(colnum, CellType.BLANK);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Writes the pending writes to the row, which are the next ones of the merger when it has any.
+     */
+    private static void writeCells(Row row, RunMerger writes, String sheetKey) throws IOException {
+        CellWrite next;
+        while ((next = writes.peek()) != null && next.sheetKey.equals(sheetKey) && next.rownum == row.getRowNum()) {
+            writes.poll();
+            Cell written = row.getCell(next.colnum);
+            (written == null ? row.createCell(next.colnum) : written).setCellValue(next.value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Merges the sorted runs into one sorted stream of writes. Of several writes to a cell only the one of the
+     * latest run is returned.
+     */
+    private final class RunMerger implements Closeable {
+
+        private final PriorityQueue<RunReader> heads = new PriorityQueue<>(
+                Comparator.comparing((RunReader r) -> r.head, CELL_ORDER).thenComparingInt(r -> r.index));
+        private final List<RunReader> readers = new ArrayList<>();
+        private CellWrite next;
+
+        RunMerger() throws IOException {
+            try {
+                for (Path run : runs) {
+                    RunReader reader = new RunReader(run, readers.size());
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        heads.add(reader);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        CellWrite peek() throws IOException {
+            if (next == null && !heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                next = reader.head;
+                requeue(reader);
+                while (!heads.isEmpty() && CELL_ORDER.compare(heads.peek().head, next) == 0) {
+                    reader = heads.poll();
+                    next = reader.head;
+                    requeue(reader);
+                }
+            }
+            return next;
+        }
+
+        CellWrite poll() throws IOException {
+            CellWrite write = peek();
+            next = null;
+            return write;
+        }
+
+        private void requeue(RunReader reader) throws IOException {
+            if (reader.advance()) {
+                heads.add(reader);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (RunReader reader : readers) {
+                reader.in.close();
+            }
+        }
+    }
+
+    private final class RunReader {
+
+        private final DataInputStream in;
+        private final int index;
+        private CellWrite head;
+
+        RunReader(Path run, int index) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 65536));
+            this.index = index;
+        }
+
+        /**
+         * Reads the next write of the run into {@link #head}.
+         *
+         * @return {@code false} at the end of the run.
+         */
+        boolean advance() throws IOException {
+            String sheetname;
+            try {
+                sheetname = readString(in);
+            } catch (EOFException e) {
+                head = null;
+                return false;
+            }
+            int rownum = in.readInt();
+            int colnum = in.readInt();
+            head = cellWrite(sheetname, rownum, colnum, readString(in));
+            return true;
+        }
+    }
+
+    private static final class CellWrite {
+
+        private final String sheetname;
+        private final String sheetKey;
+        private final int sheetIndex;
+        private final int rownum;
+        private final int colnum;
+        private final String value;
+
+        CellWrite(String sheetname, String sheetKey, int sheetIndex, int rownum, int colnum, String value) {
+            this.sheetname = sheetname;
+            this.sheetKey = sheetKey;
+            this.sheetIndex = sheetIndex;
+            this.rownum = rownum;
+            this.colnum = colnum;
+            this.value = value;
+        }
+    }
+}
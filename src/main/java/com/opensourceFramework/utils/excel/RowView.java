@@ -0,0 +1,75 @@
+package com.opensourceFramework.utils.excel;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only map of header to cell text over one row of a {@link SheetSnapshot}, with the same entries as the
+ * {@code Hashtable} the iteration data provider builds: every header of the sheet, mapped to an empty string for
+ * blank or missing cells. Nothing is copied, and since the snapshot is immutable a view can be read from any thread.
+ */
+public final class RowView extends AbstractMap<String, String> {
+
+    private final SheetSnapshot snapshot;
+    private final int rownum;
+
+    public RowView(SheetSnapshot snapshot, int rownum) {
+        this.snapshot = snapshot;
+        this.rownum = rownum;
+    }
+
+    public int getRowNum() {
+        return rownum;
+    }
+
+    @Override
+    public String get(Object header) {
+        Integer column = snapshot.getColumnsByHeader().get(header);
+        return column == null ? null : snapshot.getString(rownum, column);
+    }
+
+    @Override
+    public boolean containsKey(Object header) {
+        return snapshot.getColumnsByHeader().containsKey(header);
+    }
+
+    @Override
+    public int size() {
+        return snapshot.getColumnsByHeader().size();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                Iterator<Entry<String, Integer>> columns = snapshot.getColumnsByHeader().entrySet().iterator();
+                return new Iterator<Entry<String, String>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return columns.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        Entry<String, Integer> column = columns.next();
+                        return new SimpleImmutableEntry<>(column.getKey(), snapshot.getString(rownum, column.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return snapshot.getColumnsByHeader().size();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return snapshot.getName() + " row " + rownum + " " + super.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.opensourceFramework.utils.excel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The columns of the RUNMANAGER sheet read by {@link TestDataWorkbook#getRunStatus()}, one entry per row below the
+ * header in every list. The lists are unmodifiable.
+ */
+public final class RunStatus {
+
+    private final List<String> testCases;
+    private final List<String> testDescriptions;
+    private final List<String> executeFlags;
+    private final List<String> priorities;
+
+    RunStatus(List<String> testCases, List<String> testDescriptions, List<String> executeFlags,
+              List<String> priorities) {
+        this.testCases = Collections.unmodifiableList(new ArrayList<>(testCases));
+        this.testDescriptions = Collections.unmodifiableList(new ArrayList<>(testDescriptions));
+        this.executeFlags = Collections.unmodifiableList(new ArrayList<>(executeFlags));
+        this.priorities = Collections.unmodifiableList(new ArrayList<>(priorities));
+    }
+
+    /**
+     * @return the TestCaseName column.
+     */
+    public List<String> getTestCases() {
+        return testCases;
+    }
+
+    /**
+     * @return the Test Case Description column.
+     */
+    public List<String> getTestDescriptions() {
+        return testDescriptions;
+    }
+
+    /**
+     * @return the Execute column, {@code Yes} for the test cases to run.
+     */
+    public List<String> getExecuteFlags() {
+        return executeFlags;
+    }
+
+    /**
+     * @return the Priority column.
+     */
+    public List<String> getPriorities() {
+        return priorities;
+    }
+}
@@ -0,0 +1,129 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.Arrays;
+
+/**
+ * One row of a sheet as read by {@link StreamingWorkbook}: the cached value and type of every cell, without any
+ * POI object behind it. Formula cells carry the type of their cached result.
+ */
+public class SheetRow {
+
+    private final int rowNum;
+    private final CellType[] types;
+    private final String[] texts;
+    private final double[] numbers;
+    private final boolean[] formulas;
+
+    SheetRow(int rowNum, CellType[] types, String[] texts, double[] numbers, boolean[] formulas) {
+        this.rowNum = rowNum;
+        this.types = types;
+        this.texts = texts;
+        this.numbers = numbers;
+        this.formulas = formulas;
+    }
+
+    /**
+     * @return the 0-based row number, as in POI.
+     */
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * @return the index of the last cell plus one, as {@code Row.getLastCellNum()}, or {@code 0} for a row
+     * without cells.
+     */
+    public int getLastCellNum() {
+        return types.length;
+    }
+
+    /**
+     * @return whether the sheet has a cell at the column, blank cells included.
+     */
+    public boolean hasCell(int colnum) {
+        return colnum >= 0 && colnum < types.length && types[colnum] != null;
+    }
+
+    /**
+     * @return the type of the cell's value, {@link CellType#_NONE} when there is no cell.
+     */
+    public CellType getCellType(int colnum) {
+        return hasCell(colnum) ? types[colnum] : CellType._NONE;
+    }
+
+    public boolean isFormula(int colnum) {
+        return hasCell(colnum) && formulas[colnum];
+    }
+
+    /**
+     * @return the numeric value of a numeric cell, or the error code of an error cell.
+     * @throws IllegalStateException when the cell is neither.
+     */
+    public double getNumericValue(int colnum) {
+        CellType type = getCellType(colnum);
+        if (type != CellType.NUMERIC && type != CellType.ERROR) {
+            throw new IllegalStateException("Cell " + colnum + " of row " + rowNum + " is " + type + ", not numeric");
+        }
+        return numbers[colnum];
+    }
+
+    /**
+     * Returns the cell as text the way {@code ExcelUtils.getCellContent} always has: strings as they are,
+     * numbers without decimals ({@code 209868.0} becomes {@code 209868}), booleans as {@code true} or
+     * {@code false}, errors as their {@code FormulaError} code, and blank or missing cells as an empty string.
+     */
+    public String getString(int colnum) {
+        switch (getCellType(colnum)) {
+            case STRING:
+                return texts[colnum];
+            case NUMERIC:
+                return String.valueOf((int) numbers[colnum]);
+            case BOOLEAN:
+                return texts[colnum];
+            case ERROR:
+                return String.valueOf((byte) numbers[colnum]);
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * @return the text the sheet holds for the cell: the string, {@code true}/{@code false} or the error, otherwise
+     * {@code null}.
+     */
+    String getText(int colnum) {
+        return hasCell(colnum) ? texts[colnum] : null;
+    }
+
+    /**
+     * @return a copy of the row with the cell set to the string.
+     */
+    public SheetRow withString(int colnum, String value) {
+        int length = Math.max(types.length, colnum + 1);
+        SheetRow copy = new SheetRow(rowNum, Arrays.copyOf(types, length), Arrays.copyOf(texts, length),
+                Arrays.copyOf(numbers, length), Arrays.copyOf(formulas, length));
+        copy.types[colnum] = CellType.STRING;
+        copy.texts[colnum] = value;
+        copy.numbers[colnum] = 0;
+        copy.formulas[colnum] = false;
+        return copy;
+    }
+
+    /**
+     * @return an empty row, as written by {@code setCellContent} beyond the last row.
+     */
+    public static SheetRow empty(int rowNum) {
+        return new SheetRow(rowNum, new CellType[0], new String[0], new double[0], new boolean[0]);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder().append(rowNum).append(':');
+        for (int i = 0; i < types.length; i++) {
+            text.append(i == 0 ? " " : " | ").append(getString(i));
+        }
+        return text.toString();
+    }
+}
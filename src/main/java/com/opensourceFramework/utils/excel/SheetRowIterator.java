@@ -0,0 +1,292 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rows of one sheet, parsed by a producer thread and handed over in batches through a bounded queue, so the
+ * parser runs ahead of the consumer by at most {@value #QUEUED_BATCHES} batches of {@value #BATCH_SIZE} rows.
+ * A parse failure is rethrown to the consumer as an {@link IllegalStateException}. Not thread-safe.
+ */
+public class SheetRowIterator implements Iterator<SheetRow>, Closeable {
+
+    static final int BATCH_SIZE = 256;
+    static final int QUEUED_BATCHES = 16;
+
+    private static final List<SheetRow> END = new ArrayList<>();
+
+    private final String sheetName;
+    private final BlockingQueue<List<SheetRow>> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+    private final Thread producer;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+    private List<SheetRow> batch = new ArrayList<>();
+    private int position;
+    private boolean finished;
+
+    SheetRowIterator(String sheetName, InputStream sheet, ReadOnlySharedStringsTable sharedStrings) {
+        this.sheetName = sheetName;
+        this.producer = new Thread(() -> produce(sheet, sharedStrings), "excel-reader-" + sheetName);
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (position >= batch.size() && !finished) {
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading sheet " + sheetName, e);
+            }
+            position = 0;
+            if (batch == END) {
+                finished = true;
+                if (failure != null) {
+                    throw new IllegalStateException("Could not read sheet " + sheetName, failure);
+                }
+            }
+        }
+        return position < batch.size();
+    }
+
+    @Override
+    public SheetRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.get(position++);
+    }
+
+    /**
+     * Stops the parser when the rows were not read to the end.
+     */
+    @Override
+    public void close() {
+        if (!finished) {
+            finished = true;
+            closed = true;
+            producer.interrupt();
+        }
+    }
+
+    private void produce(InputStream sheet, ReadOnlySharedStringsTable sharedStrings) {
+        try (InputStream in = sheet) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new SheetHandler(sharedStrings));
+            parser.parse(new InputSource(in));
+        } catch (IOException | SAXException | ParserConfigurationException | RuntimeException e) {
+            if (closed) {
+                return;
+            }
+            failure = e;
+        }
+        try {
+            while (!closed && !queue.offer(END, 100, TimeUnit.MILLISECONDS)) {
+                // the consumer is slow; keep offering until it takes the end or closes the iterator
+            }
+        } catch (InterruptedException e) {
+            // the consumer closed the iterator and no longer waits for the end
+        }
+    }
+
+    /**
+     * Thrown from the handler when the consumer closed the iterator.
+     */
+    private static class StopParsing extends SAXException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Collects the {@code <c>} elements of every {@code <row>}: the type from the {@code t} attribute, the value
+     * from {@code <v>} or, for inline strings, the {@code <t>} runs of {@code <is>}.
+     */
+    private class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StringBuilder text = new StringBuilder();
+        private List<SheetRow> rows = new ArrayList<>(BATCH_SIZE);
+        private int rowNum = -1;
+        private int colnum;
+        private String cellType;
+        private boolean formula;
+        private boolean collecting;
+        private boolean inlineString;
+        private CellType[] types = new CellType[16];
+        private String[] texts = new String[16];
+        private double[] numbers = new double[16];
+        private boolean[] formulas = new boolean[16];
+        private int lastCellNum;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings) {
+            this.sharedStrings = sharedStrings;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String r = attributes.getValue("r");
+                    rowNum = r == null ? rowNum + 1 : Integer.parseInt(r) - 1;
+                    colnum = -1;
+                    lastCellNum = 0;
+                    Arrays.fill(types, null);
+                    break;
+                case "c":
+                    String ref = attributes.getValue("r");
+                    colnum = ref == null ? colnum + 1 : columnIndex(ref);
+                    cellType = attributes.getValue("t");
+                    formula = false;
+                    text.setLength(0);
+                    break;
+                case "v":
+                    collecting = true;
+                    break;
+                case "is":
+                    inlineString = true;
+                    break;
+                case "t":
+                    collecting = inlineString;
+                    break;
+                case "f":
+                    formula = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v":
+                case "t":
+                    collecting = false;
+                    break;
+                case "is":
+                    inlineString = false;
+                    break;
+                case "c":
+                    endCell();
+                    break;
+                case "row":
+                    rows.add(new SheetRow(rowNum, Arrays.copyOf(types, lastCellNum), Arrays.copyOf(texts, lastCellNum),
+                            Arrays.copyOf(numbers, lastCellNum), Arrays.copyOf(formulas, lastCellNum)));
+                    if (rows.size() == BATCH_SIZE) {
+                        hand(rows);
+                        rows = new ArrayList<>(BATCH_SIZE);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            if (!rows.isEmpty()) {
+                hand(rows);
+            }
+        }
+
+        private void endCell() {
+            if (colnum >= types.length) {
+                int length = Math.max(types.length * 2, colnum + 1);
+                types = Arrays.copyOf(types, length);
+                texts = Arrays.copyOf(texts, length);
+                numbers = Arrays.copyOf(numbers, length);
+                formulas = Arrays.copyOf(formulas, length);
+            }
+            String value = text.toString();
+            CellType type;
+            String cellText = null;
+            double number = 0;
+            if ("s".equals(cellType)) {
+                type = CellType.STRING;
+                cellText = value.isEmpty() ? "" : sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+            } else if ("inlineStr".equals(cellType) || "str".equals(cellType) || "d".equals(cellType)) {
+                type = CellType.STRING;
+                cellText = value;
+            } else if ("b".equals(cellType)) {
+                type = value.isEmpty() ? CellType.BLANK : CellType.BOOLEAN;
+                cellText = "1".equals(value.trim()) || "true".equalsIgnoreCase(value.trim()) ? "true" : "false";
+            } else if ("e".equals(cellType)) {
+                type = CellType.ERROR;
+                cellText = value;
+                number = errorCode(value);
+            } else if (value.isEmpty()) {
+                type = CellType.BLANK;
+            } else {
+                type = CellType.NUMERIC;
+                number = Double.parseDouble(value);
+            }
+            types[colnum] = type;
+            texts[colnum] = cellText;
+            numbers[colnum] = number;
+            formulas[colnum] = formula;
+            lastCellNum = Math.max(lastCellNum, colnum + 1);
+        }
+
+        private void hand(List<SheetRow> batch) throws SAXException {
+            try {
+                queue.put(batch);
+            } catch (InterruptedException e) {
+                throw new StopParsing();
+            }
+        }
+    }
+
+    private static int errorCode(String error) {
+        try {
+            return FormulaError.forString(error.trim()).getCode();
+        } catch (IllegalArgumentException e) {
+            return FormulaError.NA.getCode();
+        }
+    }
+
+    /**
+     * @return the 0-based column of a cell reference such as {@code AB12}.
+     */
+    static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                column = column * 26 + (c - 'A' + 1);
+            } else if (c >= 'a' && c <= 'z') {
+                column = column * 26 + (c - 'a' + 1);
+            } else if (c != '$') {
+                break;
+            }
+        }
+        return column - 1;
+    }
+}
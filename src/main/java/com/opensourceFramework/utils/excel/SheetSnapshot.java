@@ -0,0 +1,215 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable, indexed view of one sheet, built once from its rows: every cell is converted to text up front (see
+ * {@link SheetRow#getString(int)}), the header row is indexed by column name and the first column by row name, so
+ * every lookup takes constant time. Names are matched ignoring case.
+ * <p>
+ * Writes produce a new snapshot through {@link #withString(int, int, String)}; a snapshot can be shared between
+ * threads as it is.
+ */
+public final class SheetSnapshot {
+
+    private static final String[] NO_VALUES = new String[0];
+    private static final int[] NO_ROWS = new int[0];
+
+    private final String name;
+    private final SheetRow[] rows;
+    private final String[][] values;
+    private final List<String> headers;
+    private final Map<String, Integer> columns;
+    private final Map<String, Integer> trimmedColumns;
+    private final Map<String, Integer> columnsByHeader;
+    private final Map<String, int[]> rowsByName;
+
+    private SheetSnapshot(String name, SheetRow[] rows, String[][] values) {
+        this.name = name;
+        this.rows = rows;
+        this.values = values;
+        this.headers = Collections.unmodifiableList(Arrays.asList(rowValues(0)));
+        this.columns = new HashMap<>();
+        this.trimmedColumns = new HashMap<>();
+        Map<String, Integer> byHeader = new LinkedHashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            byHeader.remove(headers.get(i));
+            byHeader.put(headers.get(i), i);
+            columns.putIfAbsent(key(headers.get(i)), i);
+            if (rows[0].getCellType(i) == CellType.STRING) {
+                trimmedColumns.putIfAbsent(key(headers.get(i).trim()), i);
+            }
+        }
+        this.columnsByHeader = Collections.unmodifiableMap(byHeader);
+        this.rowsByName = indexRows(values);
+    }
+
+    private SheetSnapshot(SheetSnapshot snapshot, SheetRow[] rows, String[][] values) {
+        this.name = snapshot.name;
+        this.rows = rows;
+        this.values = values;
+        this.headers = snapshot.headers;
+        this.columns = snapshot.columns;
+        this.trimmedColumns = snapshot.trimmedColumns;
+        this.columnsByHeader = snapshot.columnsByHeader;
+        this.rowsByName = snapshot.rowsByName;
+    }
+
+    /**
+     * @param rows the rows by row number, {@code null} for rows the sheet does not have, as returned by
+     *             {@link StreamingWorkbook#readSheet(String)}. The array is kept, not copied.
+     */
+    public static SheetSnapshot of(String name, SheetRow[] rows) {
+        String[][] values = new String[rows.length][];
+        for (int r = 0; r < rows.length; r++) {
+            values[r] = rows[r] == null ? null : toValues(rows[r]);
+        }
+        return new SheetSnapshot(name, rows, values);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of the last row, {@code -1} for an empty sheet.
+     */
+    public int getLastRowNum() {
+        return rows.length - 1;
+    }
+
+    /**
+     * @return the index of the row's last cell plus one, {@code 0} for a missing row.
+     */
+    public int getLastCellNum(int rownum) {
+        return hasRow(rownum) ? values[rownum].length : 0;
+    }
+
+    public boolean hasRow(int rownum) {
+        return rownum >= 0 && rownum < rows.length && rows[rownum] != null;
+    }
+
+    /**
+     * @return the row, or {@code null} when the sheet does not have it.
+     */
+    public SheetRow getRow(int rownum) {
+        return hasRow(rownum) ? rows[rownum] : null;
+    }
+
+    public boolean hasCell(int rownum, int colnum) {
+        return hasRow(rownum) && rows[rownum].hasCell(colnum);
+    }
+
+    /**
+     * @return the cell as text, an empty string for blank or missing cells.
+     */
+    public String getString(int rownum, int colnum) {
+        if (!hasRow(rownum) || colnum < 0 || colnum >= values[rownum].length) {
+            return "";
+        }
+        return values[rownum][colnum];
+    }
+
+    /**
+     * @return the header row as text, one entry per column up to its last cell.
+     */
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the column of each distinct header, matched exactly; for a repeated header the last of its columns,
+     * in the order of those columns.
+     */
+    public Map<String, Integer> getColumnsByHeader() {
+        return columnsByHeader;
+    }
+
+    /**
+     * @return the first column whose header equals the name, or {@code -1}.
+     */
+    public int getColumn(String columnName) {
+        Integer column = columns.get(key(columnName));
+        return column == null ? -1 : column;
+    }
+
+    /**
+     * @return the first column whose header is a string equal to the name once trimmed, or {@code -1}.
+     */
+    public int findColumn(String columnName) {
+        Integer column = trimmedColumns.get(key(columnName));
+        return column == null ? -1 : column;
+    }
+
+    /**
+     * @return the numbers of the rows below the header whose first cell equals the name, in sheet order.
+     */
+    public int[] getRowNums(String rowName) {
+        int[] rowNums = rowsByName.get(key(rowName));
+        return rowNums == null ? NO_ROWS : rowNums.clone();
+    }
+
+    /**
+     * @return the first row below the header whose first cell equals the name, or {@code -1}.
+     */
+    public int getRowNum(String rowName) {
+        int[] rowNums = rowsByName.get(key(rowName));
+        return rowNums == null ? -1 : rowNums[0];
+    }
+
+    /**
+     * @return a snapshot with the cell set to the string, creating the row when the sheet does not have it. Only
+     * the changed row is copied, and the indexes are rebuilt only for new rows or when the header row or the first
+     * column changes.
+     */
+    public SheetSnapshot withString(int rownum, int colnum, String value) {
+        boolean newRow = !hasRow(rownum);
+        SheetRow[] newRows = Arrays.copyOf(rows, Math.max(rows.length, rownum + 1));
+        String[][] newValues = Arrays.copyOf(values, newRows.length);
+        SheetRow row = newRows[rownum] == null ? SheetRow.empty(rownum) : newRows[rownum];
+        newRows[rownum] = row.withString(colnum, value);
+        newValues[rownum] = toValues(newRows[rownum]);
+        if (newRow || rownum == 0 || colnum == 0) {
+            return new SheetSnapshot(name, newRows, newValues);
+        }
+        return new SheetSnapshot(this, newRows, newValues);
+    }
+
+    private String[] rowValues(int rownum) {
+        return hasRow(rownum) ? values[rownum] : NO_VALUES;
+    }
+
+    private static String[] toValues(SheetRow row) {
+        String[] rowValues = new String[row.getLastCellNum()];
+        for (int c = 0; c < rowValues.length; c++) {
+            rowValues[c] = row.getString(c);
+        }
+        return rowValues;
+    }
+
+    private static Map<String, int[]> indexRows(String[][] values) {
+        Map<String, List<Integer>> rowLists = new HashMap<>();
+        for (int r = 1; r < values.length; r++) {
+            String rowName = values[r] == null || values[r].length == 0 ? "" : values[r][0];
+            rowLists.computeIfAbsent(key(rowName), k -> new ArrayList<>()).add(r);
+        }
+        Map<String, int[]> index = new HashMap<>(rowLists.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : rowLists.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return index;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
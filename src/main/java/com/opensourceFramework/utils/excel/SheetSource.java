@@ -0,0 +1,48 @@
+package com.opensourceFramework.utils.excel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A workbook whose sheets can be read as {@link SheetRow}s: parsed from the {@code .xlsx} file by
+ * {@link StreamingWorkbook}, or decoded from the binary cache by {@link CachedWorkbook}.
+ */
+public interface SheetSource extends Closeable {
+
+    /**
+     * @return the workbook file the sheets come from.
+     */
+    File getFile();
+
+    List<String> getSheetNames();
+
+    /**
+     * @return the sheet's name as in the workbook, matched ignoring case like {@code Workbook.getSheet}, or
+     * {@code null} when there is no such sheet.
+     */
+    default String findSheet(String name) {
+        for (String sheetName : getSheetNames()) {
+            if (sheetName.equalsIgnoreCase(name)) {
+                return sheetName;
+            }
+        }
+        return null;
+    }
+
+    default boolean hasSheet(String name) {
+        return findSheet(name) != null;
+    }
+
+    /**
+     * Reads all rows of a sheet into an array indexed by row number; rows missing in the sheet are {@code null}.
+     *
+     * @param name the sheet name, matched ignoring case.
+     * @throws IllegalArgumentException when there is no such sheet.
+     */
+    SheetRow[] readSheet(String name) throws IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,245 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The binary layout of cached sheets, big-endian throughout:
+ * <pre>
+ * header   magic "TDC1", version, SHA-256 of the workbook (32 bytes), sheet count,
+ *          per sheet: name, offset and length of its block
+ * sheet    row count, column count, per row its cell count (-1 for a missing row),
+ *          the distinct strings of the sheet, then column by column:
+ *          one type byte per row reaching the column (the high bit marks formulas),
+ *          the numbers of its numeric and error cells, the string indexes of its text cells
+ * string   length in bytes, UTF-8 bytes
+ * </pre>
+ * Storing the columns one after the other keeps the repeated values of a column together, and the string table
+ * stores each distinct value once.
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x54444331;
+    static final int VERSION = 1;
+    static final int HASH_LENGTH = 32;
+
+    private static final byte NONE = 0;
+    private static final byte FORMULA = (byte) 0x80;
+    private static final CellType[] TYPES = {null, CellType.NUMERIC, CellType.STRING, CellType.BLANK,
+            CellType.BOOLEAN, CellType.ERROR};
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private SnapshotFormat() {
+    }
+
+    static void write(OutputStream target, byte[] hash, Map<String, SheetRow[]> sheets) throws IOException {
+        Map<String, byte[]> blocks = new LinkedHashMap<>();
+        for (Map.Entry<String, SheetRow[]> sheet : sheets.entrySet()) {
+            blocks.put(sheet.getKey(), encodeSheet(sheet.getValue()));
+        }
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(header);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.write(hash);
+        out.writeInt(blocks.size());
+        int directoryLength = 0;
+        for (String name : blocks.keySet()) {
+            directoryLength += 4 + name.getBytes(StandardCharsets.UTF_8).length + 8 + 8;
+        }
+        long offset = header.size() + directoryLength;
+        for (Map.Entry<String, byte[]> block : blocks.entrySet()) {
+            writeString(out, block.getKey());
+            out.writeLong(offset);
+            out.writeLong(block.getValue().length);
+            offset += block.getValue().length;
+        }
+        out.flush();
+        header.writeTo(target);
+        for (byte[] block : blocks.values()) {
+            target.write(block);
+        }
+    }
+
+    /**
+     * @return the sheets of the cache by name, each a read-only view of its block.
+     * @throws IOException when the buffer is not a cache of this version.
+     */
+    static Map<String, ByteBuffer> readDirectory(ByteBuffer buffer, byte[] hash) throws IOException {
+        ByteBuffer in = buffer.duplicate();
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not a test data cache of version " + VERSION);
+            }
+            in.get(hash);
+            int sheetCount = in.getInt();
+            Map<String, ByteBuffer> sheets = new LinkedHashMap<>();
+            for (int i = 0; i < sheetCount; i++) {
+                String name = readString(in);
+                int offset = Math.toIntExact(in.getLong());
+                int length = Math.toIntExact(in.getLong());
+                sheets.put(name, buffer.duplicate().position(offset).limit(offset + length).slice());
+            }
+            return sheets;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt test data cache", e);
+        }
+    }
+
+    static SheetRow[] readSheet(ByteBuffer block) throws IOException {
+        ByteBuffer in = block.duplicate();
+        try {
+            int rowCount = in.getInt();
+            int columnCount = in.getInt();
+            CellType[][] types = new CellType[rowCount][];
+            String[][] texts = new String[rowCount][];
+            double[][] numbers = new double[rowCount][];
+            boolean[][] formulas = new boolean[rowCount][];
+            int[] rowLengths = new int[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                rowLengths[r] = in.getInt();
+                if (rowLengths[r] >= 0) {
+                    types[r] = new CellType[rowLengths[r]];
+                    texts[r] = new String[rowLengths[r]];
+                    numbers[r] = new double[rowLengths[r]];
+                    formulas[r] = new boolean[rowLengths[r]];
+                }
+            }
+            String[] strings = new String[in.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(in);
+            }
+            int[] cells = new int[rowCount];
+            for (int c = 0; c < columnCount; c++) {
+                int cellCount = 0;
+                for (int r = 0; r < rowCount; r++) {
+                    if (rowLengths[r] > c) {
+                        cells[cellCount++] = r;
+                    }
+                }
+                byte[] codes = new byte[cellCount];
+                in.get(codes);
+                int numberCount = in.getInt();
+                int numberIndex = 0;
+                int numbersStart = in.position();
+                in.position(numbersStart + numberCount * 8);
+                int textCount = in.getInt();
+                int textIndex = 0;
+                int textsStart = in.position();
+                for (int i = 0; i < cellCount; i++) {
+                    int r = cells[i];
+                    CellType type = TYPES[codes[i] & 0x7f];
+                    types[r][c] = type;
+                    formulas[r][c] = (codes[i] & FORMULA) != 0;
+                    if (type == CellType.NUMERIC || type == CellType.ERROR) {
+                        numbers[r][c] = in.getDouble(numbersStart + 8 * numberIndex++);
+                    }
+                    if (type == CellType.STRING || type == CellType.BOOLEAN || type == CellType.ERROR) {
+                        texts[r][c] = strings[in.getInt(textsStart + 4 * textIndex++)];
+                    }
+                }
+                if (numberIndex != numberCount || textIndex != textCount) {
+                    throw new IOException("Corrupt column " + c + " in test data cache");
+                }
+                in.position(textsStart + textCount * 4);
+            }
+            SheetRow[] rows = new SheetRow[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                if (rowLengths[r] >= 0) {
+                    rows[r] = new SheetRow(r, types[r], texts[r], numbers[r], formulas[r]);
+                }
+            }
+            return rows;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt sheet in test data cache", e);
+        }
+    }
+
+    private static byte[] encodeSheet(SheetRow[] rows) throws IOException {
+        int columnCount = 0;
+        for (SheetRow row : rows) {
+            columnCount = row == null ? columnCount : Math.max(columnCount, row.getLastCellNum());
+        }
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        ByteArrayOutputStream columnBytes = new ByteArrayOutputStream();
+        DataOutputStream columns = new DataOutputStream(columnBytes);
+        for (int c = 0; c < columnCount; c++) {
+            ByteArrayOutputStream codes = new ByteArrayOutputStream();
+            ByteArrayOutputStream numberBytes = new ByteArrayOutputStream();
+            DataOutputStream numbers = new DataOutputStream(numberBytes);
+            ByteArrayOutputStream textBytes = new ByteArrayOutputStream();
+            DataOutputStream texts = new DataOutputStream(textBytes);
+            for (SheetRow row : rows) {
+                if (row == null || row.getLastCellNum() <= c) {
+                    continue;
+                }
+                CellType type = row.hasCell(c) ? row.getCellType(c) : null;
+                codes.write(code(type) | (row.isFormula(c) ? FORMULA : NONE));
+                if (type == CellType.NUMERIC || type == CellType.ERROR) {
+                    numbers.writeDouble(row.getNumericValue(c));
+                }
+                if (type == CellType.STRING || type == CellType.BOOLEAN || type == CellType.ERROR) {
+                    String text = row.getText(c) == null ? "" : row.getText(c);
+                    Integer index = strings.get(text);
+                    if (index == null) {
+                        index = strings.size();
+                        strings.put(text, index);
+                    }
+                    texts.writeInt(index);
+                }
+            }
+            codes.writeTo(columns);
+            columns.writeInt(numberBytes.size() / 8);
+            numberBytes.writeTo(columns);
+            columns.writeInt(textBytes.size() / 4);
+            textBytes.writeTo(columns);
+        }
+        columns.flush();
+
+        ByteArrayOutputStream block = new ByteArrayOutputStream(columnBytes.size() + 1024);
+        DataOutputStream out = new DataOutputStream(block);
+        out.writeInt(rows.length);
+        out.writeInt(columnCount);
+        for (SheetRow row : rows) {
+            out.writeInt(row == null ? -1 : row.getLastCellNum());
+        }
+        out.writeInt(strings.size());
+        for (String text : strings.keySet()) {
+            writeString(out, text);
+        }
+        out.flush();
+        columnBytes.writeTo(block);
+        return block.toByteArray();
+    }
+
+    private static byte code(CellType type) {
+        for (byte i = 1; i < TYPES.length; i++) {
+            if (TYPES[i] == type) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,124 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads an {@code .xlsx} workbook through POI's event API instead of building an {@code XSSFWorkbook}: the
+ * package is opened read-only, the shared strings are read once into a {@link ReadOnlySharedStringsTable}, and
+ * each sheet is parsed with SAX while its rows are consumed, see {@link #rows(String)}. Only the shared strings
+ * and the rows not yet consumed are held in memory.
+ * <p>
+ * Sheets may be read several times and from several threads; close the workbook when done.
+ */
+public class StreamingWorkbook implements SheetSource {
+
+    private final File file;
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final List<String> sheetNames;
+
+    public StreamingWorkbook(File file) throws IOException {
+        this.file = file;
+        try {
+            this.pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException | RuntimeException e) {
+            throw new IOException("Could not open the workbook " + file, e);
+        }
+        try {
+            this.reader = new XSSFReader(pkg);
+            this.sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            List<String> names = new ArrayList<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                names.add(sheets.getSheetName());
+            }
+            this.sheetNames = Collections.unmodifiableList(names);
+        } catch (OpenXML4JException | SAXException | IOException | RuntimeException e) {
+            pkg.revert();
+            throw new IOException("Could not read the workbook " + file, e);
+        }
+    }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    /**
+     * Starts parsing a sheet on a background thread and returns its rows as they are parsed, in file order. Rows
+     * the file does not contain are skipped; close the iterator when not reading to the end.
+     *
+     * @param name the sheet name, matched ignoring case.
+     * @throws IllegalArgumentException when there is no such sheet.
+     */
+    public SheetRowIterator rows(String name) throws IOException {
+        String sheetName = findSheet(name);
+        if (sheetName == null) {
+            throw new IllegalArgumentException("No sheet " + name + " in " + file.getName());
+        }
+        try {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                InputStream sheet = sheets.next();
+                if (sheets.getSheetName().equals(sheetName)) {
+                    return new SheetRowIterator(sheetName, sheet, sharedStrings);
+                }
+                sheet.close();
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException("Could not read sheet " + sheetName + " of " + file, e);
+        }
+        throw new IllegalArgumentException("No sheet " + name + " in " + file.getName());
+    }
+
+    @Override
+    public SheetRow[] readSheet(String name) throws IOException {
+        List<SheetRow> rows = new ArrayList<>();
+        try (SheetRowIterator iterator = rows(name)) {
+            iterator.forEachRemaining(rows::add);
+        }
+        int lastRowNum = -1;
+        for (SheetRow row : rows) {
+            lastRowNum = Math.max(lastRowNum, row.getRowNum());
+        }
+        SheetRow[] sheet = new SheetRow[lastRowNum + 1];
+        for (SheetRow row : rows) {
+            sheet[row.getRowNum()] = row;
+        }
+        return sheet;
+    }
+
+    /**
+     * @return the rows of the first sheet, the one {@code getSheetAt(0)} returns.
+     */
+    public SheetRowIterator firstSheetRows() throws IOException {
+        if (sheetNames.isEmpty()) {
+            throw new IllegalArgumentException("The workbook " + file.getName() + " has no sheets");
+        }
+        return rows(sheetNames.get(0));
+    }
+
+    @Override
+    public void close() {
+        pkg.revert();
+    }
+}
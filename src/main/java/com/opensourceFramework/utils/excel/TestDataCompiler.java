@@ -0,0 +1,155 @@
+package com.opensourceFramework.utils.excel;
+
+import com.opensourceFramework.constants.Constants;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Compiles the test data workbook named by {@code test_excel_name} in the config into the binary cache format (see
+ * {@link WorkbookCache}) at build time, as {@code testdata/<workbook>.tdc} in the classes directory. Test JVMs then
+ * read the compiled sheets from the classpath without parsing the workbook.
+ * <p>
+ * The RUNMANAGER and TESTDATA sheets are checked while compiling, so a broken sheet fails the build instead of the
+ * test run: both sheets and their TestCaseName and Execute columns must exist, Execute must be Yes, No or empty,
+ * no cell may hold an error such as {@code #REF!}, and the load scenarios must be valid. The build goes on without
+ * a compiled workbook when there is no config or no workbook.
+ * <p>
+ * Run by the {@code compile-test-data} execution in the pom with the project directory as working directory and
+ * the classes directory as argument.
+ */
+public class TestDataCompiler {
+
+    private static final String TEST_CASE_COLUMN = "TestCaseName";
+    private static final String EXECUTE_COLUMN = "Execute";
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private TestDataCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File outputDirectory = new File(args.length > 0 ? args[0] : "target" + File.separator + "classes");
+        File workbook = getConfiguredWorkbook();
+        if (workbook == null || !workbook.isFile()) {
+            System.out.println("[test data] No test data workbook"
+                    + (workbook == null ? " configured" : " at " + workbook) + ", nothing to compile");
+            return;
+        }
+        try {
+            File compiled = compile(workbook, outputDirectory);
+            System.out.println("[test data] " + workbook.getName() + " compiled to " + compiled);
+        } catch (IllegalStateException e) {
+            System.err.println("[test data] " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compiles a workbook unless the compiled file is already up to date.
+     *
+     * @return the compiled file.
+     * @throws IllegalStateException when the RUNMANAGER or TESTDATA sheet is broken, listing every problem.
+     */
+    public static File compile(File workbook, File outputDirectory) throws IOException {
+        File target = new File(new File(outputDirectory, WorkbookCache.PRECOMPILED_DIRECTORY),
+                workbook.getName() + WorkbookCache.EXTENSION);
+        byte[] hash = WorkbookCache.sha256(workbook);
+        if (target.isFile() && isCompiledFrom(workbook, target, hash)) {
+            return target;
+        }
+        byte[] compiled = WorkbookCache.build(workbook, hash);
+        List<String> problems = validate(TestDataWorkbook.read(new CachedWorkbook(workbook, ByteBuffer.wrap(compiled))));
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException(workbook.getName() + " is broken:" + System.lineSeparator() + "  "
+                    + String.join(System.lineSeparator() + "  ", problems));
+        }
+        WorkbookCache.write(target, compiled);
+        return target;
+    }
+
+    /**
+     * @return the problems of the RUNMANAGER and TESTDATA sheets, empty when there are none.
+     */
+    public static List<String> validate(TestDataWorkbook workbook) {
+        List<String> problems = new ArrayList<>();
+        for (String sheetname : Arrays.asList(Constants.RUNMANAGERSHEET, Constants.TESTDATASHEETNAME)) {
+            if (!workbook.hasSheet(sheetname)) {
+                problems.add("The " + sheetname + " sheet is missing");
+                continue;
+            }
+            SheetSnapshot sheet = workbook.getSheet(sheetname);
+            int testCaseColumn = sheetname.equals(Constants.TESTDATASHEETNAME) ? 0 : sheet.findColumn(TEST_CASE_COLUMN);
+            int executeColumn = sheetname.equals(Constants.TESTDATASHEETNAME) ? 1 : sheet.findColumn(EXECUTE_COLUMN);
+            if (testCaseColumn < 0 || executeColumn < 0) {
+                problems.add(sheetname + " has no " + (testCaseColumn < 0 ? TEST_CASE_COLUMN : EXECUTE_COLUMN)
+                        + " column");
+            }
+            for (int r = 0; r <= sheet.getLastRowNum(); r++) {
+                if (!sheet.hasRow(r)) {
+                    continue;
+                }
+                SheetRow row = sheet.getRow(r);
+                for (int c = 0; c < row.getLastCellNum(); c++) {
+                    if (row.getCellType(c) == CellType.ERROR) {
+                        problems.add(sheetname + "!" + new CellReference(r, c).formatAsString() + " holds the error "
+                                + FormulaError.forInt((byte) row.getNumericValue(c)).getString());
+                    }
+                }
+                if (r > 0 && testCaseColumn >= 0 && executeColumn >= 0
+                        && !sheet.getString(r, testCaseColumn).trim().isEmpty()) {
+                    String execute = sheet.getString(r, executeColumn).trim();
+                    if (!execute.isEmpty() && !execute.equalsIgnoreCase("Yes") && !execute.equalsIgnoreCase("No")) {
+                        problems.add(sheetname + "!" + new CellReference(r, executeColumn).formatAsString()
+                                + " is '" + execute + "', expected Yes or No");
+                    }
+                }
+            }
+        }
+        if (problems.isEmpty()) {
+            try {
+                workbook.getLoadScenarios();
+            } catch (RuntimeException e) {
+                problems.add("Invalid load scenario: " + e.getMessage());
+            }
+        }
+        return problems;
+    }
+
+    private static boolean isCompiledFrom(File workbook, File compiled, byte[] hash) {
+        try {
+            byte[] content = Files.readAllBytes(compiled.toPath());
+            return Arrays.equals(new CachedWorkbook(workbook, ByteBuffer.wrap(content)).getHash(), hash);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the workbook name from the config without ConfigReader, which exits the JVM when there is no config.
+     */
+    private static File getConfiguredWorkbook() throws IOException {
+        File config = new File(Constants.CONFIGFILEPATH);
+        if (!config.isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(config)) {
+            properties.load(in);
+        }
+        String name = properties.getProperty("test_excel_name");
+        return name == null || name.trim().isEmpty() ? null : new File(Constants.EXCELPATH, name.trim());
+    }
+}
@@ -0,0 +1,230 @@
+package com.opensourceFramework.utils.excel;
+
+import com.opensourceFramework.constants.Constants;
+import com.opensourceFramework.utils.loadTest.LoadScenario;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The test data workbook as an immutable value: every sheet is read into a {@link SheetSnapshot} when the workbook
+ * is opened and the file is closed again, so one instance can be shared by any number of threads without locking.
+ * The lookups follow {@code ExcelUtils}, which is a static facade over an instance of this class: rows and columns
+ * are found by name ignoring case, and a missing row or cell reads as an empty string.
+ * <p>
+ * {@link #withCellContent(String, int, int, String)} returns a changed copy and leaves this instance as it is.
+ */
+public final class TestDataWorkbook {
+
+    private final File file;
+    private final List<String> sheetNames;
+    private final Map<String, SheetSnapshot> sheets;
+    private final Map<String, ColumnarSheet> columnarSheets = new ConcurrentHashMap<>();
+
+    private TestDataWorkbook(File file, List<String> sheetNames, Map<String, SheetSnapshot> sheets) {
+        this.file = file;
+        this.sheetNames = sheetNames;
+        this.sheets = sheets;
+    }
+
+    /**
+     * Reads all sheets of a workbook, from its cache when the cache is up to date (see {@link WorkbookCache}).
+     */
+    public static TestDataWorkbook open(File file) throws IOException {
+        try (SheetSource source = WorkbookCache.open(file)) {
+            return read(source);
+        }
+    }
+
+    /**
+     * Reads all sheets of a source; the caller closes it.
+     */
+    public static TestDataWorkbook read(SheetSource source) throws IOException {
+        Map<String, SheetSnapshot> sheets = new HashMap<>();
+        for (String name : source.getSheetNames()) {
+            sheets.putIfAbsent(key(name), SheetSnapshot.of(name, source.readSheet(name)));
+        }
+        return new TestDataWorkbook(source.getFile(), List.copyOf(source.getSheetNames()), Map.copyOf(sheets));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    public boolean hasSheet(String sheetname) {
+        return sheets.containsKey(key(sheetname));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the workbook has no such sheet.
+     */
+    public SheetSnapshot getSheet(String sheetname) {
+        SheetSnapshot sheet = sheets.get(key(sheetname));
+        if (sheet == null) {
+            throw new IllegalArgumentException("No sheet " + sheetname + " in " + file.getName());
+        }
+        return sheet;
+    }
+
+    /**
+     * @return the sheet as typed columns, built on the first call and kept with this instance.
+     * @throws IllegalArgumentException when the workbook has no such sheet.
+     */
+    public ColumnarSheet getColumnarSheet(String sheetname) {
+        SheetSnapshot sheet = getSheet(sheetname);
+        return columnarSheets.computeIfAbsent(key(sheetname), k -> ColumnarSheet.of(sheet));
+    }
+
+    public int getLastRowNum(String sheetname) {
+        return getSheet(sheetname).getLastRowNum();
+    }
+
+    public int getLastColumnNum(String sheetname, int rownum) {
+        return getSheet(sheetname).getLastCellNum(rownum);
+    }
+
+    /**
+     * @return the cell as text: numbers without decimals, errors as their {@code FormulaError} code and an empty
+     * string for blank or missing cells.
+     */
+    public String getCellContent(String sheetname, int rownum, int colnum) {
+        return getSheet(sheetname).getString(rownum, colnum);
+    }
+
+    /**
+     * @return the cell of the column with this header, the first column when there is none.
+     */
+    public String getCellContent(String sheetname, int rownum, String columnname) {
+        return getCellContent(sheetname, rownum, getColumnNumForColumnName(sheetname, columnname));
+    }
+
+    /**
+     * @return the cell of the first row with this name in the first column and of the column with this header, the
+     * header row or first column when there is none.
+     */
+    public String getCellContent(String sheetname, String rowname, String columnname) {
+        return getCellContent(sheetname, getRowNumForRowName(sheetname, rowname),
+                getColumnNumForColumnName(sheetname, columnname));
+    }
+
+    /**
+     * @return the first row below the header whose first cell is the name, {@code 0} when there is none.
+     */
+    public int getRowNumForRowName(String sheetname, String rowName) {
+        return Math.max(getSheet(sheetname).getRowNum(rowName), 0);
+    }
+
+    /**
+     * @return the first column whose header is the name, {@code 0} when there is none.
+     */
+    public int getColumnNumForColumnName(String sheetname, String columnname) {
+        return Math.max(getSheet(sheetname).getColumn(columnname), 0);
+    }
+
+    /**
+     * @return the first column whose header is the name once trimmed, {@code -1} when there is none.
+     */
+    public int findColumnNumForColumnName(String sheetname, String columnname) {
+        return getSheet(sheetname).findColumn(columnname);
+    }
+
+    /**
+     * @return the trimmed cell of the column with this header, an empty string when the column or the cell does not
+     * exist.
+     */
+    public String getOptionalCellContent(String sheetname, int rownum, String columnname) {
+        SheetSnapshot sheet = getSheet(sheetname);
+        int colnum = sheet.findColumn(columnname);
+        return sheet.hasCell(rownum, colnum) ? sheet.getString(rownum, colnum).trim() : "";
+    }
+
+    /**
+     * @return the number in the column with this header without truncating decimals, the default value when the
+     * column or the cell is empty.
+     */
+    public double getOptionalNumericCellContent(String sheetname, int rownum, String columnname,
+                                                double defaultValue) {
+        SheetSnapshot sheet = getSheet(sheetname);
+        int colnum = sheet.findColumn(columnname);
+        if (!sheet.hasCell(rownum, colnum)) {
+            return defaultValue;
+        }
+        if (sheet.getRow(rownum).getCellType(colnum) == CellType.NUMERIC) {
+            return sheet.getRow(rownum).getNumericValue(colnum);
+        }
+        String value = sheet.getString(rownum, colnum).trim();
+        return value.isEmpty() ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * @return the TestCaseName, Test Case Description, Execute and Priority columns of the RUNMANAGER sheet.
+     */
+    public RunStatus getRunStatus() {
+        String sheetname = Constants.RUNMANAGERSHEET;
+        List<String> testCases = new ArrayList<>();
+        List<String> testDescriptions = new ArrayList<>();
+        List<String> executeFlags = new ArrayList<>();
+        List<String> priorities = new ArrayList<>();
+        for (int i = 1; i <= getLastRowNum(sheetname); i++) {
+            testCases.add(getCellContent(sheetname, i, "TestCaseName"));
+            testDescriptions.add(getCellContent(sheetname, i, "Test Case Description"));
+            executeFlags.add(getCellContent(sheetname, i, "Execute"));
+            priorities.add(getCellContent(sheetname, i, "Priority"));
+        }
+        return new RunStatus(testCases, testDescriptions, executeFlags, priorities);
+    }
+
+    /**
+     * Reads the load scenarios of the test cases marked Execute = Yes. The LOADMANAGER sheet is used when the
+     * workbook has one, otherwise the optional Weight, TargetRate and Concurrency columns of the RUNMANAGER sheet.
+     * Missing values default to weight 1, rate 0 (derived from the weight) and concurrency 1.
+     */
+    public List<LoadScenario> getLoadScenarios() {
+        String sheetname = hasSheet(Constants.LOADMANAGERSHEET) ? Constants.LOADMANAGERSHEET
+                : Constants.RUNMANAGERSHEET;
+        SheetSnapshot sheet = getSheet(sheetname);
+        List<LoadScenario> scenarios = new ArrayList<>();
+        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            if (!sheet.hasRow(i)) {
+                continue;
+            }
+            String testCaseName = getOptionalCellContent(sheetname, i, "TestCaseName");
+            String execute = getOptionalCellContent(sheetname, i, "Execute");
+            if (testCaseName.isEmpty() || !(execute.isEmpty() || execute.equalsIgnoreCase("Yes"))) {
+                continue;
+            }
+            scenarios.add(new LoadScenario(testCaseName,
+                    getOptionalNumericCellContent(sheetname, i, "Weight", 1),
+                    getOptionalNumericCellContent(sheetname, i, "TargetRate", 0),
+                    (int) getOptionalNumericCellContent(sheetname, i, "Concurrency", 1),
+                    getOptionalCellContent(sheetname, i, "Priority")));
+        }
+        return Collections.unmodifiableList(scenarios);
+    }
+
+    /**
+     * @return a copy of the workbook with the cell set to the string; the file is not changed.
+     */
+    public TestDataWorkbook withCellContent(String sheetname, int rownum, int colnum, String value) {
+        Map<String, SheetSnapshot> changed = new LinkedHashMap<>(sheets);
+        changed.put(key(sheetname), getSheet(sheetname).withString(rownum, colnum, value));
+        return new TestDataWorkbook(file, sheetNames, Map.copyOf(changed));
+    }
+
+    private static String key(String sheetname) {
+        return sheetname.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,200 @@
+package com.opensourceFramework.utils.excel;
+
+import com.opensourceFramework.constants.Constants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Caches parsed workbooks as binary files (see {@link SnapshotFormat}) named after the SHA-256 of the workbook, so
+ * only the first run after a change parses the {@code .xlsx} with POI; later runs, and every forked JVM of the same
+ * run, memory-map the cache instead. A changed workbook has a new hash and therefore a new cache file; the files of
+ * its previous versions are deleted when the new one is written.
+ * <p>
+ * The build compiles the configured workbook into the classpath as well (see {@link TestDataCompiler}), so the first
+ * run of a fresh checkout does not parse it either, as long as the workbook is not changed after the build.
+ */
+public class WorkbookCache {
+
+    public static final String CACHE_DIRECTORY = Constants.PROJECTPATH + File.separator + "reports"
+            + File.separator + ".datacache";
+    static final String EXTENSION = ".tdc";
+    /**
+     * The classpath directory of the caches compiled by {@link TestDataCompiler} during the build.
+     */
+    static final String PRECOMPILED_DIRECTORY = "testdata";
+
+    private static final Logger log = LogManager.getLogger(WorkbookCache.class.getName());
+    private static final Pattern HASH_SUFFIX = Pattern.compile("-[0-9a-f]{64}" + Pattern.quote(EXTENSION));
+    private static File directory = new File(CACHE_DIRECTORY);
+    private static boolean enabled = true;
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private WorkbookCache() {
+    }
+
+    /**
+     * Sets the directory holding the cache files, {@value #CACHE_DIRECTORY} by default. Point it to a persistent
+     * location when the workspace is wiped between CI builds.
+     */
+    public static void setDirectory(File directory) {
+        WorkbookCache.directory = directory;
+    }
+
+    /**
+     * Enables the cache, the default. When disabled every run parses the workbook.
+     */
+    public static void setEnabled(boolean enabled) {
+        WorkbookCache.enabled = enabled;
+    }
+
+    /**
+     * Opens a workbook from its cache when the cache matches the workbook's content, otherwise parses all sheets
+     * and writes the cache first. When the cache cannot be written the sheets are served from memory. The cache
+     * compiled into the classpath by the build is used first.
+     */
+    public static SheetSource open(File workbook) throws IOException {
+        if (!enabled) {
+            return new StreamingWorkbook(workbook);
+        }
+        byte[] hash = sha256(workbook);
+        CachedWorkbook precompiled = openPrecompiled(workbook, hash);
+        if (precompiled != null) {
+            return precompiled;
+        }
+        File cacheFile = new File(directory, workbook.getName() + "-" + HexFormat.of().formatHex(hash) + EXTENSION);
+        if (cacheFile.isFile()) {
+            try {
+                CachedWorkbook cached = CachedWorkbook.map(workbook, cacheFile);
+                if (Arrays.equals(cached.getHash(), hash)) {
+                    log.debug("Reading " + workbook.getName() + " from " + cacheFile);
+                    return cached;
+                }
+                log.warn("Ignoring " + cacheFile + ", it was built from another version of " + workbook.getName());
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+        byte[] cache = build(workbook, hash);
+        try {
+            write(cacheFile, cache);
+            deleteStale(workbook, cacheFile);
+            log.info("Cached " + workbook.getName() + " in " + cacheFile);
+        } catch (IOException e) {
+            log.warn("Could not write the test data cache " + cacheFile + ": " + e.getMessage());
+        }
+        return new CachedWorkbook(workbook, ByteBuffer.wrap(cache));
+    }
+
+    /**
+     * Parses every sheet of the workbook and encodes them in the cache format.
+     */
+    public static byte[] build(File workbook, byte[] hash) throws IOException {
+        Map<String, SheetRow[]> sheets = new LinkedHashMap<>();
+        try (StreamingWorkbook streaming = new StreamingWorkbook(workbook)) {
+            for (String name : streaming.getSheetNames()) {
+                sheets.put(name, streaming.readSheet(name));
+            }
+        }
+        ByteArrayOutputStream cache = new ByteArrayOutputStream();
+        SnapshotFormat.write(cache, hash, sheets);
+        return cache.toByteArray();
+    }
+
+    /**
+     * @return the classpath resource {@code testdata/<workbook>.tdc} when it was compiled from this version of the
+     * workbook, otherwise {@code null}.
+     */
+    private static CachedWorkbook openPrecompiled(File workbook, byte[] hash) {
+        String resource = PRECOMPILED_DIRECTORY + "/" + workbook.getName() + EXTENSION;
+        URL url = WorkbookCache.class.getClassLoader().getResource(resource);
+        if (url == null) {
+            return null;
+        }
+        try {
+            CachedWorkbook precompiled;
+            if ("file".equals(url.getProtocol())) {
+                precompiled = CachedWorkbook.map(workbook, new File(url.toURI()));
+            } else {
+                try (InputStream in = url.openStream()) {
+                    precompiled = new CachedWorkbook(workbook, ByteBuffer.wrap(in.readAllBytes()));
+                }
+            }
+            if (Arrays.equals(precompiled.getHash(), hash)) {
+                log.debug("Reading " + workbook.getName() + " from the compiled " + url);
+                return precompiled;
+            }
+            log.info("Ignoring the compiled " + url + ", " + workbook.getName() + " changed after the build");
+        } catch (IOException | URISyntaxException e) {
+            log.warn("Ignoring the unreadable compiled " + url + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    public static byte[] sha256(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Writes the cache to a temporary file and moves it in place, so concurrent runs never read a partial file.
+     */
+    static void write(File cacheFile, byte[] cache) throws IOException {
+        Path target = cacheFile.toPath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), cacheFile.getName(), ".tmp");
+        try {
+            Files.write(temp, cache);
+            // temporary files are private to their owner, the cache is shared like the reports
+            temp.toFile().setReadable(true, false);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void deleteStale(File workbook, File cacheFile) {
+        String prefix = workbook.getName();
+        File[] files = cacheFile.getParentFile().listFiles((dir, name) -> name.startsWith(prefix)
+                && HASH_SUFFIX.matcher(name.substring(prefix.length())).matches());
+        for (File file : files == null ? new File[0] : files) {
+            if (!file.equals(cacheFile) && !file.delete()) {
+                log.debug("Could not delete the stale cache " + file);
+            }
+        }
+    }
+}
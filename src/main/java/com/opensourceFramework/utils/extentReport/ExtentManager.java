@@ -10,6 +10,7 @@ import com.aventstack.extentreports.reporter.ExtentKlovReporter;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.aventstack.extentreports.reporter.configuration.ViewName;
+import com.opensourceFramework.utils.journal.TrafficJournal;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.util.LinkedList;
@@ -125,6 +126,16 @@ public class ExtentManager {
         return test;
     }
 
+    /**
+     * Retrieves the ExtentTest of the current thread without taking the report lock, for code that must not
+     * wait for a report flush.
+     *
+     * @return ExtentTest of the current thread, or null.
+     */
+    public static ExtentTest currentTest() {
+        return test.get();
+    }
+
     /**
      * Retrieves the current logs for tracking in a thread-safe manner.
      *
@@ -214,6 +225,15 @@ public class ExtentManager {
         return extent;
     }
 
+    /**
+     * Checks whether {@link #createInstance} was called, i.e. whether the report can be written to.
+     *
+     * @return true if the ExtentReports instance exists.
+     */
+    public static boolean hasInstance() {
+        return extent != null;
+    }
+
     /**
      * Logs messages to Log4j if logging is enabled.
      */
@@ -262,6 +282,16 @@ public class ExtentManager {
         flush();
     }
 
+    /**
+     * Adds a link to a file of the report directory as system information.
+     *
+     * @param key      System info key.
+     * @param fileName Name of the file, relative to the report.
+     */
+    public synchronized static void addReportLink(String key, String fileName) {
+        addSystemInfo(key, "<a href='" + fileName + "'>" + fileName + "</a>");
+    }
+
     /**
      * Adds log output to the ExtentReport.
      *
@@ -288,6 +318,10 @@ public class ExtentManager {
                 getTest().get().log(Status.INFO, log);
             }
         }
+        if (TrafficJournal.isRecording()) {
+            getTest().get().log(Status.INFO, "API traffic: <a href='" + TrafficJournal.FILE_NAME + "'>"
+                    + TrafficJournal.FILE_NAME + "</a> (test = " + testName + ")");
+        }
     }
 
     /**
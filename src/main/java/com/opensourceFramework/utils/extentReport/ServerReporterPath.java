@@ -1,4 +1,9 @@
 package com.opensourceFramework.utils.extentReport;
+import com.opensourceFramework.utils.excel.ResultWorkbook;
+import com.opensourceFramework.utils.journal.HarExport;
+import com.opensourceFramework.utils.journal.TrafficJournal;
+import com.opensourceFramework.utils.performance.ApiPerformanceReport;
+import com.opensourceFramework.utils.performance.baseline.PerformanceBaseline;
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
@@ -9,10 +14,11 @@ import java.util.Calendar;
 
 public class ServerReporterPath {
 	private static File reportFolderPath;
-	private static String jenkinsReport,jenkinsLog,jenkinsAPIPerfReport;
+	private static String jenkinsReport,jenkinsLog,jenkinsAPIPerfReport,jenkinsTrafficJournal,jenkinsTrafficHar,jenkinsResultWorkbook;
 	private static String reportBaseDirectory;
 	private static String reportServerIp;
 	private static String reportFolderName;
+	private static String projectName;
 	private static String jenkinsReportLoc;
 
 	public static void setReportServerIp(String reportServerIp) {
@@ -43,22 +49,68 @@ public class ServerReporterPath {
 		return jenkinsAPIPerfReport;
 	}
 
+	public static String getJenkinsTrafficJournal() {
+		return jenkinsTrafficJournal;
+	}
+
+	public static String getJenkinsTrafficHar() {
+		return jenkinsTrafficHar;
+	}
+
+	public static String getJenkinsResultWorkbook() {
+		return jenkinsResultWorkbook;
+	}
+
 	public static String getJenkinsLog(){
 		return ServerReporterPath.jenkinsLog;
 	}
 
 	public static void createDirectory(){
+		projectName = reportFolderName;
 		reportFolderName = reportFolderName + "-" + getCurrentDateTime("dd-MMM-HH-mm-ss");
 		reportFolderPath = new File(jenkinsReportLoc + reportFolderName );
 		reportFolderPath.mkdir();
 		setReportBaseDirectory(reportFolderPath.getAbsolutePath()+"/");
 		System.out.println("Report Folder Path :- " + reportFolderPath.getAbsolutePath());
+		ApiPerformanceReport.startRecording(reportFolderPath);
+		TrafficJournal.startRecording(reportFolderPath);
+		HarExport.startRecording(reportFolderPath);
+		ResultWorkbook.startRecording(reportFolderPath);
 	}
 
 	public static void createReportLinks(){
 		jenkinsReport = reportServerIp + reportFolderName + "/" + ExtentManager.getReportName() ;
 		System.out.println("Extent Report Location :- " + jenkinsReport);
+		File apiPerfReport = ApiPerformanceReport.finishRecording();
+		if (apiPerfReport != null) {
+			jenkinsAPIPerfReport = reportServerIp + reportFolderName + "/" + apiPerfReport.getName();
+		}
+		PerformanceBaseline.compareAndRecord(projectName, reportFolderName);
 		System.out.println("API Performance Report Location :- " + jenkinsAPIPerfReport);
+		File trafficJournal = TrafficJournal.finishRecording();
+		if (trafficJournal != null) {
+			jenkinsTrafficJournal = reportServerIp + reportFolderName + "/" + trafficJournal.getName();
+			if (ExtentManager.hasInstance()) {
+				ExtentManager.addReportLink("API Traffic Journal", trafficJournal.getName());
+			}
+			System.out.println("API Traffic Journal Location :- " + jenkinsTrafficJournal);
+		}
+		File trafficHar = HarExport.finishRecording();
+		if (trafficHar != null) {
+			jenkinsTrafficHar = reportServerIp + reportFolderName + "/" + trafficHar.getName();
+			if (ExtentManager.hasInstance()) {
+				ExtentManager.addReportLink("API Traffic HAR", trafficHar.getName());
+			}
+			System.out.println("API Traffic HAR Location :- " + jenkinsTrafficHar);
+		}
+		File resultWorkbook = ResultWorkbook.finishRecording();
+		if (resultWorkbook != null) {
+			jenkinsResultWorkbook = reportServerIp + reportFolderName + "/" + resultWorkbook.getName();
+			if (ExtentManager.hasInstance()) {
+				ExtentManager.addReportLink("Test Results Workbook", resultWorkbook.getName());
+			}
+			System.out.println("Test Results Workbook Location :- " + jenkinsResultWorkbook);
+		}
 		jenkinsLog = reportServerIp + reportFolderName + "/" + ExtentManager.getLoggerName() + ".log" ;
 		System.out.println("Log File Location :- " + jenkinsLog);
 	}
@@ -0,0 +1,87 @@
+package com.opensourceFramework.utils.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer. A producer never waits: when the buffer is
+ * full the element is dropped and counted.
+ * <p>
+ * Every slot carries a sequence number telling whose turn it is: a producer may fill slot {@code i} when its
+ * sequence equals the producer's ticket, the consumer may empty it when the sequence is one past the ticket.
+ */
+class DropRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private long head;
+
+    /**
+     * @param capacity rounded up to a power of two.
+     */
+    DropRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Adds the element unless the buffer is full; safe to call from any thread.
+     *
+     * @return whether the element was added.
+     */
+    boolean offer(E element) {
+        while (true) {
+            long ticket = tail.get();
+            int slot = (int) ticket & mask;
+            long difference = sequences.get(slot) - ticket;
+            if (difference == 0) {
+                if (tail.compareAndSet(ticket, ticket + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, ticket + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                dropped.increment();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element; only the consumer thread may call it.
+     *
+     * @return the element, or {@code null} when the buffer is empty.
+     */
+    E poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+            return null;
+        }
+        E element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.set(slot, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+}
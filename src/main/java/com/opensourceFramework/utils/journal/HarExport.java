@@ -0,0 +1,93 @@
+package com.opensourceFramework.utils.journal;
+
+import com.opensourceFramework.utils.performance.ApiCallListeners;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Lifecycle of the per-run HAR export. When enabled, {@code ServerReporterPath.createDirectory()} starts streaming
+ * every API call into {@value #FILE_NAME} in the report directory, and {@code ServerReporterPath.createReportLinks()}
+ * completes the file and links it from the report. Off by default, as it keeps request and response bodies.
+ */
+public class HarExport {
+
+    public static final String FILE_NAME = "api-traffic.har";
+
+    private static final Logger log = LogManager.getLogger(HarExport.class.getName());
+    private static boolean enabled = false;
+    private static int capacity = 8192;
+    private static int maxBodyChars = 16384;
+    private static volatile HarRecorder recorder;
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private HarExport() {
+    }
+
+    public static void setEnabled(boolean enabled) {
+        HarExport.enabled = enabled;
+    }
+
+    /**
+     * Sets how many calls may wait for the writer thread before new ones are dropped.
+     */
+    public static void setCapacity(int capacity) {
+        HarExport.capacity = capacity;
+    }
+
+    /**
+     * Sets after how many characters request and response bodies are cut; the full size is exported as well.
+     */
+    public static void setMaxBodyChars(int maxBodyChars) {
+        HarExport.maxBodyChars = maxBodyChars;
+    }
+
+    public static boolean isRecording() {
+        return recorder != null;
+    }
+
+    /**
+     * Starts exporting every API call into the given report directory.
+     */
+    public static synchronized void startRecording(File reportDirectory) {
+        if (!enabled || recorder != null) {
+            return;
+        }
+        try {
+            HarRecorder started = new HarRecorder(new File(reportDirectory, FILE_NAME), capacity, maxBodyChars);
+            ApiCallListeners.add(started);
+            recorder = started;
+        } catch (IOException e) {
+            log.error("Could not create the HAR export in " + reportDirectory, e);
+        }
+    }
+
+    /**
+     * Stops exporting, writes the calls still buffered and completes the HAR document.
+     *
+     * @return the HAR file, or {@code null} when the export was not started.
+     */
+    public static synchronized File finishRecording() {
+        HarRecorder finished = recorder;
+        if (finished == null) {
+            return null;
+        }
+        recorder = null;
+        ApiCallListeners.remove(finished);
+        try {
+            finished.close();
+        } catch (IOException e) {
+            log.error("Could not complete the HAR export", e);
+        }
+        if (finished.getDropped() > 0) {
+            log.warn(finished.getDropped() + " API calls were not exported to HAR because the buffer was full;"
+                    + " raise HarExport.setCapacity(int)");
+        }
+        log.info(finished.getWritten() + " API calls exported to " + finished.getFile());
+        return finished.getFile();
+    }
+}
@@ -0,0 +1,427 @@
+package com.opensourceFramework.utils.journal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.opensourceFramework.utils.CurlCapture;
+import com.opensourceFramework.utils.CurlSnapshot;
+import com.opensourceFramework.utils.performance.ApiCallListener;
+import com.opensourceFramework.utils.performance.ApiCallRecord;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Exports every API call as a HAR 1.2 entry, so a run can be loaded into browser developer tools or any HAR
+ * viewer as a waterfall. Like {@link JournalRecorder}, the calling thread only picks up the request captured by
+ * {@link CurlCapture} and offers the call to a {@link DropRingBuffer}; a background thread reads the bodies,
+ * builds the entry and appends it to a {@link HarWriter} only once it is complete, so a call that fails to
+ * export is left out instead of corrupting the document. Each test becomes a HAR page.
+ * <p>
+ * The timings come from the transport: {@code blocked} runs from the start of the call until the request was
+ * handed to the connection (request building, connection lease and connect, which HttpClient does not
+ * separate), {@code wait} until the response headers arrived and {@code receive} until the body was read.
+ */
+public class HarRecorder implements ApiCallListener, Closeable {
+
+    private static final Logger log = LogManager.getLogger(HarRecorder.class.getName());
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final DropRingBuffer<Entry> buffer;
+    private final HarWriter writer;
+    private final int maxBodyChars;
+    private final Thread drainer;
+    private volatile boolean running = true;
+    private long written;
+
+    /**
+     * @param file         the HAR file to write.
+     * @param capacity     entries buffered before new ones are dropped.
+     * @param maxBodyChars request and response bodies are cut after this many characters.
+     */
+    public HarRecorder(File file, int capacity, int maxBodyChars) throws IOException {
+        this.buffer = new DropRingBuffer<>(capacity);
+        this.writer = new HarWriter(file);
+        this.maxBodyChars = maxBodyChars;
+        this.drainer = new Thread(this::drain, "har-export");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    public File getFile() {
+        return writer.getFile();
+    }
+
+    /**
+     * @return entries lost because the buffer was full.
+     */
+    public long getDropped() {
+        return buffer.getDropped();
+    }
+
+    /**
+     * @return entries written so far; read after {@link #close()} for the final count.
+     */
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void onApiCall(ApiCallRecord record) {
+        // a record with a curl command was made through CurlCapture, whose last request on this thread is the call's
+        CurlSnapshot request = record.hasCurl() ? CurlCapture.getLastRequest() : null;
+        buffer.offer(new Entry(JournalRecorder.currentTestName(), record, request));
+    }
+
+    /**
+     * Writes the buffered entries, completes the document and stops the writer thread.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            writer.close();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            boolean stopping = !running;
+            int drained = 0;
+            Entry entry;
+            while ((entry = buffer.poll()) != null) {
+                write(entry);
+                drained++;
+            }
+            if (drained > 0 || stopping) {
+                synchronized (this) {
+                    try {
+                        writer.flush();
+                    } catch (IOException e) {
+                        log.warn("Could not flush the HAR export " + writer.getFile(), e);
+                    }
+                }
+            }
+            if (stopping) {
+                return;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        ApiCallRecord record = entry.record;
+        CurlSnapshot request = entry.request;
+        HttpResponse response = request == null ? null : request.getResponse();
+        try {
+            String url = request == null ? record.getUrl() : request.getUrl();
+            Body requestBody = request == null ? null : requestBody(request.getRequest());
+            String responseType = response == null ? null : headerValue(response.getAllHeaders(), "Content-Type");
+            Supplier<String> responseSupplier = record.getResponseBody();
+            String responseBody = responseSupplier == null || !isText(responseType) ? null : responseSupplier.get();
+            TokenBuffer generator = writer.newEntry();
+            generator.writeStartObject();
+            if (entry.test != null) {
+                generator.writeStringField("pageref", entry.test);
+            }
+            generator.writeStringField("startedDateTime", HarWriter.dateTime(record.getStartEpochMillis()));
+            generator.writeNumberField("time", record.getLatencyMicros() / 1000.0);
+            writeRequest(generator, record, request, url, requestBody);
+            writeResponse(generator, record, response, responseType, responseBody);
+            generator.writeObjectFieldStart("cache");
+            generator.writeEndObject();
+            writeTimings(generator, record, request);
+            generator.writeStringField("_thread", record.getThread());
+            generator.writeStringField("_endpoint", record.getEndpoint());
+            if (record.getError() != null) {
+                generator.writeStringField("_error", record.getError());
+            }
+            generator.writeEndObject();
+            synchronized (this) {
+                if (entry.test != null) {
+                    writer.page(entry.test, record.getStartEpochMillis());
+                }
+                writer.append(generator);
+                written++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not export the call to " + record.getUrl() + " to HAR", e);
+        }
+    }
+
+    private static void writeRequest(JsonGenerator generator, ApiCallRecord record, CurlSnapshot request,
+                                     String url, Body body) throws IOException {
+        Header[] headers = request == null ? new Header[0] : request.getRequest().getAllHeaders();
+        generator.writeObjectFieldStart("request");
+        generator.writeStringField("method", record.getMethod());
+        generator.writeStringField("url", url);
+        generator.writeStringField("httpVersion",
+                request == null ? "" : request.getRequest().getRequestLine().getProtocolVersion().toString());
+        generator.writeArrayFieldStart("cookies");
+        String cookie = headerValue(headers, "Cookie");
+        if (cookie != null) {
+            for (String pair : cookie.split(";")) {
+                writeNameValue(generator, pair.trim());
+            }
+        }
+        generator.writeEndArray();
+        writeHeaders(generator, headers);
+        generator.writeArrayFieldStart("queryString");
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            int fragment = url.indexOf('#', query);
+            for (String pair : url.substring(query + 1, fragment < 0 ? url.length() : fragment).split("&")) {
+                if (!pair.isEmpty()) {
+                    writeNameValue(generator, decode(pair));
+                }
+            }
+        }
+        generator.writeEndArray();
+        if (body != null) {
+            generator.writeObjectFieldStart("postData");
+            generator.writeStringField("mimeType", body.mimeType == null ? "" : body.mimeType);
+            generator.writeStringField("text", body.text == null ? "" : body.text);
+            if (body.comment != null) {
+                generator.writeStringField("comment", body.comment);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeNumberField("headersSize", -1);
+        generator.writeNumberField("bodySize", body == null ? 0 : body.size);
+        generator.writeEndObject();
+    }
+
+    private void writeResponse(JsonGenerator generator, ApiCallRecord record, HttpResponse response,
+                               String mimeType, String body) throws IOException {
+        Header[] headers = response == null ? new Header[0] : response.getAllHeaders();
+        String contentLength = headerValue(headers, "Content-Length");
+        long size = body != null ? body.getBytes(StandardCharsets.UTF_8).length
+                : contentLength != null ? parseLong(contentLength) : -1;
+        generator.writeObjectFieldStart("response");
+        generator.writeNumberField("status", record.getStatus());
+        generator.writeStringField("statusText", response == null || response.getStatusLine().getReasonPhrase() == null
+                ? "" : response.getStatusLine().getReasonPhrase());
+        generator.writeStringField("httpVersion",
+                response == null ? "" : response.getStatusLine().getProtocolVersion().toString());
+        generator.writeArrayFieldStart("cookies");
+        for (Header header : headers) {
+            if (header.getName().equalsIgnoreCase("Set-Cookie")) {
+                int attributes = header.getValue().indexOf(';');
+                writeNameValue(generator, attributes < 0 ? header.getValue() : header.getValue().substring(0, attributes));
+            }
+        }
+        generator.writeEndArray();
+        writeHeaders(generator, headers);
+        generator.writeObjectFieldStart("content");
+        generator.writeNumberField("size", size);
+        generator.writeStringField("mimeType", mimeType == null ? "" : mimeType);
+        if (body != null) {
+            generator.writeStringField("text", truncate(body));
+            if (body.length() > maxBodyChars) {
+                generator.writeStringField("comment", "cut after " + maxBodyChars + " of " + body.length()
+                        + " characters");
+            }
+        }
+        generator.writeEndObject();
+        String location = headerValue(headers, "Location");
+        generator.writeStringField("redirectURL", location == null ? "" : location);
+        generator.writeNumberField("headersSize", -1);
+        generator.writeNumberField("bodySize", size);
+        generator.writeEndObject();
+    }
+
+    private static void writeTimings(JsonGenerator generator, ApiCallRecord record, CurlSnapshot request)
+            throws IOException {
+        long total = record.getLatencyMicros() * 1000;
+        long blocked = -1;
+        long wait = total;
+        long receive = 0;
+        if (request != null && record.getStartNanos() != 0) {
+            long end = record.getStartNanos() + total;
+            blocked = clamp(request.getSentNanos() - record.getStartNanos(), total);
+            long responseNanos = request.getResponseNanos();
+            wait = clamp((responseNanos == 0 ? end : responseNanos) - request.getSentNanos(), total - blocked);
+            receive = total - blocked - wait;
+        }
+        generator.writeObjectFieldStart("timings");
+        if (blocked < 0) {
+            generator.writeNumberField("blocked", -1);
+        } else {
+            generator.writeNumberField("blocked", millis(blocked));
+        }
+        generator.writeNumberField("dns", -1);
+        generator.writeNumberField("connect", -1);
+        generator.writeNumberField("send", 0);
+        generator.writeNumberField("wait", millis(wait));
+        generator.writeNumberField("receive", millis(receive));
+        generator.writeNumberField("ssl", -1);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Reads at most {@code maxBodyChars} characters of the request entity, which RestAssured makes repeatable.
+     */
+    private Body requestBody(HttpRequest request) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return null;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        if (entity == null) {
+            return null;
+        }
+        Body body = new Body();
+        body.mimeType = entity.getContentType() == null ? headerValue(request.getAllHeaders(), "Content-Type")
+                : entity.getContentType().getValue();
+        body.size = entity.getContentLength();
+        if (!entity.isRepeatable()) {
+            body.comment = "not repeatable";
+            return body;
+        }
+        StringBuilder text = new StringBuilder();
+        char[] chunk = new char[Math.min(8192, Math.max(1, maxBodyChars))];
+        try (InputStream in = entity.getContent();
+             Reader reader = new InputStreamReader(in, charset(body.mimeType))) {
+            int read;
+            while (text.length() < maxBodyChars
+                    && (read = reader.read(chunk, 0, Math.min(chunk.length, maxBodyChars - text.length()))) > 0) {
+                text.append(chunk, 0, read);
+            }
+            if (text.length() >= maxBodyChars && reader.read() >= 0) {
+                body.comment = "cut after " + maxBodyChars + " characters";
+            }
+        } catch (IOException | RuntimeException e) {
+            body.comment = "could not be read: " + e;
+        }
+        body.text = text.toString();
+        return body;
+    }
+
+    private String truncate(String body) {
+        return body.length() > maxBodyChars ? body.substring(0, maxBodyChars) : body;
+    }
+
+    private static void writeHeaders(JsonGenerator generator, Header[] headers) throws IOException {
+        generator.writeArrayFieldStart("headers");
+        for (Header header : headers) {
+            generator.writeStartObject();
+            generator.writeStringField("name", header.getName());
+            generator.writeStringField("value", header.getValue());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeNameValue(JsonGenerator generator, String pair) throws IOException {
+        int equals = pair.indexOf('=');
+        generator.writeStartObject();
+        generator.writeStringField("name", equals < 0 ? pair : pair.substring(0, equals));
+        generator.writeStringField("value", equals < 0 ? "" : pair.substring(equals + 1));
+        generator.writeEndObject();
+    }
+
+    private static String decode(String s) {
+        try {
+            return URLDecoder.decode(s, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return s;
+        }
+    }
+
+    private static String headerValue(Header[] headers, String name) {
+        for (Header header : headers) {
+            if (header.getName().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Unknown types count as text; binary bodies are not decoded into the HAR.
+     */
+    private static boolean isText(String mimeType) {
+        if (mimeType == null) {
+            return true;
+        }
+        String type = mimeType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+                || type.contains("javascript") || type.contains("x-www-form-urlencoded") || type.contains("graphql");
+    }
+
+    private static Charset charset(String mimeType) {
+        if (mimeType != null) {
+            int index = mimeType.toLowerCase(Locale.ROOT).indexOf("charset=");
+            if (index >= 0) {
+                String name = mimeType.substring(index + "charset=".length()).split("[;,\\s]")[0].replace("\"", "");
+                try {
+                    return Charset.forName(name);
+                } catch (IllegalArgumentException e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long clamp(long nanos, long max) {
+        return Math.max(0, Math.min(nanos, max));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1000.0;
+    }
+
+    private static class Body {
+
+        private String mimeType;
+        private String text;
+        private String comment;
+        private long size;
+    }
+
+    private static class Entry {
+
+        private final String test;
+        private final ApiCallRecord record;
+        private final CurlSnapshot request;
+
+        Entry(String test, ApiCallRecord record, CurlSnapshot request) {
+            this.test = test;
+            this.record = record;
+            this.request = request;
+        }
+    }
+}
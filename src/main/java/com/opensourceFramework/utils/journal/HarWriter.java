@@ -0,0 +1,106 @@
+package com.opensourceFramework.utils.journal;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams a HAR 1.2 document: the {@code log} header is written when the file is opened, every entry is appended
+ * to the {@code entries} array as it comes, and the {@code pages} are written after the entries on
+ * {@link #close()}, once every page's first call is known. Nothing but the page index is kept in memory. Until
+ * it is closed the file is not valid JSON. Not thread-safe; used by the recorder's writer thread only.
+ */
+class HarWriter implements Closeable {
+
+    static final String VERSION = "1.2";
+    static final String CREATOR = "openSourceAPIFramework";
+
+    private static final JsonFactory factory = new JsonFactory();
+
+    private final File file;
+    private final JsonGenerator generator;
+    private final Map<String, Long> pageStarts = new LinkedHashMap<>();
+
+    HarWriter(File file) throws IOException {
+        this.file = file;
+        this.generator = factory.createGenerator(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024),
+                JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("log");
+        generator.writeStringField("version", VERSION);
+        generator.writeObjectFieldStart("creator");
+        generator.writeStringField("name", CREATOR);
+        generator.writeStringField("version", VERSION);
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("entries");
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Registers the page of the next entry, so it is listed in {@code pages} with its earliest start.
+     */
+    void page(String pageRef, long startEpochMillis) {
+        pageStarts.merge(pageRef, startEpochMillis, Math::min);
+    }
+
+    /**
+     * @return an empty buffer to write exactly one entry object into; hand it to {@link #append(TokenBuffer)}
+     * once the entry is complete, or drop it, so a failing entry never leaves a half written object behind.
+     */
+    TokenBuffer newEntry() {
+        return new TokenBuffer((ObjectCodec) null, false);
+    }
+
+    /**
+     * Appends a complete entry to the {@code entries} array.
+     */
+    void append(TokenBuffer entry) throws IOException {
+        entry.serialize(generator);
+    }
+
+    void flush() throws IOException {
+        generator.flush();
+    }
+
+    /**
+     * Ends the entries, writes the pages and closes the document.
+     */
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("pages");
+        for (Map.Entry<String, Long> page : pageStarts.entrySet()) {
+            generator.writeStartObject();
+            generator.writeStringField("startedDateTime", dateTime(page.getValue()));
+            generator.writeStringField("id", page.getKey());
+            generator.writeStringField("title", page.getKey());
+            generator.writeObjectFieldStart("pageTimings");
+            generator.writeNumberField("onContentLoad", -1);
+            generator.writeNumberField("onLoad", -1);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    static String dateTime(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).toString();
+    }
+}
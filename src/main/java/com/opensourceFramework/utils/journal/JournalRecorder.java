@@ -0,0 +1,202 @@
+package com.opensourceFramework.utils.journal;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.opensourceFramework.utils.extentReport.ExtentManager;
+import com.opensourceFramework.utils.performance.ApiCallListener;
+import com.opensourceFramework.utils.performance.ApiCallRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Journals every API call: the calling thread only tags the {@link ApiCallRecord} with its test and thread and
+ * offers it to a {@link DropRingBuffer}. A background thread renders the curl command, reads and truncates the
+ * response body and appends the entry to a {@link RollingJsonlWriter}. When the buffer is full, entries are
+ * dropped rather than slowing the test down.
+ */
+public class JournalRecorder implements ApiCallListener, Closeable {
+
+    static final String SEQUENCE = "seq";
+    static final String START = "start";
+    static final String TEST = "test";
+    static final String THREAD = "thread";
+    static final String ENDPOINT = "endpoint";
+    static final String METHOD = "method";
+    static final String URL = "url";
+    static final String STATUS = "status";
+    static final String LATENCY = "latencyMicros";
+    static final String ERROR = "error";
+    static final String CURL = "curl";
+    static final String RESPONSE_BODY = "responseBody";
+    static final String RESPONSE_BODY_LENGTH = "responseBodyLength";
+
+    private static final Logger log = LogManager.getLogger(JournalRecorder.class.getName());
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final DropRingBuffer<Entry> buffer;
+    private final RollingJsonlWriter writer;
+    private final int maxBodyChars;
+    private final boolean includeCurl;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Thread drainer;
+    private volatile boolean running = true;
+    private long written;
+
+    /**
+     * @param directory    where the journal files are written.
+     * @param baseName     name of the current file without {@code .jsonl}.
+     * @param capacity     entries buffered before new ones are dropped.
+     * @param maxBodyChars response bodies are cut after this many characters.
+     * @param includeCurl  whether to render the curl command of every call.
+     */
+    public JournalRecorder(File directory, String baseName, int capacity, int maxBodyChars, boolean includeCurl,
+                           long maxFileBytes, int maxBackups) throws IOException {
+        this.buffer = new DropRingBuffer<>(capacity);
+        this.writer = new RollingJsonlWriter(directory, baseName, maxFileBytes, maxBackups);
+        this.maxBodyChars = maxBodyChars;
+        this.includeCurl = includeCurl;
+        this.drainer = new Thread(this::drain, "traffic-journal");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    public File getFile() {
+        return writer.getFile();
+    }
+
+    /**
+     * @return entries lost because the buffer was full.
+     */
+    public long getDropped() {
+        return buffer.getDropped();
+    }
+
+    /**
+     * @return entries written so far; read after {@link #close()} for the final count.
+     */
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void onApiCall(ApiCallRecord record) {
+        buffer.offer(new Entry(sequence.incrementAndGet(), currentTestName(), record));
+    }
+
+    /**
+     * Writes the buffered entries and stops the writer thread.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            writer.close();
+        }
+    }
+
+    /**
+     * The Extent test of the thread, or the TestNG test when the thread has none. Neither lookup takes a lock.
+     */
+    static String currentTestName() {
+        ExtentTest test = ExtentManager.currentTest();
+        if (test != null) {
+            return test.getModel().getName();
+        }
+        ITestResult result = Reporter.getCurrentTestResult();
+        return result == null ? null : result.getName();
+    }
+
+    private void drain() {
+        while (true) {
+            boolean stopping = !running;
+            int drained = 0;
+            Entry entry;
+            while ((entry = buffer.poll()) != null) {
+                write(entry);
+                drained++;
+            }
+            if (drained > 0 || stopping) {
+                synchronized (this) {
+                    try {
+                        writer.flush();
+                    } catch (IOException e) {
+                        log.warn("Could not flush the traffic journal " + writer.getFile(), e);
+                    }
+                }
+            }
+            if (stopping) {
+                return;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        ApiCallRecord record = entry.record;
+        try {
+            String curl = includeCurl ? record.getCurl() : null;
+            Supplier<String> responseBody = record.getResponseBody();
+            String body = responseBody == null ? null : responseBody.get();
+            synchronized (this) {
+                JsonGenerator generator = writer.next();
+                generator.writeStartObject();
+                generator.writeNumberField(SEQUENCE, entry.sequence);
+                generator.writeNumberField(START, record.getStartEpochMillis());
+                generator.writeStringField(TEST, entry.test);
+                generator.writeStringField(THREAD, record.getThread());
+                generator.writeStringField(ENDPOINT, record.getEndpoint());
+                generator.writeStringField(METHOD, record.getMethod());
+                generator.writeStringField(URL, record.getUrl());
+                generator.writeNumberField(STATUS, record.getStatus());
+                generator.writeNumberField(LATENCY, record.getLatencyMicros());
+                if (record.getError() != null) {
+                    generator.writeStringField(ERROR, record.getError());
+                }
+                if (curl != null) {
+                    generator.writeStringField(CURL, curl);
+                }
+                if (body != null) {
+                    generator.writeStringField(RESPONSE_BODY,
+                            body.length() > maxBodyChars ? body.substring(0, maxBodyChars) : body);
+                    generator.writeNumberField(RESPONSE_BODY_LENGTH, body.length());
+                }
+                generator.writeEndObject();
+                writer.endLine();
+                written++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not journal the call to " + record.getUrl(), e);
+        }
+    }
+
+    private static class Entry {
+
+        private final long sequence;
+        private final String test;
+        private final ApiCallRecord record;
+
+        Entry(long sequence, String test, ApiCallRecord record) {
+            this.sequence = sequence;
+            this.test = test;
+            this.record = record;
+        }
+    }
+}
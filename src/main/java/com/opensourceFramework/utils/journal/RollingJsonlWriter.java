@@ -0,0 +1,117 @@
+package com.opensourceFramework.utils.journal;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes JSON objects one per line into {@code name.jsonl}. When the file exceeds the size limit it is renamed
+ * to {@code name.1.jsonl}, older files move up by one and the oldest beyond {@code maxBackups} is deleted, so
+ * the current file always has the same name. Not thread-safe; used by the journal's writer thread only.
+ */
+class RollingJsonlWriter implements Closeable {
+
+    private static final JsonFactory factory = new JsonFactory();
+
+    private final File directory;
+    private final String baseName;
+    private final long maxFileBytes;
+    private final int maxBackups;
+    private CountingStream out;
+    private JsonGenerator generator;
+
+    RollingJsonlWriter(File directory, String baseName, long maxFileBytes, int maxBackups) throws IOException {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.maxFileBytes = maxFileBytes;
+        this.maxBackups = maxBackups;
+        open();
+    }
+
+    File getFile() {
+        return new File(directory, baseName + ".jsonl");
+    }
+
+    /**
+     * @return the generator positioned for the next object; call {@link #endLine()} after writing it.
+     */
+    JsonGenerator next() throws IOException {
+        if (out.count >= maxFileBytes) {
+            roll();
+        }
+        return generator;
+    }
+
+    void endLine() throws IOException {
+        generator.writeRaw('\n');
+    }
+
+    void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void open() throws IOException {
+        out = new CountingStream(new BufferedOutputStream(new FileOutputStream(getFile()), 64 * 1024));
+        generator = factory.createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+    }
+
+    private void roll() throws IOException {
+        generator.close();
+        File oldest = backup(maxBackups);
+        Files.deleteIfExists(oldest.toPath());
+        for (int i = maxBackups - 1; i >= 1; i--) {
+            File backup = backup(i);
+            if (backup.exists()) {
+                Files.move(backup.toPath(), backup(i + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxBackups > 0) {
+            Files.move(getFile().toPath(), backup(1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private File backup(int index) {
+        return new File(directory, baseName + "." + index + ".jsonl");
+    }
+
+    /**
+     * Counts the bytes that reach the file, so rolling does not depend on the generator's buffer.
+     */
+    private static class CountingStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.opensourceFramework.utils.journal;
+
+import com.opensourceFramework.utils.performance.ApiCallListeners;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Lifecycle of the per-run API traffic journal. When enabled, {@code ServerReporterPath.createDirectory()} starts
+ * journaling every API call into {@value #FILE_NAME} in the report directory: curl command, status, latency and the
+ * start of the response body, tagged with the test and thread that made the call. Each Extent test links to the
+ * journal, and {@code ServerReporterPath.createReportLinks()} closes it.
+ * <p>
+ * Off by default: the writer thread renders the curl command and reads the response body of every call, which the
+ * calls otherwise skip, so a journaled load run spends that CPU on the client as well. {@code CurlReplay.fromJournal}
+ * needs the curl commands, so keep {@link #setIncludeCurl(boolean)} on for journals that are replayed.
+ */
+public class TrafficJournal {
+
+    public static final String BASE_NAME = "api-traffic";
+    public static final String FILE_NAME = BASE_NAME + ".jsonl";
+
+    private static final Logger log = LogManager.getLogger(TrafficJournal.class.getName());
+    private static boolean enabled = false;
+    private static int capacity = 8192;
+    private static int maxBodyChars = 4096;
+    private static boolean includeCurl = true;
+    private static long maxFileBytes = 100L * 1024 * 1024;
+    private static int maxBackups = 5;
+    private static volatile JournalRecorder recorder;
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private TrafficJournal() {
+    }
+
+    public static void setEnabled(boolean enabled) {
+        TrafficJournal.enabled = enabled;
+    }
+
+    /**
+     * Sets how many calls may wait for the writer thread before new ones are dropped.
+     */
+    public static void setCapacity(int capacity) {
+        TrafficJournal.capacity = capacity;
+    }
+
+    /**
+     * Sets after how many characters response bodies are cut; the full length is journaled as well.
+     */
+    public static void setMaxBodyChars(int maxBodyChars) {
+        TrafficJournal.maxBodyChars = maxBodyChars;
+    }
+
+    /**
+     * Sets whether entries hold the curl command of the call, the default. Without it the journal is cheaper to
+     * write but cannot be replayed.
+     */
+    public static void setIncludeCurl(boolean includeCurl) {
+        TrafficJournal.includeCurl = includeCurl;
+    }
+
+    /**
+     * Sets the size after which the journal rolls over, keeping {@code maxBackups} older files.
+     */
+    public static void setRolling(long maxFileBytes, int maxBackups) {
+        TrafficJournal.maxFileBytes = maxFileBytes;
+        TrafficJournal.maxBackups = maxBackups;
+    }
+
+    public static boolean isRecording() {
+        return recorder != null;
+    }
+
+    /**
+     * Starts journaling every API call into the given report directory.
+     */
+    public static synchronized void startRecording(File reportDirectory) {
+        if (!enabled || recorder != null) {
+            return;
+        }
+        try {
+            JournalRecorder started = new JournalRecorder(reportDirectory, BASE_NAME, capacity, maxBodyChars,
+                    includeCurl, maxFileBytes, maxBackups);
+            ApiCallListeners.add(started);
+            recorder = started;
+        } catch (IOException e) {
+            log.error("Could not create the API traffic journal in " + reportDirectory, e);
+        }
+    }
+
+    /**
+     * Stops journaling and writes the calls still buffered.
+     *
+     * @return the journal, or {@code null} when journaling was not started.
+     */
+    public static synchronized File finishRecording() {
+        JournalRecorder finished = recorder;
+        if (finished == null) {
+            return null;
+        }
+        recorder = null;
+        ApiCallListeners.remove(finished);
+        try {
+            finished.close();
+        } catch (IOException e) {
+            log.error("Could not close the API traffic journal", e);
+        }
+        if (finished.getDropped() > 0) {
+            log.warn(finished.getDropped() + " API calls were not journaled because the journal buffer was full;"
+                    + " raise TrafficJournal.setCapacity(int)");
+        }
+        log.info(finished.getWritten() + " API calls journaled in " + finished.getFile());
+        return finished.getFile();
+    }
+}
@@ -0,0 +1,14 @@
+package com.opensourceFramework.utils.loadTest;
+
+/**
+ * A single call of a load scenario, typically building a {@code BaseAPIRequest} and returning the
+ * result of {@code makeAPICall()}.
+ * <p>
+ * A thrown exception counts as an error. When the returned value is a REST-assured
+ * {@link io.restassured.response.Response}, a status code of 400 or above counts as an error too.
+ */
+@FunctionalInterface
+public interface LoadAction {
+
+    Object execute() throws Exception;
+}
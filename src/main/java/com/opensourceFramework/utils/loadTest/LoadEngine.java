@@ -0,0 +1,342 @@
+package com.opensourceFramework.utils.loadTest;
+
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a weighted mix of {@link LoadScenario}s concurrently and reports per-scenario percentiles.
+ * <p>
+ * Every scenario gets its own worker threads ({@link LoadScenario#getConcurrency()}). Scenarios with a
+ * target rate are paced as an open model: each call has an intended start time and its latency is
+ * measured from that time, so a slow server is not hidden by the workers waiting on it (coordinated
+ * omission). Scenarios without a target rate and without a total rate run as a closed loop, with their
+ * combined concurrency split by weight.
+ *
+ * <pre>
+ *     LoadRunResult result = new LoadEngine()
+ *             .register("createUser", () -> createUserRequest().makeAPICall())
+ *             .register("getUser", () -> getUserRequest().makeAPICall())
+ *             .setTotalRate(200)
+ *             .run(ExcelUtils.getLoadScenarios(), Duration.ofMinutes(5));
+ *     result.logToReport();
+ * </pre>
+ */
+public class LoadEngine {
+
+    private static final Logger log = LogManager.getLogger(LoadEngine.class.getName());
+
+    private final Map<String, LoadAction> actions = new ConcurrentHashMap<>();
+    private double totalRate;
+
+    /**
+     * Registers the action executed for the test case with the given name.
+     */
+    public LoadEngine register(String testCaseName, LoadAction action) {
+        actions.put(testCaseName.toLowerCase(), action);
+        return this;
+    }
+
+    /**
+     * Sets the rate in requests per second that is split by weight between the scenarios that do not
+     * declare their own target rate.
+     */
+    public LoadEngine setTotalRate(double totalRate) {
+        this.totalRate = totalRate;
+        return this;
+    }
+
+    public double getTotalRate() {
+        return totalRate;
+    }
+
+    /**
+     * @return whether an action is registered for the test case with the given name.
+     */
+    public boolean hasAction(String testCaseName) {
+        return actions.containsKey(testCaseName.toLowerCase());
+    }
+
+    /**
+     * Runs the scenarios for the given duration and blocks until all workers have finished.
+     */
+    public LoadRunResult run(List<LoadScenario> scenarios, Duration duration) throws InterruptedException {
+        LoadRun run = start(scenarios, duration, 0);
+        run.await();
+        return run.getResult();
+    }
+
+    /**
+     * Starts the scenarios in the background.
+     *
+     * @param scenarios    the load mix.
+     * @param duration     how long the scenarios run.
+     * @param startAtNanos {@link System#nanoTime()} at which the workers start, {@code 0} starts immediately.
+     * @return a handle to snapshot, stop or wait for the run.
+     */
+    public LoadRun start(List<LoadScenario> scenarios, Duration duration, long startAtNanos) {
+        return startResolved(resolveRates(scenarios), duration, startAtNanos);
+    }
+
+    /**
+     * Like {@link #start(List, Duration, long)}, but runs the scenarios in the given order with their target rate
+     * and concurrency as they are, e.g. a worker's share of a plan already resolved by {@link #resolveRates(List)}.
+     */
+    public LoadRun startResolved(List<LoadScenario> resolved, Duration duration, long startAtNanos) {
+        for (LoadScenario scenario : resolved) {
+            if (!hasAction(scenario.getTestCaseName())) {
+                throw new IllegalStateException("No load action registered for test case " + scenario.getTestCaseName());
+            }
+        }
+        long startNanos = startAtNanos == 0 ? System.nanoTime() : startAtNanos;
+        long endNanos = startNanos + duration.toNanos();
+        LoadRun run = new LoadRun(startNanos, endNanos);
+        int workers = resolved.stream().mapToInt(LoadScenario::getConcurrency).sum();
+        CountDownLatch finished = new CountDownLatch(workers);
+        run.finished = finished;
+
+        for (LoadScenario scenario : resolved) {
+            ScenarioRecorder recorder = new ScenarioRecorder(scenario);
+            run.recorders.add(recorder);
+            LoadAction action = actions.get(scenario.getTestCaseName().toLowerCase());
+            long periodNanos = scenario.getTargetRate() > 0 ? (long) (1_000_000_000L / scenario.getTargetRate()) : 0;
+            AtomicLong tickets = new AtomicLong();
+            for (int i = 0; i < scenario.getConcurrency(); i++) {
+                Thread worker = new Thread(() -> {
+                    try {
+                        runWorker(run, action, recorder, periodNanos, tickets);
+                    } finally {
+                        finished.countDown();
+                    }
+                }, "load-" + scenario.getTestCaseName() + "-" + i);
+                worker.setDaemon(true);
+                worker.start();
+            }
+        }
+        log.info("Started load run with " + resolved.size() + " scenarios and " + workers + " workers for " + duration);
+        return run;
+    }
+
+    private static void runWorker(LoadRun run, LoadAction action, ScenarioRecorder recorder, long periodNanos, AtomicLong tickets) {
+        parkUntil(run.startNanos, run);
+        while (!run.stopped) {
+            long intendedStart;
+            if (periodNanos > 0) {
+                intendedStart = run.startNanos + tickets.getAndIncrement() * periodNanos;
+                if (intendedStart >= run.endNanos) {
+                    return;
+                }
+                parkUntil(intendedStart, run);
+                if (run.stopped) {
+                    return;
+                }
+            } else {
+                intendedStart = System.nanoTime();
+                if (intendedStart >= run.endNanos) {
+                    return;
+                }
+            }
+            boolean error;
+            try {
+                Object result = action.execute();
+                error = result instanceof Response && ((Response) result).getStatusCode() >= 400;
+            } catch (Exception e) {
+                log.debug("Load action of " + recorder.getScenario().getTestCaseName() + " failed", e);
+                error = true;
+            }
+            recorder.record(System.nanoTime() - intendedStart, error);
+        }
+    }
+
+    private static void parkUntil(long deadlineNanos, LoadRun run) {
+        long remaining;
+        while (!run.stopped && (remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Fills in the target rate of scenarios without an explicit rate from their share of the total
+     * rate, and orders the scenarios by priority.
+     * <p>
+     * Without a total rate those scenarios run as a closed loop, where the share of the traffic follows the
+     * number of workers instead: their combined concurrency is split by weight, each scenario with a positive
+     * weight keeping at least one worker. In both modes a scenario without a target rate and with weight zero is
+     * switched off; one with its own target rate runs whatever its weight.
+     */
+    public List<LoadScenario> resolveRates(List<LoadScenario> scenarios) {
+        double weightWithoutRate = scenarios.stream()
+                .filter(s -> s.getTargetRate() == 0)
+                .mapToDouble(LoadScenario::getWeight)
+                .sum();
+        Map<LoadScenario, Integer> closedLoopConcurrency = totalRate > 0
+                ? Map.of()
+                : splitConcurrency(scenarios, weightWithoutRate);
+        List<LoadScenario> resolved = new ArrayList<>();
+        for (LoadScenario scenario : scenarios) {
+            double rate = scenario.getTargetRate();
+            int concurrency = scenario.getConcurrency();
+            if (rate == 0) {
+                if (scenario.getWeight() == 0) {
+                    // zero weight means the scenario is switched off
+                    continue;
+                }
+                if (totalRate > 0) {
+                    rate = totalRate * scenario.getWeight() / weightWithoutRate;
+                } else {
+                    concurrency = closedLoopConcurrency.get(scenario);
+                }
+            }
+            resolved.add(new LoadScenario(scenario.getTestCaseName(), scenario.getWeight(), rate,
+                    concurrency, scenario.getPriority()));
+        }
+        resolved.sort(Comparator.comparing(LoadScenario::getPriority, LoadEngine::comparePriorities));
+        return resolved;
+    }
+
+    /**
+     * Splits the combined concurrency of the closed loop scenarios that are not switched off by weight,
+     * handing out the workers lost to rounding down to the scenarios with the largest remainders. A scenario left
+     * without a worker takes one from the largest share, so the total stays the combined concurrency; as every
+     * scenario brings at least one worker, there is always a share to take it from.
+     */
+    private static Map<LoadScenario, Integer> splitConcurrency(List<LoadScenario> scenarios, double weight) {
+        List<LoadScenario> closedLoop = scenarios.stream()
+                .filter(s -> s.getTargetRate() == 0 && s.getWeight() > 0)
+                .collect(Collectors.toList());
+        int workers = closedLoop.stream().mapToInt(LoadScenario::getConcurrency).sum();
+        Map<LoadScenario, Integer> concurrency = new IdentityHashMap<>();
+        if (weight == 0) {
+            return concurrency;
+        }
+        int assigned = 0;
+        for (LoadScenario scenario : closedLoop) {
+            int share = (int) (workers * scenario.getWeight() / weight);
+            concurrency.put(scenario, share);
+            assigned += share;
+        }
+        List<LoadScenario> byRemainder = new ArrayList<>(closedLoop);
+        byRemainder.sort(Comparator.comparingDouble((LoadScenario s) -> {
+            double exact = workers * s.getWeight() / weight;
+            return exact - Math.floor(exact);
+        }).reversed());
+        for (int i = 0; i < workers - assigned && i < byRemainder.size(); i++) {
+            concurrency.merge(byRemainder.get(i), 1, Integer::sum);
+        }
+        for (LoadScenario scenario : closedLoop) {
+            if (concurrency.get(scenario) == 0) {
+                LoadScenario largest = closedLoop.stream().max(Comparator.comparingInt(concurrency::get)).get();
+                concurrency.merge(largest, -1, Integer::sum);
+                concurrency.put(scenario, 1);
+            }
+        }
+        return concurrency;
+    }
+
+    /**
+     * Orders priorities that are numbers numerically and before the others, which compare ignoring case.
+     */
+    static int comparePriorities(String a, String b) {
+        Double numberA = parsePriority(a);
+        Double numberB = parsePriority(b);
+        if (numberA != null && numberB != null) {
+            return Double.compare(numberA, numberB);
+        }
+        if (numberA != null || numberB != null) {
+            return numberA != null ? -1 : 1;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+    }
+
+    private static Double parsePriority(String priority) {
+        try {
+            return Double.valueOf(priority.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Handle of a running load run.
+     */
+    public static class LoadRun {
+
+        private final long startNanos;
+        private final long endNanos;
+        private final List<ScenarioRecorder> recorders = new ArrayList<>();
+        private volatile boolean stopped;
+        private CountDownLatch finished;
+        private volatile long finishedNanos;
+
+        private LoadRun(long startNanos, long endNanos) {
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        public List<ScenarioRecorder> getRecorders() {
+            return recorders;
+        }
+
+        /**
+         * Asks all workers to stop after their current call.
+         */
+        public void stop() {
+            stopped = true;
+        }
+
+        public boolean isFinished() {
+            return finished.getCount() == 0;
+        }
+
+        /**
+         * Waits until every worker has finished or the timeout elapses.
+         *
+         * @return whether every worker has finished.
+         */
+        public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+            if (!finished.await(timeout, unit)) {
+                return false;
+            }
+            if (finishedNanos == 0) {
+                finishedNanos = System.nanoTime();
+            }
+            return true;
+        }
+
+        /**
+         * Waits until every worker has finished.
+         */
+        public void await() throws InterruptedException {
+            finished.await();
+            if (finishedNanos == 0) {
+                finishedNanos = System.nanoTime();
+            }
+        }
+
+        /**
+         * @return the results recorded so far, final once {@link #await()} has returned.
+         */
+        public LoadRunResult getResult() {
+            long end = finishedNanos == 0 ? System.nanoTime() : finishedNanos;
+            double elapsedSeconds = Math.max(0, end - startNanos) / 1_000_000_000.0;
+            List<ScenarioResult> results = new ArrayList<>();
+            for (ScenarioRecorder recorder : recorders) {
+                results.add(recorder.toResult(elapsedSeconds));
+            }
+            return new LoadRunResult(results, elapsedSeconds);
+        }
+    }
+}
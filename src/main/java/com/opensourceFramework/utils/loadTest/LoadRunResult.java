@@ -0,0 +1,95 @@
+package com.opensourceFramework.utils.loadTest;
+
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.opensourceFramework.utils.extentReport.Logger;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-scenario results of a load run plus the aggregate over the whole mix.
+ */
+public class LoadRunResult {
+
+    public static final String TOTAL = "ALL";
+
+    private final Map<String, ScenarioResult> scenarios = new LinkedHashMap<>();
+    private final ScenarioResult total;
+
+    public LoadRunResult(List<ScenarioResult> results, double elapsedSeconds) {
+        Histogram aggregate = new Histogram(3);
+        long errors = 0;
+        for (ScenarioResult result : results) {
+            scenarios.put(result.getName(), result);
+            aggregate.add(result.getHistogram());
+            errors += result.getErrors();
+        }
+        double totalRate = results.stream().mapToDouble(r -> r.getScenario().getTargetRate()).sum();
+        int totalConcurrency = results.stream().mapToInt(r -> r.getScenario().getConcurrency()).sum();
+        this.total = new ScenarioResult(new LoadScenario(TOTAL, 1, totalRate, Math.max(1, totalConcurrency)),
+                aggregate, errors, elapsedSeconds);
+    }
+
+    /**
+     * @return the result of the given test case, or {@code null} when it was not part of the run.
+     */
+    public ScenarioResult getScenario(String testCaseName) {
+        return scenarios.get(testCaseName);
+    }
+
+    public List<ScenarioResult> getScenarios() {
+        return Collections.unmodifiableList(new ArrayList<>(scenarios.values()));
+    }
+
+    /**
+     * @return the aggregate over all scenarios of the run.
+     */
+    public ScenarioResult getTotal() {
+        return total;
+    }
+
+    /**
+     * @return one line per scenario followed by the aggregate.
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (ScenarioResult result : scenarios.values()) {
+            sb.append(result).append(System.lineSeparator());
+        }
+        sb.append(total);
+        return sb.toString();
+    }
+
+    /**
+     * Adds the per-scenario percentiles as a table to the current Extent test.
+     */
+    public void logToReport() {
+        String[][] table = new String[scenarios.size() + 2][];
+        table[0] = new String[]{"Scenario", "Target rps", "Concurrency", "Count", "Errors %", "Throughput rps",
+                "p50 ms", "p90 ms", "p95 ms", "p99 ms", "Max ms"};
+        int i = 1;
+        for (ScenarioResult result : scenarios.values()) {
+            table[i++] = row(result);
+        }
+        table[i] = row(total);
+        Logger.logInfo(MarkupHelper.createTable(table));
+    }
+
+    private static String[] row(ScenarioResult result) {
+        return new String[]{result.getName(),
+                String.format("%.1f", result.getScenario().getTargetRate()),
+                String.valueOf(result.getScenario().getConcurrency()),
+                String.valueOf(result.getCount()),
+                String.format("%.2f", result.getErrorRate() * 100),
+                String.format("%.1f", result.getThroughput()),
+                String.format("%.1f", result.getPercentile(50)),
+                String.format("%.1f", result.getPercentile(90)),
+                String.format("%.1f", result.getPercentile(95)),
+                String.format("%.1f", result.getPercentile(99)),
+                String.format("%.1f", result.getMax())};
+    }
+}
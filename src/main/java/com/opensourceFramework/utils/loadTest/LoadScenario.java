@@ -0,0 +1,70 @@
+package com.opensourceFramework.utils.loadTest;
+
+/**
+ * One entry of the load mix: a test case from the RUNMANAGER (or LOADMANAGER) sheet together with its
+ * weight in the mix, the target rate and the number of concurrent workers that drive it.
+ */
+public class LoadScenario {
+
+    private final String testCaseName;
+    private final double weight;
+    private final double targetRate;
+    private final int concurrency;
+    private final String priority;
+
+    /**
+     * @param testCaseName name of the test case, used to look up the action registered in {@link LoadEngine}.
+     * @param weight       relative share of the total rate when no explicit target rate is given.
+     * @param targetRate   requests per second for this scenario, {@code 0} derives it from the weight.
+     * @param concurrency  number of worker threads for this scenario.
+     * @param priority     priority from the run manager sheet, scenarios start and report in this order.
+     */
+    public LoadScenario(String testCaseName, double weight, double targetRate, int concurrency, String priority) {
+        if (weight < 0 || targetRate < 0) {
+            throw new IllegalArgumentException("Weight and target rate must not be negative for " + testCaseName);
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1 for " + testCaseName);
+        }
+        this.testCaseName = testCaseName;
+        this.weight = weight;
+        this.targetRate = targetRate;
+        this.concurrency = concurrency;
+        this.priority = priority == null ? "" : priority;
+    }
+
+    public LoadScenario(String testCaseName, double weight, double targetRate, int concurrency) {
+        this(testCaseName, weight, targetRate, concurrency, "");
+    }
+
+    public String getTestCaseName() {
+        return testCaseName;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadScenario{" +
+                "testCaseName='" + testCaseName + '\'' +
+                ", weight=" + weight +
+                ", targetRate=" + targetRate +
+                ", concurrency=" + concurrency +
+                ", priority='" + priority + '\'' +
+                '}';
+    }
+}
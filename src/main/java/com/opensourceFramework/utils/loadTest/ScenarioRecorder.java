@@ -0,0 +1,93 @@
+package com.opensourceFramework.utils.loadTest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency and error recorder for one scenario. Latencies are kept in microseconds in an
+ * HdrHistogram {@link Recorder}, so recording never blocks and interval snapshots can be taken while
+ * the scenario is running.
+ */
+public class ScenarioRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadScenario scenario;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final Histogram accumulated = new Histogram(SIGNIFICANT_DIGITS);
+    private long accumulatedErrors;
+    private Histogram recycled;
+
+    public ScenarioRecorder(LoadScenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public LoadScenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Records the latency of one call.
+     *
+     * @param latencyNanos latency in nanoseconds.
+     * @param error        whether the call failed.
+     */
+    public void record(long latencyNanos, boolean error) {
+        recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Takes the values recorded since the previous snapshot and adds them to the accumulated histogram.
+     *
+     * @return a copy of the interval histogram together with the errors of the interval.
+     */
+    public synchronized IntervalSnapshot snapshot() {
+        recycled = recorder.getIntervalHistogram(recycled);
+        long intervalErrors = errors.sumThenReset();
+        accumulated.add(recycled);
+        accumulatedErrors += intervalErrors;
+        return new IntervalSnapshot(scenario.getTestCaseName(), recycled.copy(), intervalErrors);
+    }
+
+    /**
+     * @return a copy of everything recorded so far, including values not yet taken by {@link #snapshot()}.
+     */
+    public synchronized ScenarioResult toResult(double elapsedSeconds) {
+        snapshot();
+        return new ScenarioResult(scenario, accumulated.copy(), accumulatedErrors, elapsedSeconds);
+    }
+
+    /**
+     * Values recorded by one scenario during one snapshot interval.
+     */
+    public static class IntervalSnapshot {
+
+        private final String testCaseName;
+        private final Histogram histogram;
+        private final long errors;
+
+        public IntervalSnapshot(String testCaseName, Histogram histogram, long errors) {
+            this.testCaseName = testCaseName;
+            this.histogram = histogram;
+            this.errors = errors;
+        }
+
+        public String getTestCaseName() {
+            return testCaseName;
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+    }
+}
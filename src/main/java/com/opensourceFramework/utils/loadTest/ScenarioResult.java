@@ -0,0 +1,93 @@
+package com.opensourceFramework.utils.loadTest;
+
+import com.opensourceFramework.utils.performance.LatencyMetrics;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency distribution, errors and throughput of one scenario (or of the whole mix) after a run.
+ * Latencies are returned in milliseconds.
+ */
+public class ScenarioResult implements LatencyMetrics {
+
+    private final LoadScenario scenario;
+    private final Histogram histogram;
+    private final long errors;
+    private final double elapsedSeconds;
+
+    /**
+     * @param scenario       the scenario the values belong to.
+     * @param histogram      latencies in microseconds.
+     * @param errors         number of failed calls.
+     * @param elapsedSeconds wall clock duration of the run, used for the throughput.
+     */
+    public ScenarioResult(LoadScenario scenario, Histogram histogram, long errors, double elapsedSeconds) {
+        this.scenario = scenario;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    public LoadScenario getScenario() {
+        return scenario;
+    }
+
+    public String getName() {
+        return scenario.getTestCaseName();
+    }
+
+    /**
+     * @return the latency histogram in microseconds.
+     */
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    /**
+     * @return failed calls as a fraction between 0 and 1.
+     */
+    public double getErrorRate() {
+        return getCount() == 0 ? 0 : (double) errors / getCount();
+    }
+
+    /**
+     * @return completed calls per second.
+     */
+    public double getThroughput() {
+        return elapsedSeconds <= 0 ? 0 : getCount() / elapsedSeconds;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100, e.g. 95 or 99.9.
+     * @return the latency at the given percentile in milliseconds.
+     */
+    public double getPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    public double getMean() {
+        return histogram.getMean() / 1_000.0;
+    }
+
+    public double getMax() {
+        return histogram.getMaxValue() / 1_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, errors=%d (%.2f%%), throughput=%.1f rps, p50=%.1fms, p90=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                getName(), getCount(), errors, getErrorRate() * 100, getThroughput(),
+                getPercentile(50), getPercentile(90), getPercentile(95), getPercentile(99), getMax());
+    }
+}
@@ -0,0 +1,12 @@
+package com.opensourceFramework.utils.loadTest.distributed;
+
+import com.opensourceFramework.utils.loadTest.LoadEngine;
+
+/**
+ * Registers the load actions of a project on a worker's {@link LoadEngine}. Implementations need a
+ * public no-argument constructor so {@link LoadWorker#main(String[])} can create them by class name.
+ */
+public interface LoadActionRegistrar {
+
+    void register(LoadEngine engine);
+}
@@ -0,0 +1,310 @@
+package com.opensourceFramework.utils.loadTest.distributed;
+
+import com.opensourceFramework.utils.ExcelUtils;
+import com.opensourceFramework.utils.loadTest.LoadEngine;
+import com.opensourceFramework.utils.loadTest.LoadRunResult;
+import com.opensourceFramework.utils.loadTest.LoadScenario;
+import com.opensourceFramework.utils.loadTest.ScenarioResult;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinator side of a distributed load run. Waits for N {@link LoadWorker}s over plain TCP, hands
+ * each of them its share of the resolved scenarios, whose concurrency and rate add up to the plan, starts
+ * them together, merges the HdrHistogram snapshots they stream back and returns one global
+ * {@link LoadRunResult}.
+ *
+ * <pre>
+ *     try (LoadCoordinator coordinator = new LoadCoordinator(7700, 4)) {
+ *         LoadRunResult result = coordinator.run(ExcelUtils.getLoadScenarios(), 2000, Duration.ofMinutes(10));
+ *         result.logToReport();
+ *     }
+ * </pre>
+ */
+public class LoadCoordinator implements Closeable {
+
+    private static final Logger log = LogManager.getLogger(LoadCoordinator.class.getName());
+
+    private final int port;
+    private final int workers;
+    private Duration acceptTimeout = Duration.ofMinutes(2);
+    private Duration startDelay = Duration.ofSeconds(1);
+    private Duration snapshotInterval = Duration.ofSeconds(1);
+    private Duration stopGracePeriod = Duration.ofSeconds(30);
+    private ServerSocket serverSocket;
+
+    /**
+     * @param port    TCP port to listen on, {@code 0} picks a free port (see {@link #getPort()}).
+     * @param workers number of workers that must connect before the run starts.
+     */
+    public LoadCoordinator(int port, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        this.port = port;
+        this.workers = workers;
+    }
+
+    public LoadCoordinator setAcceptTimeout(Duration acceptTimeout) {
+        this.acceptTimeout = acceptTimeout;
+        return this;
+    }
+
+    /**
+     * Sets how long after the start message the workers begin, giving every worker time to receive it.
+     */
+    public LoadCoordinator setStartDelay(Duration startDelay) {
+        this.startDelay = startDelay;
+        return this;
+    }
+
+    public LoadCoordinator setSnapshotInterval(Duration snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+        return this;
+    }
+
+    /**
+     * Sets how long workers may take to finish their in-flight calls after the planned end before they
+     * are stopped.
+     */
+    public LoadCoordinator setStopGracePeriod(Duration stopGracePeriod) {
+        this.stopGracePeriod = stopGracePeriod;
+        return this;
+    }
+
+    /**
+     * Binds the server socket. Called by {@link #run} when not called before.
+     */
+    public synchronized void open() throws IOException {
+        if (serverSocket == null) {
+            serverSocket = new ServerSocket(port);
+            log.info("Load coordinator listening on port " + serverSocket.getLocalPort());
+        }
+    }
+
+    /**
+     * @return the bound port, useful when the coordinator was created with port {@code 0}.
+     */
+    public int getPort() throws IOException {
+        open();
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Distributes the scenarios to the workers and blocks until every worker has reported DONE.
+     *
+     * @param scenarios the load mix, e.g. from {@link ExcelUtils#getLoadScenarios()}.
+     * @param totalRate total requests per second over all workers, split by weight between scenarios
+     *                  without their own target rate.
+     * @param duration  how long the workers generate load.
+     */
+    public LoadRunResult run(List<LoadScenario> scenarios, double totalRate, Duration duration)
+            throws IOException, InterruptedException {
+        open();
+        List<LoadScenario> resolved = new LoadEngine().setTotalRate(totalRate).resolveRates(scenarios);
+
+        List<Connection> connections = new ArrayList<>();
+        try {
+            serverSocket.setSoTimeout((int) acceptTimeout.toMillis());
+            while (connections.size() < workers) {
+                try {
+                    connections.add(new Connection(serverSocket.accept()));
+                } catch (SocketTimeoutException e) {
+                    throw new IOException("Only " + connections.size() + " of " + workers + " workers connected within " + acceptTimeout, e);
+                }
+                log.info("Worker " + connections.size() + " of " + workers + " connected");
+            }
+
+            for (int i = 0; i < connections.size(); i++) {
+                Protocol.writePlan(connections.get(i).out, workerShare(resolved, i, workers), duration.toMillis(),
+                        snapshotInterval.toMillis());
+            }
+            for (Connection connection : connections) {
+                byte reply = connection.in.readByte();
+                if (reply == Protocol.FAILED) {
+                    throw new IllegalStateException("Worker " + connection.socket.getRemoteSocketAddress()
+                            + " rejected the plan: " + connection.in.readUTF());
+                } else if (reply != Protocol.READY) {
+                    throw new IOException("Unexpected message " + reply + " from worker " + connection.socket.getRemoteSocketAddress());
+                }
+            }
+
+            Merger merger = new Merger(resolved);
+            CountDownLatch done = new CountDownLatch(connections.size());
+            for (Connection connection : connections) {
+                connection.out.writeByte(Protocol.START);
+                connection.out.writeLong(startDelay.toMillis());
+                connection.out.flush();
+            }
+            long startNanos = System.nanoTime() + startDelay.toNanos();
+            for (Connection connection : connections) {
+                Thread reader = new Thread(() -> readSnapshots(connection, merger, done),
+                        "load-coordinator-" + connection.socket.getRemoteSocketAddress());
+                reader.setDaemon(true);
+                reader.start();
+            }
+
+            long waitMillis = startDelay.plus(duration).plus(stopGracePeriod).toMillis();
+            if (!done.await(waitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Workers did not finish in time, stopping them");
+                for (Connection connection : connections) {
+                    connection.stop();
+                }
+                if (!done.await(stopGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn(done.getCount() + " workers did not report their final snapshots");
+                }
+            }
+            double elapsedSeconds = Math.max(0, System.nanoTime() - startNanos) / 1_000_000_000.0;
+            return merger.toResult(elapsedSeconds);
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Splits the resolved plan between the workers so that the shares add up to it: every worker gets
+     * {@code concurrency / workers} workers of a scenario, the first {@code concurrency % workers} one more, and the
+     * scenario's rate in proportion. A worker without a worker thread for a scenario does not run it.
+     */
+    static List<LoadScenario> workerShare(List<LoadScenario> resolved, int worker, int workers) {
+        List<LoadScenario> share = new ArrayList<>();
+        for (LoadScenario scenario : resolved) {
+            int concurrency = scenario.getConcurrency() / workers
+                    + (worker < scenario.getConcurrency() % workers ? 1 : 0);
+            if (concurrency == 0) {
+                continue;
+            }
+            share.add(new LoadScenario(scenario.getTestCaseName(), scenario.getWeight(),
+                    scenario.getTargetRate() * concurrency / scenario.getConcurrency(), concurrency,
+                    scenario.getPriority()));
+        }
+        return share;
+    }
+
+    private static void readSnapshots(Connection connection, Merger merger, CountDownLatch done) {
+        try {
+            while (true) {
+                byte type = connection.in.readByte();
+                if (type == Protocol.DONE) {
+                    return;
+                } else if (type == Protocol.SNAPSHOT) {
+                    String testCaseName = connection.in.readUTF();
+                    long errors = connection.in.readLong();
+                    merger.add(testCaseName, Protocol.readHistogram(connection.in), errors);
+                } else {
+                    throw new IOException("Unexpected message " + type);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Lost worker " + connection.socket.getRemoteSocketAddress(), e);
+        } finally {
+            done.countDown();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+            serverSocket = null;
+        }
+    }
+
+    /**
+     * Merges the interval snapshots of all workers into one histogram per scenario.
+     */
+    private static class Merger {
+
+        private final List<LoadScenario> scenarios;
+        private final Map<String, Histogram> histograms = new HashMap<>();
+        private final Map<String, Long> errors = new HashMap<>();
+
+        Merger(List<LoadScenario> scenarios) {
+            this.scenarios = scenarios;
+            for (LoadScenario scenario : scenarios) {
+                histograms.put(scenario.getTestCaseName(), new Histogram(3));
+                errors.put(scenario.getTestCaseName(), 0L);
+            }
+        }
+
+        synchronized void add(String testCaseName, Histogram histogram, long intervalErrors) {
+            Histogram merged = histograms.get(testCaseName);
+            if (merged == null) {
+                log.warn("Ignoring snapshot of unknown scenario " + testCaseName);
+                return;
+            }
+            merged.add(histogram);
+            errors.merge(testCaseName, intervalErrors, Long::sum);
+        }
+
+        synchronized LoadRunResult toResult(double elapsedSeconds) {
+            List<ScenarioResult> results = new ArrayList<>();
+            for (LoadScenario scenario : scenarios) {
+                results.add(new ScenarioResult(scenario, histograms.get(scenario.getTestCaseName()).copy(),
+                        errors.get(scenario.getTestCaseName()), elapsedSeconds));
+            }
+            return new LoadRunResult(results, elapsedSeconds);
+        }
+    }
+
+    private static class Connection implements Closeable {
+
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        synchronized void stop() {
+            try {
+                out.writeByte(Protocol.STOP);
+                out.flush();
+            } catch (IOException e) {
+                log.warn("Could not stop worker " + socket.getRemoteSocketAddress(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadCoordinator <port> <workers> <durationSeconds> [totalRate]");
+            System.exit(1);
+        }
+        double totalRate = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+        try (LoadCoordinator coordinator = new LoadCoordinator(Integer.parseInt(args[0]), Integer.parseInt(args[1]))) {
+            LoadRunResult result = coordinator.run(ExcelUtils.getLoadScenarios(), totalRate,
+                    Duration.ofSeconds(Long.parseLong(args[2])));
+            System.out.println(result.summary());
+        }
+    }
+}
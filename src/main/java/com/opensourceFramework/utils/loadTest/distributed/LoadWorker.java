@@ -0,0 +1,112 @@
+package com.opensourceFramework.utils.loadTest.distributed;
+
+import com.opensourceFramework.utils.loadTest.LoadEngine;
+import com.opensourceFramework.utils.loadTest.LoadScenario;
+import com.opensourceFramework.utils.loadTest.ScenarioRecorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker side of a distributed load run. Connects to a {@link LoadCoordinator}, receives the
+ * scenarios with this worker's share of the rate, starts together with the other workers and streams
+ * HdrHistogram snapshots of every scenario back until the run is over or the coordinator stops it.
+ * <p>
+ * Start a worker process with
+ * {@code java ... LoadWorker <coordinatorHost> <coordinatorPort> <LoadActionRegistrar class>}.
+ */
+public class LoadWorker {
+
+    private static final Logger log = LogManager.getLogger(LoadWorker.class.getName());
+
+    private final LoadEngine engine;
+
+    public LoadWorker(LoadEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Connects to the coordinator and runs one plan. Returns when the run has finished and the final
+     * snapshots are sent.
+     */
+    public void run(String host, int port) throws IOException, InterruptedException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            expect(in, Protocol.PLAN);
+            Protocol.Plan plan = Protocol.readPlan(in);
+            for (LoadScenario scenario : plan.scenarios) {
+                if (!engine.hasAction(scenario.getTestCaseName())) {
+                    out.writeByte(Protocol.FAILED);
+                    out.writeUTF("No load action registered for test case " + scenario.getTestCaseName());
+                    out.flush();
+                    return;
+                }
+            }
+            out.writeByte(Protocol.READY);
+            out.flush();
+
+            expect(in, Protocol.START);
+            long startAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(in.readLong());
+            LoadEngine.LoadRun run = engine.startResolved(plan.scenarios, Duration.ofMillis(plan.durationMillis),
+                    startAtNanos);
+            log.info("Worker started " + plan.scenarios.size() + " scenarios for " + plan.durationMillis + " ms");
+
+            Thread stopListener = new Thread(() -> {
+                try {
+                    if (in.readByte() == Protocol.STOP) {
+                        log.info("Coordinator stopped the run");
+                    }
+                } catch (IOException e) {
+                    log.warn("Lost connection to coordinator, stopping the run");
+                }
+                run.stop();
+            }, "load-worker-stop-listener");
+            stopListener.setDaemon(true);
+            stopListener.start();
+
+            while (!run.await(plan.snapshotIntervalMillis, TimeUnit.MILLISECONDS)) {
+                sendSnapshots(out, run);
+            }
+            sendSnapshots(out, run);
+            out.writeByte(Protocol.DONE);
+            out.flush();
+        }
+    }
+
+    private static void sendSnapshots(DataOutputStream out, LoadEngine.LoadRun run) throws IOException {
+        for (ScenarioRecorder recorder : run.getRecorders()) {
+            ScenarioRecorder.IntervalSnapshot snapshot = recorder.snapshot();
+            Protocol.writeSnapshot(out, snapshot.getTestCaseName(), snapshot.getHistogram(), snapshot.getErrors());
+        }
+        out.flush();
+    }
+
+    private static void expect(DataInputStream in, byte type) throws IOException {
+        byte actual = in.readByte();
+        if (actual != type) {
+            throw new IOException("Unexpected message " + actual + ", expected " + type);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: LoadWorker <coordinatorHost> <coordinatorPort> <LoadActionRegistrar class>");
+            System.exit(1);
+        }
+        LoadEngine engine = new LoadEngine();
+        LoadActionRegistrar registrar = (LoadActionRegistrar) Class.forName(args[2]).getDeclaredConstructor().newInstance();
+        registrar.register(engine);
+        new LoadWorker(engine).run(args[0], Integer.parseInt(args[1]));
+    }
+}
@@ -0,0 +1,105 @@
+package com.opensourceFramework.utils.loadTest.distributed;
+
+import com.opensourceFramework.utils.loadTest.LoadScenario;
+import org.HdrHistogram.Histogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+
+/**
+ * Wire format between {@link LoadCoordinator} and {@link LoadWorker}. Every message starts with a
+ * type byte followed by its fields written with {@link DataOutputStream}.
+ */
+final class Protocol {
+
+    static final int VERSION = 1;
+
+    /** coordinator to worker: protocol version, snapshot interval, duration and the scenarios */
+    static final byte PLAN = 1;
+    /** worker to coordinator: the plan is accepted and every action is registered */
+    static final byte READY = 2;
+    /** coordinator to worker: start the run after the given delay in milliseconds */
+    static final byte START = 3;
+    /** worker to coordinator: interval histogram of one scenario */
+    static final byte SNAPSHOT = 4;
+    /** worker to coordinator: every worker thread has finished, no snapshots follow */
+    static final byte DONE = 5;
+    /** coordinator to worker: stop the run now */
+    static final byte STOP = 6;
+    /** worker to coordinator: the plan cannot be run, followed by the reason */
+    static final byte FAILED = 7;
+
+    private Protocol() {
+    }
+
+    static void writePlan(DataOutputStream out, List<LoadScenario> scenarios, long durationMillis,
+                          long snapshotIntervalMillis) throws IOException {
+        out.writeByte(PLAN);
+        out.writeInt(VERSION);
+        out.writeLong(durationMillis);
+        out.writeLong(snapshotIntervalMillis);
+        out.writeInt(scenarios.size());
+        for (LoadScenario scenario : scenarios) {
+            out.writeUTF(scenario.getTestCaseName());
+            out.writeDouble(scenario.getWeight());
+            out.writeDouble(scenario.getTargetRate());
+            out.writeInt(scenario.getConcurrency());
+            out.writeUTF(scenario.getPriority());
+        }
+        out.flush();
+    }
+
+    static Plan readPlan(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported protocol version " + version + ", expected " + VERSION);
+        }
+        long durationMillis = in.readLong();
+        long snapshotIntervalMillis = in.readLong();
+        int count = in.readInt();
+        List<LoadScenario> scenarios = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            scenarios.add(new LoadScenario(in.readUTF(), in.readDouble(), in.readDouble(), in.readInt(), in.readUTF()));
+        }
+        return new Plan(scenarios, durationMillis, snapshotIntervalMillis);
+    }
+
+    static void writeSnapshot(DataOutputStream out, String testCaseName, Histogram histogram, long errors) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        out.writeByte(SNAPSHOT);
+        out.writeUTF(testCaseName);
+        out.writeLong(errors);
+        out.writeInt(length);
+        out.write(buffer.array(), 0, length);
+    }
+
+    static Histogram readHistogram(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt histogram snapshot", e);
+        }
+    }
+
+    static final class Plan {
+
+        final List<LoadScenario> scenarios;
+        final long durationMillis;
+        final long snapshotIntervalMillis;
+
+        Plan(List<LoadScenario> scenarios, long durationMillis, long snapshotIntervalMillis) {
+            this.scenarios = scenarios;
+            this.durationMillis = durationMillis;
+            this.snapshotIntervalMillis = snapshotIntervalMillis;
+        }
+    }
+}
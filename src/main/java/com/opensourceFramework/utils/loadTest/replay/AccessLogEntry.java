@@ -0,0 +1,117 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One request of an access log, as parsed by {@link AccessLogFormat}.
+ */
+public class AccessLogEntry {
+
+    private final String line;
+    private final long timestampMillis;
+    private final String method;
+    private final String uri;
+    private final int status;
+    private final String host;
+    private final Map<String, String> headers;
+    private final String body;
+    private final Map<String, String> fields;
+
+    AccessLogEntry(String line, long timestampMillis, String method, String uri, int status, String host,
+                   Map<String, String> headers, String body, Map<String, String> fields) {
+        this.line = line;
+        this.timestampMillis = timestampMillis;
+        this.method = method;
+        this.uri = uri;
+        this.status = status;
+        this.host = host;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.body = body;
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * @return the log line the entry was parsed from.
+     */
+    public String getLine() {
+        return line;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the request target as logged: the path with its query string, or an absolute URL.
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return the path of the request, without scheme, host and query string.
+     */
+    public String getPath() {
+        String path = uri;
+        int schemeEnd = path.indexOf("://");
+        if (schemeEnd >= 0) {
+            int pathStart = path.indexOf('/', schemeEnd + 3);
+            path = pathStart < 0 ? "/" : path.substring(pathStart);
+        }
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    /**
+     * @return the raw query string without {@code ?}, or {@code null} when there is none.
+     */
+    public String getQuery() {
+        int query = uri.indexOf('?');
+        return query < 0 ? null : uri.substring(query + 1);
+    }
+
+    /**
+     * @return the status the original request got, {@code 0} when not logged.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the host the original request went to, or {@code null} when not logged.
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return the logged request headers, e.g. {@code User-Agent} and {@code Referer} of a combined log line.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the logged request body, or {@code null} when not logged.
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * @return a field of the log line by name, e.g. {@code remote_addr} or any field of a JSON line.
+     */
+    public String getField(String name) {
+        return fields.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + uri;
+    }
+}
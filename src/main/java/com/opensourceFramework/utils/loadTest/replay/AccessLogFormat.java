@@ -0,0 +1,212 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Line formats of access logs. Lines that cannot be parsed, or that carry no request, are returned as
+ * {@code null}.
+ */
+public enum AccessLogFormat {
+
+    /**
+     * The combined log format of Apache and nginx (and the common format, which lacks referer and user agent):
+     * {@code 10.0.0.1 - - [10/Oct/2026:13:55:36 +0000] "GET /users?id=1 HTTP/1.1" 200 2326 "-" "curl/8.0"}.
+     * Timestamps have second resolution.
+     */
+    COMBINED {
+        @Override
+        public AccessLogEntry parse(String line) {
+            Matcher matcher = COMBINED_LINE.matcher(line);
+            if (!matcher.matches()) {
+                return null;
+            }
+            String[] request = matcher.group(5).split(" ");
+            if (request.length < 2) {
+                return null;
+            }
+            long timestamp;
+            try {
+                timestamp = ZonedDateTime.parse(matcher.group(4), TIME_LOCAL).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("remote_addr", matcher.group(1));
+            fields.put("remote_user", matcher.group(3));
+            fields.put("time_local", matcher.group(4));
+            fields.put("request", matcher.group(5));
+            fields.put("status", matcher.group(6));
+            fields.put("body_bytes_sent", matcher.group(7));
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (matcher.group(8) != null) {
+                fields.put("http_referer", matcher.group(8));
+                fields.put("http_user_agent", matcher.group(9));
+                putLogged(headers, "Referer", matcher.group(8));
+                putLogged(headers, "User-Agent", matcher.group(9));
+            }
+            return new AccessLogEntry(line, timestamp, request[0], request[1], parseStatus(matcher.group(6)), null,
+                    headers, null, fields);
+        }
+    },
+
+    /**
+     * One JSON object per line. The usual field names of nginx {@code escape=json} formats and logging libraries
+     * are recognised: {@code time}, {@code timestamp}, {@code @timestamp}, {@code time_iso8601} or
+     * {@code time_local} (ISO-8601, nginx local time, or epoch seconds or milliseconds); {@code method} or
+     * {@code request_method}; {@code request_uri}, {@code url}, {@code path} or {@code uri}, with {@code args}
+     * or {@code query_string}; or a {@code request} line; {@code status}; {@code host} or {@code http_host};
+     * a {@code headers} object, {@code http_user_agent} and {@code http_referer}; {@code body} or
+     * {@code request_body}. Every top-level field is available through {@link AccessLogEntry#getField(String)}.
+     */
+    JSON {
+        @Override
+        public AccessLogEntry parse(String line) {
+            JsonNode node;
+            try {
+                node = mapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+            if (node == null || !node.isObject()) {
+                return null;
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (field.getValue().isValueNode()) {
+                    fields.put(field.getKey(), field.getValue().asText());
+                }
+            }
+            String method = first(fields, "method", "request_method", "verb");
+            String uri = first(fields, "request_uri", "url", "path", "uri");
+            String request = fields.get("request");
+            if ((method == null || uri == null) && request != null) {
+                String[] parts = request.split(" ");
+                if (parts.length >= 2) {
+                    method = method == null ? parts[0] : method;
+                    uri = uri == null ? parts[1] : uri;
+                }
+            }
+            Long timestamp = parseTimestamp(node, "time", "timestamp", "@timestamp", "time_iso8601", "time_local", "ts");
+            if (method == null || uri == null || timestamp == null) {
+                return null;
+            }
+            String query = first(fields, "args", "query_string", "query");
+            if (query != null && !query.isEmpty() && !query.equals("-") && uri.indexOf('?') < 0) {
+                uri = uri + "?" + query;
+            }
+            Map<String, String> headers = new LinkedHashMap<>();
+            JsonNode headerNode = node.has("headers") ? node.get("headers") : node.get("request_headers");
+            if (headerNode != null && headerNode.isObject()) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = headerNode.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> header = it.next();
+                    headers.put(header.getKey(), header.getValue().asText());
+                }
+            }
+            putLogged(headers, "User-Agent", first(fields, "http_user_agent", "user_agent"));
+            putLogged(headers, "Referer", first(fields, "http_referer", "referer"));
+            String body = first(fields, "body", "request_body");
+            return new AccessLogEntry(line, timestamp, method.toUpperCase(Locale.ROOT), uri,
+                    parseStatus(fields.get("status")), first(fields, "host", "http_host"), headers,
+                    body == null || body.equals("-") ? null : body, fields);
+        }
+    };
+
+    private static final Pattern COMBINED_LINE = Pattern.compile(
+            "(\\S+) (\\S+) (\\S+) \\[([^]]+)] \"((?:[^\"\\\\]|\\\\.)*)\" (\\d{3}|-) (\\S+)"
+                    + "(?: \"((?:[^\"\\\\]|\\\\.)*)\" \"((?:[^\"\\\\]|\\\\.)*)\")?.*");
+    private static final DateTimeFormatter TIME_LOCAL =
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * @return the entry of the line, or {@code null} when the line is not a request in this format.
+     */
+    public abstract AccessLogEntry parse(String line);
+
+    /**
+     * @return {@link #JSON} for lines starting with {@code {}, otherwise {@link #COMBINED}.
+     */
+    public static AccessLogFormat detect(String line) {
+        return line.stripLeading().startsWith("{") ? JSON : COMBINED;
+    }
+
+    private static void putLogged(Map<String, String> headers, String name, String value) {
+        if (value != null && !value.isEmpty() && !value.equals("-") && !headers.containsKey(name)) {
+            headers.put(name, value);
+        }
+    }
+
+    private static String first(Map<String, String> fields, String... names) {
+        for (String name : names) {
+            String value = fields.get(name);
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static int parseStatus(String status) {
+        try {
+            return status == null ? 0 : Integer.parseInt(status);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Long parseTimestamp(JsonNode node, String... names) {
+        for (String name : names) {
+            JsonNode value = node.get(name);
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            if (value.isNumber()) {
+                return epochMillis(value.asDouble());
+            }
+            String text = value.asText();
+            try {
+                return epochMillis(Double.parseDouble(text));
+            } catch (NumberFormatException ignored) {
+                // not a number, try the date formats
+            }
+            try {
+                return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                // not an offset date time
+            }
+            try {
+                return Instant.parse(text).toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                // not an instant
+            }
+            try {
+                return ZonedDateTime.parse(text, TIME_LOCAL).toInstant().toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                // not nginx local time
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Epoch seconds (nginx {@code $msec}) or milliseconds, told apart by magnitude.
+     */
+    private static long epochMillis(double value) {
+        return value < 100_000_000_000.0 ? Math.round(value * 1000) : Math.round(value);
+    }
+}
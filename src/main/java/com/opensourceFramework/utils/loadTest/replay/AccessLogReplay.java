@@ -0,0 +1,384 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.opensourceFramework.BaseAPIRequest;
+import com.opensourceFramework.constants.MethodType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Replays an access log, e.g. production traffic against staging. The log is streamed through memory-mapped I/O
+ * and every line is mapped to a {@link BaseAPIRequest} by the configured rules; the {@link ReplayDriver} sends
+ * the requests at their logged inter-arrival times, scaled by its speed factor, and reports the schedule lag.
+ *
+ * <pre>
+ *     ReplayResult result = new AccessLogReplay()
+ *             .setTarget("https://staging.example.com")
+ *             .addHeader("Authorization", "Bearer " + stagingToken)
+ *             .setBodyLookup(AccessLogReplay.bodiesByName(Map.of("POST /users", "{\"name\":\"replay\"}")))
+ *             .setFilter(entry -&gt; !entry.getPath().startsWith("/admin"))
+ *             .run(new File("access.log"), new ReplayDriver().setSpeed(10).setConcurrency(100));
+ * </pre>
+ *
+ * Without {@link #setTarget(String)}, only entries whose logged host has a {@link #rewriteHost(String, String)}
+ * rule are replayed, so a log is never sent back to the hosts it came from by accident.
+ */
+public class AccessLogReplay {
+
+    private static final Logger log = LogManager.getLogger(AccessLogReplay.class.getName());
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,}");
+    private static final Set<String> SUPPORTED_METHODS = Arrays.stream(MethodType.values())
+            .map(Enum::name)
+            .collect(Collectors.toSet());
+
+    private AccessLogFormat format;
+    private String target;
+    private final Map<String, String> hostRewrites = new LinkedHashMap<>();
+    private final Map<String, Function<AccessLogEntry, String>> headers = new LinkedHashMap<>();
+    private boolean forwardLoggedHeaders = true;
+    private Function<AccessLogEntry, String> bodyLookup = AccessLogEntry::getBody;
+    private String bodyContentType = "application/json";
+    private Predicate<AccessLogEntry> filter = entry -> true;
+    private Function<AccessLogEntry, String> naming = AccessLogReplay::defaultName;
+
+    /**
+     * Sets the format of the log; by default it is detected from the first line.
+     */
+    public AccessLogReplay setFormat(AccessLogFormat format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Sends every entry to this base URI, e.g. {@code https://staging.example.com}, whatever host it was logged for.
+     */
+    public AccessLogReplay setTarget(String baseUri) {
+        this.target = stripTrailingSlash(baseUri);
+        return this;
+    }
+
+    /**
+     * Sends the entries logged for a host to the given base URI. Takes precedence over {@link #setTarget(String)}.
+     */
+    public AccessLogReplay rewriteHost(String loggedHost, String baseUri) {
+        hostRewrites.put(loggedHost.toLowerCase(), stripTrailingSlash(baseUri));
+        return this;
+    }
+
+    /**
+     * Adds a header to every request, replacing a logged header of the same name.
+     */
+    public AccessLogReplay addHeader(String name, String value) {
+        return addHeader(name, entry -> value);
+    }
+
+    /**
+     * Adds a header computed from the entry to every request; a {@code null} value leaves the header out.
+     */
+    public AccessLogReplay addHeader(String name, Function<AccessLogEntry, String> value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Sets whether the headers found in the log (user agent, referer, or the headers of JSON lines) are sent.
+     * On by default.
+     */
+    public AccessLogReplay setForwardLoggedHeaders(boolean forwardLoggedHeaders) {
+        this.forwardLoggedHeaders = forwardLoggedHeaders;
+        return this;
+    }
+
+    /**
+     * Sets where request bodies come from, as access logs rarely contain them. By default the logged body is
+     * used; a {@code null} body sends the request without one.
+     */
+    public AccessLogReplay setBodyLookup(Function<AccessLogEntry, String> bodyLookup) {
+        this.bodyLookup = bodyLookup;
+        return this;
+    }
+
+    /**
+     * Sets the {@code Content-Type} of bodies whose entry logged none; {@code application/json} by default.
+     */
+    public AccessLogReplay setBodyContentType(String bodyContentType) {
+        this.bodyContentType = bodyContentType;
+        return this;
+    }
+
+    /**
+     * Replays only the entries the filter accepts.
+     */
+    public AccessLogReplay setFilter(Predicate<AccessLogEntry> filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * Sets the scenario name latencies are recorded under. By default it is the method and the path with
+     * numeric, UUID and long hexadecimal segments replaced by {@code {id}}, e.g. {@code GET /users/{id}}.
+     */
+    public AccessLogReplay setNaming(Function<AccessLogEntry, String> naming) {
+        this.naming = naming;
+        return this;
+    }
+
+    /**
+     * A body lookup keyed like the default scenario name, e.g. {@code POST /users/{id}}, for
+     * {@link #setBodyLookup(Function)}. Entries with a logged body keep it.
+     */
+    public static Function<AccessLogEntry, String> bodiesByName(Map<String, String> bodies) {
+        return entry -> entry.getBody() != null ? entry.getBody() : bodies.get(defaultName(entry));
+    }
+
+    /**
+     * Streams the log and replays it with the driver.
+     */
+    public ReplayResult run(File accessLog, ReplayDriver driver) throws IOException, InterruptedException {
+        try (Items items = items(accessLog)) {
+            ReplayResult result = driver.run(items);
+            items.logSummary();
+            return result;
+        }
+    }
+
+    /**
+     * Streams the log as replay items; close the returned iterator when done.
+     */
+    public Items items(File accessLog) throws IOException {
+        return new Items(new MappedLineIterator(accessLog));
+    }
+
+    /**
+     * Maps an entry to a new request by the configured rules.
+     *
+     * @throws IllegalArgumentException when no base URI is configured for the entry's host.
+     */
+    public BaseAPIRequest toRequest(AccessLogEntry entry) {
+        return toParsedCurl(entry, baseUri(entry)).toRequest();
+    }
+
+    private ParsedCurl toParsedCurl(AccessLogEntry entry, String baseUri) {
+        ParsedCurl request = new ParsedCurl();
+        String path = entry.getPath();
+        String query = entry.getQuery();
+        request.setUrl(baseUri + (path.startsWith("/") ? path : "/" + path) + (query == null ? "" : "?" + query));
+        request.setMethod(entry.getMethod());
+        boolean contentType = false;
+        if (forwardLoggedHeaders) {
+            for (Map.Entry<String, String> header : entry.getHeaders().entrySet()) {
+                if (!headers.containsKey(header.getKey())) {
+                    request.addHeader(header.getKey() + ": " + header.getValue());
+                    contentType |= header.getKey().equalsIgnoreCase("Content-Type");
+                }
+            }
+        }
+        for (Map.Entry<String, Function<AccessLogEntry, String>> header : headers.entrySet()) {
+            String value = header.getValue().apply(entry);
+            if (value != null) {
+                request.addHeader(header.getKey() + ": " + value);
+                contentType |= header.getKey().equalsIgnoreCase("Content-Type");
+            }
+        }
+        String body = bodyLookup.apply(entry);
+        if (body != null) {
+            if (!contentType && bodyContentType != null) {
+                request.addHeader("Content-Type: " + bodyContentType);
+            }
+            request.addData(body);
+        }
+        return request;
+    }
+
+    private String baseUri(AccessLogEntry entry) {
+        String baseUri = targetOf(entry);
+        if (baseUri == null) {
+            throw new IllegalArgumentException("No target for host " + loggedHost(entry) + " of " + entry
+                    + "; configure setTarget(String) or rewriteHost(String, String)");
+        }
+        return baseUri;
+    }
+
+    /**
+     * @return the base URI the entry is sent to, or {@code null} when none is configured for its host.
+     */
+    private String targetOf(AccessLogEntry entry) {
+        String host = loggedHost(entry);
+        String rewrite = host == null ? null : hostRewrites.get(host.toLowerCase());
+        return rewrite != null ? rewrite : target;
+    }
+
+    private static String loggedHost(AccessLogEntry entry) {
+        String uri = entry.getUri();
+        int schemeEnd = uri.indexOf("://");
+        if (schemeEnd < 0) {
+            return entry.getHost();
+        }
+        int pathStart = uri.indexOf('/', schemeEnd + 3);
+        return uri.substring(schemeEnd + 3, pathStart < 0 ? uri.length() : pathStart);
+    }
+
+    private static String defaultName(AccessLogEntry entry) {
+        String[] segments = entry.getPath().split("/", -1);
+        StringBuilder name = new StringBuilder(entry.getMethod()).append(' ');
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                name.append('/');
+            }
+            name.append(ID_SEGMENT.matcher(segments[i]).matches() ? "{id}" : segments[i]);
+        }
+        return name.length() == entry.getMethod().length() + 1 ? name.append('/').toString() : name.toString();
+    }
+
+    private static String stripTrailingSlash(String baseUri) {
+        return baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+    }
+
+    /**
+     * The replay items of a log, produced while the log is read. Entries of the combined format only have
+     * second resolution, so the entries of one second are spread evenly over it instead of sent as a burst.
+     */
+    public class Items implements Iterator<ReplayItem>, Closeable {
+
+        private final MappedLineIterator lines;
+        private final Deque<ReplayItem> pending = new ArrayDeque<>();
+        private AccessLogFormat lineFormat = format;
+        private AccessLogEntry lookahead;
+        private long firstTimestamp = Long.MIN_VALUE;
+        private long lineCount;
+        private long unparseable;
+        private long filtered;
+        private long untargeted;
+        private long replayed;
+
+        Items(MappedLineIterator lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending.isEmpty()) {
+                fill();
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public ReplayItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            replayed++;
+            return pending.poll();
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+
+        /**
+         * @return log lines that were not a request in the log's format, or used an unsupported method.
+         */
+        public long getUnparseable() {
+            return unparseable;
+        }
+
+        /**
+         * @return entries rejected by the filter.
+         */
+        public long getFiltered() {
+            return filtered;
+        }
+
+        /**
+         * @return entries skipped because no target was configured for their host.
+         */
+        public long getUntargeted() {
+            return untargeted;
+        }
+
+        void logSummary() {
+            log.info("Replayed " + replayed + " of " + lineCount + " access log lines (" + unparseable
+                    + " unparseable, " + filtered + " filtered, " + untargeted + " without target)");
+        }
+
+        /**
+         * Queues the entries sharing the next timestamp.
+         */
+        private void fill() {
+            AccessLogEntry first = lookahead != null ? lookahead : nextEntry();
+            lookahead = null;
+            if (first == null) {
+                return;
+            }
+            if (firstTimestamp == Long.MIN_VALUE) {
+                firstTimestamp = first.getTimestampMillis();
+            }
+            Deque<AccessLogEntry> group = new ArrayDeque<>();
+            group.add(first);
+            if (lineFormat == AccessLogFormat.COMBINED) {
+                AccessLogEntry entry;
+                while ((entry = nextEntry()) != null && entry.getTimestampMillis() == first.getTimestampMillis()) {
+                    group.add(entry);
+                }
+                lookahead = entry;
+            }
+            long offsetNanos = (first.getTimestampMillis() - firstTimestamp) * 1_000_000L;
+            long stepNanos = 1_000_000_000L / group.size();
+            for (AccessLogEntry entry : group) {
+                String baseUri = baseUri(entry);
+                ParsedCurl request = toParsedCurl(entry, baseUri);
+                pending.add(new ReplayItem(offsetNanos, naming.apply(entry), request::toRequest));
+                offsetNanos += stepNanos;
+            }
+        }
+
+        /**
+         * @return the next entry to replay, or {@code null} at the end of the log.
+         */
+        private AccessLogEntry nextEntry() {
+            while (lines.hasNext()) {
+                String line = lines.next();
+                if (line.isBlank()) {
+                    continue;
+                }
+                lineCount++;
+                if (lineFormat == null) {
+                    lineFormat = AccessLogFormat.detect(line);
+                }
+                AccessLogEntry entry = lineFormat.parse(line);
+                if (entry == null || !isSupported(entry.getMethod())) {
+                    unparseable++;
+                } else if (!filter.test(entry)) {
+                    filtered++;
+                } else if (targetOf(entry) == null) {
+                    untargeted++;
+                } else {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        private boolean isSupported(String method) {
+            return SUPPORTED_METHODS.contains(method);
+        }
+    }
+}
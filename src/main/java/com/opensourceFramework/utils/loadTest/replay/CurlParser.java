@@ -0,0 +1,364 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses curl command lines, such as the ones logged by {@code CurlCapture}, back into {@link ParsedCurl}s.
+ * <p>
+ * The options written by {@code ConvertHttpRequestToCurl} are understood: {@code -X}, {@code -H}, {@code -b},
+ * {@code --data}, {@code --data-binary}, {@code -F} and {@code --user}, together with their long or short
+ * aliases, {@code --url} and the flags without argument it adds ({@code --compressed}, {@code --insecure},
+ * {@code --verbose}). Arguments may use POSIX shell quoting (single quotes, {@code $'...'}, double quotes,
+ * backslashes and line continuations) or cmd.exe quoting (double quotes with {@code ""} and {@code ^}).
+ */
+public class CurlParser {
+
+    /**
+     * Quoting rules of a command line.
+     */
+    public enum Dialect {
+        POSIX,
+        WINDOWS
+    }
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private CurlParser() {
+    }
+
+    /**
+     * Parses a command, guessing the dialect: commands whose URL is in double quotes are taken as cmd.exe ones.
+     *
+     * @throws IllegalArgumentException when the text is not a curl command or uses an unsupported option.
+     */
+    public static ParsedCurl parse(String command) {
+        return parse(command, guessDialect(command));
+    }
+
+    public static ParsedCurl parse(String command, Dialect dialect) {
+        List<String> tokens = tokenize(command, dialect);
+        if (tokens.isEmpty() || !tokens.get(0).equals("curl")) {
+            throw new IllegalArgumentException("Not a curl command: " + abbreviate(command));
+        }
+        ParsedCurl parsed = new ParsedCurl();
+        for (int i = 1; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            switch (token) {
+                case "-X":
+                case "--request":
+                    parsed.setMethod(argument(tokens, ++i, token));
+                    break;
+                case "-H":
+                case "--header":
+                    parsed.addHeader(argument(tokens, ++i, token));
+                    break;
+                case "-b":
+                case "--cookie":
+                    parsed.addCookie(argument(tokens, ++i, token));
+                    break;
+                case "-d":
+                case "--data":
+                case "--data-raw":
+                case "--data-ascii":
+                case "--data-binary":
+                    parsed.addData(argument(tokens, ++i, token));
+                    break;
+                case "-F":
+                case "--form":
+                    parsed.addFormPart(argument(tokens, ++i, token));
+                    break;
+                case "-u":
+                case "--user":
+                    parsed.setUser(argument(tokens, ++i, token));
+                    break;
+                case "--url":
+                    parsed.setUrl(argument(tokens, ++i, token));
+                    break;
+                case "--compressed":
+                case "-k":
+                case "--insecure":
+                case "-v":
+                case "--verbose":
+                case "-s":
+                case "--silent":
+                case "-i":
+                case "--include":
+                case "-L":
+                case "--location":
+                    break;
+                default:
+                    if (token.startsWith("-X") && token.length() > 2) {
+                        parsed.setMethod(token.substring(2));
+                    } else if (token.startsWith("-") && token.length() > 1) {
+                        throw new IllegalArgumentException("Unsupported curl option " + token);
+                    } else {
+                        parsed.setUrl(token);
+                    }
+            }
+        }
+        if (parsed.getUrl() == null) {
+            throw new IllegalArgumentException("The curl command has no URL: " + abbreviate(command));
+        }
+        return parsed;
+    }
+
+    /**
+     * Splits text into curl commands: every command starts with {@code curl} (anything before it on the line,
+     * e.g. a log prefix, is ignored) and continues over the lines ending in {@code \} or {@code ^}.
+     */
+    public static List<String> splitCommands(String text) {
+        List<String> commands = new ArrayList<>();
+        StringBuilder current = null;
+        for (String line : text.split("\r?\n")) {
+            if (current == null) {
+                int start = line.startsWith("curl ") ? 0 : line.indexOf(" curl ");
+                if (start < 0) {
+                    continue;
+                }
+                current = new StringBuilder(line.substring(start).trim());
+            } else {
+                current.append('\n').append(line);
+            }
+            String trimmed = line.trim();
+            if (!trimmed.endsWith("\\") && !trimmed.endsWith("^")) {
+                commands.add(current.toString());
+                current = null;
+            }
+        }
+        if (current != null) {
+            commands.add(current.toString());
+        }
+        return commands;
+    }
+
+    /**
+     * Splits a command line into its arguments, removing the quoting.
+     */
+    public static List<String> tokenize(String command, Dialect dialect) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        boolean inToken = false;
+        int i = 0;
+        int length = command.length();
+        while (i < length) {
+            char c = command.charAt(i);
+            if (dialect == Dialect.POSIX && c == '\\' && i + 1 < length && isNewline(command.charAt(i + 1))) {
+                i = skipNewline(command, i + 1);
+            } else if (dialect == Dialect.WINDOWS && c == '^' && i + 1 < length && isNewline(command.charAt(i + 1))) {
+                i = skipNewline(command, i + 1);
+            } else if (Character.isWhitespace(c)) {
+                if (inToken) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                    inToken = false;
+                }
+                i++;
+            } else {
+                inToken = true;
+                i = dialect == Dialect.POSIX ? readPosix(command, i, token) : readWindows(command, i, token);
+            }
+        }
+        if (inToken) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Reads one unquoted character or one quoted section starting at {@code i}.
+     *
+     * @return the index after what was read.
+     */
+    private static int readPosix(String command, int i, StringBuilder token) {
+        char c = command.charAt(i);
+        if (c == '\'') {
+            int end = closing(command, i + 1, '\'');
+            token.append(command, i + 1, end);
+            return end + 1;
+        }
+        if (c == '$' && i + 1 < command.length() && command.charAt(i + 1) == '\'') {
+            return readAnsiC(command, i + 2, token);
+        }
+        if (c == '"') {
+            int j = i + 1;
+            while (true) {
+                if (j >= command.length()) {
+                    throw new IllegalArgumentException("Unterminated double quote in curl command");
+                }
+                char q = command.charAt(j);
+                if (q == '"') {
+                    return j + 1;
+                }
+                if (q == '\\' && j + 1 < command.length() && "\\\"$`\n".indexOf(command.charAt(j + 1)) >= 0) {
+                    if (command.charAt(j + 1) != '\n') {
+                        token.append(command.charAt(j + 1));
+                    }
+                    j += 2;
+                } else {
+                    token.append(q);
+                    j++;
+                }
+            }
+        }
+        if (c == '\\' && i + 1 < command.length()) {
+            token.append(command.charAt(i + 1));
+            return i + 2;
+        }
+        token.append(c);
+        return i + 1;
+    }
+
+    private static int readWindows(String command, int i, StringBuilder token) {
+        char c = command.charAt(i);
+        if (c == '"') {
+            int j = i + 1;
+            while (true) {
+                if (j >= command.length()) {
+                    throw new IllegalArgumentException("Unterminated double quote in curl command");
+                }
+                char q = command.charAt(j);
+                if (q == '"') {
+                    if (j + 1 < command.length() && command.charAt(j + 1) == '"') {
+                        token.append('"');
+                        j += 2;
+                        continue;
+                    }
+                    return j + 1;
+                }
+                token.append(q);
+                j++;
+            }
+        }
+        if (c == '^' && i + 1 < command.length()) {
+            token.append(command.charAt(i + 1));
+            return i + 2;
+        }
+        token.append(c);
+        return i + 1;
+    }
+
+    /**
+     * Reads the body of a {@code $'...'} string, starting after the opening quote.
+     */
+    private static int readAnsiC(String command, int i, StringBuilder token) {
+        int j = i;
+        while (true) {
+            if (j >= command.length()) {
+                throw new IllegalArgumentException("Unterminated $'...' string in curl command");
+            }
+            char c = command.charAt(j);
+            if (c == '\'') {
+                return j + 1;
+            }
+            if (c != '\\' || j + 1 >= command.length()) {
+                token.append(c);
+                j++;
+                continue;
+            }
+            char escape = command.charAt(j + 1);
+            j += 2;
+            switch (escape) {
+                case 'a':
+                    token.append('\u0007');
+                    break;
+                case 'b':
+                    token.append('\b');
+                    break;
+                case 'e':
+                case 'E':
+                    token.append('\u001b');
+                    break;
+                case 'f':
+                    token.append('\f');
+                    break;
+                case 'n':
+                    token.append('\n');
+                    break;
+                case 'r':
+                    token.append('\r');
+                    break;
+                case 't':
+                    token.append('\t');
+                    break;
+                case 'v':
+                    token.append('\u000b');
+                    break;
+                case 'x':
+                    j = appendCode(command, j, 16, 2, token, "\\x");
+                    break;
+                case 'u':
+                    j = appendCode(command, j, 16, 4, token, "\\u");
+                    break;
+                case 'U':
+                    j = appendCode(command, j, 16, 8, token, "\\U");
+                    break;
+                default:
+                    if (escape >= '0' && escape <= '7') {
+                        j = appendCode(command, j - 1, 8, 3, token, "");
+                    } else {
+                        token.append(escape);
+                    }
+            }
+        }
+    }
+
+    /**
+     * Appends the character whose code follows in the given radix, or the escape itself when no digit follows.
+     */
+    private static int appendCode(String command, int start, int radix, int maxDigits, StringBuilder token,
+                                  String escape) {
+        int end = start;
+        while (end < command.length() && end - start < maxDigits && Character.digit(command.charAt(end), radix) >= 0) {
+            end++;
+        }
+        if (end == start) {
+            token.append(escape);
+            return end;
+        }
+        token.appendCodePoint(Integer.parseInt(command.substring(start, end), radix));
+        return end;
+    }
+
+    private static int closing(String command, int from, char quote) {
+        int end = command.indexOf(quote, from);
+        if (end < 0) {
+            throw new IllegalArgumentException("Unterminated " + quote + " in curl command");
+        }
+        return end;
+    }
+
+    private static boolean isNewline(char c) {
+        return c == '\n' || c == '\r';
+    }
+
+    private static int skipNewline(String command, int i) {
+        if (command.charAt(i) == '\r' && i + 1 < command.length() && command.charAt(i + 1) == '\n') {
+            return i + 2;
+        }
+        return i + 1;
+    }
+
+    private static String argument(List<String> tokens, int index, String option) {
+        if (index >= tokens.size()) {
+            throw new IllegalArgumentException("Missing argument of curl option " + option);
+        }
+        return tokens.get(index);
+    }
+
+    private static Dialect guessDialect(String command) {
+        String trimmed = command.trim();
+        if (trimmed.startsWith("curl") && trimmed.length() > 4) {
+            String rest = trimmed.substring(4).trim();
+            if (rest.startsWith("\"")) {
+                return Dialect.WINDOWS;
+            }
+        }
+        return Dialect.POSIX;
+    }
+
+    private static String abbreviate(String command) {
+        return command.length() > 80 ? command.substring(0, 80) + "..." : command;
+    }
+}
@@ -0,0 +1,111 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opensourceFramework.utils.performance.ApiMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns recorded curl commands into {@link ReplayItem}s for the {@link ReplayDriver}. Commands that cannot be
+ * parsed or replayed, e.g. with a relative URL or an unsupported method, are logged and skipped.
+ */
+public class CurlReplay {
+
+    private static final Logger log = LogManager.getLogger(CurlReplay.class.getName());
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private CurlReplay() {
+    }
+
+    /**
+     * Reads the calls of an API traffic journal ({@code api-traffic.jsonl}) with their recorded start times.
+     * Entries without a curl command are skipped; the journal is off by default and keeps the commands only while
+     * {@code TrafficJournal.setIncludeCurl(true)}, the default once it is enabled.
+     */
+    public static List<ReplayItem> fromJournal(File journal) throws IOException {
+        List<Long> starts = new ArrayList<>();
+        List<ParsedCurl> commands = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(journal.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode entry = mapper.readTree(line);
+                JsonNode curl = entry.get("curl");
+                if (curl == null || curl.isNull()) {
+                    continue;
+                }
+                ParsedCurl parsed = parseOrSkip(curl.asText());
+                if (parsed != null) {
+                    starts.add(entry.path("start").asLong());
+                    commands.add(parsed);
+                }
+            }
+        }
+        long first = starts.stream().mapToLong(Long::longValue).min().orElse(0);
+        List<ReplayItem> items = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            items.add(item(commands.get(i), (starts.get(i) - first) * 1_000_000L));
+        }
+        return items;
+    }
+
+    /**
+     * Reads every curl command of a log file, e.g. the {@code curl} log of {@code CurlCapture}. Logs carry no
+     * reliable timing, so the calls are spaced by the given interval.
+     */
+    public static List<ReplayItem> fromCurlLog(File logFile, Duration interval) throws IOException {
+        return fromCommands(CurlParser.splitCommands(Files.readString(logFile.toPath(), StandardCharsets.UTF_8)),
+                interval);
+    }
+
+    /**
+     * Spaces the given commands by the interval; {@link Duration#ZERO} sends them all at once.
+     */
+    public static List<ReplayItem> fromCommands(List<String> commands, Duration interval) {
+        List<ReplayItem> items = new ArrayList<>();
+        long offset = 0;
+        for (String command : commands) {
+            ParsedCurl parsed = parseOrSkip(command);
+            if (parsed != null) {
+                items.add(item(parsed, offset));
+                offset += interval.toNanos();
+            }
+        }
+        return items;
+    }
+
+    private static ReplayItem item(ParsedCurl parsed, long offsetNanos) {
+        return new ReplayItem(offsetNanos, ApiMetrics.endpointName(parsed.getMethod().toUpperCase(), parsed.getPath()),
+                parsed::toRequest);
+    }
+
+    /**
+     * @return the parsed command, or {@code null} when it cannot be parsed or sent through {@code BaseAPIRequest}.
+     * The request is built once here so that a bad command is skipped rather than failing every replayed call.
+     */
+    private static ParsedCurl parseOrSkip(String command) {
+        try {
+            ParsedCurl parsed = CurlParser.parse(command);
+            parsed.toRequest();
+            return parsed;
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping curl command that cannot be replayed: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the lines of a file through memory-mapped windows, so arbitrarily large logs are streamed without
+ * copying them through a read buffer first. Lines end with {@code \n} or {@code \r\n} and are decoded as UTF-8.
+ * Not thread-safe.
+ */
+class MappedLineIterator implements Iterator<String>, Closeable {
+
+    static final long DEFAULT_WINDOW_BYTES = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowBytes;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private String next;
+    private byte[] line = new byte[256];
+
+    MappedLineIterator(File file) throws IOException {
+        this(file, DEFAULT_WINDOW_BYTES);
+    }
+
+    MappedLineIterator(File file, long windowBytes) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowBytes = windowBytes;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && position < size) {
+            try {
+                next = readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private String readLine() throws IOException {
+        int length = 0;
+        while (position < size) {
+            if (window == null || position >= windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(windowBytes, size - windowStart));
+            }
+            int offset = (int) (position - windowStart);
+            int end = window.limit();
+            int newline = offset;
+            while (newline < end && window.get(newline) != '\n') {
+                newline++;
+            }
+            int chunk = newline - offset;
+            if (length + chunk > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, length + chunk));
+            }
+            window.get(offset, line, length, chunk);
+            length += chunk;
+            position += chunk;
+            if (newline < end) {
+                position++; // the newline itself
+                break;
+            }
+        }
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+}
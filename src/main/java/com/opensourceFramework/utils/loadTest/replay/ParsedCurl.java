@@ -0,0 +1,253 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.opensourceFramework.BaseAPIRequest;
+import com.opensourceFramework.constants.ContentType;
+import com.opensourceFramework.constants.MethodType;
+
+import java.io.File;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The request described by a curl command, see {@link CurlParser}. {@link #toRequest()} builds a new
+ * {@link BaseAPIRequest} on every call, so one parsed command can be sent many times.
+ * <p>
+ * Headers the HTTP client sets itself ({@code Host}, {@code Content-Length}, {@code Connection} and
+ * {@code Accept-Encoding}) are not copied to the request.
+ */
+public class ParsedCurl {
+
+    private static final Set<String> CLIENT_HEADERS = new HashSet<>(Arrays.asList("host", "content-length",
+            "connection", "accept-encoding"));
+
+    private String url;
+    private String method;
+    private final List<Map.Entry<String, String>> headers = new ArrayList<>();
+    private final List<String> cookies = new ArrayList<>();
+    private String data;
+    private final List<String> formParts = new ArrayList<>();
+    private String user;
+
+    public String getUrl() {
+        return url;
+    }
+
+    void setUrl(String url) {
+        if (this.url != null) {
+            throw new IllegalArgumentException("The curl command has two URLs: " + this.url + " and " + url);
+        }
+        this.url = url;
+    }
+
+    /**
+     * @return the path of the URL without query string, {@code /} when the URL has none.
+     */
+    public String getPath() {
+        int schemeEnd = url.indexOf("://");
+        int pathStart = indexOfAny(url, "/?#", schemeEnd < 0 ? 0 : schemeEnd + 3);
+        if (pathStart < 0 || url.charAt(pathStart) != '/') {
+            return "/";
+        }
+        int pathEnd = indexOfAny(url, "?#", pathStart);
+        return pathEnd < 0 ? url.substring(pathStart) : url.substring(pathStart, pathEnd);
+    }
+
+    /**
+     * @return the method given with {@code -X}, otherwise POST when the command sends data and GET when not.
+     */
+    public String getMethod() {
+        if (method != null) {
+            return method;
+        }
+        return data != null || !formParts.isEmpty() ? "POST" : "GET";
+    }
+
+    void setMethod(String method) {
+        this.method = method;
+    }
+
+    /**
+     * @return the headers in command order, read only.
+     */
+    public List<Map.Entry<String, String>> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    void addHeader(String header) {
+        int colon = header.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Malformed header in curl command: " + header);
+        }
+        headers.add(Map.entry(header.substring(0, colon).trim(), header.substring(colon + 1).trim()));
+    }
+
+    /**
+     * @return the cookies, each as {@code name=value}, read only.
+     */
+    public List<String> getCookies() {
+        return Collections.unmodifiableList(cookies);
+    }
+
+    void addCookie(String cookie) {
+        cookies.add(cookie);
+    }
+
+    /**
+     * @return the body, {@code null} when the command sends none. Like curl, several data options are joined
+     * with {@code &}.
+     */
+    public String getData() {
+        return data;
+    }
+
+    void addData(String data) {
+        this.data = this.data == null ? data : this.data + "&" + data;
+    }
+
+    /**
+     * @return the multipart parts, each as {@code name=value;type=...} or {@code name=@file;type=...}.
+     */
+    public List<String> getFormParts() {
+        return Collections.unmodifiableList(formParts);
+    }
+
+    void addFormPart(String part) {
+        formParts.add(part);
+    }
+
+    /**
+     * @return the basic authentication credentials as {@code user:password}, or {@code null}.
+     */
+    public String getUser() {
+        return user;
+    }
+
+    void setUser(String user) {
+        this.user = user;
+    }
+
+    /**
+     * Builds a request for the command. The query string of the URL becomes query parameters and the path is
+     * percent-decoded, since the request encodes both again when it is sent.
+     *
+     * @throws IllegalArgumentException when the method or the URL cannot be sent through {@link BaseAPIRequest}.
+     */
+    public BaseAPIRequest toRequest() {
+        BaseAPIRequest request = new BaseAPIRequest();
+        int schemeEnd = url.indexOf("://");
+        if (schemeEnd < 0) {
+            throw new IllegalArgumentException("The URL of the curl command is not absolute: " + url);
+        }
+        int fragment = url.indexOf('#');
+        String target = fragment < 0 ? url : url.substring(0, fragment);
+        int pathStart = indexOfAny(target, "/?", schemeEnd + 3);
+        int queryStart = target.indexOf('?', schemeEnd + 3);
+        request.setBaseUri(pathStart < 0 ? target : target.substring(0, pathStart));
+        if (pathStart >= 0 && pathStart != queryStart) {
+            String path = queryStart < 0 ? target.substring(pathStart) : target.substring(pathStart, queryStart);
+            // REST-assured encodes the base path itself; a plus is a literal character in a path
+            request.setBasePath(URLDecoder.decode(path.replace("+", "%2B"), StandardCharsets.UTF_8));
+        }
+        if (queryStart >= 0) {
+            for (String pair : target.substring(queryStart + 1).split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int equals = pair.indexOf('=');
+                String name = equals < 0 ? pair : pair.substring(0, equals);
+                String value = equals < 0 ? "" : pair.substring(equals + 1);
+                request.addQueryParam(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                        URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+
+        String methodName = getMethod().toUpperCase();
+        try {
+            request.setMethod(MethodType.valueOf(methodName));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported method " + methodName + " in curl command", e);
+        }
+
+        for (Map.Entry<String, String> header : headers) {
+            String name = header.getKey();
+            if (CLIENT_HEADERS.contains(name.toLowerCase())) {
+                continue;
+            }
+            ContentType contentType = name.equalsIgnoreCase("Content-Type") ? contentType(header.getValue()) : null;
+            if (contentType != null) {
+                request.setContentType(contentType);
+            } else {
+                request.addHeader(name, header.getValue());
+            }
+        }
+        if (!cookies.isEmpty()) {
+            request.addHeader("Cookie", String.join("; ", cookies));
+        }
+        if (user != null) {
+            int colon = user.indexOf(':');
+            request.setBasicAuth(colon < 0 ? user : user.substring(0, colon), colon < 0 ? "" : user.substring(colon + 1));
+        }
+        if (data != null) {
+            request.setBody(data);
+        }
+        for (String part : formParts) {
+            addFormPart(request, part);
+        }
+        return request;
+    }
+
+    private static void addFormPart(BaseAPIRequest request, String part) {
+        int equals = part.indexOf('=');
+        if (equals <= 0) {
+            throw new IllegalArgumentException("Malformed multipart part in curl command: " + part);
+        }
+        String name = part.substring(0, equals);
+        String value = part.substring(equals + 1);
+        String mimeType = "text/plain";
+        int type = value.lastIndexOf(";type=");
+        if (type >= 0) {
+            mimeType = value.substring(type + ";type=".length());
+            value = value.substring(0, type);
+            // RestAssured adds the charset itself and rejects parameters in the part's MIME type
+            int parameters = mimeType.indexOf(';');
+            if (parameters >= 0) {
+                mimeType = mimeType.substring(0, parameters).trim();
+            }
+        }
+        if (value.startsWith("@")) {
+            request.addMultiPart(name, new File(value.substring(1)));
+        } else {
+            request.addMultiPart(name, value, mimeType);
+        }
+    }
+
+    private static ContentType contentType(String value) {
+        for (ContentType contentType : ContentType.values()) {
+            if (contentType.getContentType().equalsIgnoreCase(value)) {
+                return contentType;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfAny(String s, String characters, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (characters.indexOf(s.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return getMethod() + " " + url;
+    }
+}
@@ -0,0 +1,153 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.opensourceFramework.utils.loadTest.LoadRunResult;
+import com.opensourceFramework.utils.loadTest.LoadScenario;
+import com.opensourceFramework.utils.loadTest.ScenarioRecorder;
+import com.opensourceFramework.utils.loadTest.ScenarioResult;
+import io.restassured.response.Response;
+import org.HdrHistogram.Recorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-executes recorded calls concurrently at their recorded timing, scaled by a speed factor.
+ * <p>
+ * The calling thread dispatches every call at its intended start time to a pool of worker threads. Like the
+ * paced scenarios of {@code LoadEngine}, latencies are measured from the intended start, so a slow server or too
+ * few workers show up as latency instead of silently stretching the schedule; the schedule lag (actual minus
+ * intended start) is reported separately.
+ *
+ * <pre>
+ *     ReplayResult result = new ReplayDriver()
+ *             .setSpeed(2)
+ *             .setConcurrency(50)
+ *             .run(CurlReplay.fromJournal(new File("reports/run/api-traffic.jsonl")));
+ *     result.logToReport();
+ * </pre>
+ */
+public class ReplayDriver {
+
+    private static final Logger log = LogManager.getLogger(ReplayDriver.class.getName());
+    private static final long START_DELAY_NANOS = 50_000_000L;
+
+    private double speed = 1;
+    private int concurrency = 20;
+
+    /**
+     * Sets how much faster than recorded the calls are replayed: 1 keeps the recorded timing, 2 halves the gaps,
+     * 0 sends every call as soon as a worker is free.
+     */
+    public ReplayDriver setSpeed(double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("The replay speed cannot be negative: " + speed);
+        }
+        this.speed = speed;
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads, i.e. the most calls in flight at once.
+     */
+    public ReplayDriver setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("The replay concurrency must be at least 1: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Replays the calls and blocks until every call has completed.
+     */
+    public ReplayResult run(List<ReplayItem> items) throws InterruptedException {
+        List<ReplayItem> schedule = new ArrayList<>(items);
+        schedule.sort(Comparator.comparingLong(ReplayItem::getOffsetNanos));
+        log.info("Replaying " + schedule.size() + " calls");
+        return run(schedule.iterator());
+    }
+
+    /**
+     * Replays calls as the iterator produces them, without holding the schedule in memory, and blocks until every
+     * call has completed. The items should come in offset order; an item behind the schedule is sent right away
+     * and shows up as lag. The iterator is consumed on the calling thread, so slow item production shows up as
+     * lag as well.
+     */
+    public ReplayResult run(Iterator<ReplayItem> items) throws InterruptedException {
+        Map<String, ScenarioRecorder> recorders = new ConcurrentHashMap<>();
+        Recorder lag = new Recorder(3);
+        // a worker permit is taken before dispatching, so calls never queue up behind busy workers
+        Semaphore idleWorkers = new Semaphore(concurrency);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread worker = new Thread(r, "replay-" + threads.getAndIncrement());
+            worker.setDaemon(true);
+            return worker;
+        });
+        log.info("Replaying at " + (speed > 0 ? speed + "x" : "full speed") + " with " + concurrency + " workers");
+
+        long startNanos = System.nanoTime() + START_DELAY_NANOS;
+        try {
+            while (items.hasNext()) {
+                ReplayItem item = items.next();
+                long intendedStart = speed > 0 ? startNanos + (long) (item.getOffsetNanos() / speed) : startNanos;
+                parkUntil(intendedStart);
+                idleWorkers.acquire();
+                ScenarioRecorder recorder = recorders.computeIfAbsent(item.getName(),
+                        name -> new ScenarioRecorder(new LoadScenario(name, 1, 0, concurrency)));
+                workers.execute(() -> {
+                    try {
+                        execute(item, intendedStart, recorder, lag);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            }
+            idleWorkers.acquire(concurrency);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        double elapsedSeconds = Math.max(0, System.nanoTime() - startNanos) / 1_000_000_000.0;
+        List<ScenarioResult> results = new ArrayList<>();
+        for (ScenarioRecorder recorder : recorders.values()) {
+            results.add(recorder.toResult(elapsedSeconds));
+        }
+        results.sort(Comparator.comparing(ScenarioResult::getName));
+        return new ReplayResult(new LoadRunResult(results, elapsedSeconds), lag.getIntervalHistogram(), speed);
+    }
+
+    private void execute(ReplayItem item, long intendedStart, ScenarioRecorder recorder, Recorder lag) {
+        long actualStart = System.nanoTime();
+        lag.recordValue(Math.max(0, actualStart - intendedStart) / 1_000);
+        boolean error;
+        try {
+            Response response = item.newRequest().makeAPICall();
+            error = response.getStatusCode() >= 400;
+        } catch (Exception e) {
+            log.debug("Replayed call " + item + " failed", e);
+            error = true;
+        }
+        // as fast as possible has no schedule, so only the call itself is timed
+        long measuredFrom = speed > 0 ? intendedStart : actualStart;
+        recorder.record(System.nanoTime() - measuredFrom, error);
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
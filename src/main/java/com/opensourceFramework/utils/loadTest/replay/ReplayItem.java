@@ -0,0 +1,44 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.opensourceFramework.BaseAPIRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * One recorded call to replay: when it was made relative to the first call, the name its latencies are
+ * recorded under, and how to build the request again.
+ */
+public class ReplayItem {
+
+    private final long offsetNanos;
+    private final String name;
+    private final Supplier<BaseAPIRequest> request;
+
+    /**
+     * @param offsetNanos time of the call after the first recorded call.
+     * @param name        scenario name in the result, e.g. {@code GET /users}.
+     * @param request     builds a new request on every call.
+     */
+    public ReplayItem(long offsetNanos, String name, Supplier<BaseAPIRequest> request) {
+        this.offsetNanos = offsetNanos;
+        this.name = name;
+        this.request = request;
+    }
+
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BaseAPIRequest newRequest() {
+        return request.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("+%.3f s %s", offsetNanos / 1e9, name);
+    }
+}
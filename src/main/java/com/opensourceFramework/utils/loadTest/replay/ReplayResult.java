@@ -0,0 +1,81 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.opensourceFramework.utils.extentReport.Logger;
+import com.opensourceFramework.utils.loadTest.LoadRunResult;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of a replay: the latencies per recorded endpoint, as a {@link LoadRunResult} so the usual
+ * {@code PerformanceAssert.assertThat(result.getLoadResult())} limits apply, plus the schedule lag, i.e. how
+ * late each call started compared to the recorded (scaled) timing. A growing lag means the replay could not keep
+ * up, either because the concurrency was too low or because the machine was saturated.
+ */
+public class ReplayResult {
+
+    private final LoadRunResult loadResult;
+    private final Histogram lag;
+    private final double speed;
+
+    public ReplayResult(LoadRunResult loadResult, Histogram lag, double speed) {
+        this.loadResult = loadResult;
+        this.lag = lag;
+        this.speed = speed;
+    }
+
+    public LoadRunResult getLoadResult() {
+        return loadResult;
+    }
+
+    /**
+     * @return the schedule lag in microseconds, one value per replayed call.
+     */
+    public Histogram getLagHistogram() {
+        return lag;
+    }
+
+    /**
+     * @return the speed factor the recording was replayed at, {@code 0} for as fast as possible.
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return the schedule lag at the given percentile in milliseconds.
+     */
+    public double getLagPercentile(double percentile) {
+        return lag.getTotalCount() == 0 ? 0 : lag.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxLag() {
+        return lag.getTotalCount() == 0 ? 0 : lag.getMaxValue() / 1000.0;
+    }
+
+    public String summary() {
+        return loadResult.summary() + System.lineSeparator()
+                + String.format("Schedule lag at %sx: p50=%.1f ms p99=%.1f ms max=%.1f ms", speedLabel(),
+                getLagPercentile(50), getLagPercentile(99), getMaxLag());
+    }
+
+    /**
+     * Adds the per-endpoint percentiles and the schedule lag as tables to the current Extent test.
+     */
+    public void logToReport() {
+        loadResult.logToReport();
+        String[][] table = {
+                {"Speed", "Calls", "Lag p50 ms", "Lag p95 ms", "Lag p99 ms", "Lag max ms"},
+                {speedLabel(), String.valueOf(lag.getTotalCount()), format(getLagPercentile(50)),
+                        format(getLagPercentile(95)), format(getLagPercentile(99)), format(getMaxLag())}
+        };
+        Logger.logInfo(MarkupHelper.createTable(table));
+    }
+
+    private String speedLabel() {
+        return speed > 0 ? String.valueOf(speed) : "max";
+    }
+
+    private static String format(double millis) {
+        return String.format("%.1f", millis);
+    }
+}
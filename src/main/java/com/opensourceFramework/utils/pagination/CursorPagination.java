@@ -0,0 +1,45 @@
+package com.opensourceFramework.utils.pagination;
+
+import com.opensourceFramework.BaseAPIRequest;
+import io.restassured.response.Response;
+
+import java.util.function.Supplier;
+
+/**
+ * Cursor pagination: every response carries the cursor of the next page, which is sent back as a query
+ * parameter. The listing ends when the cursor is missing or empty.
+ */
+public class CursorPagination implements PageStrategy<String> {
+
+    private final String cursorParam;
+    private final String nextCursorPath;
+
+    /**
+     * @param cursorParam    query parameter carrying the cursor, e.g. {@code cursor}.
+     * @param nextCursorPath JsonPath of the next cursor in the response, e.g. {@code meta.next_cursor}.
+     */
+    public CursorPagination(String cursorParam, String nextCursorPath) {
+        this.cursorParam = cursorParam;
+        this.nextCursorPath = nextCursorPath;
+    }
+
+    @Override
+    public String first() {
+        return null;
+    }
+
+    @Override
+    public BaseAPIRequest request(Supplier<BaseAPIRequest> template, String cursor) {
+        BaseAPIRequest request = template.get();
+        if (cursor != null) {
+            request.addQueryParam(cursorParam, cursor);
+        }
+        return request;
+    }
+
+    @Override
+    public String next(String cursor, BaseAPIRequest request, Response response, int itemCount) {
+        Object next = response.jsonPath().get(nextCursorPath);
+        return next == null || String.valueOf(next).isEmpty() ? null : String.valueOf(next);
+    }
+}
@@ -0,0 +1,111 @@
+package com.opensourceFramework.utils.pagination;
+
+import com.opensourceFramework.BaseAPIRequest;
+import io.restassured.response.Response;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RFC 8288 {@code Link} header pagination, e.g. {@code Link: <https://api/items?page=2>; rel="next"}.
+ * The listing ends when a response has no {@code next} link.
+ * <p>
+ * By default the next page is requested with a fresh template whose base URI, base path and query parameters
+ * are taken from the link; query parameters the template already sends with the same value are not repeated.
+ * Templates using path parameters need their own {@link #LinkHeaderPagination(BiFunction) follow function}.
+ */
+public class LinkHeaderPagination implements PageStrategy<String> {
+
+    private static final Pattern LINK = Pattern.compile("<([^>]*)>([^,<]*)");
+    private static final Pattern REL = Pattern.compile("rel\\s*=\\s*\"?([^\";]+)\"?");
+
+    private final BiFunction<Supplier<BaseAPIRequest>, String, BaseAPIRequest> follow;
+
+    public LinkHeaderPagination() {
+        this(LinkHeaderPagination::follow);
+    }
+
+    /**
+     * @param follow creates the request of a next link from the template and the absolute link URL.
+     */
+    public LinkHeaderPagination(BiFunction<Supplier<BaseAPIRequest>, String, BaseAPIRequest> follow) {
+        this.follow = follow;
+    }
+
+    @Override
+    public String first() {
+        return null;
+    }
+
+    @Override
+    public BaseAPIRequest request(Supplier<BaseAPIRequest> template, String url) {
+        return url == null ? template.get() : follow.apply(template, url);
+    }
+
+    @Override
+    public String next(String url, BaseAPIRequest request, Response response, int itemCount) {
+        String next = nextLink(response.getHeader("Link"));
+        if (next == null) {
+            return null;
+        }
+        String base = url != null ? url : request.getBaseUri();
+        return base == null ? next : URI.create(base).resolve(next).toString();
+    }
+
+    /**
+     * @return the target of the {@code rel="next"} link of a Link header, or {@code null} when there is none.
+     */
+    public static String nextLink(String header) {
+        if (header == null) {
+            return null;
+        }
+        Matcher link = LINK.matcher(header);
+        while (link.find()) {
+            Matcher rel = REL.matcher(link.group(2));
+            if (rel.find()) {
+                for (String relation : rel.group(1).trim().split("\\s+")) {
+                    if (relation.equalsIgnoreCase("next")) {
+                        return link.group(1).trim();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static BaseAPIRequest follow(Supplier<BaseAPIRequest> template, String url) {
+        BaseAPIRequest request = template.get();
+        if (!request.getPathParams().isEmpty()) {
+            throw new IllegalStateException("The template uses path parameters " + request.getPathParams().keySet()
+                    + "; pass a follow function to LinkHeaderPagination to request " + url);
+        }
+        URI uri = URI.create(url);
+        request.setBaseUri(uri.getScheme() + "://" + uri.getRawAuthority());
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        request.setBasePath(URLDecoder.decode(path.replace("+", "%2B"), StandardCharsets.UTF_8));
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            Map<String, Object> sent = request.getQueryParams();
+            for (String pair : query.split("&")) {
+                int equals = pair.indexOf('=');
+                String name = decode(equals < 0 ? pair : pair.substring(0, equals));
+                String value = equals < 0 ? "" : decode(pair.substring(equals + 1));
+                if (!sent.containsKey(name) || !Objects.equals(String.valueOf(sent.get(name)), value)) {
+                    request.addQueryParam(name, value);
+                }
+            }
+        }
+        return request;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package com.opensourceFramework.utils.pagination;
+
+import com.opensourceFramework.BaseAPIRequest;
+import io.restassured.response.Response;
+
+import java.util.function.Supplier;
+
+/**
+ * Offset/limit pagination. The offset of every page is known up front, so prefetched pages are requested in
+ * parallel. The listing ends with the first page holding fewer items than the limit.
+ */
+public class OffsetPagination implements PageStrategy<Long> {
+
+    private final String offsetParam;
+    private final String limitParam;
+    private final int limit;
+    private final long firstOffset;
+    private final boolean pageNumbers;
+
+    private OffsetPagination(String offsetParam, String limitParam, int limit, long firstOffset, boolean pageNumbers) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        this.offsetParam = offsetParam;
+        this.limitParam = limitParam;
+        this.limit = limit;
+        this.firstOffset = firstOffset;
+        this.pageNumbers = pageNumbers;
+    }
+
+    /**
+     * @param offsetParam query parameter carrying the index of the first item, e.g. {@code offset}.
+     * @param limitParam  query parameter carrying the page size, e.g. {@code limit}.
+     * @param limit       page size.
+     */
+    public static OffsetPagination offset(String offsetParam, String limitParam, int limit) {
+        return new OffsetPagination(offsetParam, limitParam, limit, 0, false);
+    }
+
+    /**
+     * Page number variant, e.g. {@code ?page=3&size=100}.
+     *
+     * @param firstPage number of the first page, usually 0 or 1.
+     */
+    public static OffsetPagination pageNumber(String pageParam, String sizeParam, int size, int firstPage) {
+        return new OffsetPagination(pageParam, sizeParam, size, firstPage, true);
+    }
+
+    @Override
+    public Long first() {
+        return firstOffset;
+    }
+
+    @Override
+    public BaseAPIRequest request(Supplier<BaseAPIRequest> template, Long offset) {
+        BaseAPIRequest request = template.get();
+        request.addQueryParam(offsetParam, offset);
+        request.addQueryParam(limitParam, limit);
+        return request;
+    }
+
+    @Override
+    public Long next(Long offset, BaseAPIRequest request, Response response, int itemCount) {
+        return itemCount < limit ? null : predictNext(offset);
+    }
+
+    @Override
+    public Long predictNext(Long offset) {
+        return offset + (pageNumbers ? 1 : limit);
+    }
+}
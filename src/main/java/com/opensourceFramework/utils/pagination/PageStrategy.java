@@ -0,0 +1,45 @@
+package com.opensourceFramework.utils.pagination;
+
+import com.opensourceFramework.BaseAPIRequest;
+import io.restassured.response.Response;
+
+import java.util.function.Supplier;
+
+/**
+ * How a paged endpoint is walked: where the first page starts, how a page is requested and where the next
+ * page starts.
+ *
+ * @param <P> position of a page, e.g. a cursor, an offset or a URL.
+ */
+public interface PageStrategy<P> {
+
+    /**
+     * @return the position of the first page; may be {@code null}, e.g. for "no cursor yet".
+     */
+    P first();
+
+    /**
+     * Creates the request of the page at the given position.
+     *
+     * @param template creates a fresh request carrying everything except the page position.
+     */
+    BaseAPIRequest request(Supplier<BaseAPIRequest> template, P position);
+
+    /**
+     * @param request   request that fetched the page.
+     * @param response  response of the page at the given position.
+     * @param itemCount number of items on the page.
+     * @return the position of the next page, or {@code null} when the page is the last one.
+     */
+    P next(P position, BaseAPIRequest request, Response response, int itemCount);
+
+    /**
+     * Returns the position of the next page when it can be known before the current page arrives, which lets
+     * the pages be fetched in parallel. {@link #next} still decides where the listing ends.
+     *
+     * @return the predicted position, or {@code null} when the next position depends on the response.
+     */
+    default P predictNext(P position) {
+        return null;
+    }
+}
@@ -0,0 +1,231 @@
+package com.opensourceFramework.utils.pagination;
+
+import com.opensourceFramework.BaseAPIRequest;
+import io.restassured.response.Response;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Exposes a paged endpoint as a lazy {@link Iterator}/{@link Stream} of items. Pages are requested only as the
+ * items are consumed, and while a page is being consumed the next pages are fetched in the background, up to
+ * the prefetch depth. Only the pages in flight are held in memory.
+ * <pre>
+ * long inactive = Paginator.of(this::listUsersRequest, new CursorPagination("cursor", "meta.next_cursor"), "data")
+ *         .setPrefetchDepth(2)
+ *         .stream()
+ *         .filter(user -&gt; "inactive".equals(((Map&lt;?, ?&gt;) user).get("status")))
+ *         .count();
+ * </pre>
+ * A page answered with a status of 400 or above ends the iteration with an {@link IllegalStateException}.
+ *
+ * @param <T> item type, mapped from the JSON items of a page.
+ */
+public class Paginator<T> implements Iterable<T> {
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService prefetcher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "paginator-prefetch-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<BaseAPIRequest> template;
+    private final PageStrategy<?> strategy;
+    private final String itemsPath;
+    private final Class<T> itemType;
+    private int prefetchDepth = 1;
+
+    private Paginator(Supplier<BaseAPIRequest> template, PageStrategy<?> strategy, String itemsPath, Class<T> itemType) {
+        this.template = template;
+        this.strategy = strategy;
+        this.itemsPath = itemsPath;
+        this.itemType = itemType;
+    }
+
+    /**
+     * @param template  creates a fresh request of the listing, without the page position.
+     * @param strategy  how the listing is paged.
+     * @param itemsPath JsonPath of the item array of a page, e.g. {@code data}, or {@code $} for a top level array.
+     */
+    public static Paginator<Object> of(Supplier<BaseAPIRequest> template, PageStrategy<?> strategy, String itemsPath) {
+        return new Paginator<>(template, strategy, itemsPath, Object.class);
+    }
+
+    /**
+     * @param itemType class the JSON items are mapped to, e.g. a POJO or {@code Map.class}.
+     */
+    public static <T> Paginator<T> of(Supplier<BaseAPIRequest> template, PageStrategy<?> strategy, String itemsPath,
+                                      Class<T> itemType) {
+        return new Paginator<>(template, strategy, itemsPath, itemType);
+    }
+
+    /**
+     * Sets how many pages are fetched ahead of the page being consumed, 1 by default; 0 fetches every page
+     * only when it is needed.
+     */
+    public Paginator<T> setPrefetchDepth(int prefetchDepth) {
+        if (prefetchDepth < 0) {
+            throw new IllegalArgumentException("Prefetch depth must not be negative: " + prefetchDepth);
+        }
+        this.prefetchDepth = prefetchDepth;
+        return this;
+    }
+
+    /**
+     * @return a new iteration over the listing, starting with the first page.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new PageIterator<>(strategy);
+    }
+
+    /**
+     * @return a sequential stream over the listing; closing it discards the prefetched pages.
+     */
+    public Stream<T> stream() {
+        PageIterator<?> iterator = new PageIterator<>(strategy);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::close);
+    }
+
+    private List<T> items(Response response) {
+        if (itemType == Object.class) {
+            @SuppressWarnings("unchecked")
+            List<T> items = (List<T>) response.jsonPath().getList(itemsPath);
+            return items == null ? Collections.emptyList() : items;
+        }
+        List<T> items = response.jsonPath().getList(itemsPath, itemType);
+        return items == null ? Collections.emptyList() : items;
+    }
+
+    private static final class Page<P, I> {
+
+        private final List<I> items;
+        private final P next;
+
+        private Page(List<I> items, P next) {
+            this.items = items;
+            this.next = next;
+        }
+    }
+
+    private class PageIterator<P> implements Iterator<T>, AutoCloseable {
+
+        private final PageStrategy<P> strategy;
+        private final Deque<CompletableFuture<Page<P, T>>> ahead = new ArrayDeque<>();
+        private CompletableFuture<Page<P, T>> tail;
+        private P tailPosition;
+        private boolean tailPositionKnown;
+        private Iterator<T> items = Collections.emptyIterator();
+        private boolean finished;
+
+        private PageIterator(PageStrategy<P> strategy) {
+            this.strategy = strategy;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!items.hasNext()) {
+                if (finished) {
+                    return false;
+                }
+                if (ahead.isEmpty()) {
+                    schedule();
+                }
+                Page<P, T> page = join(ahead.poll());
+                if (page == null) {
+                    close();
+                    return false;
+                }
+                items = page.items.iterator();
+                if (page.next == null) {
+                    close();
+                } else {
+                    while (ahead.size() < prefetchDepth) {
+                        schedule();
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return items.next();
+        }
+
+        /**
+         * Stops the iteration and discards the pages fetched ahead.
+         */
+        @Override
+        public void close() {
+            finished = true;
+            ahead.forEach(future -> future.cancel(false));
+            ahead.clear();
+        }
+
+        /**
+         * Requests the page after the last scheduled one: right away when its position can be predicted,
+         * otherwise as soon as the previous page arrives. A {@code null} page marks the end of the listing.
+         */
+        private void schedule() {
+            CompletableFuture<Page<P, T>> future;
+            P predicted = tail == null ? strategy.first() : tailPositionKnown ? strategy.predictNext(tailPosition) : null;
+            if (tail == null || predicted != null) {
+                tailPosition = predicted;
+                tailPositionKnown = true;
+                future = CompletableFuture.supplyAsync(() -> fetch(predicted), prefetcher);
+            } else {
+                tailPositionKnown = false;
+                future = tail.thenApplyAsync(previous -> previous == null || previous.next == null
+                        ? null : fetch(previous.next), prefetcher);
+            }
+            tail = future;
+            ahead.add(future);
+        }
+
+        private Page<P, T> fetch(P position) {
+            BaseAPIRequest request = strategy.request(template, position);
+            Response response = request.makeAPICall();
+            if (response.getStatusCode() >= 400) {
+                throw new IllegalStateException("Page request " + position + " failed with status "
+                        + response.getStatusCode());
+            }
+            List<T> pageItems = items(response);
+            return new Page<>(pageItems, strategy.next(position, request, response, pageItems.size()));
+        }
+
+        private Page<P, T> join(CompletableFuture<Page<P, T>> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.opensourceFramework.utils.performance;
+
+/**
+ * Receives every call made through {@code BaseAPIRequest} after it completed. Listeners run on the
+ * calling thread and must be thread-safe and cheap.
+ */
+@FunctionalInterface
+public interface ApiCallListener {
+
+    void onApiCall(ApiCallRecord record);
+}
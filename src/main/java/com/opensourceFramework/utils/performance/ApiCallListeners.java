@@ -0,0 +1,50 @@
+package com.opensourceFramework.utils.performance;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of the {@link ApiCallListener}s notified by {@code BaseAPIRequest.makeAPICall()}.
+ */
+public class ApiCallListeners {
+
+    private static final Logger log = LogManager.getLogger(ApiCallListeners.class.getName());
+    private static final List<ApiCallListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private ApiCallListeners() {
+    }
+
+    public static void add(ApiCallListener listener) {
+        listeners.add(listener);
+    }
+
+    public static void remove(ApiCallListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return whether any listener is registered, so callers can skip building the record.
+     */
+    public static boolean isEmpty() {
+        return listeners.isEmpty();
+    }
+
+    /**
+     * Notifies every listener. A failing listener is logged and never fails the API call.
+     */
+    public static void notify(ApiCallRecord record) {
+        for (ApiCallListener listener : listeners) {
+            try {
+                listener.onApiCall(record);
+            } catch (RuntimeException e) {
+                log.warn("API call listener " + listener.getClass().getName() + " failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.opensourceFramework.utils.performance;
+
+import java.util.function.Supplier;
+
+/**
+ * One call made through {@code BaseAPIRequest}, as handed to {@link ApiCallListener}s and written to
+ * the streamed metrics file.
+ */
+public class ApiCallRecord {
+
+    private long startEpochMillis;
+    private long startNanos;
+    private String thread;
+    private String endpoint;
+    private String method;
+    private String url;
+    private int status;
+    private long latencyMicros;
+    private String error;
+    private String curl;
+    private Supplier<String> curlSupplier;
+    private Supplier<String> responseBody;
+
+    public ApiCallRecord() {
+    }
+
+    /**
+     * @param curl renders the curl command of the call when {@link #getCurl()} is first called, {@code null}
+     *             when it was not captured; an already rendered command is set with {@link #setCurl(String)}.
+     */
+    public ApiCallRecord(long startEpochMillis, String thread, String endpoint, String method, String url, int status,
+                         long latencyMicros, String error, Supplier<String> curl) {
+        this.startEpochMillis = startEpochMillis;
+        this.thread = thread;
+        this.endpoint = endpoint;
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.latencyMicros = latencyMicros;
+        this.error = error;
+        this.curlSupplier = curl;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public void setStartEpochMillis(long startEpochMillis) {
+        this.startEpochMillis = startEpochMillis;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at the start of the call, to relate it to transport timings;
+     * {@code 0} when unknown.
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public void setStartNanos(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public void setThread(String thread) {
+        this.thread = thread;
+    }
+
+    /**
+     * @return the endpoint name, see {@link ApiMetrics#endpointName(String, String)}.
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /**
+     * @return the HTTP status code, {@code 0} when the call failed without a response.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public long getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public void setLatencyMicros(long latencyMicros) {
+        this.latencyMicros = latencyMicros;
+    }
+
+    /**
+     * @return the class name of the exception when the call failed without a response, otherwise {@code null}.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * @return the curl command of the call, rendered on the first call when it was captured lazily;
+     * {@code null} when it was not captured.
+     */
+    public synchronized String getCurl() {
+        if (curlSupplier != null) {
+            curl = curlSupplier.get();
+            curlSupplier = null;
+        }
+        return curl;
+    }
+
+    public synchronized void setCurl(String curl) {
+        this.curl = curl;
+        this.curlSupplier = null;
+    }
+
+    /**
+     * @return whether a curl command was captured, without rendering it.
+     */
+    public synchronized boolean hasCurl() {
+        return curl != null || curlSupplier != null;
+    }
+
+    /**
+     * @return reads the response body, {@code null} when there was no response; not read until called.
+     */
+    public Supplier<String> getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(Supplier<String> responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public boolean isFailed() {
+        return error != null || status >= 400;
+    }
+}
@@ -0,0 +1,93 @@
+package com.opensourceFramework.utils.performance;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide per-endpoint latency registry fed by {@code BaseAPIRequest.makeAPICall()}. An endpoint
+ * is identified by the HTTP method and the base path template, e.g. {@code GET /users/{id}}, so path
+ * parameters do not create a new endpoint per value.
+ * <p>
+ * Recording is lock free; {@link #snapshot()} returns the values recorded since the last
+ * {@link #reset()}.
+ */
+public class ApiMetrics {
+
+    private static final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private static volatile long windowStartNanos = System.nanoTime();
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private ApiMetrics() {
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param endpoint     endpoint name, see {@link #endpointName(String, String)}.
+     * @param latencyNanos latency of the call in nanoseconds.
+     * @param error        whether the call failed or returned a status of 400 or above.
+     */
+    public static void record(String endpoint, long latencyNanos, boolean error) {
+        Endpoint recorder = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        recorder.recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (error) {
+            recorder.errors.increment();
+        }
+    }
+
+    /**
+     * @return the endpoint name for a method and a base path template.
+     */
+    public static String endpointName(String method, String basePath) {
+        return method + " " + (basePath == null || basePath.isEmpty() ? "/" : basePath);
+    }
+
+    /**
+     * @return the metrics of one endpoint, or {@code null} when it was not called since the last reset.
+     */
+    public static EndpointMetrics snapshot(String endpoint) {
+        Endpoint recorder = endpoints.get(endpoint);
+        return recorder == null ? null : recorder.toMetrics(endpoint, elapsedSeconds());
+    }
+
+    /**
+     * @return the metrics of every endpoint called since the last reset.
+     */
+    public static Map<String, EndpointMetrics> snapshot() {
+        double elapsedSeconds = elapsedSeconds();
+        Map<String, EndpointMetrics> snapshot = new LinkedHashMap<>();
+        endpoints.forEach((name, recorder) -> snapshot.put(name, recorder.toMetrics(name, elapsedSeconds)));
+        return snapshot;
+    }
+
+    /**
+     * Forgets everything recorded so far and starts a new throughput window.
+     */
+    public static void reset() {
+        endpoints.clear();
+        windowStartNanos = System.nanoTime();
+    }
+
+    private static double elapsedSeconds() {
+        return (System.nanoTime() - windowStartNanos) / 1_000_000_000.0;
+    }
+
+    private static class Endpoint {
+
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+        private final Histogram accumulated = new Histogram(3);
+
+        synchronized EndpointMetrics toMetrics(String name, double elapsedSeconds) {
+            accumulated.add(recorder.getIntervalHistogram());
+            return new EndpointMetrics(name, accumulated.copy(), errors.sum(), elapsedSeconds);
+        }
+    }
+}
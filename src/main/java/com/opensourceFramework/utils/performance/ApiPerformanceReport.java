@@ -0,0 +1,73 @@
+package com.opensourceFramework.utils.performance;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Lifecycle of the per-run API performance report. {@code ServerReporterPath.createDirectory()} starts
+ * streaming every API call into {@value #METRICS_FILE_NAME} in the report directory, and
+ * {@code ServerReporterPath.createReportLinks()} turns that file into {@value #REPORT_FILE_NAME}.
+ */
+public class ApiPerformanceReport {
+
+    public static final String METRICS_FILE_NAME = "api-metrics.jsonl";
+    public static final String REPORT_FILE_NAME = "APIPerformanceReport.html";
+
+    private static final Logger log = LogManager.getLogger(ApiPerformanceReport.class.getName());
+    private static int slowestN = 20;
+    private static MetricsFileWriter writer;
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private ApiPerformanceReport() {
+    }
+
+    /**
+     * Sets how many of the slowest calls the report lists with their curl command.
+     */
+    public static void setSlowestN(int slowestN) {
+        ApiPerformanceReport.slowestN = slowestN;
+    }
+
+    /**
+     * Starts streaming every API call into the metrics file of the given report directory.
+     */
+    public static synchronized void startRecording(File reportDirectory) {
+        if (writer != null) {
+            return;
+        }
+        try {
+            writer = new MetricsFileWriter(new File(reportDirectory, METRICS_FILE_NAME), slowestN);
+            ApiCallListeners.add(writer);
+        } catch (IOException e) {
+            log.error("Could not create the API metrics file in " + reportDirectory, e);
+        }
+    }
+
+    /**
+     * Stops recording and generates the HTML report next to the metrics file.
+     *
+     * @return the report, or {@code null} when recording was not started or the report failed.
+     */
+    public static synchronized File finishRecording() {
+        if (writer == null) {
+            return null;
+        }
+        MetricsFileWriter finished = writer;
+        writer = null;
+        ApiCallListeners.remove(finished);
+        try {
+            finished.close();
+            File report = new File(finished.getFile().getParentFile(), REPORT_FILE_NAME);
+            new PerformanceReportGenerator(slowestN).generate(finished.getFile(), report);
+            return report;
+        } catch (IOException e) {
+            log.error("Could not generate the API performance report", e);
+            return null;
+        }
+    }
+}
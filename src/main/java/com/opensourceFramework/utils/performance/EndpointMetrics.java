@@ -0,0 +1,75 @@
+package com.opensourceFramework.utils.performance;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Snapshot of the calls made to one endpoint through {@code BaseAPIRequest}. Latencies are recorded
+ * in microseconds and returned in milliseconds.
+ */
+public class EndpointMetrics implements LatencyMetrics {
+
+    private final String name;
+    private final Histogram histogram;
+    private final long errors;
+    private final double elapsedSeconds;
+
+    public EndpointMetrics(String name, Histogram histogram, long errors, double elapsedSeconds) {
+        this.name = name;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the latency histogram in microseconds.
+     */
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors;
+    }
+
+    @Override
+    public double getErrorRate() {
+        return getCount() == 0 ? 0 : (double) errors / getCount();
+    }
+
+    @Override
+    public double getThroughput() {
+        return elapsedSeconds <= 0 ? 0 : getCount() / elapsedSeconds;
+    }
+
+    @Override
+    public double getPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    @Override
+    public double getMean() {
+        return histogram.getMean() / 1_000.0;
+    }
+
+    @Override
+    public double getMax() {
+        return histogram.getMaxValue() / 1_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, errors=%d, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                name, getCount(), errors, getPercentile(50), getPercentile(95), getPercentile(99), getMax());
+    }
+}
@@ -0,0 +1,34 @@
+package com.opensourceFramework.utils.performance;
+
+/**
+ * Aggregated latency, error and throughput figures of an endpoint or a load scenario. Latencies are
+ * in milliseconds.
+ */
+public interface LatencyMetrics {
+
+    String getName();
+
+    long getCount();
+
+    long getErrors();
+
+    /**
+     * @return failed calls as a fraction between 0 and 1.
+     */
+    double getErrorRate();
+
+    /**
+     * @return completed calls per second.
+     */
+    double getThroughput();
+
+    /**
+     * @param percentile percentile between 0 and 100, e.g. 95 or 99.9.
+     * @return the latency at the given percentile in milliseconds.
+     */
+    double getPercentile(double percentile);
+
+    double getMean();
+
+    double getMax();
+}
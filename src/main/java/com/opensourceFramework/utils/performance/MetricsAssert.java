@@ -0,0 +1,171 @@
+package com.opensourceFramework.utils.performance;
+
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.opensourceFramework.utils.extentReport.Logger;
+import org.testng.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Run-level limits (percentiles, error rate, throughput) on aggregated metrics. Limits are collected
+ * per scope and evaluated together by {@link #verify()}, so one run reports every violated limit at
+ * once instead of stopping at the first one.
+ */
+public class MetricsAssert {
+
+    private final List<LatencyMetrics> candidates;
+    private final LatencyMetrics total;
+    private final List<String> passed = new ArrayList<>();
+    private final List<String> violations = new ArrayList<>();
+    private LatencyMetrics scope;
+    private String scopeName;
+
+    MetricsAssert(List<LatencyMetrics> candidates, LatencyMetrics total) {
+        this.candidates = candidates;
+        this.total = total;
+        this.scope = total;
+        this.scopeName = total == null ? null : total.getName();
+    }
+
+    /**
+     * Applies the following limits to the load scenario with the given test case name.
+     */
+    public MetricsAssert scenario(String testCaseName) {
+        return scope(testCaseName);
+    }
+
+    /**
+     * Applies the following limits to the endpoint with the given name, e.g. {@code GET /users/{id}}.
+     */
+    public MetricsAssert endpoint(String endpointName) {
+        return scope(endpointName);
+    }
+
+    /**
+     * Applies the following limits to the whole run.
+     */
+    public MetricsAssert total() {
+        if (total == null) {
+            throw new IllegalStateException("These metrics have no run-wide total, pick an endpoint or a scenario");
+        }
+        scope = total;
+        scopeName = total.getName();
+        return this;
+    }
+
+    private MetricsAssert scope(String name) {
+        scopeName = name;
+        scope = null;
+        for (LatencyMetrics metrics : candidates) {
+            if (metrics.getName().equalsIgnoreCase(name)) {
+                scope = metrics;
+                break;
+            }
+        }
+        if (scope == null) {
+            violations.add(String.format("[SLA] %s: no calls recorded", name));
+        }
+        return this;
+    }
+
+    public MetricsAssert p50Below(double limitMillis) {
+        return percentileBelow(50, limitMillis);
+    }
+
+    public MetricsAssert p90Below(double limitMillis) {
+        return percentileBelow(90, limitMillis);
+    }
+
+    public MetricsAssert p95Below(double limitMillis) {
+        return percentileBelow(95, limitMillis);
+    }
+
+    public MetricsAssert p99Below(double limitMillis) {
+        return percentileBelow(99, limitMillis);
+    }
+
+    /**
+     * Requires the latency at the given percentile to be below the limit.
+     *
+     * @param percentile  percentile between 0 and 100.
+     * @param limitMillis limit in milliseconds.
+     */
+    public MetricsAssert percentileBelow(double percentile, double limitMillis) {
+        if (currentScope() != null) {
+            double actual = scope.getPercentile(percentile);
+            check(actual < limitMillis, String.format("[SLA] %s p%s = %.1f ms, expected < %.1f ms",
+                    scopeName, formatPercentile(percentile), actual, limitMillis));
+        }
+        return this;
+    }
+
+    /**
+     * Requires the share of failed calls to be below the limit.
+     *
+     * @param limit fraction between 0 and 1, e.g. 0.01 for 1%.
+     */
+    public MetricsAssert errorRateBelow(double limit) {
+        if (currentScope() != null) {
+            double actual = scope.getErrorRate();
+            check(actual < limit, String.format("[SLA] %s error rate = %.2f%%, expected < %.2f%%",
+                    scopeName, actual * 100, limit * 100));
+        }
+        return this;
+    }
+
+    /**
+     * Requires the completed calls per second to be above the limit.
+     */
+    public MetricsAssert throughputAbove(double limitRps) {
+        if (currentScope() != null) {
+            double actual = scope.getThroughput();
+            check(actual > limitRps, String.format("[SLA] %s throughput = %.1f rps, expected > %.1f rps",
+                    scopeName, actual, limitRps));
+        }
+        return this;
+    }
+
+    /**
+     * Logs every checked limit to the Extent report and fails the test when any limit is violated.
+     */
+    public void verify() {
+        for (String message : passed) {
+            Logger.logPass(message);
+        }
+        for (String message : violations) {
+            Logger.logFail(MarkupHelper.createLabel(message, ExtentColor.RED));
+        }
+        if (!violations.isEmpty()) {
+            Assert.fail(violations.size() + " SLA violation(s):" + System.lineSeparator()
+                    + String.join(System.lineSeparator(), violations));
+        }
+    }
+
+    /**
+     * @return the violations collected so far.
+     */
+    public List<String> getViolations() {
+        return new ArrayList<>(violations);
+    }
+
+    private LatencyMetrics currentScope() {
+        if (scopeName == null) {
+            throw new IllegalStateException("Pick an endpoint or a scenario before adding limits");
+        }
+        return scope;
+    }
+
+    private void check(boolean condition, String message) {
+        if (condition) {
+            passed.add(message);
+        } else {
+            violations.add(message);
+        }
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
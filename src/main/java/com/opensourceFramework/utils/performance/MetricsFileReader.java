@@ -0,0 +1,79 @@
+package com.opensourceFramework.utils.performance;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Streams the records of a file written by {@link MetricsFileWriter}. One {@link ApiCallRecord} is
+ * reused for all lines, so consumers must copy what they keep.
+ */
+public class MetricsFileReader {
+
+    private final File file;
+
+    public MetricsFileReader(File file) {
+        this.file = file;
+    }
+
+    public void forEach(Consumer<ApiCallRecord> consumer) throws IOException {
+        ApiCallRecord record = new ApiCallRecord();
+        try (JsonParser parser = new JsonFactory().createParser(file)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                clear(record);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case MetricsFileWriter.START:
+                            record.setStartEpochMillis(parser.getLongValue());
+                            break;
+                        case MetricsFileWriter.THREAD:
+                            record.setThread(parser.getValueAsString());
+                            break;
+                        case MetricsFileWriter.ENDPOINT:
+                            record.setEndpoint(parser.getValueAsString());
+                            break;
+                        case MetricsFileWriter.METHOD:
+                            record.setMethod(parser.getValueAsString());
+                            break;
+                        case MetricsFileWriter.URL:
+                            record.setUrl(parser.getValueAsString());
+                            break;
+                        case MetricsFileWriter.STATUS:
+                            record.setStatus(parser.getIntValue());
+                            break;
+                        case MetricsFileWriter.LATENCY:
+                            record.setLatencyMicros(parser.getLongValue());
+                            break;
+                        case MetricsFileWriter.ERROR:
+                            record.setError(parser.getValueAsString());
+                            break;
+                        case MetricsFileWriter.CURL:
+                            record.setCurl(parser.getValueAsString());
+                            break;
+                        default:
+                            parser.skipChildren();
+                    }
+                }
+                consumer.accept(record);
+            }
+        }
+    }
+
+    private static void clear(ApiCallRecord record) {
+        record.setStartEpochMillis(0);
+        record.setThread(null);
+        record.setEndpoint(null);
+        record.setMethod(null);
+        record.setUrl(null);
+        record.setStatus(0);
+        record.setLatencyMicros(0);
+        record.setError(null);
+        record.setCurl(null);
+    }
+}
@@ -0,0 +1,184 @@
+package com.opensourceFramework.utils.performance;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Streams every {@link ApiCallRecord} as one JSON object per line, so a report can later be generated
+ * from runs with millions of calls without keeping them in memory.
+ * <p>
+ * Calling threads only queue the record; a background thread writes it. Curl commands are large and expensive to
+ * render, so the writer thread only renders and writes a record's curl while it is among the slowest
+ * {@code slowestN} calls seen so far. The report never shows more than that many curl commands.
+ */
+public class MetricsFileWriter implements ApiCallListener, Closeable {
+
+    static final String START = "t";
+    static final String THREAD = "th";
+    static final String ENDPOINT = "ep";
+    static final String METHOD = "m";
+    static final String URL = "u";
+    static final String STATUS = "s";
+    static final String LATENCY = "l";
+    static final String ERROR = "e";
+    static final String CURL = "c";
+
+    static final int DEFAULT_CAPACITY = 8192;
+
+    private static final ApiCallRecord END = new ApiCallRecord();
+
+    private final File file;
+    private final JsonGenerator generator;
+    private final int slowestN;
+    private final PriorityQueue<Long> slowestLatencies = new PriorityQueue<>();
+    private final BlockingQueue<ApiCallRecord> queue;
+    private final Thread writer;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * @param file     the metrics file, overwritten when it exists.
+     * @param slowestN how many of the slowest calls keep their curl command.
+     */
+    public MetricsFileWriter(File file, int slowestN) throws IOException {
+        this(file, slowestN, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity records queued before calling threads wait for the writer thread.
+     */
+    public MetricsFileWriter(File file, int slowestN, int capacity) throws IOException {
+        this.file = file;
+        this.slowestN = slowestN;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.generator = new JsonFactory().createGenerator(file, JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(null);
+        this.writer = new Thread(this::drain, "api-metrics-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Queues the record for the writer thread; records arriving after {@link #close()} are ignored.
+     *
+     * @throws UncheckedIOException when writing an earlier record failed.
+     */
+    @Override
+    public void onApiCall(ApiCallRecord record) {
+        if (failure != null) {
+            throw new UncheckedIOException("Could not write to metrics file " + file, failure);
+        }
+        if (closed) {
+            return;
+        }
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            ApiCallRecord record;
+            while ((record = queue.take()) != END) {
+                if (failure == null) {
+                    write(record);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(ApiCallRecord record) {
+        String curl = record.hasCurl() && isAmongSlowest(record.getLatencyMicros()) ? record.getCurl() : null;
+        try {
+            synchronized (generator) {
+                generator.writeStartObject();
+                generator.writeNumberField(START, record.getStartEpochMillis());
+                generator.writeStringField(THREAD, record.getThread());
+                generator.writeStringField(ENDPOINT, record.getEndpoint());
+                generator.writeStringField(METHOD, record.getMethod());
+                generator.writeStringField(URL, record.getUrl());
+                generator.writeNumberField(STATUS, record.getStatus());
+                generator.writeNumberField(LATENCY, record.getLatencyMicros());
+                if (record.getError() != null) {
+                    generator.writeStringField(ERROR, record.getError());
+                }
+                if (curl != null) {
+                    generator.writeStringField(CURL, curl);
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Only called by the writer thread.
+     */
+    private boolean isAmongSlowest(long latencyMicros) {
+        if (slowestLatencies.size() < slowestN) {
+            slowestLatencies.add(latencyMicros);
+            return true;
+        }
+        if (slowestN > 0 && latencyMicros > slowestLatencies.peek()) {
+            slowestLatencies.poll();
+            slowestLatencies.add(latencyMicros);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Flushes the records the writer thread has written so far.
+     */
+    public void flush() throws IOException {
+        synchronized (generator) {
+            generator.flush();
+        }
+    }
+
+    /**
+     * Writes the queued records, stops the writer thread and closes the file.
+     *
+     * @throws IOException when writing a record failed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the metrics file " + file, e);
+        } finally {
+            synchronized (generator) {
+                generator.close();
+            }
+        }
+        if (failure != null) {
+            throw new IOException("Could not write to metrics file " + file, failure);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.opensourceFramework.utils.performance;
+
+import com.opensourceFramework.utils.loadTest.LoadRunResult;
+import com.opensourceFramework.utils.loadTest.ScenarioResult;
+import com.opensourceFramework.utils.streaming.StreamMetrics;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of the latency and throughput SLA assertions.
+ *
+ * <pre>
+ *     PerformanceAssert.assertThat(response).timeBelow(300);
+ *
+ *     PerformanceAssert.assertThat(loadRunResult)
+ *             .scenario("createUser").p95Below(200).p99Below(500).errorRateBelow(0.01).throughputAbove(50)
+ *             .total().p99Below(800)
+ *             .verify();
+ *
+ *     PerformanceAssert.assertThatEndpoints()
+ *             .endpoint("GET /users/{id}").p95Below(150)
+ *             .verify();
+ *
+ *     PerformanceAssert.assertThat(streamMetrics)
+ *             .timeToFirstEventBelow(500).gapPercentileBelow(99, 200).eventsPerSecondAbove(10)
+ *             .verify();
+ * </pre>
+ * Violations fail the TestNG test and are logged to the Extent report with the offending value.
+ */
+public class PerformanceAssert {
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private PerformanceAssert() {
+    }
+
+    /**
+     * Starts assertions on the response time of a single call.
+     */
+    public static ResponseTimeAssert assertThat(Response response) {
+        return new ResponseTimeAssert(response);
+    }
+
+    /**
+     * Starts assertions on the scenarios of a load run. Use {@link MetricsAssert#scenario(String)} or
+     * {@link MetricsAssert#total()} to pick the scope of the following limits.
+     */
+    public static MetricsAssert assertThat(LoadRunResult result) {
+        List<LatencyMetrics> metrics = new ArrayList<>();
+        for (ScenarioResult scenario : result.getScenarios()) {
+            metrics.add(scenario);
+        }
+        return new MetricsAssert(metrics, result.getTotal());
+    }
+
+    /**
+     * Starts assertions on one set of metrics, e.g. a single {@link ScenarioResult}.
+     */
+    public static MetricsAssert assertThat(LatencyMetrics metrics) {
+        return new MetricsAssert(List.of(metrics), metrics);
+    }
+
+    /**
+     * Starts assertions on the timing of a streamed call.
+     */
+    public static StreamAssert assertThat(StreamMetrics metrics) {
+        return new StreamAssert(metrics);
+    }
+
+    /**
+     * Starts assertions on the endpoints called through {@code BaseAPIRequest} since the last
+     * {@link ApiMetrics#reset()}. Use {@link MetricsAssert#endpoint(String)} to pick the endpoint.
+     */
+    public static MetricsAssert assertThatEndpoints() {
+        return new MetricsAssert(new ArrayList<>(ApiMetrics.snapshot().values()), null);
+    }
+}
@@ -0,0 +1,300 @@
+package com.opensourceFramework.utils.performance;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Generates the standalone HTML API performance report from a metrics file written by
+ * {@link MetricsFileWriter}. The file is streamed twice (once for the time range, once for the
+ * aggregation), so memory depends on the number of endpoints and chart buckets, not on the number of
+ * calls.
+ */
+public class PerformanceReportGenerator {
+
+    private static final int MAX_BUCKETS = 300;
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+    private static final int CHART_WIDTH = 960;
+    private static final int CHART_HEIGHT = 260;
+    private static final int CHART_PADDING = 50;
+
+    private final int slowestN;
+
+    /**
+     * @param slowestN how many of the slowest calls are listed with their curl command.
+     */
+    public PerformanceReportGenerator(int slowestN) {
+        this.slowestN = slowestN;
+    }
+
+    /**
+     * Reads the metrics file and writes the HTML report.
+     *
+     * @param metricsFile file written by {@link MetricsFileWriter}.
+     * @param reportFile  the HTML report to write.
+     */
+    public void generate(File metricsFile, File reportFile) throws IOException {
+        MetricsFileReader reader = new MetricsFileReader(metricsFile);
+        long[] range = {Long.MAX_VALUE, Long.MIN_VALUE};
+        reader.forEach(record -> {
+            range[0] = Math.min(range[0], record.getStartEpochMillis());
+            range[1] = Math.max(range[1], record.getStartEpochMillis() + record.getLatencyMicros() / 1_000);
+        });
+
+        Aggregation aggregation = new Aggregation(range[0], range[1], slowestN);
+        if (range[0] <= range[1]) {
+            reader.forEach(aggregation::add);
+        }
+        Files.write(reportFile.toPath(), render(aggregation).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class Aggregation {
+
+        private final long startMillis;
+        private final long endMillis;
+        private final long bucketMillis;
+        private final int slowestN;
+        private final Map<String, Histogram> endpoints = new TreeMap<>();
+        private final Map<String, Long> endpointErrors = new TreeMap<>();
+        private final Map<String, Long> errorBreakdown = new TreeMap<>();
+        private final Histogram total = new Histogram(3);
+        private final Histogram[] bucketLatencies;
+        private final long[] bucketErrors;
+        private final PriorityQueue<ApiCallRecord> slowest =
+                new PriorityQueue<>(Comparator.comparingLong(ApiCallRecord::getLatencyMicros));
+        private long errors;
+
+        Aggregation(long startMillis, long endMillis, int slowestN) {
+            this.startMillis = startMillis;
+            this.endMillis = Math.max(startMillis, endMillis);
+            long span = this.endMillis - startMillis + 1;
+            this.bucketMillis = Math.max(1_000, (span + MAX_BUCKETS - 1) / MAX_BUCKETS);
+            int buckets = startMillis > endMillis ? 0 : (int) (span / bucketMillis) + 1;
+            this.bucketLatencies = new Histogram[buckets];
+            this.bucketErrors = new long[buckets];
+            this.slowestN = slowestN;
+        }
+
+        void add(ApiCallRecord record) {
+            long latency = Math.max(1, record.getLatencyMicros());
+            endpoints.computeIfAbsent(record.getEndpoint(), k -> new Histogram(3)).recordValue(latency);
+            total.recordValue(latency);
+            int bucket = (int) ((record.getStartEpochMillis() - startMillis) / bucketMillis);
+            if (bucketLatencies[bucket] == null) {
+                bucketLatencies[bucket] = new Histogram(2);
+            }
+            bucketLatencies[bucket].recordValue(latency);
+            if (record.isFailed()) {
+                errors++;
+                bucketErrors[bucket]++;
+                endpointErrors.merge(record.getEndpoint(), 1L, Long::sum);
+                String cause = record.getError() != null ? record.getError() : "HTTP " + record.getStatus();
+                errorBreakdown.merge(record.getEndpoint() + "\u0000" + cause, 1L, Long::sum);
+            }
+            if (slowestN > 0 && (slowest.size() < slowestN || latency > slowest.peek().getLatencyMicros())) {
+                slowest.add(copy(record));
+                if (slowest.size() > slowestN) {
+                    slowest.poll();
+                }
+            }
+        }
+
+        private static ApiCallRecord copy(ApiCallRecord record) {
+            ApiCallRecord copy = new ApiCallRecord(record.getStartEpochMillis(), record.getThread(),
+                    record.getEndpoint(), record.getMethod(), record.getUrl(), record.getStatus(),
+                    record.getLatencyMicros(), record.getError(), null);
+            copy.setCurl(record.getCurl());
+            return copy;
+        }
+    }
+
+    private String render(Aggregation a) {
+        StringBuilder html = new StringBuilder(64 * 1024);
+        double durationSeconds = a.total.getTotalCount() == 0 ? 0 : (a.endMillis - a.startMillis) / 1_000.0;
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>API Performance Report</title><style>")
+                .append("body{font-family:Arial,Helvetica,sans-serif;margin:24px;color:#222}")
+                .append("table{border-collapse:collapse;margin-bottom:24px}th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}")
+                .append("th{background:#f0f0f0}td.l,th.l{text-align:left}pre{white-space:pre-wrap;word-break:break-all;margin:0;text-align:left;font-size:12px}")
+                .append(".legend span{margin-right:16px}</style></head><body>");
+        html.append("<h1>API Performance Report</h1>");
+        html.append("<p>Generated ").append(escape(formatTime(System.currentTimeMillis(), "dd-MMM-yyyy HH:mm:ss")));
+        if (a.total.getTotalCount() > 0) {
+            html.append(" &middot; run from ").append(formatTime(a.startMillis, "HH:mm:ss"))
+                    .append(" to ").append(formatTime(a.endMillis, "HH:mm:ss"));
+        }
+        html.append("</p>");
+        html.append(String.format("<p>Calls: <b>%d</b> &middot; Errors: <b>%d (%.2f%%)</b> &middot; Throughput: <b>%.1f rps</b></p>",
+                a.total.getTotalCount(), a.errors, percentage(a.errors, a.total.getTotalCount()),
+                durationSeconds <= 0 ? 0 : a.total.getTotalCount() / durationSeconds));
+
+        html.append("<h2>Latency percentiles per endpoint (ms)</h2><table><tr><th class=\"l\">Endpoint</th><th>Calls</th><th>Errors</th><th>rps</th><th>Mean</th>");
+        for (double p : PERCENTILES) {
+            html.append("<th>p").append(formatPercentile(p)).append("</th>");
+        }
+        html.append("<th>Max</th></tr>");
+        for (Map.Entry<String, Histogram> entry : a.endpoints.entrySet()) {
+            endpointRow(html, entry.getKey(), entry.getValue(), a.endpointErrors.getOrDefault(entry.getKey(), 0L), durationSeconds);
+        }
+        endpointRow(html, "ALL", a.total, a.errors, durationSeconds);
+        html.append("</table>");
+
+        int buckets = a.bucketLatencies.length;
+        double[] p50 = new double[buckets];
+        double[] p95 = new double[buckets];
+        double[] p99 = new double[buckets];
+        double[] rps = new double[buckets];
+        double[] errorsPerSecond = new double[buckets];
+        for (int i = 0; i < buckets; i++) {
+            Histogram h = a.bucketLatencies[i];
+            if (h != null) {
+                p50[i] = h.getValueAtPercentile(50) / 1_000.0;
+                p95[i] = h.getValueAtPercentile(95) / 1_000.0;
+                p99[i] = h.getValueAtPercentile(99) / 1_000.0;
+                rps[i] = h.getTotalCount() * 1_000.0 / a.bucketMillis;
+            }
+            errorsPerSecond[i] = a.bucketErrors[i] * 1_000.0 / a.bucketMillis;
+        }
+        html.append("<h2>Latency over time (ms)</h2>");
+        chart(html, a, new double[][]{p50, p95, p99}, new String[]{"p50", "p95", "p99"}, new String[]{"#2b8a3e", "#e67700", "#c92a2a"});
+        html.append("<h2>Throughput over time (calls/s)</h2>");
+        chart(html, a, new double[][]{rps, errorsPerSecond}, new String[]{"calls/s", "errors/s"}, new String[]{"#1c7ed6", "#c92a2a"});
+
+        html.append("<h2>Error breakdown</h2>");
+        if (a.errorBreakdown.isEmpty()) {
+            html.append("<p>No errors.</p>");
+        } else {
+            html.append("<table><tr><th class=\"l\">Endpoint</th><th class=\"l\">Cause</th><th>Count</th></tr>");
+            for (Map.Entry<String, Long> entry : a.errorBreakdown.entrySet()) {
+                String[] key = entry.getKey().split("\u0000", 2);
+                html.append("<tr><td class=\"l\">").append(escape(key[0])).append("</td><td class=\"l\">").append(escape(key[1]))
+                        .append("</td><td>").append(entry.getValue()).append("</td></tr>");
+            }
+            html.append("</table>");
+        }
+
+        List<ApiCallRecord> slowest = new ArrayList<>(a.slowest);
+        slowest.sort(Comparator.comparingLong(ApiCallRecord::getLatencyMicros).reversed());
+        html.append("<h2>Slowest ").append(slowest.size()).append(" calls</h2>");
+        html.append("<table><tr><th class=\"l\">Start</th><th class=\"l\">Endpoint</th><th>Status</th><th>Latency ms</th><th class=\"l\">Thread</th><th class=\"l\">curl</th></tr>");
+        for (ApiCallRecord record : slowest) {
+            html.append("<tr><td class=\"l\">").append(formatTime(record.getStartEpochMillis(), "HH:mm:ss.SSS"))
+                    .append("</td><td class=\"l\">").append(escape(record.getEndpoint()))
+                    .append("</td><td>").append(record.getError() != null ? escape(record.getError()) : String.valueOf(record.getStatus()))
+                    .append("</td><td>").append(String.format("%.1f", record.getLatencyMicros() / 1_000.0))
+                    .append("</td><td class=\"l\">").append(escape(record.getThread()))
+                    .append("</td><td class=\"l\"><pre>").append(escape(record.getCurl() == null ? "" : record.getCurl()))
+                    .append("</pre></td></tr>");
+        }
+        html.append("</table></body></html>");
+        return html.toString();
+    }
+
+    private static void endpointRow(StringBuilder html, String name, Histogram histogram, long errors, double durationSeconds) {
+        html.append("<tr><td class=\"l\">").append(escape(name)).append("</td><td>").append(histogram.getTotalCount())
+                .append("</td><td>").append(errors)
+                .append("</td><td>").append(String.format("%.1f", durationSeconds <= 0 ? 0 : histogram.getTotalCount() / durationSeconds))
+                .append("</td><td>").append(String.format("%.1f", histogram.getMean() / 1_000.0)).append("</td>");
+        for (double p : PERCENTILES) {
+            html.append("<td>").append(String.format("%.1f", histogram.getValueAtPercentile(p) / 1_000.0)).append("</td>");
+        }
+        html.append("<td>").append(String.format("%.1f", histogram.getMaxValue() / 1_000.0)).append("</td></tr>");
+    }
+
+    /**
+     * Renders the series as an inline SVG line chart, one point per time bucket.
+     */
+    private static void chart(StringBuilder html, Aggregation a, double[][] series, String[] labels, String[] colors) {
+        int buckets = a.bucketLatencies.length;
+        if (buckets == 0) {
+            html.append("<p>No calls recorded.</p>");
+            return;
+        }
+        double max = 0;
+        for (double[] values : series) {
+            for (double value : values) {
+                max = Math.max(max, value);
+            }
+        }
+        max = max == 0 ? 1 : max * 1.1;
+        int plotWidth = CHART_WIDTH - 2 * CHART_PADDING;
+        int plotHeight = CHART_HEIGHT - 2 * CHART_PADDING;
+        html.append("<svg width=\"").append(CHART_WIDTH).append("\" height=\"").append(CHART_HEIGHT)
+                .append("\" xmlns=\"http://www.w3.org/2000/svg\" font-size=\"11\">");
+        for (int i = 0; i <= 4; i++) {
+            double y = CHART_PADDING + plotHeight - plotHeight * i / 4.0;
+            html.append(String.format("<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#e0e0e0\"/>",
+                    CHART_PADDING, y, CHART_PADDING + plotWidth, y));
+            html.append(String.format("<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%.1f</text>", CHART_PADDING - 4, y + 4, max * i / 4));
+        }
+        for (int i = 0; i < 3; i++) {
+            int bucket = (buckets - 1) * i / 2;
+            double x = CHART_PADDING + (buckets == 1 ? 0 : plotWidth * (double) bucket / (buckets - 1));
+            html.append(String.format("<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>", x,
+                    CHART_HEIGHT - CHART_PADDING + 16, formatTime(a.startMillis + bucket * a.bucketMillis, "HH:mm:ss")));
+        }
+        for (int s = 0; s < series.length; s++) {
+            html.append("<polyline fill=\"none\" stroke-width=\"1.5\" stroke=\"").append(colors[s]).append("\" points=\"");
+            for (int i = 0; i < buckets; i++) {
+                double x = CHART_PADDING + (buckets == 1 ? 0 : plotWidth * (double) i / (buckets - 1));
+                double y = CHART_PADDING + plotHeight - plotHeight * series[s][i] / max;
+                html.append(String.format("%.1f,%.1f ", x, y));
+            }
+            html.append("\"/>");
+        }
+        html.append("</svg><div class=\"legend\">");
+        for (int s = 0; s < series.length; s++) {
+            html.append("<span style=\"color:").append(colors[s]).append("\">&#9632; ").append(labels[s]).append("</span>");
+        }
+        html.append("<span>bucket ").append(a.bucketMillis / 1_000.0).append(" s</span></div>");
+    }
+
+    private static double percentage(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static String formatTime(long epochMillis, String pattern) {
+        return new SimpleDateFormat(pattern).format(new Date(epochMillis));
+    }
+
+    private static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
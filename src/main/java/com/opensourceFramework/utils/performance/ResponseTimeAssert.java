@@ -0,0 +1,42 @@
+package com.opensourceFramework.utils.performance;
+
+import com.opensourceFramework.utils.extentReport.Logger;
+import io.restassured.response.Response;
+import org.testng.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-call latency limit on a REST-assured {@link Response}.
+ */
+public class ResponseTimeAssert {
+
+    private final Response response;
+
+    ResponseTimeAssert(Response response) {
+        this.response = response;
+    }
+
+    /**
+     * Fails the test when the response took the given number of milliseconds or longer.
+     */
+    public ResponseTimeAssert timeBelow(long limitMillis) {
+        return timeBelow(limitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Fails the test when the response took the given time or longer.
+     */
+    public ResponseTimeAssert timeBelow(long limit, TimeUnit unit) {
+        long actual = response.getTimeIn(unit);
+        String message = String.format("[SLA] response time = %d %s, expected < %d %s", actual,
+                unit.name().toLowerCase(), limit, unit.name().toLowerCase());
+        if (actual < limit) {
+            Logger.logPass(message);
+        } else {
+            Logger.logFail(message);
+            Assert.fail(message);
+        }
+        return this;
+    }
+}
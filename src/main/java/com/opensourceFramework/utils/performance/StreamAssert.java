@@ -0,0 +1,111 @@
+package com.opensourceFramework.utils.performance;
+
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.opensourceFramework.utils.extentReport.Logger;
+import com.opensourceFramework.utils.streaming.StreamMetrics;
+import org.testng.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits on the timing of a streamed call. Like {@link MetricsAssert}, the limits are collected and evaluated
+ * together by {@link #verify()}.
+ */
+public class StreamAssert {
+
+    private final StreamMetrics metrics;
+    private final List<String> passed = new ArrayList<>();
+    private final List<String> violations = new ArrayList<>();
+
+    StreamAssert(StreamMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Requires the response headers to arrive within the limit.
+     */
+    public StreamAssert timeToFirstByteBelow(double limitMillis) {
+        double actual = metrics.getTimeToFirstByte();
+        check(actual >= 0 && actual < limitMillis, String.format("[SLA] %s time to first byte = %.1f ms, expected < %.1f ms",
+                metrics.getName(), actual, limitMillis));
+        return this;
+    }
+
+    /**
+     * Requires the first event to arrive within the limit.
+     */
+    public StreamAssert timeToFirstEventBelow(double limitMillis) {
+        double actual = metrics.getTimeToFirstEvent();
+        check(actual >= 0 && actual < limitMillis, String.format("[SLA] %s time to first event = %.1f ms, expected < %.1f ms",
+                metrics.getName(), actual, limitMillis));
+        return this;
+    }
+
+    /**
+     * Requires the gap between consecutive events at the given percentile to be below the limit.
+     */
+    public StreamAssert gapPercentileBelow(double percentile, double limitMillis) {
+        double actual = metrics.getGapPercentile(percentile);
+        check(actual < limitMillis, String.format("[SLA] %s p%s event gap = %.1f ms, expected < %.1f ms",
+                metrics.getName(), percentile == Math.rint(percentile) ? String.valueOf((long) percentile)
+                        : String.valueOf(percentile), actual, limitMillis));
+        return this;
+    }
+
+    /**
+     * Requires every gap between consecutive events to be below the limit.
+     */
+    public StreamAssert maxGapBelow(double limitMillis) {
+        double actual = metrics.getMaxGap();
+        check(actual < limitMillis, String.format("[SLA] %s max event gap = %.1f ms, expected < %.1f ms",
+                metrics.getName(), actual, limitMillis));
+        return this;
+    }
+
+    public StreamAssert eventsPerSecondAbove(double limit) {
+        double actual = metrics.getEventsPerSecond();
+        check(actual > limit, String.format("[SLA] %s event rate = %.1f events/s, expected > %.1f events/s",
+                metrics.getName(), actual, limit));
+        return this;
+    }
+
+    public StreamAssert eventCountAtLeast(long minimum) {
+        long actual = metrics.getEventCount();
+        check(actual >= minimum, String.format("[SLA] %s events = %d, expected >= %d", metrics.getName(), actual,
+                minimum));
+        return this;
+    }
+
+    /**
+     * Logs every checked limit to the Extent report and fails the test when any limit is violated.
+     */
+    public void verify() {
+        for (String message : passed) {
+            Logger.logPass(message);
+        }
+        for (String message : violations) {
+            Logger.logFail(MarkupHelper.createLabel(message, ExtentColor.RED));
+        }
+        if (!violations.isEmpty()) {
+            Assert.fail(violations.size() + " SLA violation(s):" + System.lineSeparator()
+                    + String.join(System.lineSeparator(), violations));
+        }
+    }
+
+    /**
+     * @return the violations collected so far.
+     */
+    public List<String> getViolations() {
+        return new ArrayList<>(violations);
+    }
+
+    private void check(boolean condition, String message) {
+        if (condition) {
+            passed.add(message);
+        } else {
+            violations.add(message);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.opensourceFramework.utils.performance.baseline;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Append-only history of run summaries, one JSON line per run and one file per project. Appends take a
+ * file lock so that parallel CI jobs of the same project do not interleave their lines.
+ */
+public class BaselineStore {
+
+    private static final Logger log = LogManager.getLogger(BaselineStore.class.getName());
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final File file;
+
+    public BaselineStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the history file of a project inside the given directory.
+     */
+    public static BaselineStore forProject(File directory, String projectName) {
+        return new BaselineStore(new File(directory, projectName.replaceAll("[^A-Za-z0-9._-]", "_") + ".jsonl"));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Appends one run to the history.
+     */
+    public void append(RunRecord run) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        byte[] line = (mapper.writeValueAsString(run) + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            FileLock lock = channel.lock();
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Reads the most recent runs, oldest first. Lines that cannot be parsed, e.g. a line cut short by a
+     * killed build, are skipped.
+     *
+     * @param limit maximum number of runs to return.
+     */
+    public List<RunRecord> readLatest(int limit) throws IOException {
+        Deque<RunRecord> latest = new ArrayDeque<>(limit);
+        if (!file.isFile() || limit <= 0) {
+            return new ArrayList<>(latest);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    RunRecord run = mapper.readValue(line, RunRecord.class);
+                    if (latest.size() == limit) {
+                        latest.removeFirst();
+                    }
+                    latest.addLast(run);
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable line in " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        return new ArrayList<>(latest);
+    }
+}
@@ -0,0 +1,112 @@
+package com.opensourceFramework.utils.performance.baseline;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.opensourceFramework.utils.performance.EndpointMetrics;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummaryValues;
+
+/**
+ * Latency summary of one endpoint in one run, as kept in the history file. Besides the usual percentiles
+ * it keeps the mean and variance of the natural log of the latency in milliseconds; latencies are right
+ * skewed, and the statistical tests of {@link RegressionDetector} work on the log scale.
+ */
+public class EndpointSummary {
+
+    @JsonProperty("n")
+    private long count;
+    @JsonProperty("e")
+    private long errors;
+    @JsonProperty("lm")
+    private double logMean;
+    @JsonProperty("lv")
+    private double logVariance;
+    @JsonProperty("p50")
+    private double p50;
+    @JsonProperty("p95")
+    private double p95;
+    @JsonProperty("p99")
+    private double p99;
+
+    public EndpointSummary() {
+    }
+
+    public EndpointSummary(long count, long errors, double logMean, double logVariance, double p50, double p95,
+                           double p99) {
+        this.count = count;
+        this.errors = errors;
+        this.logMean = logMean;
+        this.logVariance = logVariance;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    /**
+     * Summarises the latency histogram (in microseconds) of an endpoint.
+     */
+    public static EndpointSummary of(EndpointMetrics metrics) {
+        Histogram histogram = metrics.getHistogram();
+        long count = 0;
+        double mean = 0;
+        double m2 = 0;
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            long weight = value.getCountAddedInThisIterationStep();
+            double x = Math.log(histogram.medianEquivalentValue(value.getValueIteratedTo()) / 1_000.0);
+            long newCount = count + weight;
+            double delta = x - mean;
+            mean += delta * weight / newCount;
+            m2 += delta * (x - mean) * weight;
+            count = newCount;
+        }
+        double variance = count > 1 ? m2 / (count - 1) : 0;
+        return new EndpointSummary(count, metrics.getErrors(), mean, variance, metrics.getPercentile(50),
+                metrics.getPercentile(95), metrics.getPercentile(99));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getLogMean() {
+        return logMean;
+    }
+
+    public double getLogVariance() {
+        return logVariance;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    /**
+     * @return the geometric mean latency in milliseconds.
+     */
+    @JsonIgnore
+    public double getGeometricMean() {
+        return Math.exp(logMean);
+    }
+
+    /**
+     * @return the log latency figures in the form expected by the commons-math tests.
+     */
+    @JsonIgnore
+    public StatisticalSummary getLogSummary() {
+        return new StatisticalSummaryValues(logMean, logVariance, count, Double.NaN, Double.NaN, count * logMean);
+    }
+}
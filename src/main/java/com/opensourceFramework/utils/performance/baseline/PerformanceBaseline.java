@@ -0,0 +1,119 @@
+package com.opensourceFramework.utils.performance.baseline;
+
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.opensourceFramework.constants.Constants;
+import com.opensourceFramework.utils.extentReport.ExtentManager;
+import com.opensourceFramework.utils.extentReport.Logger;
+import com.opensourceFramework.utils.performance.ApiMetrics;
+import com.opensourceFramework.utils.performance.EndpointMetrics;
+import org.apache.logging.log4j.LogManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Run-over-run latency baseline. At the end of a run {@code ServerReporterPath.createReportLinks()} compares
+ * the per-endpoint latencies recorded in {@link ApiMetrics} against the last runs of the project, appends the
+ * run to the project's history file and flags significant regressions in the Extent report.
+ */
+public class PerformanceBaseline {
+
+    public static final String HISTORY_DIRECTORY = Constants.PROJECTPATH + File.separator + "reports"
+            + File.separator + ".perf-history";
+
+    private static final org.apache.logging.log4j.Logger log = LogManager.getLogger(PerformanceBaseline.class.getName());
+    private static File directory = new File(HISTORY_DIRECTORY);
+    private static int windowSize = 10;
+    private static RegressionDetector detector = new RegressionDetector();
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private PerformanceBaseline() {
+    }
+
+    /**
+     * Sets the directory holding the history files, {@value #HISTORY_DIRECTORY} by default. Point it to a
+     * persistent location when the workspace is wiped between CI builds.
+     */
+    public static void setDirectory(File directory) {
+        PerformanceBaseline.directory = directory;
+    }
+
+    /**
+     * Sets how many of the latest runs form the rolling baseline, 10 by default.
+     */
+    public static void setWindowSize(int windowSize) {
+        PerformanceBaseline.windowSize = windowSize;
+    }
+
+    public static void setDetector(RegressionDetector detector) {
+        PerformanceBaseline.detector = detector;
+    }
+
+    /**
+     * Compares the API calls of this run against the baseline, records the run in the history and reports
+     * the outcome in the Extent report.
+     *
+     * @param projectName name of the history file.
+     * @param runName     name of the run, e.g. the report folder.
+     * @return the regressions found, empty when there are none or nothing was recorded.
+     */
+    public static synchronized List<Regression> compareAndRecord(String projectName, String runName) {
+        Map<String, EndpointSummary> endpoints = new LinkedHashMap<>();
+        for (EndpointMetrics metrics : ApiMetrics.snapshot().values()) {
+            if (metrics.getCount() > 0) {
+                endpoints.put(metrics.getName(), EndpointSummary.of(metrics));
+            }
+        }
+        if (endpoints.isEmpty()) {
+            return Collections.emptyList();
+        }
+        RunRecord run = new RunRecord(runName, System.currentTimeMillis(), endpoints);
+        BaselineStore store = BaselineStore.forProject(directory, projectName);
+        List<RunRecord> baseline;
+        List<Regression> regressions;
+        try {
+            baseline = store.readLatest(windowSize);
+            regressions = detector.detect(run, baseline);
+            store.append(run);
+        } catch (IOException e) {
+            log.error("Could not update the performance history " + store.getFile(), e);
+            return Collections.emptyList();
+        }
+        report(regressions, baseline.size());
+        return regressions;
+    }
+
+    private static void report(List<Regression> regressions, int baselineRuns) {
+        regressions.forEach(regression -> log.warn("Performance regression: " + regression));
+        if (!ExtentManager.hasInstance()) {
+            return;
+        }
+        if (regressions.isEmpty()) {
+            ExtentManager.addSystemInfo("API Performance Baseline", MarkupHelper.createLabel(
+                    "No regression against the last " + baselineRuns + " runs", ExtentColor.GREEN).getMarkup());
+            return;
+        }
+        ExtentManager.addSystemInfo("API Performance Baseline", MarkupHelper.createLabel(
+                regressions.size() + " regression(s) against the last " + baselineRuns + " runs",
+                ExtentColor.RED).getMarkup());
+        String[][] table = new String[regressions.size() + 1][];
+        table[0] = new String[]{"Endpoint", "Metric", "Baseline", "Current", "p-value"};
+        for (int i = 0; i < regressions.size(); i++) {
+            Regression regression = regressions.get(i);
+            table[i + 1] = new String[]{regression.getEndpoint(), regression.getMetric(),
+                    String.format("%.3f", regression.getBaseline()), String.format("%.3f", regression.getCurrent()),
+                    String.format("%.2g", regression.getPValue())};
+        }
+        ExtentManager.createTest("API Performance Regressions",
+                "Endpoints significantly slower or failing more often than in the last " + baselineRuns + " runs");
+        Logger.logFail(MarkupHelper.createTable(table));
+        ExtentManager.flush();
+    }
+}
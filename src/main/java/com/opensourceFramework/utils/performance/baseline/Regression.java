@@ -0,0 +1,56 @@
+package com.opensourceFramework.utils.performance.baseline;
+
+/**
+ * A statistically significant degradation of one endpoint against the baseline.
+ */
+public class Regression {
+
+    public static final String LATENCY = "latency (geometric mean ms)";
+    public static final String ERROR_RATE = "error rate";
+
+    private final String endpoint;
+    private final String metric;
+    private final double baseline;
+    private final double current;
+    private final double pValue;
+
+    public Regression(String endpoint, String metric, double baseline, double current, double pValue) {
+        this.endpoint = endpoint;
+        this.metric = metric;
+        this.baseline = baseline;
+        this.current = current;
+        this.pValue = pValue;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return {@link #LATENCY} or {@link #ERROR_RATE}.
+     */
+    public String getMetric() {
+        return metric;
+    }
+
+    public double getBaseline() {
+        return baseline;
+    }
+
+    public double getCurrent() {
+        return current;
+    }
+
+    /**
+     * @return the largest p-value of the tests that flagged the regression.
+     */
+    public double getPValue() {
+        return pValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: baseline=%.3f, current=%.3f, p=%.2g", endpoint, metric, baseline, current,
+                pValue);
+    }
+}
@@ -0,0 +1,179 @@
+package com.opensourceFramework.utils.performance.baseline;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummaryValues;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.apache.commons.math3.stat.inference.TTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a run against the previous runs of the same project. An endpoint is flagged only when both
+ * one-sided tests agree at the significance level:
+ * <ul>
+ *     <li>the calls of the run against the pooled calls of the baseline runs (Welch's t-test on log latency,
+ *     two-proportion z-test on the error rate), and</li>
+ *     <li>the run against the run-to-run spread of the baseline (upper prediction interval of the per-run
+ *     log mean or error rate), so that a large number of calls alone does not turn noise into a regression.</li>
+ * </ul>
+ * The significance level is divided by the number of compared endpoints (Bonferroni), keeping the chance of
+ * a false alarm per run at the configured level.
+ */
+public class RegressionDetector {
+
+    private double alpha = 0.01;
+    private int minBaselineRuns = 3;
+    private long minSamples = 5;
+
+    /**
+     * Sets the significance level of a run, 0.01 by default.
+     */
+    public RegressionDetector setAlpha(double alpha) {
+        if (alpha <= 0 || alpha >= 1) {
+            throw new IllegalArgumentException("alpha must be between 0 and 1: " + alpha);
+        }
+        this.alpha = alpha;
+        return this;
+    }
+
+    /**
+     * Sets how many earlier runs of an endpoint are needed before it is compared, 3 by default.
+     */
+    public RegressionDetector setMinBaselineRuns(int minBaselineRuns) {
+        if (minBaselineRuns < 2) {
+            throw new IllegalArgumentException("At least 2 baseline runs are needed: " + minBaselineRuns);
+        }
+        this.minBaselineRuns = minBaselineRuns;
+        return this;
+    }
+
+    /**
+     * Sets the minimum number of calls of an endpoint in a run for the run to be compared or used as
+     * baseline, 5 by default.
+     */
+    public RegressionDetector setMinSamples(long minSamples) {
+        this.minSamples = Math.max(2, minSamples);
+        return this;
+    }
+
+    /**
+     * @param current  the run to check.
+     * @param baseline earlier runs of the project.
+     * @return the regressions of the run, empty when there are none or too little history.
+     */
+    public List<Regression> detect(RunRecord current, List<RunRecord> baseline) {
+        List<String> names = new ArrayList<>();
+        List<EndpointSummary> currents = new ArrayList<>();
+        List<List<EndpointSummary>> histories = new ArrayList<>();
+        for (Map.Entry<String, EndpointSummary> entry : current.getEndpoints().entrySet()) {
+            List<EndpointSummary> history = history(entry.getKey(), baseline);
+            if (entry.getValue().getCount() >= minSamples && history.size() >= minBaselineRuns) {
+                names.add(entry.getKey());
+                currents.add(entry.getValue());
+                histories.add(history);
+            }
+        }
+        double threshold = alpha / Math.max(1, names.size());
+        List<Regression> regressions = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            EndpointSummary now = currents.get(i);
+            List<EndpointSummary> history = histories.get(i);
+
+            StatisticalSummary pooled = poolLogLatency(history);
+            double[] runMeans = history.stream().mapToDouble(EndpointSummary::getLogMean).toArray();
+            double latencyP = Math.max(welchPValue(now.getLogSummary(), pooled),
+                    predictionPValue(runMeans, now.getLogMean()));
+            if (latencyP < threshold) {
+                regressions.add(new Regression(names.get(i), Regression.LATENCY, Math.exp(pooled.getMean()),
+                        now.getGeometricMean(), latencyP));
+            }
+
+            long baselineErrors = history.stream().mapToLong(EndpointSummary::getErrors).sum();
+            long baselineCount = history.stream().mapToLong(EndpointSummary::getCount).sum();
+            double[] runErrorRates = history.stream()
+                    .mapToDouble(summary -> (double) summary.getErrors() / summary.getCount()).toArray();
+            double errorRate = (double) now.getErrors() / now.getCount();
+            double errorP = Math.max(proportionPValue(baselineErrors, baselineCount, now.getErrors(), now.getCount()),
+                    predictionPValue(runErrorRates, errorRate));
+            if (errorP < threshold) {
+                regressions.add(new Regression(names.get(i), Regression.ERROR_RATE,
+                        (double) baselineErrors / baselineCount, errorRate, errorP));
+            }
+        }
+        return regressions;
+    }
+
+    private List<EndpointSummary> history(String endpoint, List<RunRecord> baseline) {
+        List<EndpointSummary> history = new ArrayList<>();
+        for (RunRecord run : baseline) {
+            EndpointSummary summary = run.getEndpoints().get(endpoint);
+            if (summary != null && summary.getCount() >= minSamples) {
+                history.add(summary);
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Combines the per-run log latency figures as if all calls had been made in one run.
+     */
+    private static StatisticalSummary poolLogLatency(List<EndpointSummary> history) {
+        long count = 0;
+        double sum = 0;
+        for (EndpointSummary summary : history) {
+            count += summary.getCount();
+            sum += summary.getCount() * summary.getLogMean();
+        }
+        double mean = sum / count;
+        double squares = 0;
+        for (EndpointSummary summary : history) {
+            double delta = summary.getLogMean() - mean;
+            squares += (summary.getCount() - 1) * summary.getLogVariance() + summary.getCount() * delta * delta;
+        }
+        return new StatisticalSummaryValues(mean, squares / (count - 1), count, Double.NaN, Double.NaN, sum);
+    }
+
+    /**
+     * @return the one-sided p-value of the current mean being higher than the baseline mean.
+     */
+    private static double welchPValue(StatisticalSummary current, StatisticalSummary baseline) {
+        if (current.getVariance() + baseline.getVariance() == 0) {
+            return current.getMean() > baseline.getMean() ? 0 : 1;
+        }
+        double twoSided = new TTest().tTest(current, baseline);
+        return current.getMean() > baseline.getMean() ? twoSided / 2 : 1 - twoSided / 2;
+    }
+
+    /**
+     * @return the one-sided p-value of a new run value lying above the values of the earlier runs.
+     */
+    private static double predictionPValue(double[] runValues, double current) {
+        SummaryStatistics statistics = new SummaryStatistics();
+        for (double value : runValues) {
+            statistics.addValue(value);
+        }
+        double spread = statistics.getStandardDeviation();
+        if (spread == 0) {
+            return current > statistics.getMean() ? 0 : 1;
+        }
+        double t = (current - statistics.getMean()) / (spread * Math.sqrt(1 + 1.0 / runValues.length));
+        return 1 - new TDistribution(runValues.length - 1).cumulativeProbability(t);
+    }
+
+    /**
+     * @return the one-sided p-value of the current error rate being higher than the baseline error rate.
+     */
+    private static double proportionPValue(long baselineErrors, long baselineCount, long errors, long count) {
+        double pooled = (double) (baselineErrors + errors) / (baselineCount + count);
+        if (pooled == 0 || pooled == 1) {
+            return 1;
+        }
+        double difference = (double) errors / count - (double) baselineErrors / baselineCount;
+        double z = difference / Math.sqrt(pooled * (1 - pooled) * (1.0 / count + 1.0 / baselineCount));
+        return 1 - new NormalDistribution().cumulativeProbability(z);
+    }
+}
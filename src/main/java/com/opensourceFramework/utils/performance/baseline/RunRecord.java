@@ -0,0 +1,43 @@
+package com.opensourceFramework.utils.performance.baseline;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One line of the history file: the per-endpoint latency summaries of a run.
+ */
+public class RunRecord {
+
+    @JsonProperty("run")
+    private String run;
+    @JsonProperty("t")
+    private long timestamp;
+    @JsonProperty("ep")
+    private Map<String, EndpointSummary> endpoints = new LinkedHashMap<>();
+
+    public RunRecord() {
+    }
+
+    public RunRecord(String run, long timestamp, Map<String, EndpointSummary> endpoints) {
+        this.run = run;
+        this.timestamp = timestamp;
+        this.endpoints = endpoints;
+    }
+
+    public String getRun() {
+        return run;
+    }
+
+    /**
+     * @return the end of the run in epoch milliseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, EndpointSummary> getEndpoints() {
+        return endpoints;
+    }
+}
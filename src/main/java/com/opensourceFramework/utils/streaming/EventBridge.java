@@ -0,0 +1,155 @@
+package com.opensourceFramework.utils.streaming;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Sits between the line subscriber of the HTTP client and the event subscriber of the test. Lines are
+ * requested one at a time and only while the test has outstanding demand, so a slow subscriber leaves the
+ * rest of the body in the socket buffers instead of in memory.
+ */
+class EventBridge implements Flow.Subscriber<String>, Flow.Subscription {
+
+    private final Flow.Subscriber<? super StreamEvent> downstream;
+    private final EventParser parser;
+    private final StreamMetrics metrics;
+    private final Consumer<Throwable> onEnd;
+    private final AtomicInteger pulling = new AtomicInteger();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private Flow.Subscription upstream;
+    private long demand;
+    private boolean lineRequested;
+    private volatile boolean cancelled;
+
+    /**
+     * @param onEnd called once when the stream completes, fails or is cancelled; with the failure or {@code null}.
+     */
+    EventBridge(Flow.Subscriber<? super StreamEvent> downstream, StreamFormat format, StreamMetrics metrics,
+                Consumer<Throwable> onEnd) {
+        this.downstream = downstream;
+        this.parser = new EventParser(format);
+        this.metrics = metrics;
+        this.onEnd = onEnd;
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Requested a non-positive number of events: " + n));
+            return;
+        }
+        synchronized (this) {
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+        pull();
+    }
+
+    @Override
+    public void cancel() {
+        Flow.Subscription subscription;
+        synchronized (this) {
+            cancelled = true;
+            subscription = upstream;
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        if (terminated.compareAndSet(false, true)) {
+            onEnd.accept(null);
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        boolean cancelNow;
+        synchronized (this) {
+            upstream = subscription;
+            cancelNow = cancelled;
+        }
+        if (cancelNow) {
+            subscription.cancel();
+            return;
+        }
+        pull();
+    }
+
+    @Override
+    public void onNext(String line) {
+        long now = System.nanoTime();
+        StreamEvent event = parser.accept(line, now - metrics.getStartNanos());
+        synchronized (this) {
+            lineRequested = false;
+            if (event != null) {
+                demand--;
+            }
+        }
+        if (event != null && !cancelled) {
+            metrics.onEvent(now);
+            downstream.onNext(event);
+        }
+        pull();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        terminate(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        terminate(null);
+    }
+
+    /**
+     * Ends the stream with a failure that did not come from the line subscriber, e.g. a refused connection.
+     */
+    void fail(Throwable throwable) {
+        Flow.Subscription subscription;
+        synchronized (this) {
+            subscription = upstream;
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        terminate(throwable);
+    }
+
+    private void terminate(Throwable error) {
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
+        onEnd.accept(error);
+        if (cancelled) {
+            return;
+        }
+        if (error == null) {
+            downstream.onComplete();
+        } else {
+            downstream.onError(error);
+        }
+    }
+
+    /**
+     * Requests the next line when there is demand. The loop instead of recursion keeps the stack flat when
+     * the HTTP client delivers the line from within {@code request}.
+     */
+    private void pull() {
+        if (pulling.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            Flow.Subscription subscription = null;
+            synchronized (this) {
+                if (upstream != null && demand > 0 && !lineRequested && !cancelled && !terminated.get()) {
+                    lineRequested = true;
+                    subscription = upstream;
+                }
+            }
+            if (subscription != null) {
+                subscription.request(1);
+            }
+        } while (pulling.decrementAndGet() != 0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.opensourceFramework.utils.streaming;
+
+/**
+ * Turns the lines of a streamed body into events, following the WHATWG rules for Server-Sent Events: fields
+ * are collected until a blank line, {@code data:} lines are joined with a newline, comment lines starting with
+ * a colon are ignored and the last event id carries over to the following events.
+ */
+class EventParser {
+
+    private final StreamFormat format;
+    private final StringBuilder data = new StringBuilder();
+    private boolean hasData;
+    private boolean firstLine = true;
+    private String type;
+    private String lastEventId;
+    private long index;
+
+    EventParser(StreamFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * @return the event completed by the line, or {@code null}.
+     */
+    StreamEvent accept(String line, long offsetNanos) {
+        if (firstLine) {
+            firstLine = false;
+            if (line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+        }
+        if (format == StreamFormat.JSON_LINES) {
+            return line.isBlank() ? null : new StreamEvent(index++, null, null, line, offsetNanos);
+        }
+        if (line.isEmpty()) {
+            return dispatch(offsetNanos);
+        }
+        if (line.charAt(0) == ':') {
+            return null;
+        }
+        int colon = line.indexOf(':');
+        String field = colon < 0 ? line : line.substring(0, colon);
+        String value = colon < 0 ? "" : line.substring(colon + 1);
+        if (value.startsWith(" ")) {
+            value = value.substring(1);
+        }
+        switch (field) {
+            case "data":
+                if (hasData) {
+                    data.append('\n');
+                }
+                data.append(value);
+                hasData = true;
+                break;
+            case "event":
+                type = value;
+                break;
+            case "id":
+                if (value.indexOf('\0') < 0) {
+                    lastEventId = value;
+                }
+                break;
+            default:
+                // retry and unknown fields do not affect the events
+                break;
+        }
+        return null;
+    }
+
+    private StreamEvent dispatch(long offsetNanos) {
+        StreamEvent event = null;
+        if (hasData) {
+            event = new StreamEvent(index++, type == null || type.isEmpty() ? "message" : type, lastEventId,
+                    data.toString(), offsetNanos);
+        }
+        data.setLength(0);
+        hasData = false;
+        type = null;
+        return event;
+    }
+}
@@ -0,0 +1,68 @@
+package com.opensourceFramework.utils.streaming;
+
+import io.restassured.path.json.JsonPath;
+
+/**
+ * One event of a stream. For JSON lines the data is the line and type and id are {@code null}.
+ */
+public class StreamEvent {
+
+    private final long index;
+    private final String type;
+    private final String id;
+    private final String data;
+    private final long offsetNanos;
+
+    public StreamEvent(long index, String type, String id, String data, long offsetNanos) {
+        this.index = index;
+        this.type = type;
+        this.id = id;
+        this.data = data;
+        this.offsetNanos = offsetNanos;
+    }
+
+    /**
+     * @return the position of the event in the stream, starting at 0.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the SSE event type, {@code message} when the event has no {@code event:} field.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the SSE event id, or {@code null}.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    /**
+     * @return the data parsed as JSON; parsed again on every call.
+     */
+    public JsonPath getJson() {
+        return JsonPath.from(data);
+    }
+
+    /**
+     * @return when the event arrived, in milliseconds since the request was sent.
+     */
+    public double getOffsetMillis() {
+        return offsetNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamEvent{index=" + index + (type == null ? "" : ", type=" + type) + (id == null ? "" : ", id=" + id)
+                + ", data=" + data + '}';
+    }
+}
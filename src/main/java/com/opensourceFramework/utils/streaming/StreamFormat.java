@@ -0,0 +1,30 @@
+package com.opensourceFramework.utils.streaming;
+
+/**
+ * Framing of a streamed response body.
+ */
+public enum StreamFormat {
+
+    /**
+     * Server-Sent Events: {@code event:}, {@code id:} and {@code data:} fields, events separated by a blank line.
+     */
+    SSE("text/event-stream"),
+
+    /**
+     * One JSON document per line (NDJSON / JSON Lines), e.g. a chunked export.
+     */
+    JSON_LINES("application/x-ndjson");
+
+    private final String accept;
+
+    StreamFormat(String accept) {
+        this.accept = accept;
+    }
+
+    /**
+     * @return the Accept header sent when the request does not set one.
+     */
+    public String getAccept() {
+        return accept;
+    }
+}
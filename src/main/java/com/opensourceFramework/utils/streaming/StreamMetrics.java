@@ -0,0 +1,170 @@
+package com.opensourceFramework.utils.streaming;
+
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.opensourceFramework.utils.extentReport.Logger;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Timing of one streamed call: time to first byte (response headers), time to first event, the gaps between
+ * events and the event rate. Times are in milliseconds; the gaps are recorded in microseconds.
+ */
+public class StreamMetrics {
+
+    private final String name;
+    private final long startNanos;
+    private final Histogram gaps = new Histogram(3);
+    private long headersNanos = -1;
+    private long firstEventNanos = -1;
+    private long lastEventNanos = -1;
+    private long endNanos = -1;
+    private long events;
+    private int status;
+    private Throwable error;
+
+    StreamMetrics(String name, long startNanos) {
+        this.name = name;
+        this.startNanos = startNanos;
+    }
+
+    synchronized void onHeaders(int status, long nanos) {
+        this.status = status;
+        this.headersNanos = nanos;
+    }
+
+    synchronized void onEvent(long nanos) {
+        if (firstEventNanos < 0) {
+            firstEventNanos = nanos;
+        } else {
+            gaps.recordValue(Math.max(0, (nanos - lastEventNanos) / 1_000));
+        }
+        lastEventNanos = nanos;
+        events++;
+    }
+
+    synchronized void onEnd(long nanos, Throwable error) {
+        if (endNanos < 0) {
+            this.endNanos = nanos;
+            this.error = error;
+        }
+    }
+
+    /**
+     * @return the endpoint of the stream, e.g. {@code GET /events}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the HTTP status, or 0 when no response arrived.
+     */
+    public synchronized int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the failure that ended the stream, or {@code null}.
+     */
+    public synchronized Throwable getError() {
+        return error;
+    }
+
+    public synchronized boolean isFinished() {
+        return endNanos >= 0;
+    }
+
+    /**
+     * @return milliseconds until the response headers arrived, or -1.
+     */
+    public synchronized double getTimeToFirstByte() {
+        return millisSinceStart(headersNanos);
+    }
+
+    /**
+     * @return milliseconds until the first event arrived, or -1 when there was none.
+     */
+    public synchronized double getTimeToFirstEvent() {
+        return millisSinceStart(firstEventNanos);
+    }
+
+    /**
+     * @return milliseconds from sending the request to the end of the stream, or so far when still open.
+     */
+    public synchronized double getDuration() {
+        return ((endNanos >= 0 ? endNanos : System.nanoTime()) - startNanos) / 1_000_000.0;
+    }
+
+    public synchronized long getEventCount() {
+        return events;
+    }
+
+    /**
+     * @return events per second between the first and the last event.
+     */
+    public synchronized double getEventsPerSecond() {
+        if (events < 2) {
+            return 0;
+        }
+        return (events - 1) / ((lastEventNanos - firstEventNanos) / 1_000_000_000.0);
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100.
+     * @return the gap between consecutive events at the given percentile in milliseconds.
+     */
+    public synchronized double getGapPercentile(double percentile) {
+        return gaps.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    public synchronized double getMeanGap() {
+        return gaps.getMean() / 1_000.0;
+    }
+
+    public synchronized double getMaxGap() {
+        return gaps.getMaxValue() / 1_000.0;
+    }
+
+    /**
+     * @return a copy of the inter-event gap histogram in microseconds.
+     */
+    public synchronized Histogram getGapHistogram() {
+        return gaps.copy();
+    }
+
+    long getFirstEventNanos() {
+        return firstEventNanos;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    private double millisSinceStart(long nanos) {
+        return nanos < 0 ? -1 : (nanos - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Adds the stream timing as a table to the current Extent test.
+     */
+    public void logToReport() {
+        String[][] table = {
+                {"Stream", "Status", "Events", "TTFB ms", "First event ms", "Events/s", "Gap p50 ms", "Gap p99 ms",
+                        "Max gap ms", "Duration ms"},
+                {name, String.valueOf(getStatus()), String.valueOf(getEventCount()), format(getTimeToFirstByte()),
+                        format(getTimeToFirstEvent()), format(getEventsPerSecond()), format(getGapPercentile(50)),
+                        format(getGapPercentile(99)), format(getMaxGap()), format(getDuration())}};
+        Logger.logInfo(MarkupHelper.createTable(table));
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: status=%d, events=%d, ttfb=%.1fms, firstEvent=%.1fms, %.1f events/s, "
+                        + "gap p50=%.1fms, p99=%.1fms, max=%.1fms, duration=%.1fms%s", name, status, events,
+                getTimeToFirstByte(), getTimeToFirstEvent(), getEventsPerSecond(), getGapPercentile(50),
+                getGapPercentile(99), getMaxGap(), getDuration(), error == null ? "" : ", error=" + error);
+    }
+}
@@ -0,0 +1,230 @@
+package com.opensourceFramework.utils.streaming;
+
+import com.opensourceFramework.utils.performance.ApiCallListeners;
+import com.opensourceFramework.utils.performance.ApiCallRecord;
+import com.opensourceFramework.utils.performance.ApiMetrics;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One streamed call, published as {@link StreamEvent}s. The request is sent when the publisher is subscribed
+ * to; a call can be subscribed to once. Events are read from the connection only as fast as the subscriber
+ * requests them.
+ * <p>
+ * When the stream ends its time to first event is recorded in {@link ApiMetrics} under the endpoint name
+ * followed by {@value #ENDPOINT_SUFFIX} and handed to the {@link ApiCallListeners}, so streams appear in the
+ * API performance report and can be checked with {@code PerformanceAssert.assertThatEndpoints()}.
+ */
+public class StreamingCall implements Flow.Publisher<StreamEvent> {
+
+    public static final String ENDPOINT_SUFFIX = " [stream]";
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final StreamFormat format;
+    private final String endpoint;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final CompletableFuture<StreamMetrics> completion = new CompletableFuture<>();
+    private volatile StreamMetrics metrics;
+    private volatile EventBridge bridge;
+    private long startEpochMillis;
+
+    StreamingCall(HttpClient client, HttpRequest request, StreamFormat format, String endpoint) {
+        this.client = client;
+        this.request = request;
+        this.format = format;
+        this.endpoint = endpoint + ENDPOINT_SUFFIX;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super StreamEvent> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A streaming call can only be subscribed to once"));
+            return;
+        }
+        startEpochMillis = System.currentTimeMillis();
+        StreamMetrics streamMetrics = new StreamMetrics(endpoint, System.nanoTime());
+        EventBridge events = new EventBridge(subscriber, format, streamMetrics, this::finish);
+        metrics = streamMetrics;
+        bridge = events;
+        subscriber.onSubscribe(events);
+        client.sendAsync(request, info -> {
+            streamMetrics.onHeaders(info.statusCode(), System.nanoTime());
+            if (info.statusCode() >= 400) {
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                        body -> {
+                            events.fail(new IllegalStateException("Stream " + request.uri() + " answered with status "
+                                    + info.statusCode() + ": " + body));
+                            return null;
+                        });
+            }
+            return HttpResponse.BodySubscribers.fromLineSubscriber(events);
+        }).whenComplete((response, error) -> {
+            if (error != null) {
+                events.fail(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+    }
+
+    /**
+     * Sends the request and hands every event to the callback until the stream ends. The next event is only
+     * read once the callback returns.
+     *
+     * @return the timing of the stream.
+     * @throws IllegalStateException when the stream could not be opened or failed.
+     */
+    public StreamMetrics consume(Consumer<StreamEvent> onEvent) {
+        return consume(onEvent, null);
+    }
+
+    /**
+     * Like {@link #consume(Consumer)}, but closes the stream after the given time, e.g. for an endless SSE feed.
+     * Reaching the time limit is not a failure.
+     */
+    public StreamMetrics consume(Consumer<StreamEvent> onEvent, Duration maxDuration) {
+        CallbackSubscriber subscriber = new CallbackSubscriber(onEvent);
+        subscribe(subscriber);
+        StreamMetrics result = await(maxDuration);
+        if (subscriber.failure instanceof RuntimeException) {
+            throw (RuntimeException) subscriber.failure;
+        }
+        if (subscriber.failure instanceof Error) {
+            throw (Error) subscriber.failure;
+        }
+        if (result.getError() != null) {
+            throw new IllegalStateException("Stream " + endpoint + " failed: " + result.getError(),
+                    result.getError());
+        }
+        return result;
+    }
+
+    /**
+     * Waits for the stream to end; after the given time the stream is cancelled.
+     *
+     * @param maxDuration time limit, or {@code null} to wait until the server closes the stream.
+     * @return the timing of the stream.
+     */
+    public StreamMetrics await(Duration maxDuration) {
+        if (!subscribed.get()) {
+            throw new IllegalStateException("The streaming call has not been subscribed to");
+        }
+        try {
+            if (maxDuration == null) {
+                return completion.get();
+            }
+            return completion.get(maxDuration.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancel();
+            return completion.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new IllegalStateException("Interrupted while streaming " + endpoint, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Closes the stream; the subscriber receives no further signals.
+     */
+    public void cancel() {
+        EventBridge events = bridge;
+        if (events != null) {
+            events.cancel();
+        }
+    }
+
+    /**
+     * @return the timing so far, or {@code null} before the call was subscribed to.
+     */
+    public StreamMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return completes with the timing when the stream has ended.
+     */
+    public CompletableFuture<StreamMetrics> getCompletion() {
+        return completion;
+    }
+
+    private void finish(Throwable error) {
+        StreamMetrics streamMetrics = metrics;
+        long end = System.nanoTime();
+        streamMetrics.onEnd(end, error);
+        long firstEvent = streamMetrics.getFirstEventNanos();
+        long latencyNanos = (firstEvent >= 0 ? firstEvent : end) - streamMetrics.getStartNanos();
+        int status = streamMetrics.getStatus();
+        boolean failed = error != null || status == 0 || status >= 400;
+        ApiMetrics.record(endpoint, latencyNanos, failed);
+        if (!ApiCallListeners.isEmpty()) {
+            ApiCallListeners.notify(new ApiCallRecord(startEpochMillis, Thread.currentThread().getName(), endpoint,
+                    request.method(), request.uri().toString(), status, latencyNanos / 1_000,
+                    error == null ? null : error.getClass().getName(), null));
+        }
+        completion.complete(streamMetrics);
+    }
+
+    /**
+     * Hands the events to a callback, requesting the next one when the callback returns.
+     */
+    private static class CallbackSubscriber implements Flow.Subscriber<StreamEvent> {
+
+        private final Consumer<StreamEvent> onEvent;
+        private Flow.Subscription subscription;
+        private volatile Throwable failure;
+
+        CallbackSubscriber(Consumer<StreamEvent> onEvent) {
+            this.onEvent = onEvent;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(StreamEvent event) {
+            try {
+                onEvent.accept(event);
+            } catch (Throwable e) {
+                failure = e;
+                subscription.cancel();
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
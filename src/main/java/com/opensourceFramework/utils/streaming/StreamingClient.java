@@ -0,0 +1,119 @@
+package com.opensourceFramework.utils.streaming;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opensourceFramework.BaseAPIRequest;
+import com.opensourceFramework.constants.ContentType;
+import com.opensourceFramework.constants.MethodType;
+import com.opensourceFramework.utils.performance.ApiMetrics;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * Streaming mode of {@link BaseAPIRequest}, on top of the JDK {@link HttpClient} because REST-assured always
+ * buffers the whole body. The base URI, base path, path and query parameters, headers, cookie, content type
+ * and body of the request are used; basic authentication has to be passed as an {@code Authorization} header.
+ */
+public class StreamingClient {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final HttpClient followingClient = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(Duration.ofSeconds(30)).build();
+    private static final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER).connectTimeout(Duration.ofSeconds(30)).build();
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private StreamingClient() {
+    }
+
+    /**
+     * @return the call, sent when it is subscribed to.
+     */
+    public static StreamingCall open(BaseAPIRequest request, StreamFormat format) {
+        HttpClient httpClient = Boolean.FALSE.equals(request.getRedirectFlag()) ? client : followingClient;
+        return new StreamingCall(httpClient, toHttpRequest(request, format), format,
+                ApiMetrics.endpointName(methodName(request.getMethod()), request.getBasePath()));
+    }
+
+    /**
+     * Streams the endpoint into the callback and waits for the stream to end.
+     */
+    public static StreamMetrics stream(BaseAPIRequest request, StreamFormat format, Consumer<StreamEvent> onEvent) {
+        return open(request, format).consume(onEvent);
+    }
+
+    static HttpRequest toHttpRequest(BaseAPIRequest request, StreamFormat format) {
+        if (request.getBaseUri() == null) {
+            throw new IllegalStateException("The request has no base URI");
+        }
+        String path = request.getBasePath() == null ? "" : request.getBasePath();
+        for (Map.Entry<String, Object> param : request.getPathParams().entrySet()) {
+            path = path.replace("{" + param.getKey() + "}",
+                    URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8).replace("+", "%20"));
+        }
+        StringJoiner query = new StringJoiner("&");
+        request.getQueryParams().forEach((name, value) -> query.add(URLEncoder.encode(name, StandardCharsets.UTF_8)
+                + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        String uri = request.getBaseUri().replaceAll("/+$", "") + (path.isEmpty() || path.startsWith("/") ? "" : "/")
+                + path + (query.length() == 0 ? "" : "?" + query);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri));
+        boolean accept = false;
+        for (Map.Entry<String, Object> header : request.getHeaders().entrySet()) {
+            builder.header(header.getKey(), String.valueOf(header.getValue()));
+            accept |= header.getKey().equalsIgnoreCase("Accept");
+        }
+        if (!accept) {
+            builder.header("Accept", format.getAccept());
+        }
+        if (request.getCookie() != null) {
+            builder.header("Cookie", request.getCookie());
+        }
+        HttpRequest.BodyPublisher body = bodyOf(request);
+        if (request.getContentType() != null && body.contentLength() != 0) {
+            builder.header("Content-Type", request.getContentType().getContentType());
+        }
+        return builder.method(methodName(request.getMethod()), body).build();
+    }
+
+    private static HttpRequest.BodyPublisher bodyOf(BaseAPIRequest request) {
+        Object body = request.getBody();
+        if (body == null && !request.getFormURLEncoded().isEmpty()) {
+            StringJoiner form = new StringJoiner("&");
+            request.getFormURLEncoded().forEach((name, value) -> form.add(URLEncoder.encode(name, StandardCharsets.UTF_8)
+                    + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+            return HttpRequest.BodyPublishers.ofString(form.toString());
+        }
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        if (body instanceof String || request.getContentType() != ContentType.JSON) {
+            return HttpRequest.BodyPublishers.ofString(String.valueOf(body));
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize the request body to JSON", e);
+        }
+    }
+
+    private static String methodName(MethodType method) {
+        if (method == null) {
+            return "GET";
+        }
+        return method == MethodType.POSTBYTES ? "POST" : method.name();
+    }
+}
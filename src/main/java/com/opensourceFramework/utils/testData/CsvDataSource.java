@@ -0,0 +1,216 @@
+package com.opensourceFramework.utils.testData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Test data in a CSV file (RFC 4180) encoded as UTF-8: a header line, then one record per line. Fields may be
+ * quoted, with {@code ""} for a quote and line breaks inside the quotes. Missing trailing fields read as empty
+ * strings, as blank cells do in the workbook; blank lines are skipped.
+ * <p>
+ * Ranges are split at line breaks outside quoted fields. Telling them apart means following the quotes from the
+ * start of the range, so splitting scans the bytes up to the last split point once; the records are still parsed
+ * in parallel.
+ */
+public class CsvDataSource extends MappedDataSource {
+
+    private final byte delimiter;
+
+    private CsvDataSource(File file, List<String> headers, long from, long to, byte delimiter) {
+        super(file, headers, from, to);
+        this.delimiter = delimiter;
+    }
+
+    public static CsvDataSource open(File file) throws IOException {
+        return open(file, ',');
+    }
+
+    /**
+     * @param delimiter the field separator, e.g. {@code ';'} for spreadsheets exported with a European locale.
+     */
+    public static CsvDataSource open(File file, char delimiter) throws IOException {
+        if (delimiter > 0x7f || delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Unsupported CSV delimiter " + delimiter);
+        }
+        long size = file.length();
+        ByteBuffer start = map(file, 0, Math.min(size, MAX_RANGE_BYTES));
+        Cursor cursor = new Cursor(start, skipByteOrderMark(start), (byte) delimiter);
+        List<String> headers = cursor.next();
+        if (headers == null) {
+            throw new IOException(file.getName() + " has no header line");
+        }
+        return new CsvDataSource(file, Collections.unmodifiableList(headers), cursor.position, size, (byte) delimiter);
+    }
+
+    @Override
+    MappedDataSource range(long from, long to) {
+        return new CsvDataSource(file, headers, from, to, delimiter);
+    }
+
+    @Override
+    Iterator<Map<String, String>> records(ByteBuffer range) {
+        Cursor cursor = new Cursor(range, 0, delimiter);
+        return new Iterator<Map<String, String>>() {
+            private List<String> next = cursor.next();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Map<String, String> record = new LinkedHashMap<>(headers.size() * 2);
+                for (int i = 0; i < headers.size(); i++) {
+                    record.put(headers.get(i), i < next.size() ? next.get(i) : "");
+                }
+                next = cursor.next();
+                return record;
+            }
+        };
+    }
+
+    /**
+     * Follows the quotes as {@link Cursor} does, from a record start to the first line break after the position
+     * that is not inside a quoted field.
+     */
+    @Override
+    long nextRecordStart(FileChannel channel, long recordStart, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(65536);
+        boolean fieldStart = true;
+        boolean quoted = false;
+        boolean quoteInQuoted = false;
+        long offset = recordStart;
+        while (offset < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - offset));
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (quoteInQuoted) {
+                    // a doubled quote stays inside the field, any other byte follows the closing quote
+                    quoteInQuoted = false;
+                    if (b == '"') {
+                        continue;
+                    }
+                    quoted = false;
+                }
+                if (quoted) {
+                    quoteInQuoted = b == '"';
+                } else if (b == '\n') {
+                    if (offset + i >= position) {
+                        return offset + i + 1;
+                    }
+                    fieldStart = true;
+                } else {
+                    quoted = fieldStart && b == '"';
+                    fieldStart = b == delimiter;
+                }
+            }
+            offset += read;
+        }
+        return to;
+    }
+
+    /**
+     * Parses records from a buffer, field by field, straight from the mapped bytes. Not thread-safe.
+     */
+    private static final class Cursor {
+
+        private final ByteBuffer buffer;
+        private final int limit;
+        private final byte delimiter;
+        private int position;
+        private byte[] field = new byte[256];
+        private int length;
+
+        Cursor(ByteBuffer buffer, int position, byte delimiter) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            this.position = position;
+            this.delimiter = delimiter;
+        }
+
+        /**
+         * @return the fields of the next non-blank record, {@code null} at the end of the buffer.
+         */
+        List<String> next() {
+            while (position < limit) {
+                int start = position;
+                List<String> fields = new ArrayList<>();
+                boolean endOfRecord = false;
+                while (!endOfRecord) {
+                    length = 0;
+                    if (position < limit && buffer.get(position) == '"') {
+                        readQuoted(start);
+                    }
+                    while (position < limit) {
+                        byte b = buffer.get(position);
+                        if (b == delimiter || b == '\n') {
+                            break;
+                        }
+                        if (b != '\r' || position + 1 < limit && buffer.get(position + 1) != '\n') {
+                            append(b);
+                        }
+                        position++;
+                    }
+                    fields.add(new String(field, 0, length, StandardCharsets.UTF_8));
+                    if (position < limit && buffer.get(position) == delimiter) {
+                        position++;
+                    } else {
+                        position++;
+                        endOfRecord = true;
+                    }
+                }
+                if (fields.size() > 1 || !fields.get(0).isEmpty()) {
+                    return fields;
+                }
+            }
+            return null;
+        }
+
+        private void readQuoted(int recordStart) {
+            position++;
+            while (true) {
+                if (position >= limit) {
+                    throw new IllegalStateException("Unterminated quoted field in the record at offset " + recordStart);
+                }
+                byte b = buffer.get(position++);
+                if (b == '"') {
+                    if (position < limit && buffer.get(position) == '"') {
+                        append(b);
+                        position++;
+                    } else {
+                        return;
+                    }
+                } else {
+                    append(b);
+                }
+            }
+        }
+
+        private void append(byte b) {
+            if (length == field.length) {
+                field = Arrays.copyOf(field, length * 2);
+            }
+            field[length++] = b;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.opensourceFramework.utils.testData;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Test data in a JSON lines file: one JSON object per line, encoded as UTF-8. Scalar fields are read as their text,
+ * {@code null} as an empty string, and nested objects and arrays as JSON. The headers are the fields of the first
+ * record; each record holds its own fields. Blank lines are skipped.
+ */
+public class JsonLinesDataSource extends MappedDataSource {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonLinesDataSource(File file, List<String> headers, long from, long to) {
+        super(file, headers, from, to);
+    }
+
+    public static JsonLinesDataSource open(File file) throws IOException {
+        long size = file.length();
+        ByteBuffer start = map(file, 0, Math.min(size, MAX_RANGE_BYTES));
+        int from = skipByteOrderMark(start);
+        Iterator<Map<String, String>> records = new Records(start, from);
+        List<String> headers = records.hasNext() ? new ArrayList<>(records.next().keySet()) : new ArrayList<>();
+        return new JsonLinesDataSource(file, Collections.unmodifiableList(headers), from, size);
+    }
+
+    @Override
+    MappedDataSource range(long from, long to) {
+        return new JsonLinesDataSource(file, headers, from, to);
+    }
+
+    @Override
+    Iterator<Map<String, String>> records(ByteBuffer range) {
+        return new Records(range, 0);
+    }
+
+    /**
+     * Parses one line at a time from a buffer. Not thread-safe.
+     */
+    private static final class Records implements Iterator<Map<String, String>> {
+
+        private final ByteBuffer buffer;
+        private final int limit;
+        private int position;
+        private byte[] line = new byte[1024];
+        private Map<String, String> next;
+
+        Records(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            this.position = position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && position < limit) {
+                int start = position;
+                int length = 0;
+                while (position < limit && buffer.get(position) != '\n') {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = buffer.get(position++);
+                }
+                position++;
+                if (!isBlank(line, length)) {
+                    next = parse(line, length, start);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<String, String> result = next;
+            next = null;
+            return result;
+        }
+
+        private static Map<String, String> parse(byte[] line, int length, int offset) {
+            JsonNode node;
+            try {
+                node = mapper.readTree(line, 0, length);
+            } catch (IOException e) {
+                throw new IllegalStateException("Invalid JSON in the line at offset " + offset, e);
+            }
+            if (node == null || !node.isObject()) {
+                throw new IllegalStateException("The line at offset " + offset + " is not a JSON object");
+            }
+            Map<String, String> record = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                JsonNode value = field.getValue();
+                record.put(field.getKey(), value.isNull() ? "" : value.isValueNode() ? value.asText() : value.toString());
+            }
+            return record;
+        }
+
+        private static boolean isBlank(byte[] line, int length) {
+            for (int i = 0; i < length; i++) {
+                if (line[i] != ' ' && line[i] != '\t' && line[i] != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.opensourceFramework.utils.testData;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A range of a text file read through a memory mapping of just that range. Ranges start at a record, so splitting
+ * only needs to find the record starts near the split points; a file larger than one mapping is always read as
+ * several ranges.
+ */
+abstract class MappedDataSource implements TestDataSource {
+
+    static final long MAX_RANGE_BYTES = 1L << 30;
+
+    final File file;
+    final List<String> headers;
+    final long from;
+    final long to;
+
+    MappedDataSource(File file, List<String> headers, long from, long to) {
+        this.file = file;
+        this.headers = headers;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return a source of the same file and headers over another range.
+     */
+    abstract MappedDataSource range(long from, long to);
+
+    /**
+     * @return the records of the mapped range, whose position 0 is {@link #from}.
+     */
+    abstract Iterator<Map<String, String>> records(ByteBuffer range);
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the offset of the range's first byte in the file.
+     */
+    public long getFrom() {
+        return from;
+    }
+
+    /**
+     * @return the offset after the range's last byte.
+     */
+    public long getTo() {
+        return to;
+    }
+
+    @Override
+    public Iterator<Map<String, String>> records() {
+        if (to - from > MAX_RANGE_BYTES) {
+            throw new IllegalStateException(file.getName() + " is too large to read at once, use split(...)");
+        }
+        try {
+            return records(map(file, from, to - from));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<TestDataSource> split(int parts) {
+        long length = to - from;
+        int count = (int) Math.max(Math.max(parts, 1), (length + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+        List<TestDataSource> ranges = new ArrayList<>(count);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long start = from;
+            for (int i = 1; i <= count && start < to; i++) {
+                long end = i == count ? to : Math.max(start, nextRecordStart(channel, start, from + length * i / count));
+                if (end > start) {
+                    ranges.add(range(start, end));
+                    start = end;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ranges;
+    }
+
+    @Override
+    public String toString() {
+        return file.getName() + "[" + from + ", " + to + ")";
+    }
+
+    /**
+     * @param recordStart the start of a record at or before the position, where a scan may begin.
+     * @return the start of the first record after the position, or {@link #to}. Records end at line breaks unless a
+     * subclass says otherwise.
+     */
+    long nextRecordStart(FileChannel channel, long recordStart, long position) throws IOException {
+        return nextLineStart(channel, position);
+    }
+
+    /**
+     * @return the offset after the first line break at or after the position, or {@link #to}.
+     */
+    private long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = position;
+        while (offset < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - offset));
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return to;
+    }
+
+    static MappedByteBuffer map(File file, long position, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        }
+    }
+
+    /**
+     * @return the offset after a UTF-8 byte order mark at the start of the buffer, otherwise {@code 0}.
+     */
+    static int skipByteOrderMark(ByteBuffer buffer) {
+        if (buffer.limit() >= 3 && (buffer.get(0) & 0xff) == 0xef && (buffer.get(1) & 0xff) == 0xbb
+                && (buffer.get(2) & 0xff) == 0xbf) {
+            return 3;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.opensourceFramework.utils.testData;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Test data stored outside the Excel workbook, one record per test iteration, read with the contract of the
+ * {@code TestUtils} data providers: a record is a map of header to value, and the iterations of a test are the
+ * records whose test case column holds the test's name and whose Execute column is {@code Yes}, both ignoring case.
+ * The columns are found by their headers, {@value #TEST_CASE_COLUMN} and {@value #EXECUTE_COLUMN}, falling back to
+ * the first and second column as in the TESTDATA sheet.
+ * <p>
+ * A source can be split into ranges that cover the file between them, so several threads can read it at once.
+ */
+public interface TestDataSource {
+
+    String TEST_CASE_COLUMN = "TestCaseName";
+    String EXECUTE_COLUMN = "Execute";
+
+    /**
+     * Opens a source by the file's extension: {@code .csv} for {@link CsvDataSource}, {@code .jsonl},
+     * {@code .ndjson} or {@code .json} for {@link JsonLinesDataSource}.
+     *
+     * @throws IllegalArgumentException for other extensions.
+     */
+    static TestDataSource open(File file) throws IOException {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CsvDataSource.open(file);
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return JsonLinesDataSource.open(file);
+        }
+        throw new IllegalArgumentException("No test data source for " + file.getName()
+                + ", expected a .csv, .jsonl or .ndjson file");
+    }
+
+    File getFile();
+
+    /**
+     * @return the column names, in file order.
+     */
+    List<String> getHeaders();
+
+    /**
+     * Reads the records of this source in file order, parsing them as the iterator advances.
+     *
+     * @throws IllegalStateException when a record cannot be parsed.
+     */
+    Iterator<Map<String, String>> records();
+
+    /**
+     * Splits the source into at most {@code parts} sources over consecutive ranges, each starting at a record.
+     */
+    List<TestDataSource> split(int parts);
+
+    default Stream<Map<String, String>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records(), Spliterator.ORDERED), false);
+    }
+
+    /**
+     * @return the records of the test marked Execute = Yes, in file order; the ranges of the file are scanned in
+     * parallel.
+     */
+    default List<Map<String, String>> getIterations(String testCaseName) {
+        String testCaseColumn = findColumn(TEST_CASE_COLUMN, 0);
+        String executeColumn = findColumn(EXECUTE_COLUMN, 1);
+        return split(Runtime.getRuntime().availableProcessors()).parallelStream()
+                .flatMap(part -> part.stream()
+                        .filter(record -> testCaseName.equalsIgnoreCase(record.getOrDefault(testCaseColumn, ""))
+                                && "Yes".equalsIgnoreCase(record.getOrDefault(executeColumn, ""))))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the header equal to the name ignoring case, otherwise the header at the index, or {@code null}.
+     */
+    default String findColumn(String name, int index) {
+        List<String> headers = getHeaders();
+        for (String header : headers) {
+            if (header.trim().equalsIgnoreCase(name)) {
+                return header;
+            }
+        }
+        return index < headers.size() ? headers.get(index) : null;
+    }
+}
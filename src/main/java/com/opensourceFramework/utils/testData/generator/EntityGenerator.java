@@ -0,0 +1,142 @@
+package com.opensourceFramework.utils.testData.generator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates the records of one entity, e.g. users or orders, from per-field generators and a seed. Record
+ * {@code i} is a pure function of the seed and {@code i}: each field of each record draws from its own
+ * {@link SplittableRandom}, seeded from the seed, the field name and the index. Records can therefore be
+ * generated in any order and on any thread, a single field can be recomputed for a reference (see
+ * {@link Fields#reference(EntityGenerator, String, long)}), and a run is reproduced by reusing its seed.
+ * <p>
+ * Nothing is kept between records, so millions of records can be streamed without holding them in memory:
+ *
+ * <pre>
+ *     EntityGenerator users = new EntityGenerator("users", 42)
+ *             .field("id", Fields.sequence("USR-"))
+ *             .field("email", Fields.uniqueEmail("user", "example.com"))
+ *             .field("age", Fields.intBetween(18, 90));
+ *     users.jsonStream(0, 1_000_000).forEach(body -> createUserRequest(body).makeAPICall());
+ * </pre>
+ *
+ * Fields are added while the generator is set up; afterwards it is safe for concurrent use.
+ */
+public class EntityGenerator {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final String name;
+    private final long seed;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    public EntityGenerator(String name, long seed) {
+        this.name = name;
+        this.seed = seed;
+    }
+
+    /**
+     * Adds a field; records hold their fields in the order they were added.
+     */
+    public EntityGenerator field(String fieldName, FieldGenerator<?> generator) {
+        if (fields.containsKey(fieldName)) {
+            throw new IllegalArgumentException(name + " already has a field " + fieldName);
+        }
+        fields.put(fieldName, new Field(generator, Fields.mix(seed ^ Fields.mix(fieldName.hashCode()))));
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Map<String, FieldGenerator<?>> getFields() {
+        Map<String, FieldGenerator<?>> generators = new LinkedHashMap<>();
+        fields.forEach((fieldName, field) -> generators.put(fieldName, field.generator));
+        return Collections.unmodifiableMap(generators);
+    }
+
+    /**
+     * @return the record with the given index, a new map on every call.
+     */
+    public Map<String, Object> generate(long index) {
+        Map<String, Object> record = new LinkedHashMap<>(fields.size() * 2);
+        for (Map.Entry<String, Field> field : fields.entrySet()) {
+            record.put(field.getKey(), field.getValue().generate(index));
+        }
+        return record;
+    }
+
+    /**
+     * @return one field of the record with the given index, without generating the other fields.
+     */
+    public Object generateField(String fieldName, long index) {
+        Field field = fields.get(fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(name + " has no field " + fieldName);
+        }
+        return field.generate(index);
+    }
+
+    /**
+     * @return the record with the given index as a UTF-8 JSON object, for {@code BaseAPIRequest.setBody(byte[])}.
+     */
+    public byte[] generateJson(long index) {
+        try {
+            return mapper.writeValueAsBytes(generate(index));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize record " + index + " of " + name, e);
+        }
+    }
+
+    /**
+     * @return a lazy, parallel stream of the records with indexes from {@code from} (inclusive) to {@code to}
+     * (exclusive). Use {@code sequential()} or {@code forEachOrdered} where the order matters.
+     */
+    public Stream<Map<String, Object>> stream(long from, long to) {
+        return LongStream.range(from, to).parallel().mapToObj(this::generate);
+    }
+
+    /**
+     * @return a lazy, parallel stream of the records from {@code from} to {@code to} as JSON request bodies.
+     */
+    public Stream<byte[]> jsonStream(long from, long to) {
+        return LongStream.range(from, to).parallel().mapToObj(this::generateJson);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityGenerator{" +
+                "name='" + name + '\'' +
+                ", seed=" + seed +
+                ", fields=" + fields.keySet() +
+                '}';
+    }
+
+    private static final class Field {
+
+        private final FieldGenerator<?> generator;
+        private final long seed;
+
+        Field(FieldGenerator<?> generator, long seed) {
+            this.generator = generator;
+            this.seed = seed;
+        }
+
+        Object generate(long index) {
+            return generator.generate(index, new SplittableRandom(Fields.mix(seed + index)));
+        }
+    }
+}
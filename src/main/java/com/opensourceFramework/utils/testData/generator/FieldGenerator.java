@@ -0,0 +1,19 @@
+package com.opensourceFramework.utils.testData.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates the value of one field of a record. The value must only depend on the index and the random numbers
+ * drawn from the given generator, so that the same seed always yields the same data.
+ *
+ * @param <T> the type of the value, serialized as JSON by {@link EntityGenerator#generateJson(long)}.
+ */
+@FunctionalInterface
+public interface FieldGenerator<T> {
+
+    /**
+     * @param index  the index of the record, from {@code 0}.
+     * @param random a generator seeded for this field of this record only.
+     */
+    T generate(long index, SplittableRandom random);
+}
@@ -0,0 +1,199 @@
+package com.opensourceFramework.utils.testData.generator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Field generators for {@link EntityGenerator}.
+ * <p>
+ * The {@code sequence}, {@code uniqueToken} and {@code uniqueEmail} generators derive their value from the record
+ * index alone, through a one-to-one mapping, so they are unique across all records of an entity without keeping
+ * track of the values already used. Values drawn at random, including {@link #uuid()}, may repeat.
+ */
+public class Fields {
+
+    private static final char[] LETTERS = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int TOKEN_LENGTH = 13;
+
+    /**
+     * Private constructor to avoid external instantiation
+     */
+    private Fields() {
+    }
+
+    public static <T> FieldGenerator<T> constant(T value) {
+        return (index, random) -> value;
+    }
+
+    /**
+     * @return {@code prefix + index}, e.g. {@code USR-0, USR-1, ...}.
+     */
+    public static FieldGenerator<String> sequence(String prefix) {
+        return (index, random) -> prefix + index;
+    }
+
+    /**
+     * @return {@code start + index}.
+     */
+    public static FieldGenerator<Long> sequence(long start) {
+        return (index, random) -> start + index;
+    }
+
+    /**
+     * @return a unique, non-sequential token of 13 lower case letters and digits after the prefix, for keys that
+     * should not cluster by index. A run that must not reuse the keys of an earlier one generates another range
+     * of indexes.
+     */
+    public static FieldGenerator<String> uniqueToken(String prefix) {
+        return (index, random) -> prefix + token(index);
+    }
+
+    /**
+     * @return a unique address such as {@code user.k3x9...@example.com}.
+     */
+    public static FieldGenerator<String> uniqueEmail(String localPrefix, String domain) {
+        return (index, random) -> localPrefix + "." + token(index) + "@" + domain;
+    }
+
+    /**
+     * @return a random UUID (version 4) drawn from the seeded generator.
+     */
+    public static FieldGenerator<String> uuid() {
+        return (index, random) -> {
+            long most = random.nextLong() & 0xffffffffffff0fffL | 0x0000000000004000L;
+            long least = random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+            return new UUID(most, least).toString();
+        };
+    }
+
+    /**
+     * @return a number from {@code min} to {@code max}, both inclusive.
+     */
+    public static FieldGenerator<Integer> intBetween(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min " + min + " is greater than max " + max);
+        }
+        return (index, random) -> (int) random.nextLong(min, (long) max + 1);
+    }
+
+    /**
+     * @return a decimal from {@code min} (inclusive) to {@code max} (exclusive) with the given number of fraction
+     * digits, e.g. prices.
+     */
+    public static FieldGenerator<BigDecimal> decimalBetween(double min, double max, int scale) {
+        if (!(min < max)) {
+            throw new IllegalArgumentException("min " + min + " is not less than max " + max);
+        }
+        return (index, random) -> BigDecimal.valueOf(random.nextDouble(min, max)).setScale(scale, RoundingMode.DOWN);
+    }
+
+    /**
+     * @return {@code true} with the given probability.
+     */
+    public static FieldGenerator<Boolean> bool(double probabilityOfTrue) {
+        return (index, random) -> random.nextDouble() < probabilityOfTrue;
+    }
+
+    @SafeVarargs
+    public static <T> FieldGenerator<T> oneOf(T... values) {
+        List<T> choices = new ArrayList<>(values.length);
+        for (T value : values) {
+            choices.add(value);
+        }
+        return oneOf(choices);
+    }
+
+    public static <T> FieldGenerator<T> oneOf(List<T> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No values to choose from");
+        }
+        List<T> choices = List.copyOf(values);
+        return (index, random) -> choices.get(random.nextInt(choices.size()));
+    }
+
+    /**
+     * @return lower case letters, capitalized, of a length from {@code minLength} to {@code maxLength}, e.g. names.
+     */
+    public static FieldGenerator<String> letters(int minLength, int maxLength) {
+        if (minLength < 1 || minLength > maxLength) {
+            throw new IllegalArgumentException("Invalid length range " + minLength + ".." + maxLength);
+        }
+        return (index, random) -> {
+            char[] chars = new char[random.nextInt(minLength, maxLength + 1)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = LETTERS[random.nextInt(LETTERS.length)];
+            }
+            chars[0] = Character.toUpperCase(chars[0]);
+            return new String(chars);
+        };
+    }
+
+    /**
+     * @return a string of the given number of digits, e.g. phone or account numbers.
+     */
+    public static FieldGenerator<String> digits(int length) {
+        return (index, random) -> {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) ('0' + random.nextInt(10));
+            }
+            return new String(chars);
+        };
+    }
+
+    /**
+     * @return an ISO-8601 instant from {@code from} (inclusive) to {@code to} (exclusive), in whole seconds.
+     */
+    public static FieldGenerator<String> instantBetween(Instant from, Instant to) {
+        long start = from.getEpochSecond();
+        long end = to.getEpochSecond();
+        if (start >= end) {
+            throw new IllegalArgumentException(from + " is not before " + to);
+        }
+        return (index, random) -> Instant.ofEpochSecond(random.nextLong(start, end)).toString();
+    }
+
+    /**
+     * @return {@code null} with the given probability, otherwise the value of the generator, for optional fields.
+     */
+    public static <T> FieldGenerator<T> optional(FieldGenerator<T> generator, double probabilityOfNull) {
+        return (index, random) -> random.nextDouble() < probabilityOfNull ? null : generator.generate(index, random);
+    }
+
+    /**
+     * References a record of another entity: picks one of its first {@code count} records and returns the value
+     * of its field, e.g. the id of an existing user for an order. The referenced record is generated again rather
+     * than looked up, so it matches the record the other generator produced with the same seed.
+     */
+    public static FieldGenerator<Object> reference(EntityGenerator target, String fieldName, long count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("No records of " + target.getName() + " to reference");
+        }
+        if (!target.getFields().containsKey(fieldName)) {
+            throw new IllegalArgumentException(target.getName() + " has no field " + fieldName);
+        }
+        return (index, random) -> target.generateField(fieldName, random.nextLong(count));
+    }
+
+    /**
+     * The SplitMix64 finalizer: a one-to-one mapping of longs that spreads neighbouring inputs apart.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String token(long index) {
+        String token = Long.toUnsignedString(mix(index + 0x9e3779b97f4a7c15L), 36);
+        StringBuilder padded = new StringBuilder(TOKEN_LENGTH);
+        for (int i = token.length(); i < TOKEN_LENGTH; i++) {
+            padded.append('0');
+        }
+        return padded.append(token).toString();
+    }
+}
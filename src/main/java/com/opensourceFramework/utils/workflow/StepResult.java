@@ -0,0 +1,115 @@
+package com.opensourceFramework.utils.workflow;
+
+import io.restassured.response.Response;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome and timing of one step of a workflow run. Times are offsets from the start of the run.
+ */
+public class StepResult {
+
+    public enum Status {
+        PASSED, FAILED, SKIPPED
+    }
+
+    private final String name;
+    private final Set<String> dependencies;
+    private final Status status;
+    private final long readyNanos;
+    private final long startNanos;
+    private final long endNanos;
+    private final Response response;
+    private final Map<String, Object> extracted;
+    private final Throwable error;
+
+    StepResult(String name, Set<String> dependencies, Status status, long readyNanos, long startNanos,
+               long endNanos, Response response, Map<String, Object> extracted, Throwable error) {
+        this.name = name;
+        this.dependencies = dependencies;
+        this.status = status;
+        this.readyNanos = readyNanos;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+        this.response = response;
+        this.extracted = extracted == null ? Collections.emptyMap() : extracted;
+        this.error = error;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return when the last dependency finished, in milliseconds since the start of the run.
+     */
+    public double getReadyMillis() {
+        return readyNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return when the step started, in milliseconds since the start of the run.
+     */
+    public double getStartMillis() {
+        return startNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return when the step finished, in milliseconds since the start of the run.
+     */
+    public double getEndMillis() {
+        return endNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return how long the step ran, in milliseconds; 0 for a skipped step.
+     */
+    public double getDurationMillis() {
+        return (endNanos - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * @return how long the step waited for a free thread after its dependencies finished, in milliseconds.
+     */
+    public double getQueuedMillis() {
+        return (startNanos - readyNanos) / 1_000_000.0;
+    }
+
+    /**
+     * @return the response, or {@code null} when the step was skipped or the call failed.
+     */
+    public Response getResponse() {
+        return response;
+    }
+
+    public Map<String, Object> getExtracted() {
+        return extracted;
+    }
+
+    /**
+     * @return why the step failed or was skipped, or {@code null} when it passed.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    long getEndNanos() {
+        return endNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s, start=%.1fms, duration=%.1fms%s", name, status, getStartMillis(),
+                getDurationMillis(), error == null ? "" : ", error=" + error);
+    }
+}
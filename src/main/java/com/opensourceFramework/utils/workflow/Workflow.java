@@ -0,0 +1,181 @@
+package com.opensourceFramework.utils.workflow;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.opensourceFramework.utils.extentReport.ExtentManager;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs multi-step API flows as a dependency graph: every step starts as soon as the steps it depends on have
+ * finished, so independent steps run in parallel.
+ * <pre>
+ * WorkflowResult result = new Workflow("checkout")
+ *         .step(WorkflowStep.of("createUser", this::createUserRequest).extract("userId", "id"))
+ *         .step(WorkflowStep.of("createOrder", this::createOrderRequest)
+ *                 .pathParam("userId", "createUser.userId").extract("orderId", "id"))
+ *         .step(WorkflowStep.of("pay", this::payRequest).bodyTemplate("{\"order\":\"${createOrder.orderId}\"}"))
+ *         .run();
+ * result.logToReport();
+ * </pre>
+ * A step whose dependency failed is skipped. The run itself never throws for a failing step; check
+ * {@link WorkflowResult#isPassed()}.
+ */
+public class Workflow {
+
+    private static final Logger log = LogManager.getLogger(Workflow.class.getName());
+
+    private final String name;
+    private final Map<String, WorkflowStep> steps = new LinkedHashMap<>();
+    private int parallelism;
+
+    public Workflow(String name) {
+        this.name = name;
+    }
+
+    public Workflow step(WorkflowStep step) {
+        if (steps.putIfAbsent(step.getName(), step) != null) {
+            throw new IllegalArgumentException("Duplicate step " + step.getName() + " in workflow " + name);
+        }
+        return this;
+    }
+
+    /**
+     * Limits the number of steps running at the same time; by default every ready step runs at once.
+     */
+    public Workflow setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Runs the workflow and waits for every step to finish or be skipped.
+     *
+     * @throws IllegalStateException when a step depends on an unknown step or the steps form a cycle.
+     */
+    public WorkflowResult run() {
+        List<WorkflowStep> order = topologicalOrder();
+        int threads = parallelism > 0 ? Math.min(parallelism, order.size()) : Math.max(1, order.size());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "workflow-" + name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExtentTest test = ExtentManager.getTest().get();
+        WorkflowContext context = new WorkflowContext();
+        Map<String, CompletableFuture<StepResult>> futures = new ConcurrentHashMap<>();
+        long origin = System.nanoTime();
+        try {
+            for (WorkflowStep step : order) {
+                CompletableFuture<?>[] dependencies = step.getDependencies().stream()
+                        .map(futures::get).toArray(CompletableFuture<?>[]::new);
+                futures.put(step.getName(), CompletableFuture.allOf(dependencies)
+                        .thenApplyAsync(ignored -> execute(step, futures, context, test, origin), executor));
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - origin;
+        List<StepResult> results = new ArrayList<>();
+        steps.keySet().forEach(step -> results.add(futures.get(step).join()));
+        WorkflowResult result = new WorkflowResult(name, results, elapsed);
+        log.info(result.summary());
+        return result;
+    }
+
+    private StepResult execute(WorkflowStep step, Map<String, CompletableFuture<StepResult>> futures,
+                               WorkflowContext context, ExtentTest test, long origin) {
+        long ready = 0;
+        StepResult unmet = null;
+        for (String dependency : step.getDependencies()) {
+            StepResult result = futures.get(dependency).join();
+            ready = Math.max(ready, result.getEndNanos());
+            if (unmet == null && result.getStatus() != StepResult.Status.PASSED) {
+                unmet = result;
+            }
+        }
+        if (unmet != null) {
+            return new StepResult(step.getName(), step.getDependencies(), StepResult.Status.SKIPPED, ready, ready,
+                    ready, null, null, new IllegalStateException("Dependency " + unmet.getName() + " "
+                    + unmet.getStatus().name().toLowerCase()));
+        }
+        if (test != null) {
+            ExtentManager.getTest().set(test);
+        }
+        long start = System.nanoTime() - origin;
+        Response response = null;
+        try {
+            response = step.buildRequest(context).makeAPICall();
+            Map<String, Object> extracted = step.complete(response, context);
+            return new StepResult(step.getName(), step.getDependencies(), StepResult.Status.PASSED, ready, start,
+                    System.nanoTime() - origin, response, extracted, null);
+        } catch (Throwable e) {
+            log.error("Step " + step.getName() + " of workflow " + name + " failed", e);
+            return new StepResult(step.getName(), step.getDependencies(), StepResult.Status.FAILED, ready, start,
+                    System.nanoTime() - origin, response, null, e);
+        } finally {
+            ExtentManager.getTest().remove();
+        }
+    }
+
+    /**
+     * Orders the steps so that every step comes after its dependencies (Kahn's algorithm).
+     */
+    private List<WorkflowStep> topologicalOrder() {
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (WorkflowStep step : steps.values()) {
+            for (String dependency : step.getDependencies()) {
+                if (!steps.containsKey(dependency)) {
+                    throw new IllegalStateException("Step " + step.getName() + " depends on unknown step " + dependency);
+                }
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(step.getName());
+            }
+            pending.put(step.getName(), step.getDependencies().size());
+        }
+        Deque<String> ready = new ArrayDeque<>();
+        pending.forEach((step, count) -> {
+            if (count == 0) {
+                ready.add(step);
+            }
+        });
+        List<WorkflowStep> order = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String step = ready.poll();
+            order.add(steps.get(step));
+            for (String dependent : dependents.getOrDefault(step, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() != steps.size()) {
+            List<String> cycle = new ArrayList<>();
+            pending.forEach((step, count) -> {
+                if (count > 0) {
+                    cycle.add(step);
+                }
+            });
+            throw new IllegalStateException("Workflow " + name + " has a dependency cycle between " + cycle);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,73 @@
+package com.opensourceFramework.utils.workflow;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Values extracted from the responses of the finished steps of a workflow run. A value is referenced as
+ * {@code step.alias}, e.g. {@code createUser.userId}.
+ */
+public class WorkflowContext {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]+)}");
+
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    void put(String step, String alias, Object value) {
+        values.put(step + "." + alias, value);
+    }
+
+    /**
+     * @param reference {@code step.alias} of an extracted value.
+     * @return the extracted value.
+     * @throws IllegalStateException when the step has not extracted the value.
+     */
+    public Object get(String reference) {
+        Object value = values.get(reference);
+        if (value == null) {
+            throw new IllegalStateException("No value extracted for " + reference);
+        }
+        return value;
+    }
+
+    public String getString(String reference) {
+        return String.valueOf(get(reference));
+    }
+
+    /**
+     * Replaces every {@code ${step.alias}} placeholder of a text with the extracted value.
+     */
+    public String resolve(String template) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder sb = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(getString(matcher.group(1))));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    /**
+     * @return the step names referenced by the {@code ${step.alias}} placeholders of a text.
+     */
+    static Set<String> referencedSteps(String template) {
+        Set<String> steps = new LinkedHashSet<>();
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        while (matcher.find()) {
+            steps.add(stepOf(matcher.group(1)));
+        }
+        return steps;
+    }
+
+    static String stepOf(String reference) {
+        int dot = reference.indexOf('.');
+        if (dot <= 0 || dot == reference.length() - 1) {
+            throw new IllegalArgumentException("A reference has the form step.alias: " + reference);
+        }
+        return reference.substring(0, dot);
+    }
+}
@@ -0,0 +1,135 @@
+package com.opensourceFramework.utils.workflow;
+
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.opensourceFramework.utils.extentReport.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-step results of a workflow run, with the critical path: the chain of dependent steps that determined
+ * the duration of the run. Making any other step faster does not make the run faster.
+ */
+public class WorkflowResult {
+
+    private final String name;
+    private final Map<String, StepResult> steps = new LinkedHashMap<>();
+    private final long elapsedNanos;
+    private final List<String> criticalPath;
+
+    WorkflowResult(String name, List<StepResult> results, long elapsedNanos) {
+        this.name = name;
+        results.forEach(result -> steps.put(result.getName(), result));
+        this.elapsedNanos = elapsedNanos;
+        this.criticalPath = Collections.unmodifiableList(findCriticalPath());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the result of a step, or {@code null} when the workflow has no such step.
+     */
+    public StepResult getStep(String step) {
+        return steps.get(step);
+    }
+
+    /**
+     * @return the results in the order the steps were added.
+     */
+    public List<StepResult> getSteps() {
+        return Collections.unmodifiableList(new ArrayList<>(steps.values()));
+    }
+
+    /**
+     * @return whether every step passed.
+     */
+    public boolean isPassed() {
+        return steps.values().stream().allMatch(step -> step.getStatus() == StepResult.Status.PASSED);
+    }
+
+    /**
+     * @return the wall clock duration of the run in milliseconds.
+     */
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return the sum of the step durations, i.e. how long the run would take serially, in milliseconds.
+     */
+    public double getSerialMillis() {
+        return steps.values().stream().mapToDouble(StepResult::getDurationMillis).sum();
+    }
+
+    /**
+     * @return the step names of the critical path, first step first.
+     */
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Follows the latest finishing dependency back from the step that finished last.
+     */
+    private List<String> findCriticalPath() {
+        List<String> path = new ArrayList<>();
+        StepResult current = latest(new ArrayList<>(steps.keySet()));
+        while (current != null) {
+            path.add(0, current.getName());
+            current = latest(current.getDependencies());
+        }
+        return path;
+    }
+
+    private StepResult latest(Iterable<String> names) {
+        StepResult latest = null;
+        for (String stepName : names) {
+            StepResult step = steps.get(stepName);
+            if (step != null && step.getStatus() != StepResult.Status.SKIPPED
+                    && (latest == null || step.getEndNanos() > latest.getEndNanos())) {
+                latest = step;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * @return one line per step followed by the critical path.
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (StepResult step : steps.values()) {
+            sb.append(step).append(System.lineSeparator());
+        }
+        sb.append(String.format("%s: elapsed=%.1fms, serial=%.1fms, critical path=%s", name, getElapsedMillis(),
+                getSerialMillis(), String.join(" -> ", criticalPath)));
+        return sb.toString();
+    }
+
+    /**
+     * Adds the per-step timing and the critical path as a table to the current Extent test.
+     */
+    public void logToReport() {
+        String[][] table = new String[steps.size() + 2][];
+        table[0] = new String[]{"Step", "Depends on", "Status", "Start ms", "Queued ms", "Duration ms", "Critical"};
+        int i = 1;
+        for (StepResult step : steps.values()) {
+            table[i++] = new String[]{step.getName(), String.join(", ", step.getDependencies()),
+                    String.valueOf(step.getStatus()), format(step.getStartMillis()), format(step.getQueuedMillis()),
+                    format(step.getDurationMillis()), criticalPath.contains(step.getName()) ? "*" : ""};
+        }
+        table[i] = new String[]{name, "", isPassed() ? "PASSED" : "FAILED", "0", "",
+                format(getElapsedMillis()) + " (serial " + format(getSerialMillis()) + ")",
+                String.join(" -> ", criticalPath)};
+        Logger.logInfo(MarkupHelper.createTable(table));
+    }
+
+    private static String format(double millis) {
+        return String.format("%.1f", millis);
+    }
+}
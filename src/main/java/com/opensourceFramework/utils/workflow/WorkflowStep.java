@@ -0,0 +1,169 @@
+package com.opensourceFramework.utils.workflow;
+
+import com.opensourceFramework.BaseAPIRequest;
+import io.restassured.response.Response;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * One API call of a {@link Workflow}. The template supplies a fresh {@link BaseAPIRequest} with everything
+ * that is known up front; the inputs declared on the step are filled in from the responses of earlier steps
+ * just before the call. Every step referenced by an input, plus the ones given to {@link #dependsOn}, must
+ * finish first.
+ */
+public class WorkflowStep {
+
+    private final String name;
+    private final Supplier<BaseAPIRequest> template;
+    private final Set<String> dependencies = new LinkedHashSet<>();
+    private final Map<String, String> pathParams = new LinkedHashMap<>();
+    private final Map<String, String> queryParams = new LinkedHashMap<>();
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final Map<String, Function<Response, Object>> extractors = new LinkedHashMap<>();
+    private Function<WorkflowContext, Object> body;
+    private Consumer<Response> verification;
+
+    private WorkflowStep(String name, Supplier<BaseAPIRequest> template) {
+        if (name == null || name.isEmpty() || name.contains(".")) {
+            throw new IllegalArgumentException("A step name must be non empty and without dots: " + name);
+        }
+        this.name = name;
+        this.template = template;
+    }
+
+    /**
+     * @param name     unique name of the step, referenced by later steps.
+     * @param template creates the request of the step; called once per run.
+     */
+    public static WorkflowStep of(String name, Supplier<BaseAPIRequest> template) {
+        return new WorkflowStep(name, template);
+    }
+
+    /**
+     * Declares steps that must finish first without passing data, e.g. a verification after a payment.
+     */
+    public WorkflowStep dependsOn(String... steps) {
+        Collections.addAll(dependencies, steps);
+        return this;
+    }
+
+    /**
+     * Sets a path parameter to the value {@code step.alias} extracted by an earlier step.
+     */
+    public WorkflowStep pathParam(String name, String reference) {
+        pathParams.put(name, reference);
+        dependencies.add(WorkflowContext.stepOf(reference));
+        return this;
+    }
+
+    /**
+     * Sets a query parameter to the value {@code step.alias} extracted by an earlier step.
+     */
+    public WorkflowStep queryParam(String name, String reference) {
+        queryParams.put(name, reference);
+        dependencies.add(WorkflowContext.stepOf(reference));
+        return this;
+    }
+
+    /**
+     * Sets a header to the value {@code step.alias} extracted by an earlier step, e.g. a token.
+     */
+    public WorkflowStep header(String name, String reference) {
+        headers.put(name, reference);
+        dependencies.add(WorkflowContext.stepOf(reference));
+        return this;
+    }
+
+    /**
+     * Sets the body to a text whose {@code ${step.alias}} placeholders are replaced with extracted values.
+     */
+    public WorkflowStep bodyTemplate(String template) {
+        dependencies.addAll(WorkflowContext.referencedSteps(template));
+        this.body = context -> context.resolve(template);
+        return this;
+    }
+
+    /**
+     * Builds the body from extracted values; the steps it reads must be declared with {@link #dependsOn}.
+     */
+    public WorkflowStep body(Function<WorkflowContext, Object> body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Extracts a value of the JSON response, available to later steps as {@code thisStep.alias}.
+     *
+     * @param jsonPath RestAssured JsonPath expression, e.g. {@code data.id}.
+     */
+    public WorkflowStep extract(String alias, String jsonPath) {
+        return extract(alias, response -> response.jsonPath().get(jsonPath));
+    }
+
+    /**
+     * Extracts a value of the response, e.g. a header, available to later steps as {@code thisStep.alias}.
+     */
+    public WorkflowStep extract(String alias, Function<Response, Object> extractor) {
+        extractors.put(alias, extractor);
+        return this;
+    }
+
+    /**
+     * Verifies the response, e.g. with TestNG assertions; the step fails when it throws.
+     */
+    public WorkflowStep verify(Consumer<Response> verification) {
+        this.verification = verification;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getDependencies() {
+        return Collections.unmodifiableSet(dependencies);
+    }
+
+    /**
+     * Creates the request of the step with the inputs resolved from the context.
+     */
+    BaseAPIRequest buildRequest(WorkflowContext context) {
+        BaseAPIRequest request = template.get();
+        pathParams.forEach((param, reference) -> request.addPathParam(param, context.get(reference)));
+        queryParams.forEach((param, reference) -> request.addQueryParam(param, context.get(reference)));
+        headers.forEach((header, reference) -> request.addHeader(header, context.getString(reference)));
+        if (body != null) {
+            request.setBody(body.apply(context));
+        }
+        return request;
+    }
+
+    /**
+     * Verifies the response and stores the extracted values in the context.
+     *
+     * @return the extracted values by alias.
+     */
+    Map<String, Object> complete(Response response, WorkflowContext context) {
+        if (verification != null) {
+            verification.accept(response);
+        }
+        Map<String, Object> extracted = new LinkedHashMap<>();
+        extractors.forEach((alias, extractor) -> {
+            Object value = extractor.apply(response);
+            if (value == null) {
+                throw new IllegalStateException("Step " + name + " could not extract " + alias
+                        + " from a response with status " + response.getStatusCode());
+            }
+            extracted.put(alias, value);
+            context.put(name, alias, value);
+        });
+        return extracted;
+    }
+}
@@ -0,0 +1,218 @@
+package com.opensourceFramework.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpRequest;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.message.BasicHttpEntityEnclosingRequest;
+import org.apache.http.message.BasicHttpRequest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public class ConvertHttpRequestToCurlTest {
+
+    @DataProvider
+    public Object[][] posixRequests() {
+        return new Object[][]{
+                {get("https://api.example.com/users/{id}/C:\\temp?q={x}")},
+                {get("/users//1//orders", "Host", "api.example.com:443")},
+                {get("/users", "Host", "api.example.com", "Cookie", "session=abc=def; theme=dark")},
+                {get("/users", "Host", "api.example.com", "Authorization",
+                        "Basic " + Base64.getEncoder().encodeToString("user:p@ss".getBytes(StandardCharsets.UTF_8)),
+                        "X-Request-Id", "3f1c2d7e")},
+                {withBody("POST", "application/json", "{\"name\":\"its\",\"path\":\"C:\\\\temp\"}")},
+                {withBody("PUT", "application/x-www-form-urlencoded", "grant_type=client_credentials&scope=read%20write")},
+                {withBody("POST", "text/plain", "first line\nsecond line\r\n")},
+                {withBody("POST", "text/plain", "a'b")},
+                {withBody("POST", "text/plain", "a\u00e9b")},
+                {withBody("POST", "text/plain", "a\u4e2db")},
+                {withBody("POST", "text/plain", "a\nb")},
+                {withBody("POST", "text/plain", "a\ud83d\ude00b")},
+                {withBody("POST", "text/plain", "\nab")},
+                {get("HTTPS://api.example.com/users")},
+                {get("ftp://files.example.com/export.csv")},
+                {get("mailto:someone@example.com", "Host", "api.example.com")},
+                {get("jar:file:/tmp/app.jar!/config.json", "Host", "api.example.com")},
+                {get("jar:file:/tmp/app.jar", "Host", "api.example.com")},
+                {get("urn:isbn:0451450523", "Host", "api.example.com")},
+                {get("1http://api.example.com/users", "Host", "api.example.com")},
+        };
+    }
+
+    /**
+     * Requests sent through REST-assured, as the curl interceptor sees them.
+     */
+    @DataProvider
+    public Object[][] capturedRequests() throws IOException {
+        File upload = File.createTempFile("curl-upload", ".txt");
+        upload.deleteOnExit();
+        Files.writeString(upload.toPath(), "file content");
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+            return new Object[][]{
+                    {capture(spec -> spec.baseUri(baseUri)
+                            .multiPart("file", upload)
+                            .multiPart("description", "a file")
+                            .post("/upload")), "-F 'file=@"},
+                    {capture(spec -> spec.baseUri(baseUri)
+                            .contentType("multipart/mixed")
+                            .multiPart("first", "one")
+                            .multiPart("second", "{\"two\":2}", "application/json")
+                            .put("/batch")), "-H 'Content-Type: multipart/mixed'"},
+                    {capture(spec -> spec.baseUri(baseUri)
+                            .auth().preemptive().basic("user", "p@ss")
+                            .formParam("grant_type", "client_credentials")
+                            .formParam("scope", "read write")
+                            .post("/oauth/token")), "--data-binary 'grant_type=client_credentials&scope=read%20write'"},
+                    {capture(spec -> spec.baseUri(baseUri)
+                            .contentType("application/json")
+                            .cookie("session", "abc=def")
+                            .body("{\"name\":\"curl\"}")
+                            .post("/users")), "-b 'session=abc=def'"},
+            };
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @DataProvider
+    public Object[][] windowsRequests() {
+        return new Object[][]{
+                {get("https://api.example.com/users/{id}?q=100%")},
+                {get("/users", "Host", "api.example.com", "Cookie", "session=\"abc\"")},
+                {withBody("POST", "application/json", "{\"name\":\"100%\",\"path\":\"C:\\\\temp\"}")},
+        };
+    }
+
+    @DataProvider
+    public Object[][] rejectedRequests() {
+        BasicHttpEntityEnclosingRequest noContentType = new BasicHttpEntityEnclosingRequest("POST",
+                "https://api.example.com/users");
+        noContentType.setEntity(new StringEntity("{}", StandardCharsets.UTF_8));
+        return new Object[][]{
+                {noContentType},
+                {get("/users", "Host", "api.example.com", "Cookie", "session=abc; flag")},
+                {withBody("POST", "text/plain", "a\u0101b")},
+        };
+    }
+
+    @Test(dataProvider = "posixRequests")
+    public void rendersLikeTheLegacyRendererOnPosix(HttpRequest request) throws Exception {
+        onOs("Linux", () -> assertSameCommand(request));
+    }
+
+    @Test(dataProvider = "capturedRequests")
+    public void rendersCapturedRequestsLikeTheLegacyRenderer(HttpRequest request, String expected) throws Exception {
+        onOs("Linux", () -> {
+            assertSameCommand(request);
+            String curl = ConvertHttpRequestToCurl.generateCurl(request);
+            Assert.assertTrue(curl.contains(expected), curl);
+        });
+        onOs("Windows 10", () -> assertSameCommand(request));
+    }
+
+    @Test(dataProvider = "windowsRequests")
+    public void rendersLikeTheLegacyRendererOnWindows(HttpRequest request) throws Exception {
+        onOs("Windows 10", () -> assertSameCommand(request));
+    }
+
+    @Test(dataProvider = "rejectedRequests")
+    public void rejectsRequestsTheLegacyRendererFailedOn(HttpRequest request) throws Exception {
+        onOs("Linux", () -> assertRejected(request));
+    }
+
+    @Test
+    public void escapesSingleQuotesInsideSingleQuotes() throws Exception {
+        onOs("Linux", () -> {
+            String curl = ConvertHttpRequestToCurl.generateCurl(withBody("POST", "application/json",
+                    "{\"name\":\"it's\"}"));
+            Assert.assertTrue(curl.contains("--data '{\"name\":\"it'\\''s\"}'"), curl);
+        });
+    }
+
+    @Test
+    public void rejectsLineBreaksOnWindows() throws Exception {
+        onOs("Windows 10", () -> assertRejected(withBody("POST", "text/plain", "first line\nsecond line")));
+    }
+
+    private static void assertSameCommand(HttpRequest request) throws Exception {
+        for (boolean multiliner : new boolean[]{false, true}) {
+            Assert.assertEquals(ConvertHttpRequestToCurl.generateCurl(request, multiliner),
+                    LegacyCurlRenderer.generateCurl(request, multiliner), request.getRequestLine().toString());
+        }
+    }
+
+    private static void assertRejected(HttpRequest request) {
+        Assert.assertThrows(Exception.class, () -> LegacyCurlRenderer.generateCurl(request));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ConvertHttpRequestToCurl.generateCurl(request));
+    }
+
+    private static HttpRequest capture(Function<RequestSpecification, ?> call) {
+        AtomicReference<HttpRequest> captured = new AtomicReference<>();
+        RestAssuredConfig config = RestAssured.config()
+                .httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(() -> {
+                    DefaultHttpClient client = new DefaultHttpClient();
+                    client.addRequestInterceptor((request, context) -> captured.set(request));
+                    return client;
+                }));
+        call.apply(RestAssured.given().config(config));
+        Assert.assertNotNull(captured.get(), "No HTTP request was captured");
+        return captured.get();
+    }
+
+    private static HttpRequest get(String uri, String... headers) {
+        BasicHttpRequest request = new BasicHttpRequest("GET", uri);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.addHeader(headers[i], headers[i + 1]);
+        }
+        return request;
+    }
+
+    private static HttpRequest withBody(String method, String contentType, String body) {
+        BasicHttpEntityEnclosingRequest request = new BasicHttpEntityEnclosingRequest(method,
+                "https://api.example.com/users");
+        request.addHeader("Content-Type", contentType);
+        request.setEntity(new StringEntity(body, StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static void onOs(String osName, Assertion assertion) throws Exception {
+        String previous = System.getProperty("os.name");
+        System.setProperty("os.name", osName);
+        try {
+            assertion.run();
+        } finally {
+            System.setProperty("os.name", previous);
+        }
+    }
+
+    private interface Assertion {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,90 @@
+package com.opensourceFramework.utils;
+
+import com.opensourceFramework.constants.Constants;
+import com.opensourceFramework.utils.excel.ResultWorkbook;
+import com.opensourceFramework.utils.excel.WorkbookCache;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class ExcelUtilsTest {
+
+    private File directory;
+
+    @BeforeMethod
+    public void openWorkbook() throws IOException {
+        directory = Files.createTempDirectory("excel-utils").toFile();
+        File file = new File(directory, "testdata.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet runManager = workbook.createSheet(Constants.RUNMANAGERSHEET);
+            Row header = runManager.createRow(0);
+            header.createCell(0).setCellValue("TestCaseName");
+            header.createCell(1).setCellValue("Execute");
+            Row test = runManager.createRow(1);
+            test.createCell(0).setCellValue("CREATEUSER");
+            test.createCell(1).setCellValue("Yes");
+            Sheet testData = workbook.createSheet(Constants.TESTDATASHEETNAME);
+            Row columns = testData.createRow(0);
+            columns.createCell(0).setCellValue("TestCaseName");
+            columns.createCell(1).setCellValue("Result");
+            Row row = testData.createRow(1);
+            row.createCell(0).setCellValue("CREATEUSER");
+            row.createCell(1).setCellValue("not run");
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+        WorkbookCache.setEnabled(false);
+        ExcelUtils.open(file);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreDefaults() {
+        ResultWorkbook.finishRecording();
+        ResultWorkbook.setEnabled(false);
+        WorkbookCache.setEnabled(true);
+    }
+
+    @Test
+    public void readsItsOwnWritesWithoutRecording() {
+        ResultWorkbook.startRecording(directory);
+        Assert.assertFalse(ResultWorkbook.isRecording());
+
+        ExcelUtils.setCellContent(Constants.TESTDATASHEETNAME, "CREATEUSER", "Result", "passed");
+
+        Assert.assertEquals(ExcelUtils.getCellContent(Constants.TESTDATASHEETNAME, 1, 1), "passed");
+        Assert.assertEquals(ExcelUtils.getCellContent(Constants.TESTDATASHEETNAME, "CREATEUSER", "Result"), "passed");
+    }
+
+    @Test
+    public void readsItsOwnWritesWhileRecording() throws IOException {
+        ResultWorkbook.setEnabled(true);
+        ResultWorkbook.startRecording(directory);
+        Assert.assertTrue(ResultWorkbook.isRecording());
+
+        ExcelUtils.setCellContent(Constants.TESTDATASHEETNAME, "CREATEUSER", "Result", "passed");
+
+        Assert.assertEquals(ExcelUtils.getCellContent(Constants.TESTDATASHEETNAME, 1, 1), "passed");
+        Assert.assertEquals(ExcelUtils.getCellContent(Constants.TESTDATASHEETNAME, 1, "Result"), "passed");
+        Assert.assertEquals(ExcelUtils.getCellContent(Constants.TESTDATASHEETNAME, "CREATEUSER", "Result"), "passed");
+        Assert.assertEquals(ExcelUtils.getCellContent(Constants.TESTDATASHEETNAME, 1, 0), "CREATEUSER");
+
+        File results = ResultWorkbook.finishRecording();
+        Assert.assertEquals(results, new File(directory, "testdata" + ResultWorkbook.FILE_SUFFIX));
+        try (Workbook workbook = new XSSFWorkbook(new FileInputStream(results))) {
+            Assert.assertEquals(workbook.getSheet(Constants.TESTDATASHEETNAME).getRow(1).getCell(1)
+                    .getStringCellValue(), "passed");
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ColumnarSheetTest {
+
+    private static final int ROWS = 130;
+    private static final int MISSING_ROW = 100;
+    private static final Object BLANK = new Object();
+    private static final String[] NAMES = {"alpha", "beta", "gamma"};
+
+    private ColumnarSheet sheet;
+
+    @BeforeClass
+    public void readSheet() {
+        SheetRow[] rows = new SheetRow[ROWS + 1];
+        rows[0] = row(0, "Id", "Big", "Price", "Active", "Name", "Mixed", "Phone", "Error", "Empty");
+        for (int r = 1; r <= ROWS; r++) {
+            if (r == MISSING_ROW) {
+                continue;
+            }
+            rows[r] = row(r,
+                    r,
+                    r % 2 == 0 ? 3_000_000_000L + r : r,
+                    r % 4 == 0 ? r + 0.5 : r,
+                    r % 5 == 0 ? BLANK : r % 3 == 0,
+                    NAMES[r % 3],
+                    r % 3 == 0 ? r : r % 3 == 1 ? "text " + r : Boolean.TRUE,
+                    "0" + (7000 + r),
+                    r == 1 ? FormulaError.DIV0 : "ok",
+                    BLANK);
+        }
+        sheet = ColumnarSheet.of(SheetSnapshot.of("Data", rows));
+    }
+
+    @Test
+    public void infersTheTypeOfEachColumn() {
+        Assert.assertEquals(sheet.getLastRowNum(), ROWS);
+        Assert.assertEquals(sheet.getColumnCount(), 9);
+        ColumnType[] expected = {ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE, ColumnType.BOOLEAN,
+                ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING};
+        for (int c = 0; c < expected.length; c++) {
+            Assert.assertEquals(sheet.getType(c), expected[c], sheet.getHeaders().get(c));
+        }
+        Assert.assertEquals(sheet.getColumn("PRICE"), 2);
+        Assert.assertEquals(sheet.getColumn("missing"), -1);
+    }
+
+    @Test
+    public void readsNumbersAsTheirTypeAndAsText() {
+        Assert.assertEquals(sheet.getInt(7, 0), 7);
+        Assert.assertEquals(sheet.getLong(7, 0), 7L);
+        Assert.assertEquals(sheet.getDouble(7, 0), 7.0);
+        Assert.assertEquals(sheet.getLong(8, 1), 3_000_000_008L);
+        Assert.assertEquals(sheet.getLong(9, 1), 9L);
+        Assert.assertEquals(sheet.getString(8, 1), "3000000008");
+        Assert.assertEquals(sheet.getDouble(8, 2), 8.5);
+        Assert.assertEquals(sheet.getDouble(9, 2), 9.0);
+        Assert.assertEquals(sheet.getString(8, 2), "8.5");
+        Assert.assertEquals(sheet.getString(9, 2), "9");
+        Assert.assertThrows(IllegalStateException.class, () -> sheet.getInt(8, 1));
+        Assert.assertThrows(IllegalStateException.class, () -> sheet.getLong(8, 2));
+        Assert.assertThrows(IllegalStateException.class, () -> sheet.getDouble(8, 4));
+        Assert.assertThrows(IllegalStateException.class, () -> sheet.getBoolean(8, 0));
+    }
+
+    @Test
+    public void keepsBooleansInABitSetAcrossWords() {
+        for (int r = 1; r <= ROWS; r++) {
+            if (r == MISSING_ROW) {
+                continue;
+            }
+            boolean blank = r % 5 == 0;
+            Assert.assertEquals(sheet.isNull(r, 3), blank, "row " + r);
+            Assert.assertEquals(sheet.getBoolean(r, 3), !blank && r % 3 == 0, "row " + r);
+            Assert.assertEquals(sheet.getString(r, 3), blank ? "" : String.valueOf(r % 3 == 0));
+        }
+    }
+
+    @Test
+    public void convertsMixedColumnsToText() {
+        Assert.assertEquals(sheet.getString(3, 5), "3");
+        Assert.assertEquals(sheet.getString(4, 5), "text 4");
+        Assert.assertEquals(sheet.getString(5, 5), "true");
+        // text that looks like a number keeps its leading zero
+        Assert.assertEquals(sheet.getString(1, 6), "07001");
+        // an error cell reads as its FormulaError code, like SheetRow.getString
+        Assert.assertEquals(sheet.getString(1, 7), String.valueOf(FormulaError.DIV0.getCode()));
+        Assert.assertEquals(sheet.getString(2, 7), "ok");
+    }
+
+    @Test
+    public void readsBlankAndMissingCellsAsNull() {
+        for (int c = 0; c < sheet.getColumnCount(); c++) {
+            Assert.assertTrue(sheet.isNull(MISSING_ROW, c));
+            Assert.assertEquals(sheet.getString(MISSING_ROW, c), "");
+        }
+        Assert.assertEquals(sheet.getInt(MISSING_ROW, 0), 0);
+        Assert.assertEquals(sheet.getDouble(MISSING_ROW, 2), 0.0);
+        Assert.assertFalse(sheet.getBoolean(MISSING_ROW, 3));
+        Assert.assertTrue(sheet.isNull(1, 8));
+        Assert.assertEquals(sheet.getDistinctCount(8), 0);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> sheet.getString(0, 0));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> sheet.getString(ROWS + 1, 0));
+    }
+
+    @Test
+    public void findsRowsThroughTheStringDictionary() {
+        Assert.assertEquals(sheet.getDistinctCount(4), NAMES.length);
+        Assert.assertEquals(sheet.getDistinctCount(0), 0);
+        List<Integer> expected = new ArrayList<>();
+        for (int r = 1; r <= ROWS; r++) {
+            if (r != MISSING_ROW && r % 3 == 1) {
+                expected.add(r);
+            }
+        }
+        int[] found = sheet.findRows(4, "beta");
+        Assert.assertEquals(found.length, expected.size());
+        for (int i = 0; i < found.length; i++) {
+            Assert.assertEquals(found[i], expected.get(i).intValue());
+        }
+        Assert.assertEquals(sheet.findRows(4, "delta").length, 0);
+        Assert.assertEquals(sheet.findRows(0, "42"), new int[]{42});
+        Assert.assertEquals(sheet.findRows(8, ""), new int[0]);
+    }
+
+    @Test
+    public void cursorWalksEveryRow() {
+        ColumnarSheet.Cursor cursor = sheet.cursor();
+        int rows = 0;
+        long ids = 0;
+        while (cursor.next()) {
+            rows++;
+            if (!cursor.isNull(0)) {
+                ids += cursor.getInt(0);
+                Assert.assertEquals(cursor.getString("name"), NAMES[cursor.getRowNum() % 3]);
+                Assert.assertEquals(cursor.getLong("Id"), cursor.getRowNum());
+            }
+        }
+        Assert.assertEquals(rows, ROWS);
+        Assert.assertEquals(ids, (long) ROWS * (ROWS + 1) / 2 - MISSING_ROW);
+        Assert.assertFalse(cursor.next());
+
+        ColumnarSheet.Cursor positioned = sheet.cursor(12);
+        Assert.assertEquals(positioned.getDouble("price"), 12.5);
+        Assert.assertTrue(positioned.getBoolean("active"));
+        Assert.assertSame(positioned.getSheet(), sheet);
+        Assert.assertThrows(IllegalArgumentException.class, () -> positioned.getString("missing"));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> positioned.moveTo(0));
+    }
+
+    /**
+     * A row as the streaming reader produces it: {@code null} is no cell, {@link #BLANK} a blank cell.
+     */
+    private static SheetRow row(int rowNum, Object... cells) {
+        CellType[] types = new CellType[cells.length];
+        String[] texts = new String[cells.length];
+        double[] numbers = new double[cells.length];
+        boolean[] formulas = new boolean[cells.length];
+        for (int c = 0; c < cells.length; c++) {
+            Object cell = cells[c];
+            if (cell == BLANK) {
+                types[c] = CellType.BLANK;
+            } else if (cell instanceof String) {
+                types[c] = CellType.STRING;
+                texts[c] = (String) cell;
+            } else if (cell instanceof Number) {
+                types[c] = CellType.NUMERIC;
+                numbers[c] = ((Number) cell).doubleValue();
+            } else if (cell instanceof Boolean) {
+                types[c] = CellType.BOOLEAN;
+                texts[c] = cell.toString();
+            } else if (cell instanceof FormulaError) {
+                types[c] = CellType.ERROR;
+                texts[c] = ((FormulaError) cell).getString();
+                numbers[c] = ((FormulaError) cell).getCode();
+                formulas[c] = true;
+            }
+        }
+        return new SheetRow(rowNum, types, texts, numbers, formulas);
+    }
+}
@@ -0,0 +1,112 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+public class ResultWriterTest {
+
+    @Test
+    public void mergesWritesFromSeveralRunsIntoACopyOfTheSource() throws IOException {
+        File directory = Files.createTempDirectory("result-writer").toFile();
+        File source = createSource(new File(directory, "testdata.xlsx"));
+        File target = new File(directory, "testdata-results.xlsx");
+
+        ResultWriter writer = new ResultWriter(source, target, 10, 2, 16, 3);
+        writer.write("data", 1, 1, "pass");
+        writer.write("DATA", 3, 1, "fail");
+        writer.write("Data", 2, 0, "B");
+        writer.write("Data", 1, 1, "pass again");
+        writer.write("Data", 5, 2, "tail");
+        writer.write("New", 0, 0, "added");
+        writer.write("Other", 0, 1, "v");
+        Assert.assertEquals(writer.commit(), 7);
+
+        try (Workbook result = new XSSFWorkbook(new FileInputStream(target))) {
+            Assert.assertEquals(result.getNumberOfSheets(), 3);
+            Assert.assertEquals(result.getSheetName(0), "Data");
+            Assert.assertEquals(result.getSheetName(1), "Other");
+            Assert.assertEquals(result.getSheetName(2), "New");
+            Sheet data = result.getSheet("Data");
+            Assert.assertEquals(data.getRow(0).getCell(1).getStringCellValue(), "Result");
+            Assert.assertEquals(data.getRow(1).getCell(0).getStringCellValue(), "A");
+            Assert.assertEquals(data.getRow(1).getCell(1).getStringCellValue(), "pass again");
+            Assert.assertEquals(data.getRow(1).getCell(2).getNumericCellValue(), 5.0);
+            Assert.assertEquals(data.getRow(2).getCell(0).getStringCellValue(), "B");
+            Assert.assertEquals(data.getRow(3).getCell(1).getStringCellValue(), "fail");
+            Assert.assertTrue(data.getRow(3).getCell(2).getBooleanCellValue());
+            Assert.assertNull(data.getRow(4));
+            Assert.assertEquals(data.getRow(5).getCell(2).getStringCellValue(), "tail");
+            Assert.assertEquals(result.getSheet("Other").getRow(0).getCell(0).getStringCellValue(), "k");
+            Assert.assertEquals(result.getSheet("Other").getRow(0).getCell(1).getStringCellValue(), "v");
+            Assert.assertEquals(result.getSheet("New").getRow(0).getCell(0).getStringCellValue(), "added");
+        }
+        // the runs and temporary files are gone
+        List<String> files = Arrays.asList(directory.list());
+        Assert.assertEquals(files.size(), 2, files.toString());
+    }
+
+    @Test
+    public void writesNothingButTheSourceWithoutWrites() throws IOException {
+        File directory = Files.createTempDirectory("result-writer").toFile();
+        File source = createSource(new File(directory, "testdata.xlsx"));
+        File target = new File(directory, "testdata-results.xlsx");
+
+        try (ResultWriter writer = new ResultWriter(source, target, 10, 2, 16)) {
+            writer.write("Other", 0, 0, "k");
+        }
+        try (Workbook result = new XSSFWorkbook(new FileInputStream(target))) {
+            Assert.assertEquals(result.getSheet("Data").getRow(3).getCell(0).getStringCellValue(), "C");
+            Assert.assertEquals(result.getSheet("Other").getRow(0).getCell(0).getStringCellValue(), "k");
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsTheSourceAsTarget() throws IOException {
+        File directory = Files.createTempDirectory("result-writer").toFile();
+        File source = createSource(new File(directory, "testdata.xlsx"));
+        new ResultWriter(source, new File(directory, "./testdata.xlsx"), 10, 2, 16);
+    }
+
+    @Test
+    public void rejectsWritesAfterTheCommit() throws IOException {
+        File directory = Files.createTempDirectory("result-writer").toFile();
+        File source = createSource(new File(directory, "testdata.xlsx"));
+        ResultWriter writer = new ResultWriter(source, new File(directory, "results.xlsx"), 10, 2, 16);
+        writer.commit();
+        Assert.assertThrows(IllegalStateException.class, () -> writer.write("Data", 1, 1, "late"));
+    }
+
+    private static File createSource(File file) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet data = workbook.createSheet("Data");
+            Row header = data.createRow(0);
+            header.createCell(0).setCellValue("TestCaseName");
+            header.createCell(1).setCellValue("Result");
+            header.createCell(2).setCellValue("Count");
+            Row first = data.createRow(1);
+            first.createCell(0).setCellValue("A");
+            first.createCell(2).setCellValue(5);
+            Row third = data.createRow(3);
+            third.createCell(0).setCellValue("C");
+            third.createCell(1).setCellValue("x");
+            third.createCell(2).setCellValue(true);
+            workbook.createSheet("Other").createRow(0).createCell(0).setCellValue("k");
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,171 @@
+package com.opensourceFramework.utils.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class TestDataCompilerTest {
+
+    private static final Object[] RUNMANAGER_HEADER = {"TestCaseName", "Execute", "Weight"};
+    private static final Object[] TESTDATA_HEADER = {"TestCaseName", "Execute", "Body"};
+
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("test-data");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void compilesAValidWorkbook() throws IOException {
+        Map<String, List<Object[]>> sheets = new LinkedHashMap<>();
+        sheets.put("RUNMANAGER", Arrays.asList(RUNMANAGER_HEADER,
+                new Object[]{"login", "Yes", 2},
+                new Object[]{"logout", "no", 1},
+                new Object[]{"draft", "", 1},
+                // rows without a test case are not checked
+                new Object[]{"", "Maybe"}));
+        sheets.put("TESTDATA", Arrays.asList(TESTDATA_HEADER,
+                new Object[]{"login", " YES ", "{}"}));
+        File workbook = workbook(sheets);
+
+        Assert.assertEquals(problems(workbook), Collections.emptyList());
+        File output = directory.resolve("classes").toFile();
+        File compiled = TestDataCompiler.compile(workbook, output);
+        Assert.assertTrue(compiled.isFile());
+        long modified = compiled.lastModified();
+        Assert.assertEquals(TestDataCompiler.compile(workbook, output), compiled);
+        Assert.assertEquals(compiled.lastModified(), modified);
+    }
+
+    @Test
+    public void reportsAMissingSheet() throws IOException {
+        File workbook = workbook(Collections.singletonMap("RUNMANAGER", Arrays.asList(RUNMANAGER_HEADER,
+                new Object[]{"login", "Yes", 1})));
+        Assert.assertEquals(problems(workbook), Collections.singletonList("The TESTDATA sheet is missing"));
+    }
+
+    @Test
+    public void reportsMissingColumns() throws IOException {
+        Map<String, List<Object[]>> sheets = new LinkedHashMap<>();
+        sheets.put("RUNMANAGER", Arrays.asList(new Object[]{"TestCaseName", "Run"}, new Object[]{"login", "Yes"}));
+        sheets.put("TESTDATA", Collections.singletonList(TESTDATA_HEADER));
+        Assert.assertEquals(problems(workbook(sheets)), Collections.singletonList("RUNMANAGER has no Execute column"));
+
+        sheets.put("RUNMANAGER", Arrays.asList(new Object[]{"Name", "Execute"}, new Object[]{"login", "Yes"}));
+        Assert.assertEquals(problems(workbook(sheets)),
+                Collections.singletonList("RUNMANAGER has no TestCaseName column"));
+    }
+
+    @Test
+    public void reportsBadExecuteValues() throws IOException {
+        Map<String, List<Object[]>> sheets = new LinkedHashMap<>();
+        sheets.put("RUNMANAGER", Arrays.asList(RUNMANAGER_HEADER,
+                new Object[]{"login", "Maybe", 1},
+                new Object[]{"logout", "Yes", 1}));
+        sheets.put("TESTDATA", Arrays.asList(TESTDATA_HEADER,
+                new Object[]{"login", 1, "{}"}));
+        Assert.assertEquals(problems(workbook(sheets)), Arrays.asList(
+                "RUNMANAGER!B2 is 'Maybe', expected Yes or No",
+                "TESTDATA!B2 is '1', expected Yes or No"));
+    }
+
+    @Test
+    public void reportsErrorCells() throws IOException {
+        Map<String, List<Object[]>> sheets = new LinkedHashMap<>();
+        sheets.put("RUNMANAGER", Arrays.asList(RUNMANAGER_HEADER,
+                new Object[]{"login", "Yes", FormulaError.DIV0}));
+        sheets.put("TESTDATA", Arrays.asList(TESTDATA_HEADER,
+                new Object[]{"login", "Yes", FormulaError.REF}));
+        Assert.assertEquals(problems(workbook(sheets)), Arrays.asList(
+                "RUNMANAGER!C2 holds the error #DIV/0!",
+                "TESTDATA!C2 holds the error #REF!"));
+    }
+
+    @Test
+    public void reportsInvalidLoadScenarios() throws IOException {
+        Map<String, List<Object[]>> sheets = new LinkedHashMap<>();
+        sheets.put("RUNMANAGER", Arrays.asList(RUNMANAGER_HEADER,
+                new Object[]{"login", "Yes", -1}));
+        sheets.put("TESTDATA", Collections.singletonList(TESTDATA_HEADER));
+        Assert.assertEquals(problems(workbook(sheets)), Collections.singletonList(
+                "Invalid load scenario: Weight and target rate must not be negative for login"));
+    }
+
+    @Test
+    public void compileFailsWithEveryProblemAndWritesNothing() throws IOException {
+        Map<String, List<Object[]>> sheets = new LinkedHashMap<>();
+        sheets.put("RUNMANAGER", Arrays.asList(RUNMANAGER_HEADER,
+                new Object[]{"login", "Maybe", FormulaError.NA}));
+        File workbook = workbook(sheets);
+        File output = directory.resolve("classes").toFile();
+
+        IllegalStateException e = Assert.expectThrows(IllegalStateException.class,
+                () -> TestDataCompiler.compile(workbook, output));
+        Assert.assertTrue(e.getMessage().contains("RUNMANAGER!C2 holds the error #N/A"), e.getMessage());
+        Assert.assertTrue(e.getMessage().contains("RUNMANAGER!B2 is 'Maybe', expected Yes or No"), e.getMessage());
+        Assert.assertTrue(e.getMessage().contains("The TESTDATA sheet is missing"), e.getMessage());
+        Assert.assertFalse(output.exists());
+    }
+
+    private static List<String> problems(File workbook) throws IOException {
+        byte[] compiled = WorkbookCache.build(workbook, WorkbookCache.sha256(workbook));
+        try (CachedWorkbook source = new CachedWorkbook(workbook, ByteBuffer.wrap(compiled))) {
+            return TestDataCompiler.validate(TestDataWorkbook.read(source));
+        }
+    }
+
+    private File workbook(Map<String, List<Object[]>> sheets) throws IOException {
+        File file = Files.createTempFile(directory, "testdata", ".xlsx").toFile();
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+            for (Map.Entry<String, List<Object[]>> sheet : sheets.entrySet()) {
+                Sheet created = workbook.createSheet(sheet.getKey());
+                for (int r = 0; r < sheet.getValue().size(); r++) {
+                    Row row = created.createRow(r);
+                    Object[] values = sheet.getValue().get(r);
+                    for (int c = 0; c < values.length; c++) {
+                        Cell cell = row.createCell(c);
+                        if (values[c] instanceof Number) {
+                            cell.setCellValue(((Number) values[c]).doubleValue());
+                        } else if (values[c] instanceof FormulaError) {
+                            cell.setCellErrorValue(((FormulaError) values[c]).getCode());
+                        } else {
+                            cell.setCellValue((String) values[c]);
+                        }
+                    }
+                }
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+}
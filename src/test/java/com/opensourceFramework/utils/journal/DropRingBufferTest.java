@@ -0,0 +1,89 @@
+package com.opensourceFramework.utils.journal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DropRingBufferTest {
+
+    @Test
+    public void dropsAndCountsOffersWhenFull() {
+        DropRingBuffer<Integer> buffer = new DropRingBuffer<>(3);
+        Assert.assertEquals(buffer.capacity(), 4);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertEquals(buffer.offer(i), i < 4, "offer " + i);
+        }
+        Assert.assertEquals(buffer.getDropped(), 2);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(buffer.poll(), Integer.valueOf(i));
+        }
+        Assert.assertNull(buffer.poll());
+        // the freed slots take new elements again
+        Assert.assertTrue(buffer.offer(6));
+        Assert.assertEquals(buffer.poll(), Integer.valueOf(6));
+        Assert.assertEquals(buffer.getDropped(), 2);
+    }
+
+    @Test
+    public void rejectsAnEmptyCapacity() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new DropRingBuffer<>(0));
+    }
+
+    @Test
+    public void concurrentOffersAreEachTakenOnceOrCountedAsDropped() throws InterruptedException {
+        int producers = 4;
+        int offersPerProducer = 50_000;
+        DropRingBuffer<long[]> buffer = new DropRingBuffer<>(64);
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < offersPerProducer; i++) {
+                    if (buffer.offer(new long[]{producer, i})) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+        }
+
+        AtomicBoolean producing = new AtomicBoolean(true);
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        long[] taken = new long[1];
+        boolean[] ordered = {true};
+        Thread consumer = new Thread(() -> {
+            while (true) {
+                boolean stopping = !producing.get();
+                long[] element;
+                while ((element = buffer.poll()) != null) {
+                    int producer = (int) element[0];
+                    ordered[0] &= element[1] > lastSeen[producer];
+                    lastSeen[producer] = element[1];
+                    taken[0]++;
+                }
+                if (stopping) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+        });
+        consumer.start();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        producing.set(false);
+        consumer.join();
+
+        Assert.assertTrue(ordered[0], "elements of one producer were taken out of order");
+        Assert.assertEquals(taken[0], accepted.get());
+        Assert.assertEquals(accepted.get() + buffer.getDropped(), (long) producers * offersPerProducer);
+    }
+}
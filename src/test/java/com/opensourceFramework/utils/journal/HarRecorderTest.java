@@ -0,0 +1,39 @@
+package com.opensourceFramework.utils.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opensourceFramework.utils.performance.ApiCallRecord;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+public class HarRecorderTest {
+
+    @Test
+    public void leavesOutEntriesThatFailHalfWay() throws Exception {
+        File file = Files.createTempFile("api-calls", ".har").toFile();
+        try {
+            HarRecorder recorder = new HarRecorder(file, 16, 1024);
+            recorder.onApiCall(call("http://localhost/users/1"));
+            // the request object is already started when the missing URL fails the entry
+            recorder.onApiCall(call(null));
+            recorder.onApiCall(call("http://localhost/users/3?expand=orders"));
+            recorder.close();
+
+            JsonNode entries = new ObjectMapper().readTree(file).path("log").path("entries");
+            Assert.assertEquals(entries.size(), 2);
+            Assert.assertEquals(entries.get(0).path("request").path("url").asText(), "http://localhost/users/1");
+            Assert.assertEquals(entries.get(1).path("request").path("queryString").get(0).path("value").asText(),
+                    "orders");
+            Assert.assertEquals(recorder.getWritten(), 2);
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static ApiCallRecord call(String url) {
+        return new ApiCallRecord(System.currentTimeMillis(), "main", "/users", "GET", url, 200, 1500, null, null);
+    }
+}
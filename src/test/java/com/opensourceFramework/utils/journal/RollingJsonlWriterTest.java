@@ -0,0 +1,111 @@
+package com.opensourceFramework.utils.journal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class RollingJsonlWriterTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String PADDING = "x".repeat(100);
+
+    @Test
+    public void rollsAtTheSizeLimitWithoutLosingOrSplittingLines() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        try {
+            int lines = 2000;
+            write(directory.toFile(), 4096, 1000, lines);
+
+            List<File> files = files(directory.toFile());
+            Assert.assertTrue(files.size() > 10, "only " + files.size() + " files were written");
+            List<Long> sequences = new ArrayList<>();
+            for (File file : files) {
+                // the limit is checked between lines, so a file overshoots it by less than the generator's buffer
+                Assert.assertTrue(file.length() < 4096 + 16 * 1024, file + " has " + file.length() + " bytes");
+                sequences.addAll(sequences(file));
+            }
+            Assert.assertEquals(sequences.size(), lines);
+            for (int i = 0; i < lines; i++) {
+                Assert.assertEquals(sequences.get(i).longValue(), i);
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void keepsOnlyTheNewestBackups() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        try {
+            int lines = 2000;
+            write(directory.toFile(), 4096, 2, lines);
+
+            List<File> files = files(directory.toFile());
+            Assert.assertEquals(files.size(), 3);
+            List<Long> sequences = new ArrayList<>();
+            for (File file : files) {
+                sequences.addAll(sequences(file));
+            }
+            // the kept files hold the newest lines without gaps
+            for (int i = 0; i < sequences.size(); i++) {
+                Assert.assertEquals(sequences.get(i).longValue(), lines - sequences.size() + i);
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static void write(File directory, long maxFileBytes, int maxBackups, int lines) throws IOException {
+        try (RollingJsonlWriter writer = new RollingJsonlWriter(directory, "journal", maxFileBytes, maxBackups)) {
+            for (int i = 0; i < lines; i++) {
+                JsonGenerator generator = writer.next();
+                generator.writeStartObject();
+                generator.writeNumberField("seq", i);
+                generator.writeStringField("padding", PADDING);
+                generator.writeEndObject();
+                writer.endLine();
+            }
+        }
+    }
+
+    /**
+     * The backups from the oldest to the newest, then the current file.
+     */
+    private static List<File> files(File directory) {
+        List<File> files = new ArrayList<>();
+        for (int i = 1; new File(directory, "journal." + i + ".jsonl").exists(); i++) {
+            files.add(0, new File(directory, "journal." + i + ".jsonl"));
+        }
+        files.add(new File(directory, "journal.jsonl"));
+        Assert.assertEquals(directory.list().length, files.size());
+        return files;
+    }
+
+    private static List<Long> sequences(File file) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            JsonNode node = mapper.readTree(line);
+            Assert.assertEquals(node.path("padding").asText(), PADDING, line);
+            sequences.add(node.path("seq").asLong());
+        }
+        return sequences;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
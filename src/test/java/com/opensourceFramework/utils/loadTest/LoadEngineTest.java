@@ -0,0 +1,88 @@
+package com.opensourceFramework.utils.loadTest;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class LoadEngineTest {
+
+    @Test
+    public void closedLoopSplitsConcurrencyByWeight() {
+        List<LoadScenario> resolved = new LoadEngine().resolveRates(Arrays.asList(
+                new LoadScenario("browse", 5, 0, 5, "1"),
+                new LoadScenario("checkout", 3, 0, 3, "2"),
+                new LoadScenario("refund", 1, 0, 2, "3"),
+                new LoadScenario("paced", 1, 25, 4, "4"),
+                new LoadScenario("off", 0, 0, 6, "5")));
+        Assert.assertEquals(resolved.stream().map(LoadScenario::getTestCaseName).collect(Collectors.toList()),
+                Arrays.asList("browse", "checkout", "refund", "paced"));
+        // 10 closed loop workers: 5.56, 3.33 and 1.11 rounded by largest remainder
+        Assert.assertEquals(resolved.get(0).getConcurrency(), 6);
+        Assert.assertEquals(resolved.get(1).getConcurrency(), 3);
+        Assert.assertEquals(resolved.get(2).getConcurrency(), 1);
+        Assert.assertEquals(resolved.get(3).getConcurrency(), 4);
+        Assert.assertEquals(resolved.get(3).getTargetRate(), 25.0);
+    }
+
+    @Test
+    public void closedLoopKeepsOneWorkerForSmallWeights() {
+        List<LoadScenario> resolved = new LoadEngine().resolveRates(Arrays.asList(
+                new LoadScenario("main", 99, 0, 2),
+                new LoadScenario("rare", 1, 0, 1)));
+        // 2.97 and 0.03 of 3 workers: rare takes its worker from main, the total stays 3
+        Assert.assertEquals(resolved.get(0).getConcurrency(), 2);
+        Assert.assertEquals(resolved.get(1).getConcurrency(), 1);
+    }
+
+    @Test
+    public void zeroWeightOnlySwitchesOffScenariosWithoutTargetRate() {
+        for (double totalRate : new double[]{0, 100}) {
+            List<LoadScenario> resolved = new LoadEngine().setTotalRate(totalRate).resolveRates(Arrays.asList(
+                    new LoadScenario("paced", 0, 10, 2),
+                    new LoadScenario("off", 0, 0, 2),
+                    new LoadScenario("on", 1, 0, 2)));
+            Assert.assertEquals(resolved.stream().map(LoadScenario::getTestCaseName).collect(Collectors.toList()),
+                    Arrays.asList("paced", "on"));
+            Assert.assertEquals(resolved.get(0).getTargetRate(), 10.0);
+        }
+    }
+
+    @Test
+    public void totalRateSplitsRateByWeight() {
+        List<LoadScenario> resolved = new LoadEngine().setTotalRate(100).resolveRates(Arrays.asList(
+                new LoadScenario("browse", 3, 0, 5),
+                new LoadScenario("checkout", 1, 0, 3),
+                new LoadScenario("off", 0, 0, 1)));
+        Assert.assertEquals(resolved.size(), 2);
+        Assert.assertEquals(resolved.get(0).getTargetRate(), 75.0);
+        Assert.assertEquals(resolved.get(0).getConcurrency(), 5);
+        Assert.assertEquals(resolved.get(1).getTargetRate(), 25.0);
+        Assert.assertEquals(resolved.get(1).getConcurrency(), 3);
+    }
+
+    @Test
+    public void numericPrioritiesSortNumerically() {
+        List<LoadScenario> resolved = new LoadEngine().resolveRates(Arrays.asList(
+                new LoadScenario("ten", 1, 0, 1, "10"),
+                new LoadScenario("low", 1, 0, 1, "low"),
+                new LoadScenario("two", 1, 0, 1, "2"),
+                new LoadScenario("high", 1, 0, 1, "High"),
+                new LoadScenario("one", 1, 0, 1, "1")));
+        Assert.assertEquals(resolved.stream().map(LoadScenario::getTestCaseName).collect(Collectors.toList()),
+                Arrays.asList("one", "two", "ten", "high", "low"));
+    }
+
+    @Test
+    public void startResolvedKeepsTheConcurrencyOfThePlan() throws InterruptedException {
+        LoadEngine engine = new LoadEngine().register("main", () -> null).register("rare", () -> null);
+        LoadEngine.LoadRun run = engine.startResolved(Arrays.asList(
+                new LoadScenario("main", 99, 0, 1),
+                new LoadScenario("rare", 1, 0, 1)), Duration.ofMillis(50), 0);
+        run.await();
+        Assert.assertEquals(run.getRecorders().stream().mapToInt(r -> r.getScenario().getConcurrency()).sum(), 2);
+    }
+}
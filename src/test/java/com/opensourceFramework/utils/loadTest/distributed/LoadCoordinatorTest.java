@@ -0,0 +1,36 @@
+package com.opensourceFramework.utils.loadTest.distributed;
+
+import com.opensourceFramework.utils.loadTest.LoadScenario;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class LoadCoordinatorTest {
+
+    @Test
+    public void workerSharesAddUpToThePlan() {
+        List<LoadScenario> resolved = Arrays.asList(
+                new LoadScenario("browse", 1, 30, 5, "1"),
+                new LoadScenario("checkout", 1, 0, 2, "2"));
+        int[] concurrency = new int[2];
+        double rate = 0;
+        for (int worker = 0; worker < 3; worker++) {
+            List<LoadScenario> share = LoadCoordinator.workerShare(resolved, worker, 3);
+            for (LoadScenario scenario : share) {
+                int index = scenario.getTestCaseName().equals("browse") ? 0 : 1;
+                concurrency[index] += scenario.getConcurrency();
+                if (index == 0) {
+                    rate += scenario.getTargetRate();
+                }
+            }
+            // 5 over 3 workers is 2, 2 and 1; 2 over 3 workers is 1, 1 and none
+            Assert.assertEquals(share.get(0).getConcurrency(), worker < 2 ? 2 : 1);
+            Assert.assertEquals(share.size(), worker < 2 ? 2 : 1);
+        }
+        Assert.assertEquals(concurrency[0], 5);
+        Assert.assertEquals(concurrency[1], 2);
+        Assert.assertEquals(rate, 30.0, 1e-9);
+    }
+}
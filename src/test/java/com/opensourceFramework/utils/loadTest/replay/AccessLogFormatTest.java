@@ -0,0 +1,92 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+
+public class AccessLogFormatTest {
+
+    private static final long TIMESTAMP = Instant.parse("2026-10-10T13:55:36Z").toEpochMilli();
+
+    @Test
+    public void parsesCombinedLines() {
+        AccessLogEntry entry = AccessLogFormat.COMBINED.parse("10.0.0.1 - alice [10/Oct/2026:15:55:36 +0200] "
+                + "\"POST /users/42?expand=orders HTTP/1.1\" 201 2326 \"https://example.com/\" \"curl/8.0\"");
+        Assert.assertEquals(entry.getTimestampMillis(), TIMESTAMP);
+        Assert.assertEquals(entry.getMethod(), "POST");
+        Assert.assertEquals(entry.getPath(), "/users/42");
+        Assert.assertEquals(entry.getQuery(), "expand=orders");
+        Assert.assertEquals(entry.getStatus(), 201);
+        Assert.assertEquals(entry.getHeaders().get("User-Agent"), "curl/8.0");
+        Assert.assertEquals(entry.getHeaders().get("Referer"), "https://example.com/");
+        Assert.assertEquals(entry.getField("remote_user"), "alice");
+        Assert.assertNull(entry.getBody());
+    }
+
+    @Test
+    public void parsesCommonLinesWithoutHeaders() {
+        AccessLogEntry entry = AccessLogFormat.COMBINED.parse(
+                "10.0.0.1 - - [10/Oct/2026:13:55:36 +0000] \"GET /health HTTP/1.0\" - -");
+        Assert.assertEquals(entry.getTimestampMillis(), TIMESTAMP);
+        Assert.assertEquals(entry.getPath(), "/health");
+        Assert.assertNull(entry.getQuery());
+        Assert.assertEquals(entry.getStatus(), 0);
+        Assert.assertTrue(entry.getHeaders().isEmpty());
+    }
+
+    @Test
+    public void parsesJsonLines() {
+        AccessLogEntry entry = AccessLogFormat.JSON.parse("{\"time_iso8601\":\"2026-10-10T15:55:36+02:00\","
+                + "\"request_method\":\"put\",\"request_uri\":\"/users/42\",\"args\":\"dry=true\",\"status\":\"204\","
+                + "\"http_host\":\"api.example.com\",\"headers\":{\"X-Tenant\":\"blue\"},\"http_user_agent\":\"k6\","
+                + "\"request_body\":\"{\\\"name\\\":\\\"a\\\"}\"}");
+        Assert.assertEquals(entry.getTimestampMillis(), TIMESTAMP);
+        Assert.assertEquals(entry.getMethod(), "PUT");
+        Assert.assertEquals(entry.getUri(), "/users/42?dry=true");
+        Assert.assertEquals(entry.getStatus(), 204);
+        Assert.assertEquals(entry.getHost(), "api.example.com");
+        Assert.assertEquals(entry.getHeaders().get("X-Tenant"), "blue");
+        Assert.assertEquals(entry.getHeaders().get("User-Agent"), "k6");
+        Assert.assertEquals(entry.getBody(), "{\"name\":\"a\"}");
+    }
+
+    @Test
+    public void parsesJsonLinesWithARequestLineAndEpochSeconds() {
+        AccessLogEntry entry = AccessLogFormat.JSON.parse(
+                "{\"msec\":1,\"ts\":" + TIMESTAMP / 1000 + ".25,\"request\":\"DELETE /users/42 HTTP/1.1\",\"body\":\"-\"}");
+        Assert.assertEquals(entry.getTimestampMillis(), TIMESTAMP + 250);
+        Assert.assertEquals(entry.getMethod(), "DELETE");
+        Assert.assertEquals(entry.getPath(), "/users/42");
+        Assert.assertNull(entry.getBody());
+        Assert.assertEquals(entry.getField("msec"), "1");
+    }
+
+    @DataProvider
+    public Object[][] malformedLines() {
+        return new Object[][]{
+                {AccessLogFormat.COMBINED, "not an access log line"},
+                {AccessLogFormat.COMBINED, "10.0.0.1 - - [10/Oct/2026:13:55:36 +0000] \"-\" 400 0"},
+                {AccessLogFormat.COMBINED, "10.0.0.1 - - [31/Foo/2026:13:55:36 +0000] \"GET / HTTP/1.1\" 200 1"},
+                {AccessLogFormat.COMBINED, "10.0.0.1 - - [10/Oct/2026:13:55:36 +0000] \"GET / HTTP/1.1 200 1"},
+                {AccessLogFormat.JSON, "{\"time\":\"2026-10-10T13:55:36Z\",\"method\":\"GET\""},
+                {AccessLogFormat.JSON, "[\"GET\",\"/users\"]"},
+                {AccessLogFormat.JSON, "{\"method\":\"GET\",\"path\":\"/users\"}"},
+                {AccessLogFormat.JSON, "{\"time\":\"yesterday\",\"method\":\"GET\",\"path\":\"/users\"}"},
+                {AccessLogFormat.JSON, "{\"time\":\"2026-10-10T13:55:36Z\",\"path\":\"/users\"}"},
+        };
+    }
+
+    @Test(dataProvider = "malformedLines")
+    public void returnsNullForMalformedLines(AccessLogFormat format, String line) {
+        Assert.assertNull(format.parse(line));
+    }
+
+    @Test
+    public void detectsTheFormatFromTheLine() {
+        Assert.assertEquals(AccessLogFormat.detect("  {\"method\":\"GET\"}"), AccessLogFormat.JSON);
+        Assert.assertEquals(AccessLogFormat.detect("10.0.0.1 - - [10/Oct/2026:13:55:36 +0000]"),
+                AccessLogFormat.COMBINED);
+    }
+}
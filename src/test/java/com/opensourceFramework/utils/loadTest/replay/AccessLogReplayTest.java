@@ -0,0 +1,77 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccessLogReplayTest {
+
+    @Test
+    public void spreadsCombinedEntriesOverTheirSecondAndCountsSkippedLines() throws IOException {
+        File file = write(
+                "10.0.0.1 - - [10/Oct/2026:13:55:36 +0000] \"GET /users/1 HTTP/1.1\" 200 10",
+                "10.0.0.1 - - [10/Oct/2026:13:55:36 +0000] \"GET /users/2 HTTP/1.1\" 200 10",
+                "garbage",
+                "10.0.0.1 - - [10/Oct/2026:13:55:36 +0000] \"BREW /coffee HTTP/1.1\" 418 0",
+                "10.0.0.1 - - [10/Oct/2026:13:55:36 +0000] \"GET /admin HTTP/1.1\" 200 10",
+                "",
+                "10.0.0.1 - - [10/Oct/2026:13:55:38 +0000] \"POST /users HTTP/1.1\" 201 10");
+        try {
+            AccessLogReplay replay = new AccessLogReplay()
+                    .setTarget("https://staging.example.com/")
+                    .setFilter(entry -> !entry.getPath().startsWith("/admin"));
+            List<ReplayItem> items = new ArrayList<>();
+            try (AccessLogReplay.Items iterator = replay.items(file)) {
+                iterator.forEachRemaining(items::add);
+                Assert.assertEquals(iterator.getUnparseable(), 2);
+                Assert.assertEquals(iterator.getFiltered(), 1);
+                Assert.assertEquals(iterator.getUntargeted(), 0);
+            }
+            Assert.assertEquals(items.size(), 3);
+            Assert.assertEquals(items.get(0).getName(), "GET /users/{id}");
+            Assert.assertEquals(items.get(0).getOffsetNanos(), 0);
+            Assert.assertEquals(items.get(1).getOffsetNanos(), 500_000_000L);
+            Assert.assertEquals(items.get(2).getName(), "POST /users");
+            Assert.assertEquals(items.get(2).getOffsetNanos(), 2_000_000_000L);
+            Assert.assertEquals(items.get(2).newRequest().getBaseUri(), "https://staging.example.com");
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void skipsJsonEntriesWithoutATargetForTheirHost() throws IOException {
+        File file = write(
+                "{\"ts\":1000,\"method\":\"GET\",\"path\":\"/users\",\"host\":\"api.example.com\"}",
+                "{\"ts\":1000.5,\"method\":\"GET\",\"url\":\"https://other.example.com/orders\"}",
+                "{\"ts\":1001,\"method\":\"GET\",\"path\":\"/orders\",\"host\":\"API.example.com\"}",
+                "{\"ts\":1002,\"method\":\"GET\"");
+        try {
+            AccessLogReplay replay = new AccessLogReplay()
+                    .rewriteHost("api.example.com", "http://localhost:8080");
+            List<ReplayItem> items = new ArrayList<>();
+            try (AccessLogReplay.Items iterator = replay.items(file)) {
+                iterator.forEachRemaining(items::add);
+                Assert.assertEquals(iterator.getUntargeted(), 1);
+                Assert.assertEquals(iterator.getUnparseable(), 1);
+            }
+            Assert.assertEquals(items.size(), 2);
+            Assert.assertEquals(items.get(1).getOffsetNanos(), 1_000_000_000L);
+            Assert.assertEquals(items.get(1).newRequest().getBaseUri(), "http://localhost:8080");
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static File write(String... lines) throws IOException {
+        File file = Files.createTempFile("access", ".log").toFile();
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,56 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+public class CurlReplayTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final List<String> COMMANDS = Arrays.asList(
+            "curl -X GET 'https://api.example.com/users/1'",
+            "curl -X GET '/users/relative'",
+            "curl -X POST 'https://api.example.com/users' -H 'Content-Type: application/json' --data '{\"name\":\"a\"}'",
+            "curl -X BREW 'https://api.example.com/coffee'",
+            "curl -X POST 'https://api.example.com/upload' -F 'nofield'",
+            "curl -X 'https://api.example.com/unterminated",
+            "curl -X DELETE 'https://api.example.com/users/2'");
+
+    @Test
+    public void fromCommandsSkipsCommandsThatCannotBeReplayed() {
+        List<ReplayItem> items = CurlReplay.fromCommands(COMMANDS, Duration.ofMillis(10));
+        Assert.assertEquals(items.size(), 3);
+        Assert.assertEquals(items.get(0).getOffsetNanos(), 0);
+        Assert.assertEquals(items.get(1).getOffsetNanos(), Duration.ofMillis(10).toNanos());
+        Assert.assertEquals(items.get(2).getOffsetNanos(), Duration.ofMillis(20).toNanos());
+        Assert.assertNotNull(items.get(2).newRequest());
+    }
+
+    @Test
+    public void fromJournalSkipsCommandsThatCannotBeReplayed() throws IOException {
+        StringBuilder journal = new StringBuilder();
+        for (int i = 0; i < COMMANDS.size(); i++) {
+            journal.append("{\"start\":").append(1000 + i * 5).append(",\"curl\":")
+                    .append(mapper.writeValueAsString(COMMANDS.get(i)))
+                    .append("}\n");
+        }
+        File file = Files.createTempFile("api-traffic", ".jsonl").toFile();
+        try {
+            Files.write(file.toPath(), journal.toString().getBytes(StandardCharsets.UTF_8));
+            List<ReplayItem> items = CurlReplay.fromJournal(file);
+            Assert.assertEquals(items.size(), 3);
+            Assert.assertEquals(items.get(2).getOffsetNanos(), Duration.ofMillis(30).toNanos());
+        } finally {
+            file.delete();
+        }
+    }
+}
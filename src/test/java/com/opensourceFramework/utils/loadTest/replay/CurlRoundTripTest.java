@@ -0,0 +1,110 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import com.opensourceFramework.utils.ConvertHttpRequestToCurl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpRequest;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public class CurlRoundTripTest {
+
+    private static final List<String> HEADERS = List.of("Content-Type", "Cookie", "Authorization", "X-Request-Id");
+
+    private final AtomicReference<String> received = new AtomicReference<>();
+    private HttpServer server;
+    private String baseUri;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            received.set(describe(exchange));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void replaysARenderedJsonRequestUnchanged() throws Exception {
+        assertRoundTrip(spec -> spec.baseUri(baseUri)
+                .contentType("application/json")
+                .header("X-Request-Id", "3f1c2d7e")
+                .cookie("session", "abc=def")
+                .auth().preemptive().basic("user", "p@ss")
+                .queryParam("q", "a b")
+                .queryParam("page", 2)
+                .body("{\"name\":\"it's\",\"quote\":\"'\"}")
+                .post("/users/john doe/orders"));
+    }
+
+    @Test
+    public void replaysARenderedGetUnchanged() throws Exception {
+        assertRoundTrip(spec -> spec.baseUri(baseUri)
+                .header("X-Request-Id", "it's")
+                .queryParam("filter", "name eq 'a+b'")
+                .get("/files/report 2024.csv"));
+    }
+
+    private void assertRoundTrip(Function<RequestSpecification, ?> call) throws Exception {
+        HttpRequest original = capture(call);
+        String sent = received.get();
+        String curl = ConvertHttpRequestToCurl.generateCurl(original);
+
+        received.set(null);
+        CurlParser.parse(curl).toRequest().makeAPICall();
+        Assert.assertEquals(received.get(), sent, curl);
+    }
+
+    private static HttpRequest capture(Function<RequestSpecification, ?> call) {
+        AtomicReference<HttpRequest> captured = new AtomicReference<>();
+        RestAssuredConfig config = RestAssured.config()
+                .httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(() -> {
+                    DefaultHttpClient client = new DefaultHttpClient();
+                    client.addRequestInterceptor((request, context) -> captured.set(request));
+                    return client;
+                }));
+        call.apply(RestAssured.given().config(config));
+        Assert.assertNotNull(captured.get(), "No HTTP request was captured");
+        return captured.get();
+    }
+
+    private static String describe(HttpExchange exchange) throws IOException {
+        StringBuilder request = new StringBuilder()
+                .append(exchange.getRequestMethod()).append(' ').append(exchange.getRequestURI().getRawPath());
+        if (exchange.getRequestURI().getRawQuery() != null) {
+            request.append('?').append(exchange.getRequestURI().getRawQuery());
+        }
+        request.append('\n');
+        for (String header : HEADERS) {
+            request.append(header).append(": ").append(exchange.getRequestHeaders().get(header)).append('\n');
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            request.append(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return request.toString();
+    }
+}
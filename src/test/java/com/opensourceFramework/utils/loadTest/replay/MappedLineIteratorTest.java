@@ -0,0 +1,69 @@
+package com.opensourceFramework.utils.loadTest.replay;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MappedLineIteratorTest {
+
+    @Test
+    public void readsLinesCrossingWindowBoundaries() throws IOException {
+        List<String> expected = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            // lengths vary so line ends, CRLF pairs and multi-byte characters land on every window offset
+            String line = "line " + i + " " + "é中😀".repeat(i % 7) + "x".repeat(i % 13);
+            expected.add(line);
+            content.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        File file = write(content.toString());
+        try {
+            for (long windowBytes : new long[]{1, 2, 3, 7, 16, 4096}) {
+                Assert.assertEquals(readAll(file, windowBytes), expected, "window of " + windowBytes + " bytes");
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void keepsEmptyLinesAndALastLineWithoutNewline() throws IOException {
+        File file = write("first\n\n\r\nlast");
+        try {
+            Assert.assertEquals(readAll(file, 4), Arrays.asList("first", "", "", "last"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void readsNothingFromAnEmptyFile() throws IOException {
+        File file = write("");
+        try (MappedLineIterator lines = new MappedLineIterator(file, 8)) {
+            Assert.assertFalse(lines.hasNext());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static List<String> readAll(File file, long windowBytes) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (MappedLineIterator iterator = new MappedLineIterator(file, windowBytes)) {
+            iterator.forEachRemaining(lines::add);
+        }
+        return lines;
+    }
+
+    private static File write(String content) throws IOException {
+        File file = Files.createTempFile("access", ".log").toFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
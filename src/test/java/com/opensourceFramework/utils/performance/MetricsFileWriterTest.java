@@ -0,0 +1,82 @@
+package com.opensourceFramework.utils.performance;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class MetricsFileWriterTest {
+
+    @Test
+    public void writesEveryCallAndRendersCurlOnTheWriterThread() throws Exception {
+        File file = Files.createTempFile("api-metrics", ".jsonl").toFile();
+        Set<String> renderingThreads = ConcurrentHashMap.newKeySet();
+        int threads = 4;
+        int callsPerThread = 500;
+        try {
+            MetricsFileWriter writer = new MetricsFileWriter(file, 5, 16);
+            List<Thread> callers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int first = t * callsPerThread;
+                Thread caller = new Thread(() -> {
+                    for (int i = first; i < first + callsPerThread; i++) {
+                        String curl = "curl 'http://localhost/calls/" + i + "'";
+                        writer.onApiCall(new ApiCallRecord(i, Thread.currentThread().getName(), "/calls", "GET",
+                                "http://localhost/calls/" + i, 200, i, null, () -> {
+                                    renderingThreads.add(Thread.currentThread().getName());
+                                    return curl;
+                                }));
+                    }
+                }, "caller-" + t);
+                caller.start();
+                callers.add(caller);
+            }
+            for (Thread caller : callers) {
+                caller.join();
+            }
+            writer.close();
+
+            // the reader reuses one record, so keep the latencies of the calls that kept their curl
+            List<Long> withCurl = new ArrayList<>();
+            long[] count = new long[1];
+            new MetricsFileReader(file).forEach(record -> {
+                count[0]++;
+                if (record.getCurl() != null) {
+                    withCurl.add(record.getLatencyMicros());
+                }
+            });
+            Assert.assertEquals(count[0], threads * callsPerThread);
+            Assert.assertEquals(renderingThreads, Set.of("api-metrics-writer"));
+            List<Long> slowestWithCurl = withCurl.stream()
+                    .sorted((a, b) -> Long.compare(b, a))
+                    .limit(5)
+                    .collect(Collectors.toList());
+            long slowest = threads * callsPerThread - 1;
+            Assert.assertEquals(slowestWithCurl, List.of(slowest, slowest - 1, slowest - 2, slowest - 3, slowest - 4));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void ignoresCallsAfterClose() throws Exception {
+        File file = Files.createTempFile("api-metrics", ".jsonl").toFile();
+        try {
+            MetricsFileWriter writer = new MetricsFileWriter(file, 1, 1);
+            writer.close();
+            writer.onApiCall(new ApiCallRecord(1, "main", "/calls", "GET", "http://localhost/calls", 200, 1, null,
+                    null));
+            writer.onApiCall(new ApiCallRecord(2, "main", "/calls", "GET", "http://localhost/calls", 200, 1, null,
+                    null));
+            Assert.assertEquals(Files.size(file.toPath()), 0);
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.opensourceFramework.utils.testData;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class CsvDataSourceTest {
+
+    private static final int ROWS = 2000;
+
+    private File csv;
+
+    @BeforeClass
+    public void writeCsv() throws IOException {
+        StringBuilder content = new StringBuilder("TestCaseName,Execute,Body,Note\n");
+        for (int i = 0; i < ROWS; i++) {
+            content.append(i % 2 == 0 ? "createUser" : "getUser").append(',')
+                    .append(i % 3 == 0 ? "No" : "Yes").append(',')
+                    .append("\"{\n  \"\"id\"\": ").append(i).append(",\n  \"\"name\"\": \"\"user, ").append(i)
+                    .append("\"\"\n}\"").append(',')
+                    .append(i % 5 == 0 ? "\"\n\"" : "plain").append('\n');
+        }
+        csv = Files.createTempFile("test-data", ".csv").toFile();
+        Files.write(csv.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteCsv() {
+        csv.delete();
+    }
+
+    @Test
+    public void readsMultiLineQuotedFieldsAsOneRange() throws IOException {
+        List<Map<String, String>> records = read(CsvDataSource.open(csv));
+        Assert.assertEquals(records.size(), ROWS);
+        Assert.assertEquals(records.get(7).get("Body"), "{\n  \"id\": 7,\n  \"name\": \"user, 7\"\n}");
+        Assert.assertEquals(records.get(5).get("Note"), "\n");
+    }
+
+    @Test
+    public void splitsOutsideQuotedFields() throws IOException {
+        CsvDataSource source = CsvDataSource.open(csv);
+        List<Map<String, String>> expected = read(source);
+        for (int parts = 2; parts <= 16; parts++) {
+            List<Map<String, String>> records = new ArrayList<>();
+            for (TestDataSource range : source.split(parts)) {
+                records.addAll(read(range));
+            }
+            Assert.assertEquals(records, expected, "split(" + parts + ")");
+        }
+    }
+
+    @Test
+    public void getIterationsFindsTheRowsOfTheTest() throws IOException {
+        List<Map<String, String>> iterations = CsvDataSource.open(csv).getIterations("CREATEUSER");
+        Assert.assertEquals(iterations.size(), 666);
+        Assert.assertEquals(iterations.get(0).get("Body"), "{\n  \"id\": 2,\n  \"name\": \"user, 2\"\n}");
+    }
+
+    private static List<Map<String, String>> read(TestDataSource source) {
+        List<Map<String, String>> records = new ArrayList<>();
+        for (Iterator<Map<String, String>> it = source.records(); it.hasNext(); ) {
+            records.add(it.next());
+        }
+        return records;
+    }
+}
@@ -0,0 +1,120 @@
+package com.opensourceFramework.utils.testData.generator;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class EntityGeneratorTest {
+
+    private static final int RECORDS = 100_000;
+
+    private static EntityGenerator users(long seed) {
+        return new EntityGenerator("users", seed)
+                .field("id", Fields.sequence("USR-"))
+                .field("token", Fields.uniqueToken("t-"))
+                .field("email", Fields.uniqueEmail("user", "example.com"))
+                .field("uuid", Fields.uuid())
+                .field("age", Fields.intBetween(18, 90))
+                .field("balance", Fields.decimalBetween(0, 1000, 2))
+                .field("active", Fields.bool(0.7))
+                .field("plan", Fields.oneOf("free", "pro", "team"))
+                .field("name", Fields.letters(3, 10))
+                .field("phone", Fields.digits(10))
+                .field("joined", Fields.instantBetween(Instant.parse("2020-01-01T00:00:00Z"),
+                        Instant.parse("2026-01-01T00:00:00Z")))
+                .field("nickname", Fields.optional(Fields.letters(3, 8), 0.5));
+    }
+
+    @Test
+    public void sameSeedGivesTheSameRecords() {
+        EntityGenerator first = users(42);
+        EntityGenerator second = users(42);
+        for (long index = 0; index < 1000; index++) {
+            Assert.assertEquals(second.generate(index), first.generate(index), "record " + index);
+            Assert.assertEquals(second.generateJson(index), first.generateJson(index));
+        }
+        // the parallel stream produces the same records as generating them one by one
+        List<Map<String, Object>> streamed = first.stream(500, 1500).collect(Collectors.toList());
+        for (int i = 0; i < streamed.size(); i++) {
+            Assert.assertEquals(streamed.get(i), second.generate(500 + i));
+        }
+        Assert.assertEquals(first.generateField("email", 7), first.generate(7).get("email"));
+    }
+
+    @Test
+    public void otherSeedsGiveOtherRandomValues() {
+        Map<String, Object> first = users(42).generate(3);
+        Map<String, Object> second = users(43).generate(3);
+        Assert.assertEquals(second.get("id"), first.get("id"));
+        Assert.assertNotEquals(second.get("uuid"), first.get("uuid"));
+    }
+
+    @Test
+    public void uniqueFieldsAreUniqueOverALargeIndexRange() {
+        EntityGenerator users = users(7);
+        Set<Object> ids = new HashSet<>();
+        Set<Object> tokens = new HashSet<>();
+        Set<Object> emails = new HashSet<>();
+        // a range far from zero as well, where a run that must not reuse keys would continue
+        for (long start : new long[]{0, 1L << 40}) {
+            for (long index = start; index < start + RECORDS; index++) {
+                Assert.assertTrue(ids.add(users.generateField("id", index)), "duplicate id at " + index);
+                Assert.assertTrue(tokens.add(users.generateField("token", index)), "duplicate token at " + index);
+                Assert.assertTrue(emails.add(users.generateField("email", index)), "duplicate email at " + index);
+            }
+        }
+        String token = (String) users.generateField("token", 123);
+        Assert.assertTrue(token.matches("t-[0-9a-z]{13}"), token);
+    }
+
+    @Test
+    public void valuesStayWithinTheirBounds() {
+        EntityGenerator users = users(11);
+        for (long index = 0; index < 10_000; index++) {
+            Map<String, Object> user = users.generate(index);
+            int age = (Integer) user.get("age");
+            Assert.assertTrue(age >= 18 && age <= 90, "age " + age);
+            Assert.assertTrue(List.of("free", "pro", "team").contains(user.get("plan")));
+            Assert.assertTrue(((String) user.get("phone")).matches("\\d{10}"));
+            Assert.assertTrue(((String) user.get("name")).matches("[A-Z][a-z]{2,9}"), (String) user.get("name"));
+        }
+    }
+
+    @Test
+    public void referencesMatchTheReferencedRecords() {
+        EntityGenerator users = users(42);
+        EntityGenerator orders = new EntityGenerator("orders", 99)
+                .field("id", Fields.sequence(1L))
+                .field("userId", Fields.reference(users, "id", 50))
+                .field("userEmail", Fields.reference(users, "email", 50));
+        Set<Object> userIds = new HashSet<>();
+        for (long index = 0; index < 50; index++) {
+            userIds.add(users.generate(index).get("id"));
+        }
+        EntityGenerator sameOrders = new EntityGenerator("orders", 99)
+                .field("id", Fields.sequence(1L))
+                .field("userId", Fields.reference(users(42), "id", 50))
+                .field("userEmail", Fields.reference(users(42), "email", 50));
+        for (long index = 0; index < 1000; index++) {
+            Map<String, Object> order = orders.generate(index);
+            Assert.assertTrue(userIds.contains(order.get("userId")), "unknown user " + order.get("userId"));
+            Assert.assertEquals(sameOrders.generate(index), order);
+            Assert.assertEquals(orders.generateField("userId", index), order.get("userId"));
+        }
+    }
+
+    @Test
+    public void rejectsDuplicateAndUnknownFields() {
+        EntityGenerator users = users(1);
+        Assert.assertThrows(IllegalArgumentException.class, () -> users.field("id", Fields.sequence("X-")));
+        Assert.assertThrows(IllegalArgumentException.class, () -> users.generateField("missing", 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Fields.reference(users, "missing", 10));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Fields.reference(users, "id", 0));
+    }
+}